@@ -0,0 +1,67 @@
+package gr.hua.dit.studyrooms.admission;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Serialises reservation admission for one (study space, date) pair.
+ *
+ * The capacity check and the insert of a new reservation must not interleave with another
+ * booking for the same space and day, otherwise two requests for the last seat can both
+ * pass. Implementations only serialise bookings sharing the same space and date, so
+ * unrelated spaces keep booking in parallel.
+ *
+ * When called inside a transaction the lock is held until the transaction completes,
+ * which guarantees that the next admission for the same key sees the committed row.
+ */
+public interface AdmissionLock {
+
+    /**
+     * Runs the admission step while holding the lock for the given space and date.
+     *
+     * @param spaceId the study space identifier
+     * @param date the reservation date
+     * @param admission capacity check and insert to run exclusively
+     * @param <T> result type of the admission step
+     * @return the value produced by the admission step
+     */
+    <T> T execute(Long spaceId, LocalDate date, Supplier<T> admission);
+
+    /**
+     * Runs the admission step while holding the locks of several dates of one space, as
+     * needed by a reservation series. Keys are acquired in a fixed order so two callers
+     * locking overlapping sets of dates cannot deadlock.
+     *
+     * @param spaceId the study space identifier
+     * @param dates the reservation dates
+     * @param admission capacity checks and inserts to run exclusively
+     * @param <T> result type of the admission step
+     * @return the value produced by the admission step
+     */
+    default <T> T executeAll(Long spaceId, Collection<LocalDate> dates, Supplier<T> admission) {
+        return executeAcross(List.of(spaceId), dates, admission);
+    }
+
+    /**
+     * Runs the step while holding the locks of every (space, date) combination, as needed
+     * when staff close many spaces over a period. Keys are acquired in a fixed order, like
+     * {@link #executeAll}.
+     *
+     * @param spaceIds the study space identifiers
+     * @param dates the dates
+     * @param admission the step to run exclusively
+     * @param <T> result type of the step
+     * @return the value produced by the step
+     */
+    <T> T executeAcross(Collection<Long> spaceIds, Collection<LocalDate> dates, Supplier<T> admission);
+
+    /**
+     * Indicates whether the lock is shared between application nodes. In that case the
+     * node-local occupancy ledger may be stale and capacity must be checked against the database.
+     *
+     * @return true for cluster-wide locks
+     */
+    boolean isClusterWide();
+}
@@ -0,0 +1,78 @@
+package gr.hua.dit.studyrooms.admission;
+
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One reservation relevant to admitting a reservation series: it belongs to the requested
+ * space or to the requesting user, on one of the series dates.
+ *
+ * Built by a JPQL constructor expression, so the whole series is validated from one query
+ * without hydrating Reservation entities.
+ */
+public class AdmissionRow {
+
+    /** Identifier of the reserved study space */
+    private final Long spaceId;
+
+    /** Identifier of the user holding the reservation */
+    private final Long userId;
+
+    /** Date of the reservation */
+    private final LocalDate date;
+
+    /** Start time of the reservation (inclusive) */
+    private final LocalTime startTime;
+
+    /** End time of the reservation (exclusive) */
+    private final LocalTime endTime;
+
+    /** Current status */
+    private final ReservationStatus status;
+
+    /**
+     * Constructs a row; used by JPQL constructor expressions.
+     *
+     * @param spaceId the study space identifier
+     * @param userId the user identifier
+     * @param date the reservation date
+     * @param startTime the start time (inclusive)
+     * @param endTime the end time (exclusive)
+     * @param status the reservation status
+     */
+    public AdmissionRow(Long spaceId, Long userId, LocalDate date,
+                        LocalTime startTime, LocalTime endTime, ReservationStatus status) {
+        this.spaceId = spaceId;
+        this.userId = userId;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status;
+    }
+
+    public Long getSpaceId() {
+        return spaceId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,50 @@
+package gr.hua.dit.studyrooms.admission;
+
+/**
+ * Database-backed facts needed to admit one booking, read with a single aggregated query.
+ *
+ * Built by a JPQL constructor expression over the reservations of the booking date that
+ * belong to the requested space or to the requesting user (plus a sub-select over the
+ * space's closures), so the staff-closure check, the per-user daily limit and the overlap
+ * count cost one round trip instead of three.
+ */
+public class AdmissionVerdict {
+
+    /** Staff closures of the space intersecting the requested range (closed if > 0) */
+    private final long staffClosures;
+
+    /** Active reservations of the user on that date */
+    private final long userActiveReservations;
+
+    /** Active reservations of the space overlapping the requested time range */
+    private final long overlappingReservations;
+
+    /**
+     * Constructs a verdict; used by the JPQL constructor expression.
+     * SUM over an empty set yields null, which is read as zero.
+     *
+     * @param staffClosures closures of the space intersecting the range
+     * @param userActiveReservations active reservations of the user and date
+     * @param overlappingReservations active reservations overlapping the range
+     */
+    public AdmissionVerdict(Long staffClosures, Long userActiveReservations, Long overlappingReservations) {
+        this.staffClosures = staffClosures != null ? staffClosures : 0L;
+        this.userActiveReservations = userActiveReservations != null ? userActiveReservations : 0L;
+        this.overlappingReservations = overlappingReservations != null ? overlappingReservations : 0L;
+    }
+
+    /**
+     * @return true if staff closed the space for the date
+     */
+    public boolean isClosedByStaff() {
+        return staffClosures > 0;
+    }
+
+    public long getUserActiveReservations() {
+        return userActiveReservations;
+    }
+
+    public long getOverlappingReservations() {
+        return overlappingReservations;
+    }
+}
@@ -0,0 +1,68 @@
+package gr.hua.dit.studyrooms.admission;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Cluster-wide admission lock using PostgreSQL transaction-scoped advisory locks.
+ *
+ * The lock key is the pair (space id, epoch day), so every application node sharing the
+ * database serialises bookings for the same space and day. PostgreSQL releases the lock
+ * automatically on commit or rollback. Enable with {@code studyrooms.admission.lock=advisory}
+ * (PostgreSQL only).
+ */
+@Component
+@ConditionalOnProperty(name = "studyrooms.admission.lock", havingValue = "advisory")
+public class AdvisoryAdmissionLock implements AdmissionLock {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AdvisoryAdmissionLock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Takes the advisory lock on the current transaction's connection and runs the step.
+     *
+     * @throws IllegalStateException if no transaction is active (the lock would be released immediately)
+     */
+    @Override
+    public <T> T execute(Long spaceId, LocalDate date, Supplier<T> admission) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Advisory admission locks require an active transaction.");
+        }
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?, ?)",
+                spaceId.intValue(), (int) date.toEpochDay());
+        return admission.get();
+    }
+
+    /**
+     * Takes the advisory locks of all keys in ascending (space, date) order, then runs the step.
+     *
+     * @throws IllegalStateException if no transaction is active
+     */
+    @Override
+    public <T> T executeAcross(Collection<Long> spaceIds, Collection<LocalDate> dates, Supplier<T> admission) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Advisory admission locks require an active transaction.");
+        }
+        List<LocalDate> sortedDates = dates.stream().distinct().sorted().toList();
+        spaceIds.stream().distinct().sorted().forEach(spaceId ->
+                sortedDates.forEach(date ->
+                        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?, ?)",
+                                spaceId.intValue(), (int) date.toEpochDay())));
+        return admission.get();
+    }
+
+    @Override
+    public boolean isClusterWide() {
+        return true;
+    }
+}
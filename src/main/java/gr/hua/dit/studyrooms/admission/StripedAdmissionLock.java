@@ -0,0 +1,121 @@
+package gr.hua.dit.studyrooms.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Single-node admission lock backed by a fixed array of lock stripes.
+ *
+ * Each (space, date) pair hashes to one stripe, so bookings for the same space and day are
+ * serialised while most unrelated bookings land on different stripes and run in parallel.
+ * This is the default mode ({@code studyrooms.admission.lock=striped}).
+ */
+@Component
+@ConditionalOnProperty(name = "studyrooms.admission.lock", havingValue = "striped", matchIfMissing = true)
+public class StripedAdmissionLock implements AdmissionLock {
+
+    // One lock per stripe; the array length is always a power of two
+    private final ReentrantLock[] stripes;
+
+    /**
+     * @param stripeCount requested number of stripes (rounded up to a power of two)
+     */
+    public StripedAdmissionLock(@Value("${studyrooms.admission.stripes:256}") int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Acquires the stripe for the key and runs the admission step. Inside a transaction the
+     * stripe is released when the transaction completes; otherwise right after the step.
+     */
+    @Override
+    public <T> T execute(Long spaceId, LocalDate date, Supplier<T> admission) {
+        return runLocked(List.of(stripeFor(spaceId, date)), admission);
+    }
+
+    /**
+     * Acquires the distinct stripes of all keys in ascending stripe order, so concurrent
+     * multi-key callers cannot deadlock, then runs the admission step.
+     */
+    @Override
+    public <T> T executeAcross(Collection<Long> spaceIds, Collection<LocalDate> dates, Supplier<T> admission) {
+        List<ReentrantLock> locks = new ArrayList<>();
+        spaceIds.stream()
+                .flatMapToInt(spaceId -> dates.stream().mapToInt(date -> stripeIndex(spaceId, date)))
+                .distinct()
+                .sorted()
+                .forEach(index -> locks.add(stripes[index]));
+        return runLocked(locks, admission);
+    }
+
+    /**
+     * Locks in the given order; inside a transaction the locks are released when the
+     * transaction completes, otherwise right after the step.
+     */
+    private <T> T runLocked(List<ReentrantLock> locks, Supplier<T> admission) {
+        int held = 0;
+        boolean releaseOnCompletion = false;
+        try {
+            for (ReentrantLock lock : locks) {
+                lock.lock();
+                held++;
+            }
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        unlock(locks, locks.size());
+                    }
+                });
+                releaseOnCompletion = true;
+            }
+            return admission.get();
+        } finally {
+            if (!releaseOnCompletion) {
+                unlock(locks, held);
+            }
+        }
+    }
+
+    private static void unlock(List<ReentrantLock> locks, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    @Override
+    public boolean isClusterWide() {
+        return false;
+    }
+
+    /**
+     * Returns the stripe index for a key; exposed so multi-key callers can lock in a fixed order.
+     *
+     * @param spaceId the study space identifier
+     * @param date the reservation date
+     * @return index of the stripe guarding the key
+     */
+    public int stripeIndex(Long spaceId, LocalDate date) {
+        int h = 31 * spaceId.hashCode() + date.hashCode();
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+
+    private ReentrantLock stripeFor(Long spaceId, LocalDate date) {
+        return stripes[stripeIndex(spaceId, date)];
+    }
+}
@@ -0,0 +1,156 @@
+package gr.hua.dit.studyrooms.analytics;
+
+import gr.hua.dit.studyrooms.analytics.HistoricalReservationStore.Snapshot;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads and refreshes the {@link HistoricalReservationStore} from {@code reservations_archive}.
+ *
+ * The first load reads the whole archive (or maps the snapshot file, when configured and
+ * present). Each refresh then uses the store's cursor: if the archive still holds exactly
+ * the rows loaded up to the cursor, only the later days are read and appended; otherwise
+ * rows were removed (space deleted, demo data purged) or back-filled and the store is
+ * reloaded. The snapshot file is rewritten whenever the contents changed.
+ */
+@Component
+public class HistoricalReservationLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HistoricalReservationLoader.class);
+
+    private static final String SELECT_ROWS = """
+            SELECT study_space_id, date, start_time, end_time, status FROM reservations_archive
+            WHERE date > ?
+            ORDER BY study_space_id, date, start_time
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HistoricalReservationStore store;
+
+    // Disabled: the store stays empty and statistics read the archive table
+    private final boolean enabled;
+
+    // Snapshot file mapped on start-up and rewritten after changes; null when not configured
+    private final Path snapshotFile;
+
+    public HistoricalReservationLoader(JdbcTemplate jdbcTemplate,
+                                       HistoricalReservationStore store,
+                                       @Value("${studyrooms.analytics.enabled:true}") boolean enabled,
+                                       @Value("${studyrooms.analytics.snapshot-file:}") String snapshotFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.store = store;
+        this.enabled = enabled;
+        this.snapshotFile = snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+    }
+
+    /**
+     * Maps the snapshot file, if any, and brings the store up to date once the application
+     * is ready (after demo data seeding).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        if (snapshotFile != null && Files.exists(snapshotFile) && !store.isReady()) {
+            try {
+                store.publish(SnapshotFile.read(snapshotFile));
+                LOGGER.info("Historical reservation store mapped from {} ({} rows)", snapshotFile, store.snapshot().rows);
+            } catch (IOException ex) {
+                LOGGER.warn("Ignoring historical reservation snapshot {}: {}", snapshotFile, ex.getMessage());
+            }
+        }
+        refresh();
+    }
+
+    /**
+     * Appends archived days after the cursor, or reloads the store if rows up to the cursor
+     * changed.
+     */
+    @Scheduled(fixedDelayString = "${studyrooms.analytics.refresh-interval-ms:3600000}",
+            initialDelayString = "${studyrooms.analytics.refresh-interval-ms:3600000}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        Snapshot current = store.snapshot();
+        Snapshot next;
+        if (current.isEmpty()) {
+            next = readAfter(Snapshot.NO_CURSOR);
+        } else {
+            Long kept = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservations_archive WHERE date <= ?",
+                    Long.class, Date.valueOf(LocalDate.ofEpochDay(current.cursor)));
+            if (kept == null || kept != current.rows) {
+                LOGGER.info("Archive changed up to {}; reloading the historical reservation store",
+                        LocalDate.ofEpochDay(current.cursor));
+                next = readAfter(Snapshot.NO_CURSOR);
+            } else {
+                next = current.append(readAfter(current.cursor));
+            }
+        }
+        store.publish(next);
+
+        if (next != current && !(next.isEmpty() && current.isEmpty())) {
+            LOGGER.info("Historical reservation store holds {} rows up to {}", next.rows, store.getCursor());
+            writeSnapshot(next);
+        }
+    }
+
+    /**
+     * Reads the archived rows after a day, streamed into per-space columns.
+     *
+     * @param cursor epoch day after which rows are read, or {@link Snapshot#NO_CURSOR} for all
+     * @return the rows read, as a snapshot of their own
+     */
+    private Snapshot readAfter(long cursor) {
+        Map<Long, ReservationColumns.Builder> builders = new HashMap<>();
+        LocalDate after = cursor == Snapshot.NO_CURSOR ? LocalDate.of(1, 1, 1) : LocalDate.ofEpochDay(cursor);
+        // Latest day and number of rows read
+        long[] latest = {Snapshot.NO_CURSOR, 0};
+        jdbcTemplate.query(SELECT_ROWS, rs -> {
+            int epochDay = (int) rs.getObject(2, LocalDate.class).toEpochDay();
+            builders.computeIfAbsent(rs.getLong(1), id -> new ReservationColumns.Builder()).add(
+                    epochDay,
+                    minuteOf(rs.getObject(3, LocalTime.class)),
+                    minuteOf(rs.getObject(4, LocalTime.class)),
+                    ReservationStatus.valueOf(rs.getString(5)).ordinal());
+            latest[0] = Math.max(latest[0], epochDay);
+            latest[1]++;
+        }, Date.valueOf(after));
+
+        Map<Long, ReservationColumns> columns = new HashMap<>();
+        builders.forEach((spaceId, builder) -> columns.put(spaceId, builder.build()));
+        return new Snapshot(columns, latest[0], latest[1]);
+    }
+
+    private void writeSnapshot(Snapshot snapshot) {
+        if (snapshotFile == null) {
+            return;
+        }
+        try {
+            SnapshotFile.write(snapshotFile, snapshot);
+        } catch (IOException ex) {
+            LOGGER.warn("Could not write historical reservation snapshot {}: {}", snapshotFile, ex.getMessage());
+        }
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
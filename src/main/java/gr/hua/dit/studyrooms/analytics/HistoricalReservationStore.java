@@ -0,0 +1,126 @@
+package gr.hua.dit.studyrooms.analytics;
+
+import gr.hua.dit.studyrooms.availability.ReservationInterval;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only, in-memory columnar copy of the reservation archive ({@code reservations_archive}).
+ *
+ * Archived months no longer change, so the store is loaded once and then extended with the
+ * days after its cursor (the last day loaded) by {@link HistoricalReservationLoader}. Lookups
+ * read an immutable {@link Snapshot}; a refresh publishes a new one. Days after the cursor
+ * are not covered and must be read from the database.
+ */
+@Component
+public class HistoricalReservationStore {
+
+    // Current contents, replaced on every refresh
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // Set once the store has been loaded and may be trusted
+    private volatile boolean ready;
+
+    /**
+     * @return true once the store has been loaded
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return the last day covered by the store, or null if it holds no reservation
+     */
+    public LocalDate getCursor() {
+        Snapshot current = snapshot;
+        return current.isEmpty() ? null : LocalDate.ofEpochDay(current.cursor);
+    }
+
+    /**
+     * Returns the time windows of a space's archived reservations over a date range, in the
+     * shape of {@code ReservationRepository#findIntervalsBySpaceAndDateBetween}.
+     *
+     * @param spaceId the study space identifier
+     * @param from first day (inclusive)
+     * @param to last day (inclusive)
+     * @param statuses the statuses to include
+     * @return interval projections ordered by date
+     */
+    public List<ReservationInterval> findIntervals(Long spaceId, LocalDate from, LocalDate to,
+                                                   Collection<ReservationStatus> statuses) {
+        ReservationColumns columns = snapshot.bySpace.get(spaceId);
+        if (columns == null || to.isBefore(from)) {
+            return List.of();
+        }
+        boolean[] included = new boolean[ReservationStatus.values().length];
+        statuses.forEach(status -> included[status.ordinal()] = true);
+
+        int end = columns.firstOnOrAfter(to.toEpochDay() + 1);
+        List<ReservationInterval> intervals = new ArrayList<>();
+        for (int i = columns.firstOnOrAfter(from.toEpochDay()); i < end; i++) {
+            if (included[columns.statuses[i]]) {
+                intervals.add(new ReservationInterval(spaceId, LocalDate.ofEpochDay(columns.epochDays[i]),
+                        LocalTime.ofSecondOfDay(columns.startMinutes[i] * 60L),
+                        LocalTime.ofSecondOfDay(columns.endMinutes[i] * 60L)));
+            }
+        }
+        return intervals;
+    }
+
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    void publish(Snapshot next) {
+        snapshot = next;
+        ready = true;
+    }
+
+    /**
+     * Immutable contents of the store: columns per space, the last day loaded and the row count.
+     */
+    static final class Snapshot {
+
+        // Marks a snapshot without rows
+        static final long NO_CURSOR = Long.MIN_VALUE;
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), NO_CURSOR, 0);
+
+        final Map<Long, ReservationColumns> bySpace;
+        // Epoch day of the latest reservation loaded
+        final long cursor;
+        // Reservations loaded, compared against the archive to detect deletions
+        final long rows;
+
+        Snapshot(Map<Long, ReservationColumns> bySpace, long cursor, long rows) {
+            this.bySpace = Map.copyOf(bySpace);
+            this.cursor = cursor;
+            this.rows = rows;
+        }
+
+        boolean isEmpty() {
+            return rows == 0;
+        }
+
+        /**
+         * @param tail reservations on days after this snapshot's cursor
+         * @return a snapshot holding both
+         */
+        Snapshot append(Snapshot tail) {
+            if (tail.isEmpty()) {
+                return this;
+            }
+            Map<Long, ReservationColumns> next = new HashMap<>(bySpace);
+            tail.bySpace.forEach((spaceId, columns) -> next.merge(spaceId, columns, ReservationColumns::append));
+            return new Snapshot(next, Math.max(cursor, tail.cursor), rows + tail.rows);
+        }
+    }
+}
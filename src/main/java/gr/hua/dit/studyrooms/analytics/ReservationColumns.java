@@ -0,0 +1,105 @@
+package gr.hua.dit.studyrooms.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Archived reservations of one study space as parallel primitive columns, sorted by day.
+ *
+ * Nine bytes per reservation (epoch day, start minute, end minute, status ordinal) instead
+ * of an entity graph; a date range is located with two binary searches and scanned
+ * sequentially. Instances are immutable; appending returns a new instance.
+ */
+final class ReservationColumns {
+
+    static final ReservationColumns EMPTY = new ReservationColumns(new int[0], new short[0], new short[0], new byte[0]);
+
+    // Day of each reservation (LocalDate#toEpochDay), non-decreasing
+    final int[] epochDays;
+    // Minute of the day the reservation starts
+    final short[] startMinutes;
+    // Minute of the day the reservation ends (exclusive)
+    final short[] endMinutes;
+    // ReservationStatus ordinal
+    final byte[] statuses;
+
+    ReservationColumns(int[] epochDays, short[] startMinutes, short[] endMinutes, byte[] statuses) {
+        this.epochDays = epochDays;
+        this.startMinutes = startMinutes;
+        this.endMinutes = endMinutes;
+        this.statuses = statuses;
+    }
+
+    int size() {
+        return epochDays.length;
+    }
+
+    /**
+     * @param epochDay the day
+     * @return index of the first reservation on or after the day ({@link #size()} if none)
+     */
+    int firstOnOrAfter(long epochDay) {
+        int low = 0;
+        int high = epochDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochDays[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param tail reservations on later days than every reservation of this instance
+     * @return the concatenation of both
+     */
+    ReservationColumns append(ReservationColumns tail) {
+        if (tail.size() == 0) {
+            return this;
+        }
+        int n = size();
+        int total = n + tail.size();
+        int[] days = Arrays.copyOf(epochDays, total);
+        short[] starts = Arrays.copyOf(startMinutes, total);
+        short[] ends = Arrays.copyOf(endMinutes, total);
+        byte[] codes = Arrays.copyOf(statuses, total);
+        System.arraycopy(tail.epochDays, 0, days, n, tail.size());
+        System.arraycopy(tail.startMinutes, 0, starts, n, tail.size());
+        System.arraycopy(tail.endMinutes, 0, ends, n, tail.size());
+        System.arraycopy(tail.statuses, 0, codes, n, tail.size());
+        return new ReservationColumns(days, starts, ends, codes);
+    }
+
+    /**
+     * Collects rows in day order into growable columns.
+     */
+    static final class Builder {
+        private int size;
+        private int[] epochDays = new int[16];
+        private short[] startMinutes = new short[16];
+        private short[] endMinutes = new short[16];
+        private byte[] statuses = new byte[16];
+
+        void add(int epochDay, int startMinute, int endMinute, int status) {
+            if (size == epochDays.length) {
+                int capacity = size * 2;
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                startMinutes = Arrays.copyOf(startMinutes, capacity);
+                endMinutes = Arrays.copyOf(endMinutes, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+            }
+            epochDays[size] = epochDay;
+            startMinutes[size] = (short) startMinute;
+            endMinutes[size] = (short) endMinute;
+            statuses[size] = (byte) status;
+            size++;
+        }
+
+        ReservationColumns build() {
+            return new ReservationColumns(Arrays.copyOf(epochDays, size), Arrays.copyOf(startMinutes, size),
+                    Arrays.copyOf(endMinutes, size), Arrays.copyOf(statuses, size));
+        }
+    }
+}
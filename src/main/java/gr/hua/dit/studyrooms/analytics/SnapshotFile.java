@@ -0,0 +1,112 @@
+package gr.hua.dit.studyrooms.analytics;
+
+import gr.hua.dit.studyrooms.analytics.HistoricalReservationStore.Snapshot;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Memory-mapped file image of a {@link Snapshot}, so a restart maps the archive columns back
+ * instead of reloading them from the database.
+ *
+ * Layout (big-endian): magic, number of statuses, cursor, rows, number of spaces, then per
+ * space its id, row count and the four columns one after the other. A file written with a
+ * different status enum or format is rejected and the store is reloaded.
+ */
+final class SnapshotFile {
+
+    // "SRA1": studyrooms reservation archive, format 1
+    private static final int MAGIC = 0x53524131;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * @param file the snapshot file
+     * @return the snapshot stored in the file
+     * @throws IOException if the file cannot be read or has another format
+     */
+    static Snapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != ReservationStatus.values().length) {
+                throw new IOException("Unsupported snapshot format: " + file);
+            }
+            long cursor = buffer.getLong();
+            long rows = buffer.getLong();
+            int spaces = buffer.getInt();
+            Map<Long, ReservationColumns> bySpace = new HashMap<>();
+            for (int s = 0; s < spaces; s++) {
+                long spaceId = buffer.getLong();
+                int n = buffer.getInt();
+                int[] days = new int[n];
+                short[] starts = new short[n];
+                short[] ends = new short[n];
+                byte[] statuses = new byte[n];
+                buffer.asIntBuffer().get(days);
+                buffer.position(buffer.position() + n * Integer.BYTES);
+                buffer.asShortBuffer().get(starts);
+                buffer.position(buffer.position() + n * Short.BYTES);
+                buffer.asShortBuffer().get(ends);
+                buffer.position(buffer.position() + n * Short.BYTES);
+                buffer.get(statuses);
+                bySpace.put(spaceId, new ReservationColumns(days, starts, ends, statuses));
+            }
+            return new Snapshot(bySpace, cursor, rows);
+        } catch (BufferUnderflowException ex) {
+            throw new IOException("Truncated snapshot: " + file, ex);
+        }
+    }
+
+    /**
+     * Writes the snapshot next to the target and moves it into place, so a crash never
+     * leaves a partial file behind.
+     *
+     * @param file the snapshot file
+     * @param snapshot the snapshot to store
+     * @throws IOException if the file cannot be written
+     */
+    static void write(Path file, Snapshot snapshot) throws IOException {
+        long size = 4 + 4 + 8 + 8 + 4;
+        for (ReservationColumns columns : snapshot.bySpace.values()) {
+            size += 8 + 4 + (long) columns.size() * (Integer.BYTES + 2 * Short.BYTES + Byte.BYTES);
+        }
+
+        Path absolute = file.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC);
+            buffer.putInt(ReservationStatus.values().length);
+            buffer.putLong(snapshot.cursor);
+            buffer.putLong(snapshot.rows);
+            buffer.putInt(snapshot.bySpace.size());
+            for (Map.Entry<Long, ReservationColumns> entry : snapshot.bySpace.entrySet()) {
+                ReservationColumns columns = entry.getValue();
+                int n = columns.size();
+                buffer.putLong(entry.getKey());
+                buffer.putInt(n);
+                buffer.asIntBuffer().put(columns.epochDays);
+                buffer.position(buffer.position() + n * Integer.BYTES);
+                buffer.asShortBuffer().put(columns.startMinutes);
+                buffer.position(buffer.position() + n * Short.BYTES);
+                buffer.asShortBuffer().put(columns.endMinutes);
+                buffer.position(buffer.position() + n * Short.BYTES);
+                buffer.put(columns.statuses);
+            }
+            buffer.force();
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,268 @@
+package gr.hua.dit.studyrooms.archive;
+
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Moves reservations of closed-out months from {@code reservations} to {@code reservations_archive}.
+ *
+ * A month is closed out once it ended more than {@code hot-months} months ago; everything
+ * newer stays in the hot table that booking, availability and "my reservations" read.
+ * On PostgreSQL both tables are partitioned by month (migration V4), so a month is archived
+ * by detaching its partition and attaching it to the archive in one short transaction,
+ * without copying rows; partitions for the coming months are created ahead of time. Rows
+ * that landed in the default partition (months without a partition of their own) are
+ * first split out into a new monthly partition, so they are archived like any other
+ * month and never block the creation of their month's partition. On H2 the rows are
+ * copied and deleted by id in chunks, one transaction per chunk.
+ * Archived months stay queryable through {@code ArchivedReservationRepository}.
+ */
+@Component
+public class ReservationArchiver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReservationArchiver.class);
+
+    // Monthly partitions are named reservations_YYYY_MM
+    private static final Pattern MONTH_PARTITION = Pattern.compile("reservations_(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String COLUMNS = "id, user_id, study_space_id, date, start_time, end_time, status, demo";
+
+    private final ReservationRepository reservationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // PostgreSQL: months are partitions that can be moved as a whole
+    private final boolean partitioned;
+    // Completed months kept in the hot table besides the current one
+    private final int hotMonths;
+    // PostgreSQL: partitions created ahead of the current month
+    private final int monthsAhead;
+    // H2: rows moved per transaction
+    private final int chunkSize;
+
+    private final Counter archivedMonthsCounter;
+    private final Counter archivedRowsCounter;
+
+    @Autowired
+    public ReservationArchiver(ReservationRepository reservationRepository,
+                               JdbcTemplate jdbcTemplate,
+                               EntityManagerFactory entityManagerFactory,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${studyrooms.archive.hot-months:6}") int hotMonths,
+                               @Value("${studyrooms.archive.months-ahead:3}") int monthsAhead,
+                               @Value("${studyrooms.archive.chunk-size:1000}") int chunkSize) {
+        this(reservationRepository, jdbcTemplate, transactionManager, meterRegistry,
+                entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                        .getJdbcServices().getDialect() instanceof PostgreSQLDialect,
+                hotMonths, monthsAhead, chunkSize);
+    }
+
+    ReservationArchiver(ReservationRepository reservationRepository,
+                        JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        boolean partitioned,
+                        int hotMonths,
+                        int monthsAhead,
+                        int chunkSize) {
+        if (hotMonths < 0 || monthsAhead < 0 || chunkSize < 1) {
+            throw new IllegalArgumentException(
+                    "studyrooms.archive.hot-months and months-ahead must not be negative, chunk-size must be positive");
+        }
+        this.reservationRepository = reservationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitioned = partitioned;
+        this.hotMonths = hotMonths;
+        this.monthsAhead = monthsAhead;
+        this.chunkSize = chunkSize;
+        this.archivedMonthsCounter = Counter.builder("studyrooms.archive.months")
+                .description("Monthly partitions moved to the reservation archive")
+                .register(meterRegistry);
+        this.archivedRowsCounter = Counter.builder("studyrooms.archive.rows")
+                .description("Reservations copied to the archive row by row")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Archives closed-out months (nightly).
+     */
+    @Scheduled(cron = "${studyrooms.archive.cron:0 15 2 * * *}")
+    public void archive() {
+        archive(LocalDate.now());
+    }
+
+    /**
+     * Archives every month that ended before the cutoff derived from {@code today}.
+     */
+    void archive(LocalDate today) {
+        LocalDate cutoff = cutoff(today);
+        if (partitioned) {
+            createPartitionsAhead(today);
+            splitDefaultPartition(cutoff);
+            archivePartitions(cutoff);
+        } else {
+            archiveRows(cutoff);
+        }
+    }
+
+    /**
+     * First day that stays in the hot table: the start of the month {@code hot-months}
+     * before the current one. The archive therefore never holds the current month.
+     */
+    LocalDate cutoff(LocalDate today) {
+        return today.withDayOfMonth(1).minusMonths(hotMonths);
+    }
+
+    /**
+     * Creates the partitions of the current and the next {@code months-ahead} months, so
+     * new bookings never land in the default partition. A month whose rows already sit in
+     * the default partition is split out of it instead.
+     */
+    private void createPartitionsAhead(LocalDate today) {
+        LocalDate month = today.withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++, month = month.plusMonths(1)) {
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS reservations_" + month.format(PARTITION_SUFFIX)
+                        + " PARTITION OF reservations FOR VALUES FROM ('" + month + "') TO ('"
+                        + month.plusMonths(1) + "')");
+            } catch (DataAccessException ex) {
+                // Rows of that month already sit in the default partition
+                splitMonth(month);
+            }
+        }
+    }
+
+    /**
+     * Splits every month before the cutoff that still has rows in the default partition
+     * out into a partition of its own, for {@link #archivePartitions} to move.
+     */
+    private void splitDefaultPartition(LocalDate cutoff) {
+        List<LocalDate> months = jdbcTemplate.queryForList("""
+                SELECT DISTINCT CAST(date_trunc('month', date) AS DATE) AS month
+                FROM reservations_default
+                WHERE date < ?
+                ORDER BY month
+                """, LocalDate.class, cutoff);
+        months.forEach(this::splitMonth);
+    }
+
+    /**
+     * Moves one month's rows from the default partition into a new monthly partition, in
+     * one transaction: the rows are copied to a new table, deleted from the default
+     * partition, and the table is attached (which builds its indexes).
+     */
+    private void splitMonth(LocalDate month) {
+        String partition = "reservations_" + month.format(PARTITION_SUFFIX);
+        String inMonth = " WHERE date >= '" + month + "' AND date < '" + month.plusMonths(1) + "'";
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE reservations INCLUDING DEFAULTS)");
+                jdbcTemplate.execute("INSERT INTO " + partition + " (" + COLUMNS + ") SELECT " + COLUMNS
+                        + " FROM reservations_default" + inMonth);
+                jdbcTemplate.execute("DELETE FROM reservations_default" + inMonth);
+                jdbcTemplate.execute("ALTER TABLE reservations ATTACH PARTITION " + partition
+                        + " FOR VALUES FROM ('" + month + "') TO ('" + month.plusMonths(1) + "')");
+            });
+            LOGGER.info("Split reservations of {} out of the default partition",
+                    month.format(DateTimeFormatter.ofPattern("yyyy-MM")));
+        } catch (DataAccessException ex) {
+            // E.g. another node split the month first; retried on the next run otherwise
+            LOGGER.warn("Could not split reservation partition {} out of the default partition: {}",
+                    partition, ex.getMessage());
+        }
+    }
+
+    /**
+     * Moves every monthly partition that ended before the cutoff to the archive.
+     */
+    private void archivePartitions(LocalDate cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = 'reservations'
+                ORDER BY c.relname
+                """, String.class);
+        for (String partition : partitions) {
+            Matcher matcher = MONTH_PARTITION.matcher(partition);
+            if (!matcher.matches()) {
+                continue; // The default partition
+            }
+            LocalDate month = LocalDate.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)), 1);
+            if (!month.isBefore(cutoff)) {
+                continue;
+            }
+            String archived = "reservations_archive_" + month.format(PARTITION_SUFFIX);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.execute("ALTER TABLE reservations DETACH PARTITION " + partition);
+                    jdbcTemplate.execute("ALTER TABLE " + partition + " RENAME TO " + archived);
+                    jdbcTemplate.execute("ALTER TABLE reservations_archive ATTACH PARTITION " + archived
+                            + " FOR VALUES FROM ('" + month + "') TO ('" + month.plusMonths(1) + "')");
+                });
+                archivedMonthsCounter.increment();
+                LOGGER.info("Archived reservations of {}", month.format(DateTimeFormatter.ofPattern("yyyy-MM")));
+            } catch (DataAccessException ex) {
+                // E.g. another node archived the month first; retried on the next run otherwise
+                LOGGER.warn("Could not archive reservation partition {}: {}", partition, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Copies and deletes reservations dated before the cutoff, chunk after chunk until a
+     * read comes back short.
+     */
+    private void archiveRows(LocalDate cutoff) {
+        Pageable chunk = PageRequest.of(0, chunkSize);
+        long total = 0;
+        int size;
+        do {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> ids = reservationRepository.findIdsByDateBefore(cutoff, chunk);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                namedJdbcTemplate.update("INSERT INTO reservations_archive (" + COLUMNS + ") SELECT " + COLUMNS
+                        + " FROM reservations WHERE id IN (:ids)", Map.of("ids", ids));
+                return reservationRepository.deleteByIdIn(ids);
+            });
+            size = moved != null ? moved : 0;
+            total += size;
+            archivedRowsCounter.increment(size);
+        } while (size == chunkSize);
+
+        if (total > 0) {
+            LOGGER.info("Archived {} reservations dated before {}", total, cutoff);
+        }
+    }
+}
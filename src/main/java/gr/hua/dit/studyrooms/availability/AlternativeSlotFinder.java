@@ -0,0 +1,203 @@
+package gr.hua.dit.studyrooms.availability;
+
+import gr.hua.dit.studyrooms.closure.ClosureIndex;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.entity.StudySpace;
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Suggests free alternatives when a booking is rejected for capacity.
+ *
+ * Two kinds of alternatives are produced and interleaved: the same space at start times
+ * shifted by multiples of 15 minutes (nearest first), and other spaces at the requested
+ * time. Occupancy comes from the same source the capacity check just used: the in-memory
+ * {@link OccupancyLedger} when it is authoritative, otherwise the day's reservations for all
+ * spaces loaded with a single interval query. Windows hit by a staff closure (per the
+ * {@link ClosureIndex}) are never suggested.
+ */
+@Component
+public class AlternativeSlotFinder {
+
+    // Shift between candidate start times of the same space
+    private static final int SHIFT_STEP_MINUTES = 15;
+
+    // Latest end of day, as used for full-day spaces
+    private static final int MINUTE_2359 = 23 * 60 + 59;
+
+    // Only CONFIRMED reservations occupy a seat
+    private static final List<ReservationStatus> ACTIVE_STATUSES = List.of(
+            ReservationStatus.CONFIRMED
+    );
+
+    private final OccupancyLedger occupancyLedger;
+    private final ReservationRepository reservationRepository;
+    private final StudySpaceRepository studySpaceRepository;
+    private final ClosureIndex closureIndex;
+
+    public AlternativeSlotFinder(OccupancyLedger occupancyLedger,
+                                 ReservationRepository reservationRepository,
+                                 StudySpaceRepository studySpaceRepository,
+                                 ClosureIndex closureIndex) {
+        this.occupancyLedger = occupancyLedger;
+        this.reservationRepository = reservationRepository;
+        this.studySpaceRepository = studySpaceRepository;
+        this.closureIndex = closureIndex;
+    }
+
+    /**
+     * Returns up to {@code limit} free alternatives to a rejected booking.
+     *
+     * @param space the space that was full
+     * @param date the requested date
+     * @param startTime the requested start
+     * @param endTime the requested end
+     * @param limit maximum number of alternatives
+     * @param fromLedger true to read occupancy from the ledger, false to query the database
+     * @return alternatives, alternating same-space shifts and other spaces, nearest first
+     */
+    public List<SlotOption> suggest(StudySpace space, LocalDate date, LocalTime startTime,
+                                    LocalTime endTime, int limit, boolean fromLedger) {
+        int start = toMinute(startTime);
+        int duration = toMinute(endTime) - start;
+        Map<Long, int[]> profiles = fromLedger ? null : loadProfiles(date);
+
+        List<SlotOption> sameSpace = shiftedOptions(space, date, start, duration,
+                profile(profiles, space.getId(), date), limit);
+        List<SlotOption> otherSpaces = otherSpaceOptions(space, date, start, duration, profiles, limit);
+
+        // Interleave so both kinds are offered
+        List<SlotOption> result = new ArrayList<>(limit);
+        for (int i = 0; result.size() < limit && (i < sameSpace.size() || i < otherSpaces.size()); i++) {
+            if (i < sameSpace.size()) {
+                result.add(sameSpace.get(i));
+            }
+            if (i < otherSpaces.size() && result.size() < limit) {
+                result.add(otherSpaces.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Same space, start moved earlier/later by 15, 30, ... minutes within opening hours.
+     */
+    private List<SlotOption> shiftedOptions(StudySpace space, LocalDate date, int start, int duration,
+                                            int[] occupancy, int limit) {
+        int open = Math.max(openMinute(space), earliestStart(date));
+        int close = closeMinute(space);
+        List<SlotOption> options = new ArrayList<>();
+
+        for (int shift = SHIFT_STEP_MINUTES; options.size() < limit; shift += SHIFT_STEP_MINUTES) {
+            int earlier = start - shift;
+            int later = start + shift;
+            boolean earlierInRange = earlier >= open;
+            boolean laterInRange = later + duration <= close;
+            if (!earlierInRange && !laterInRange) {
+                break;
+            }
+            if (earlierInRange) {
+                addIfFree(options, space, date, earlier, duration, occupancy);
+            }
+            if (laterInRange && options.size() < limit) {
+                addIfFree(options, space, date, later, duration, occupancy);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Other open spaces with a free seat for the requested time.
+     */
+    private List<SlotOption> otherSpaceOptions(StudySpace rejected, LocalDate date, int start, int duration,
+                                               Map<Long, int[]> profiles, int limit) {
+        List<SlotOption> options = new ArrayList<>();
+
+        for (StudySpace space : studySpaceRepository.findAllByOrderByNameAsc()) {
+            if (options.size() >= limit) {
+                break;
+            }
+            if (space.getId().equals(rejected.getId())
+                    || start < openMinute(space) || start + duration > closeMinute(space)) {
+                continue;
+            }
+            addIfFree(options, space, date, start, duration, profile(profiles, space.getId(), date));
+        }
+        return options;
+    }
+
+    private void addIfFree(List<SlotOption> out, StudySpace space, LocalDate date,
+                           int start, int duration, int[] occupancy) {
+        Integer capacity = space.getCapacity();
+        if (capacity == null || closureIndex.isClosed(space.getId(), date, toTime(start), toTime(start + duration))) {
+            return;
+        }
+        int peak = 0;
+        for (int m = start; m < start + duration; m++) {
+            peak = Math.max(peak, occupancy[m]);
+        }
+        if (peak < capacity) {
+            out.add(new SlotOption(space.getId(), space.getName(), date,
+                    toTime(start), toTime(start + duration), capacity - peak));
+        }
+    }
+
+    /**
+     * Per-minute occupancy of a space, from the ledger or from the preloaded profiles.
+     */
+    private int[] profile(Map<Long, int[]> profiles, Long spaceId, LocalDate date) {
+        if (profiles == null) {
+            return occupancyLedger.snapshot(spaceId, date);
+        }
+        int[] occupancy = profiles.get(spaceId);
+        return occupancy != null ? occupancy : new int[OccupancyLedger.MINUTES_PER_DAY];
+    }
+
+    /**
+     * Builds per-minute occupancy for every space from one query.
+     */
+    private Map<Long, int[]> loadProfiles(LocalDate date) {
+        return reservationRepository.findIntervalsByDate(date, ACTIVE_STATUSES).stream()
+                .collect(Collectors.groupingBy(ReservationInterval::getSpaceId,
+                        Collectors.collectingAndThen(Collectors.toList(), AlternativeSlotFinder::toProfile)));
+    }
+
+    private static int[] toProfile(List<ReservationInterval> intervals) {
+        int[] occupancy = new int[OccupancyLedger.MINUTES_PER_DAY];
+        for (ReservationInterval interval : intervals) {
+            for (int m = interval.getStartMinute(); m < interval.getEndMinute(); m++) {
+                occupancy[m]++;
+            }
+        }
+        return occupancy;
+    }
+
+    // Today, alternatives must not start in the past
+    private static int earliestStart(LocalDate date) {
+        return date.isEqual(LocalDate.now()) ? toMinute(LocalTime.now()) + 1 : 0;
+    }
+
+    private static int openMinute(StudySpace space) {
+        return space.isFullDay() ? 0 : toMinute(space.getOpenTime());
+    }
+
+    private static int closeMinute(StudySpace space) {
+        return space.isFullDay() ? MINUTE_2359 : toMinute(space.getCloseTime());
+    }
+
+    private static int toMinute(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    private static LocalTime toTime(int minuteOfDay) {
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+}
@@ -0,0 +1,192 @@
+package gr.hua.dit.studyrooms.availability;
+
+import gr.hua.dit.studyrooms.event.ReservationChangedEvent;
+import gr.hua.dit.studyrooms.event.StudySpaceChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of computed daily availability, keyed by (space, date, slot size).
+ *
+ * Entries are never expired by time; instead they are evicted precisely when the data
+ * behind them changes: a {@link ReservationChangedEvent} drops every slot size of that
+ * (space, date), and a {@link StudySpaceChangedEvent} drops every entry of that space.
+ * Both are handled after the publishing transaction commits, ahead of other listeners
+ * (such as {@link SeatCountBroadcaster}) that recompute availability through this cache.
+ *
+ * A value computed while its own data is invalidated could be stale, so each computation
+ * records the version of its (space, date) and of its space when it starts, and is only
+ * stored if neither changed in the meantime. Versions live in fixed arrays of striped
+ * counters, so a write only discards the concurrent misses of its own day (or, rarely, of
+ * a day sharing its stripe) without the version table growing with the calendar.
+ *
+ * Metrics: {@code studyrooms.availability.cache.requests} tagged {@code result=hit|miss}
+ * and {@code studyrooms.availability.cache.size}.
+ */
+@Component
+public class AvailabilityCache {
+
+    // Access-ordered map; guarded by "this"
+    private final LinkedHashMap<CacheKey, List<TimeSlotAvailability>> entries;
+
+    // Number of striped version counters (a power of two)
+    private static final int VERSION_STRIPES = 1024;
+
+    // Incremented when a (space, date) hashing to the stripe is invalidated; guarded by "this"
+    private final long[] dayVersions = new long[VERSION_STRIPES];
+
+    // Incremented when a space hashing to the stripe is invalidated; guarded by "this"
+    private final long[] spaceVersions = new long[VERSION_STRIPES];
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public AvailabilityCache(MeterRegistry meterRegistry,
+                             @Value("${studyrooms.availability.cache.max-entries:2048}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, List<TimeSlotAvailability>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("studyrooms.availability.cache.requests")
+                .description("Availability cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("studyrooms.availability.cache.requests")
+                .description("Availability cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("studyrooms.availability.cache.size", this, AvailabilityCache::size)
+                .description("Cached (space, date, slot size) entries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached slots, computing and storing them on a miss.
+     *
+     * @param spaceId the study space identifier
+     * @param date the date
+     * @param slotMinutes the slot size
+     * @param loader computes the slots on a miss (called without holding the cache lock)
+     * @return the (immutable) slot list
+     */
+    public List<TimeSlotAvailability> get(Long spaceId, LocalDate date, int slotMinutes,
+                                          Supplier<List<TimeSlotAvailability>> loader) {
+        CacheKey key = new CacheKey(spaceId, date, slotMinutes);
+        int dayStripe = dayStripe(spaceId, date);
+        int spaceStripe = spaceStripe(spaceId);
+        long startDayVersion;
+        long startSpaceVersion;
+        synchronized (this) {
+            List<TimeSlotAvailability> cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            startDayVersion = dayVersions[dayStripe];
+            startSpaceVersion = spaceVersions[spaceStripe];
+        }
+
+        misses.increment();
+        List<TimeSlotAvailability> computed = List.copyOf(loader.get());
+
+        synchronized (this) {
+            if (dayVersions[dayStripe] == startDayVersion && spaceVersions[spaceStripe] == startSpaceVersion) {
+                entries.put(key, computed);
+            }
+        }
+        return computed;
+    }
+
+    /**
+     * Drops all slot sizes of the changed (space, date).
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        synchronized (this) {
+            dayVersions[dayStripe(event.getSpaceId(), event.getDate())]++;
+            entries.keySet().removeIf(key ->
+                    key.spaceId.equals(event.getSpaceId()) && key.date.equals(event.getDate()));
+        }
+    }
+
+    /**
+     * Drops every cached date of the changed space (hours or capacity may differ).
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudySpaceChanged(StudySpaceChangedEvent event) {
+        synchronized (this) {
+            spaceVersions[spaceStripe(event.getSpaceId())]++;
+            entries.keySet().removeIf(key -> key.spaceId.equals(event.getSpaceId()));
+        }
+    }
+
+    /**
+     * @return number of cached entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static int dayStripe(Long spaceId, LocalDate date) {
+        return stripe(Objects.hash(spaceId, date));
+    }
+
+    private static int spaceStripe(Long spaceId) {
+        return stripe(Objects.hashCode(spaceId));
+    }
+
+    // Spreads the hash bits before masking, as HashMap does
+    private static int stripe(int hash) {
+        return (hash ^ (hash >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    /**
+     * Cache key: space, date and slot size.
+     */
+    private static final class CacheKey {
+        private final Long spaceId;
+        private final LocalDate date;
+        private final int slotMinutes;
+
+        private CacheKey(Long spaceId, LocalDate date, int slotMinutes) {
+            this.spaceId = spaceId;
+            this.date = date;
+            this.slotMinutes = slotMinutes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey other)) {
+                return false;
+            }
+            return slotMinutes == other.slotMinutes
+                    && Objects.equals(spaceId, other.spaceId)
+                    && Objects.equals(date, other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(spaceId, date, slotMinutes);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package gr.hua.dit.studyrooms.availability;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Spaces x slots availability grid for a single day.
+ *
+ * Immutable; serialized as JSON by {@code GET /api/availability}.
+ */
+public class AvailabilityGrid {
+
+    /** The day the grid describes */
+    private final LocalDate date;
+
+    /** Slot size used for every row, in minutes */
+    private final int slotMinutes;
+
+    /** One row per study space, ordered by space name */
+    private final List<SpaceAvailabilityRow> spaces;
+
+    /**
+     * Constructs a grid.
+     *
+     * @param date the day the grid describes
+     * @param slotMinutes slot size in minutes
+     * @param spaces one row per study space
+     */
+    public AvailabilityGrid(LocalDate date, int slotMinutes, List<SpaceAvailabilityRow> spaces) {
+        this.date = date;
+        this.slotMinutes = slotMinutes;
+        this.spaces = spaces;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public List<SpaceAvailabilityRow> getSpaces() {
+        return spaces;
+    }
+}
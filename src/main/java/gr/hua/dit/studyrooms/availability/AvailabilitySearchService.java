@@ -0,0 +1,179 @@
+package gr.hua.dit.studyrooms.availability;
+
+import gr.hua.dit.studyrooms.closure.ClosureIndex;
+import gr.hua.dit.studyrooms.closure.ClosureInterval;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.entity.StudySpace;
+import gr.hua.dit.studyrooms.external.HolidayApiPort;
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
+import gr.hua.dit.studyrooms.service.ReservationPolicy;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * "Next available slot" search across all study spaces.
+ *
+ * Instead of probing each space with a capacity query, the search loads the day's active
+ * reservations for every space with one query, builds a per-minute occupancy profile per
+ * space with a difference array (staff closures, read from the in-memory {@link ClosureIndex},
+ * count as fully booked), and then tests every candidate start in O(1) using a prefix count
+ * of fully booked minutes. The earliest
+ * feasible options across all spaces are returned, ordered by start time and space name.
+ */
+@Service
+public class AvailabilitySearchService {
+
+    // Candidate start times are aligned to this grid (e.g. 09:00, 09:15, ...)
+    private static final int START_STEP_MINUTES = 15;
+
+    // Latest representable end of day, as used for full-day spaces
+    private static final int MINUTE_2359 = 23 * 60 + 59;
+
+    // Upper bound for the number of options returned
+    private static final int MAX_RESULTS = 50;
+
+    // Only CONFIRMED reservations occupy a seat
+    private static final List<ReservationStatus> ACTIVE_STATUSES = List.of(
+            ReservationStatus.CONFIRMED
+    );
+
+    private final ReservationRepository reservationRepository;
+    private final StudySpaceRepository studySpaceRepository;
+    private final HolidayApiPort holidayApiPort;
+    private final ClosureIndex closureIndex;
+
+    public AvailabilitySearchService(ReservationRepository reservationRepository,
+                                     StudySpaceRepository studySpaceRepository,
+                                     HolidayApiPort holidayApiPort,
+                                     ClosureIndex closureIndex) {
+        this.reservationRepository = reservationRepository;
+        this.studySpaceRepository = studySpaceRepository;
+        this.holidayApiPort = holidayApiPort;
+        this.closureIndex = closureIndex;
+    }
+
+    /**
+     * Finds the earliest feasible (space, start) options on a date.
+     *
+     * @param date the desired date
+     * @param durationMinutes reservation length, 1 to {@link ReservationPolicy#MAX_RESERVATION_DURATION_MINUTES}
+     * @param windowStart earliest acceptable start (null = opening time)
+     * @param windowEnd latest acceptable end (null = closing time)
+     * @param limit maximum number of options (1 to 50)
+     * @return options ordered by start time then space name; empty on holidays
+     */
+    public List<SlotOption> findNextAvailable(LocalDate date, int durationMinutes,
+                                              LocalTime windowStart, LocalTime windowEnd, int limit) {
+        if (durationMinutes < 1 || durationMinutes > ReservationPolicy.MAX_RESERVATION_DURATION_MINUTES) {
+            throw new IllegalArgumentException("Duration must be between 1 and "
+                    + ReservationPolicy.MAX_RESERVATION_DURATION_MINUTES + " minutes.");
+        }
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RESULTS + ".");
+        }
+        if (windowStart != null && windowEnd != null && !windowEnd.isAfter(windowStart)) {
+            throw new IllegalArgumentException("Window end must be after window start.");
+        }
+
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today) || holidayApiPort.isHoliday(date)) {
+            return List.of();
+        }
+
+        // Earliest start: window start, and not before "now" when searching today
+        int earliest = windowStart != null ? toMinute(windowStart) : 0;
+        if (date.isEqual(today)) {
+            earliest = Math.max(earliest, toMinute(LocalTime.now()) + 1);
+        }
+        int latestEnd = windowEnd != null ? toMinute(windowEnd) : MINUTE_2359;
+
+        // One scan for all spaces' reservations; closures come from the in-memory index
+        Map<Long, List<ReservationInterval>> intervalsBySpace =
+                reservationRepository.findIntervalsByDate(date, ACTIVE_STATUSES).stream()
+                        .collect(Collectors.groupingBy(ReservationInterval::getSpaceId));
+
+        List<SlotOption> options = new ArrayList<>();
+        for (StudySpace space : studySpaceRepository.findAll()) {
+            if (space.getCapacity() == null || space.getCapacity() <= 0) {
+                continue;
+            }
+            collectOptions(space, date, durationMinutes, earliest, latestEnd, limit,
+                    intervalsBySpace.getOrDefault(space.getId(), List.of()),
+                    closureIndex.closuresOn(space.getId(), date), options);
+        }
+
+        options.sort(Comparator.comparing(SlotOption::getStart).thenComparing(SlotOption::getSpaceName));
+        return options.size() > limit ? List.copyOf(options.subList(0, limit)) : options;
+    }
+
+    /**
+     * Adds up to {@code limit} of the earliest feasible starts of one space to {@code out}.
+     */
+    private static void collectOptions(StudySpace space, LocalDate date, int duration, int earliest,
+                                       int latestEnd, int limit, List<ReservationInterval> intervals,
+                                       List<ClosureInterval> closures, List<SlotOption> out) {
+        int open = space.isFullDay() ? 0 : toMinute(space.getOpenTime());
+        int close = space.isFullDay() ? MINUTE_2359 : toMinute(space.getCloseTime());
+        int capacity = space.getCapacity();
+
+        // Per-minute occupancy via a difference array
+        int[] occupancy = new int[OccupancyLedger.MINUTES_PER_DAY + 1];
+        for (ReservationInterval interval : intervals) {
+            occupancy[interval.getStartMinute()]++;
+            occupancy[Math.min(interval.getEndMinute(), OccupancyLedger.MINUTES_PER_DAY)]--;
+        }
+        // Closed minutes, with the same difference-array trick
+        int[] closed = new int[OccupancyLedger.MINUTES_PER_DAY + 1];
+        for (ClosureInterval closure : closures) {
+            closed[closure.getStartMinute()]++;
+            closed[Math.min(closure.getEndMinute(), OccupancyLedger.MINUTES_PER_DAY)]--;
+        }
+        // full[m] = number of fully booked (or closed) minutes in [0, m)
+        int[] full = new int[OccupancyLedger.MINUTES_PER_DAY + 1];
+        int level = 0;
+        int closedLevel = 0;
+        for (int m = 0; m < OccupancyLedger.MINUTES_PER_DAY; m++) {
+            level += occupancy[m];
+            occupancy[m] = level;
+            closedLevel += closed[m];
+            full[m + 1] = full[m] + (level >= capacity || closedLevel > 0 ? 1 : 0);
+        }
+
+        int first = alignUp(Math.max(open, earliest));
+        int lastStart = Math.min(close, latestEnd) - duration;
+        int found = 0;
+        for (int start = first; start <= lastStart && found < limit; start += START_STEP_MINUTES) {
+            int end = start + duration;
+            if (full[end] - full[start] == 0) {
+                int peak = 0;
+                for (int m = start; m < end; m++) {
+                    peak = Math.max(peak, occupancy[m]);
+                }
+                out.add(new SlotOption(space.getId(), space.getName(), date,
+                        toTime(start), toTime(end), capacity - peak));
+                found++;
+            }
+        }
+    }
+
+    private static int alignUp(int minute) {
+        int remainder = minute % START_STEP_MINUTES;
+        return remainder == 0 ? minute : minute + START_STEP_MINUTES - remainder;
+    }
+
+    private static int toMinute(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    private static LocalTime toTime(int minuteOfDay) {
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+}
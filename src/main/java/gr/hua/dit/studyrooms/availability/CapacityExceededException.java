@@ -0,0 +1,46 @@
+package gr.hua.dit.studyrooms.availability;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Thrown when a booking is rejected because the study space has no free seat for the
+ * requested time range. Carries nearby free alternatives so the client can rebook in
+ * one round trip.
+ *
+ * The alternatives are looked up when first read (by the API exception handler), that is
+ * after the booking transaction has ended and released the admission lock, so a rejection
+ * never holds the lock while they are computed.
+ *
+ * Extends IllegalStateException, so handlers that only know about business rule
+ * violations keep treating it as one.
+ */
+public class CapacityExceededException extends IllegalStateException {
+
+    // Looks up nearby free options (same space shifted, other spaces at the same time)
+    private final transient Supplier<List<SlotOption>> lookup;
+
+    // Result of the lookup, once read
+    private List<SlotOption> alternatives;
+
+    /**
+     * Constructs the exception.
+     *
+     * @param message the detail message
+     * @param lookup finds the suggested free options (may return an empty list); run at most once
+     */
+    public CapacityExceededException(String message, Supplier<List<SlotOption>> lookup) {
+        super(message);
+        this.lookup = lookup;
+    }
+
+    /**
+     * @return suggested free options, nearest first
+     */
+    public synchronized List<SlotOption> getAlternatives() {
+        if (alternatives == null) {
+            alternatives = lookup != null ? List.copyOf(lookup.get()) : List.of();
+        }
+        return alternatives;
+    }
+}
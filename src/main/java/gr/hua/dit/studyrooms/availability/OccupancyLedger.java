@@ -0,0 +1,236 @@
+package gr.hua.dit.studyrooms.availability;
+
+import gr.hua.dit.studyrooms.entity.Reservation;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory seat-occupancy ledger used by the reservation capacity check.
+ *
+ * For every (study space, date) pair the ledger keeps one primitive counter per minute
+ * of the day holding the number of active reservations covering that minute. A capacity
+ * decision is therefore a scan over at most a couple of hundred array cells instead of a
+ * COUNT query against the database.
+ *
+ * The ledger is rebuilt from the database on startup (see {@link OccupancyLedgerLoader})
+ * and kept up to date by the reservation service on create, cancel, staff-cancel and
+ * no-show. Updates issued inside a transaction are applied only after a successful
+ * commit, so a rolled back booking never leaks a seat into the ledger.
+ */
+@Component
+public class OccupancyLedger {
+
+    /** Number of minute buckets tracked per day */
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    // Minute counters per (space, date); swapped as a whole on rebuild
+    private volatile ConcurrentHashMap<LedgerKey, int[]> days = new ConcurrentHashMap<>();
+
+    // Becomes true once the ledger has been loaded from the database
+    private volatile boolean ready;
+
+    /**
+     * Indicates whether the ledger has been loaded and can answer capacity questions.
+     * Until then callers must fall back to the database.
+     *
+     * @return true once {@link #rebuild(Collection)} has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Replaces the whole ledger content with the given active reservations.
+     *
+     * @param intervals active reservations (typically from today onwards)
+     */
+    public void rebuild(Collection<ReservationInterval> intervals) {
+        ConcurrentHashMap<LedgerKey, int[]> fresh = new ConcurrentHashMap<>();
+        for (ReservationInterval interval : intervals) {
+            int[] minutes = fresh.computeIfAbsent(
+                    new LedgerKey(interval.getSpaceId(), interval.getDate()),
+                    key -> new int[MINUTES_PER_DAY]);
+            adjust(minutes, interval.getStartMinute(), interval.getEndMinute(), 1);
+        }
+        days = fresh;
+        ready = true;
+    }
+
+    /**
+     * Returns the highest number of concurrent active reservations for the given space
+     * and date within the half-open range [startTime, endTime).
+     *
+     * @param spaceId the study space identifier
+     * @param date the date to inspect
+     * @param startTime range start (inclusive)
+     * @param endTime range end (exclusive)
+     * @return peak concurrent reservations within the range (0 if none)
+     */
+    public int peakOccupancy(Long spaceId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        int[] minutes = days.get(new LedgerKey(spaceId, date));
+        if (minutes == null) {
+            return 0;
+        }
+        int from = toMinute(startTime);
+        int to = toMinute(endTime);
+        int peak = 0;
+        synchronized (minutes) {
+            for (int m = from; m < to; m++) {
+                if (minutes[m] > peak) {
+                    peak = minutes[m];
+                }
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * Returns a copy of the per-minute counters for a space and date.
+     *
+     * @param spaceId the study space identifier
+     * @param date the date to inspect
+     * @return a new array of {@link #MINUTES_PER_DAY} counters (all zero if nothing is booked)
+     */
+    public int[] snapshot(Long spaceId, LocalDate date) {
+        int[] minutes = days.get(new LedgerKey(spaceId, date));
+        if (minutes == null) {
+            return new int[MINUTES_PER_DAY];
+        }
+        synchronized (minutes) {
+            return minutes.clone();
+        }
+    }
+
+    /**
+     * Records a newly confirmed reservation. Applied after commit when a transaction is active.
+     *
+     * @param reservation the persisted reservation
+     */
+    public void recordOccupied(Reservation reservation) {
+        ReservationInterval interval = toInterval(reservation);
+        afterCommit(() -> apply(interval, 1));
+    }
+
+    /**
+     * Frees the seats of a reservation that stopped being active (cancelled, no-show).
+     * Applied after commit when a transaction is active.
+     *
+     * @param reservation the reservation whose seats are released
+     */
+    public void recordReleased(Reservation reservation) {
+        ReservationInterval interval = toInterval(reservation);
+        afterCommit(() -> apply(interval, -1));
+    }
+
+    /**
+     * Frees the seats of many reservations at once (bulk cancellation).
+     * Applied after commit when a transaction is active.
+     *
+     * @param intervals the time windows whose seats are released
+     */
+    public void recordReleasedAll(Collection<ReservationInterval> intervals) {
+        List<ReservationInterval> released = List.copyOf(intervals);
+        afterCommit(() -> released.forEach(interval -> apply(interval, -1)));
+    }
+
+    /**
+     * Applies a +1/-1 change for an interval, creating the day entry on demand.
+     */
+    private void apply(ReservationInterval interval, int delta) {
+        ConcurrentHashMap<LedgerKey, int[]> current = days;
+        LedgerKey key = new LedgerKey(interval.getSpaceId(), interval.getDate());
+        int[] minutes = current.get(key);
+        if (minutes == null) {
+            if (delta < 0) {
+                return;
+            }
+            minutes = current.computeIfAbsent(key, k -> new int[MINUTES_PER_DAY]);
+            purgeBefore(current, LocalDate.now());
+        }
+        adjust(minutes, interval.getStartMinute(), interval.getEndMinute(), delta);
+    }
+
+    /**
+     * Adds the delta to every minute in [from, to), never letting a counter drop below zero.
+     */
+    private static void adjust(int[] minutes, int from, int to, int delta) {
+        synchronized (minutes) {
+            for (int m = from; m < to && m < MINUTES_PER_DAY; m++) {
+                minutes[m] = Math.max(0, minutes[m] + delta);
+            }
+        }
+    }
+
+    /**
+     * Drops days that can no longer be booked so the ledger does not grow forever.
+     */
+    private static void purgeBefore(ConcurrentHashMap<LedgerKey, int[]> map, LocalDate today) {
+        map.keySet().removeIf(key -> key.date.isBefore(today));
+    }
+
+    /**
+     * Runs the action after the surrounding transaction commits, or immediately without one.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static ReservationInterval toInterval(Reservation reservation) {
+        return new ReservationInterval(
+                reservation.getStudySpace().getId(),
+                reservation.getDate(),
+                reservation.getStartTime(),
+                reservation.getEndTime()
+        );
+    }
+
+    private static int toMinute(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    /**
+     * Map key identifying one (space, date) pair.
+     */
+    private static final class LedgerKey {
+        private final Long spaceId;
+        private final LocalDate date;
+
+        private LedgerKey(Long spaceId, LocalDate date) {
+            this.spaceId = spaceId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LedgerKey other)) {
+                return false;
+            }
+            return Objects.equals(spaceId, other.spaceId) && Objects.equals(date, other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(spaceId, date);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package gr.hua.dit.studyrooms.availability;
+
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Rebuilds the {@link OccupancyLedger} from the database once the application is ready.
+ *
+ * Runs after all CommandLineRunners (including demo data seeding), so the ledger starts
+ * from the final state of the reservations table. Only reservations from today onwards
+ * are loaded because past days can no longer be booked.
+ */
+@Component
+public class OccupancyLedgerLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OccupancyLedgerLoader.class);
+
+    // Statuses that occupy a seat
+    private static final List<ReservationStatus> ACTIVE_STATUSES = List.of(
+            ReservationStatus.CONFIRMED
+    );
+
+    private final ReservationRepository reservationRepository;
+    private final OccupancyLedger occupancyLedger;
+
+    public OccupancyLedgerLoader(ReservationRepository reservationRepository,
+                                 OccupancyLedger occupancyLedger) {
+        this.reservationRepository = reservationRepository;
+        this.occupancyLedger = occupancyLedger;
+    }
+
+    /**
+     * Loads all active reservations from today onwards into the ledger.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildLedger() {
+        List<ReservationInterval> intervals =
+                reservationRepository.findIntervalsFromDate(LocalDate.now(), ACTIVE_STATUSES);
+        occupancyLedger.rebuild(intervals);
+        LOGGER.info("Occupancy ledger rebuilt from {} active reservations", intervals.size());
+    }
+}
@@ -0,0 +1,102 @@
+package gr.hua.dit.studyrooms.availability;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Compact availability of one study space over a range of days.
+ *
+ * The slot layout (opening time, closing time, slot size) is identical for every day, so it
+ * is sent once and each day only carries an array of remaining seats per slot. Slot
+ * {@code i} of a day starts at {@code open + i * slotMinutes}.
+ */
+public class RangeAvailability {
+
+    /** Identifier of the study space */
+    private final Long spaceId;
+
+    /** Total seats in the space */
+    private final int capacity;
+
+    /** Opening time of the first slot */
+    private final LocalTime open;
+
+    /** Closing time (end of the last slot) */
+    private final LocalTime close;
+
+    /** Slot size in minutes */
+    private final int slotMinutes;
+
+    /** One entry per day, in date order */
+    private final List<Day> days;
+
+    /**
+     * Constructs a range availability.
+     *
+     * @param spaceId the study space identifier
+     * @param capacity total seats in the space
+     * @param open opening time of the first slot
+     * @param close end of the last slot
+     * @param slotMinutes slot size in minutes
+     * @param days one entry per day
+     */
+    public RangeAvailability(Long spaceId, int capacity, LocalTime open, LocalTime close,
+                             int slotMinutes, List<Day> days) {
+        this.spaceId = spaceId;
+        this.capacity = capacity;
+        this.open = open;
+        this.close = close;
+        this.slotMinutes = slotMinutes;
+        this.days = days;
+    }
+
+    public Long getSpaceId() {
+        return spaceId;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public LocalTime getOpen() {
+        return open;
+    }
+
+    public LocalTime getClose() {
+        return close;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public List<Day> getDays() {
+        return days;
+    }
+
+    /**
+     * Remaining seats per slot for a single day.
+     */
+    public static class Day {
+
+        /** The day */
+        private final LocalDate date;
+
+        /** Remaining seats for each slot of the day */
+        private final int[] seats;
+
+        public Day(LocalDate date, int[] seats) {
+            this.date = date;
+            this.seats = seats;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public int[] getSeats() {
+            return seats;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package gr.hua.dit.studyrooms.availability;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Lightweight, read-only projection of a reservation's time window.
+ *
+ * Repository queries build this class directly via a JPQL constructor expression,
+ * so occupancy calculations never hydrate the full Reservation entity together with
+ * its eagerly loaded User and StudySpace associations.
+ */
+public class ReservationInterval {
+
+    /** Identifier of the reserved study space */
+    private final Long spaceId;
+
+    /** Date of the reservation */
+    private final LocalDate date;
+
+    /** Start time of the reservation (inclusive) */
+    private final LocalTime startTime;
+
+    /** End time of the reservation (exclusive) */
+    private final LocalTime endTime;
+
+    /**
+     * Constructs an interval; used by JPQL constructor expressions.
+     *
+     * @param spaceId the study space identifier
+     * @param date the reservation date
+     * @param startTime the start time (inclusive)
+     * @param endTime the end time (exclusive)
+     */
+    public ReservationInterval(Long spaceId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        this.spaceId = spaceId;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public Long getSpaceId() {
+        return spaceId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * @return the start time as minutes since midnight
+     */
+    public int getStartMinute() {
+        return startTime.toSecondOfDay() / 60;
+    }
+
+    /**
+     * @return the end time as minutes since midnight
+     */
+    public int getEndMinute() {
+        return endTime.toSecondOfDay() / 60;
+    }
+}
@@ -0,0 +1,322 @@
+package gr.hua.dit.studyrooms.availability;
+
+import gr.hua.dit.studyrooms.entity.StudySpace;
+import gr.hua.dit.studyrooms.event.ReservationChangedEvent;
+import gr.hua.dit.studyrooms.event.StudySpaceChangedEvent;
+import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes live seat counts of a (space, date) to server-sent-event watchers.
+ *
+ * All watchers of the same (space, date, slot size) share one topic: a replay-latest sink
+ * holding the current day of slots. Seat counts are recomputed once per topic when a
+ * {@link ReservationChangedEvent} or {@link StudySpaceChangedEvent} commits (bursts are
+ * coalesced), never per watcher and never while nobody is watching.
+ *
+ * Each watcher reads the sink through {@code onBackpressureLatest()}, so a slow client
+ * skips intermediate states instead of buffering them, and diffs against the last state
+ * it was sent: the first message is a full snapshot, later ones carry only changed slots.
+ * An idle watcher costs one subscription and a reference to the last list it saw.
+ *
+ * Streams send a keep-alive comment periodically and complete after a maximum duration;
+ * EventSource clients reconnect automatically and receive a fresh snapshot.
+ */
+@Component
+public class SeatCountBroadcaster {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SeatCountBroadcaster.class);
+
+    private final SpaceAvailabilityService spaceAvailabilityService;
+    private final StudySpaceRepository studySpaceRepository;
+
+    // Where recomputations run (off the committing request thread)
+    private final Scheduler scheduler;
+
+    // Keep-alive ticks shared by all open streams
+    private final Flux<Long> heartbeats;
+
+    // Streams complete after this long; clients reconnect
+    private final Duration maxDuration;
+
+    // One topic per watched (space, date, slot size); removed with its last watcher
+    private final ConcurrentHashMap<TopicKey, Topic> topics = new ConcurrentHashMap<>();
+
+    // Open streams, exposed as a gauge
+    private final AtomicInteger watchers = new AtomicInteger();
+
+    /**
+     * Constructs the broadcaster.
+     *
+     * @param spaceAvailabilityService service computing (cached) daily availability
+     * @param studySpaceRepository repository used to reload the watched space
+     * @param meterRegistry registry for the watcher gauge
+     * @param heartbeatInterval interval between keep-alive comments
+     * @param maxDuration lifetime of a single stream
+     */
+    @Autowired
+    public SeatCountBroadcaster(SpaceAvailabilityService spaceAvailabilityService,
+                                StudySpaceRepository studySpaceRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${studyrooms.availability.stream.heartbeat:15s}") Duration heartbeatInterval,
+                                @Value("${studyrooms.availability.stream.max-duration:30m}") Duration maxDuration) {
+        this(spaceAvailabilityService, studySpaceRepository, meterRegistry,
+                heartbeatInterval, maxDuration, Schedulers.boundedElastic());
+    }
+
+    SeatCountBroadcaster(SpaceAvailabilityService spaceAvailabilityService,
+                         StudySpaceRepository studySpaceRepository,
+                         MeterRegistry meterRegistry,
+                         Duration heartbeatInterval,
+                         Duration maxDuration,
+                         Scheduler scheduler) {
+        this.spaceAvailabilityService = spaceAvailabilityService;
+        this.studySpaceRepository = studySpaceRepository;
+        this.scheduler = scheduler;
+        this.heartbeats = Flux.interval(heartbeatInterval).share();
+        this.maxDuration = maxDuration;
+        Gauge.builder("studyrooms.availability.stream.watchers", watchers, AtomicInteger::get)
+                .description("Open live seat-count streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a live seat-count stream for a space and date.
+     *
+     * @param spaceId the study space identifier
+     * @param date the date to watch
+     * @param slotMinutes slot size: 5, 15, 30 or 60 minutes
+     * @return server-sent events: a full snapshot, then deltas, interleaved with keep-alives
+     */
+    public Flux<ServerSentEvent<SeatCountUpdate>> watch(Long spaceId, LocalDate date, int slotMinutes) {
+        SweepLineAvailability.requireSupportedSlot(slotMinutes);
+        TopicKey key = new TopicKey(spaceId, date, slotMinutes);
+
+        return Flux.defer(() -> {
+            Topic topic = acquire(key);
+            watchers.incrementAndGet();
+
+            Flux<SeatCountUpdate> updates = deltas(topic);
+            return updates
+                    .publish(shared -> Flux.merge(
+                            shared.map(update -> ServerSentEvent.builder(update).event("seats").build()),
+                            heartbeats.onBackpressureDrop()
+                                    .map(tick -> ServerSentEvent.<SeatCountUpdate>builder().comment("keep-alive").build())
+                                    .takeUntilOther(shared.then())))
+                    .take(maxDuration)
+                    .doFinally(signal -> {
+                        watchers.decrementAndGet();
+                        release(topic);
+                    });
+        });
+    }
+
+    /**
+     * Recomputes the topics of the changed (space, date).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        topics.forEach((key, topic) -> {
+            if (key.spaceId.equals(event.getSpaceId()) && key.date.equals(event.getDate())) {
+                scheduleRefresh(topic);
+            }
+        });
+    }
+
+    /**
+     * Recomputes every topic of the changed space (capacity or hours may differ).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudySpaceChanged(StudySpaceChangedEvent event) {
+        topics.forEach((key, topic) -> {
+            if (key.spaceId.equals(event.getSpaceId())) {
+                scheduleRefresh(topic);
+            }
+        });
+    }
+
+    /**
+     * Builds a watcher's view of a topic: latest state only, diffed against what it saw.
+     */
+    private static Flux<SeatCountUpdate> deltas(Topic topic) {
+        AtomicReference<List<TimeSlotAvailability>> seen = new AtomicReference<>();
+        return topic.sink.asFlux()
+                .onBackpressureLatest()
+                .<SeatCountUpdate>handle((slots, sink) -> {
+                    List<TimeSlotAvailability> previous = seen.getAndSet(slots);
+                    SeatCountUpdate update = diff(topic.key, previous, slots);
+                    if (update != null) {
+                        sink.next(update);
+                    }
+                });
+    }
+
+    /**
+     * Compares two states of a day.
+     *
+     * @return a full snapshot if there is no previous state or the slot layout changed,
+     *         a delta of the changed slots otherwise, or null if nothing changed
+     */
+    static SeatCountUpdate diff(TopicKey key, List<TimeSlotAvailability> previous,
+                                List<TimeSlotAvailability> current) {
+        if (previous == null || !sameLayout(previous, current)) {
+            return new SeatCountUpdate(key.spaceId, key.date, key.slotMinutes, true, current);
+        }
+        List<TimeSlotAvailability> changed = new ArrayList<>();
+        for (int i = 0; i < current.size(); i++) {
+            if (previous.get(i).getRemainingSeats() != current.get(i).getRemainingSeats()) {
+                changed.add(current.get(i));
+            }
+        }
+        return changed.isEmpty()
+                ? null
+                : new SeatCountUpdate(key.spaceId, key.date, key.slotMinutes, false, changed);
+    }
+
+    private static boolean sameLayout(List<TimeSlotAvailability> a, List<TimeSlotAvailability> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        return a.isEmpty()
+                || (a.get(0).getStart().equals(b.get(0).getStart())
+                && a.get(a.size() - 1).getEnd().equals(b.get(b.size() - 1).getEnd()));
+    }
+
+    /**
+     * Registers a watcher; the first watcher of a topic triggers its initial load.
+     */
+    private Topic acquire(TopicKey key) {
+        Topic topic = topics.compute(key, (k, existing) -> {
+            Topic t = (existing != null) ? existing : new Topic(k);
+            t.watchers++;
+            return t;
+        });
+        if (topic.loaded.compareAndSet(false, true)) {
+            scheduleRefresh(topic);
+        }
+        return topic;
+    }
+
+    /**
+     * Unregisters a watcher; the topic is dropped with its last watcher.
+     */
+    private void release(Topic topic) {
+        // A completed topic may already have been replaced under the same key
+        topics.computeIfPresent(topic.key, (k, t) -> t != topic || --t.watchers > 0 ? t : null);
+    }
+
+    /**
+     * Queues a recomputation unless one is already queued for the topic.
+     */
+    private void scheduleRefresh(Topic topic) {
+        if (topic.refreshPending.compareAndSet(false, true)) {
+            scheduler.schedule(() -> refresh(topic));
+        }
+    }
+
+    /**
+     * Recomputes a topic's slots and publishes them to its watchers.
+     */
+    private void refresh(Topic topic) {
+        // Changes arriving from here on queue a new refresh
+        topic.refreshPending.set(false);
+
+        // Serialises emissions into the sink
+        synchronized (topic) {
+            try {
+                Optional<StudySpace> space = studySpaceRepository.findById(topic.key.spaceId);
+                if (space.isEmpty()) {
+                    // Space was deleted: end the streams
+                    topic.sink.tryEmitComplete();
+                    topics.remove(topic.key, topic);
+                    return;
+                }
+                topic.sink.tryEmitNext(spaceAvailabilityService.getDailyAvailability(
+                        space.get(), topic.key.date, topic.key.slotMinutes));
+            } catch (RuntimeException ex) {
+                // Keep the streams open; the next change triggers another attempt
+                LOGGER.warn("Could not refresh live seat counts for space {} on {}: {}",
+                        topic.key.spaceId, topic.key.date, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Shared state of all watchers of one (space, date, slot size).
+     */
+    private static final class Topic {
+        private final TopicKey key;
+
+        // Latest day of slots, replayed to new watchers
+        private final Sinks.Many<List<TimeSlotAvailability>> sink = Sinks.many().replay().latest();
+
+        // Set once the initial load has been queued
+        private final AtomicBoolean loaded = new AtomicBoolean();
+
+        // Set while a refresh is queued but not started
+        private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+        // Only modified inside topics.compute / computeIfPresent
+        private int watchers;
+
+        private Topic(TopicKey key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Topic key: space, date and slot size.
+     */
+    static final class TopicKey {
+        private final Long spaceId;
+        private final LocalDate date;
+        private final int slotMinutes;
+
+        TopicKey(Long spaceId, LocalDate date, int slotMinutes) {
+            this.spaceId = spaceId;
+            this.date = date;
+            this.slotMinutes = slotMinutes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TopicKey other)) {
+                return false;
+            }
+            return slotMinutes == other.slotMinutes
+                    && Objects.equals(spaceId, other.spaceId)
+                    && Objects.equals(date, other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(spaceId, date, slotMinutes);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package gr.hua.dit.studyrooms.availability;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A live seat-count message for one (space, date, slot size), pushed over server-sent events.
+ *
+ * The first message of a stream is a full snapshot ({@code full = true}, every slot of the
+ * day); later messages carry only the slots whose remaining seats changed. When the opening
+ * hours of the space change, a new full snapshot replaces the previous layout.
+ */
+public class SeatCountUpdate {
+
+    /** Identifier of the study space */
+    private final Long spaceId;
+
+    /** Date the slots belong to */
+    private final LocalDate date;
+
+    /** Slot size in minutes */
+    private final int slotMinutes;
+
+    /** True if {@link #slots} is the whole day, false if it is a delta */
+    private final boolean full;
+
+    /** Changed (or all) slots with their remaining seats */
+    private final List<TimeSlotAvailability> slots;
+
+    /**
+     * Constructs an update.
+     *
+     * @param spaceId the study space identifier
+     * @param date the date
+     * @param slotMinutes the slot size
+     * @param full whether the slots form a full snapshot
+     * @param slots the slots carried by this update
+     */
+    public SeatCountUpdate(Long spaceId, LocalDate date, int slotMinutes, boolean full,
+                           List<TimeSlotAvailability> slots) {
+        this.spaceId = spaceId;
+        this.date = date;
+        this.slotMinutes = slotMinutes;
+        this.full = full;
+        this.slots = slots;
+    }
+
+    public Long getSpaceId() {
+        return spaceId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public List<TimeSlotAvailability> getSlots() {
+        return slots;
+    }
+}
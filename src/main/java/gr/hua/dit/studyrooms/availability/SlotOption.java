@@ -0,0 +1,74 @@
+package gr.hua.dit.studyrooms.availability;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A bookable (space, start) option returned by the next-available search.
+ *
+ * Immutable; serialized as JSON by {@code GET /api/availability/next}.
+ */
+public class SlotOption {
+
+    /** Identifier of the study space */
+    private final Long spaceId;
+
+    /** Display name of the study space */
+    private final String spaceName;
+
+    /** Date of the option */
+    private final LocalDate date;
+
+    /** Start time (inclusive) */
+    private final LocalTime start;
+
+    /** End time (exclusive) */
+    private final LocalTime end;
+
+    /** Seats still free for the whole option window */
+    private final int remainingSeats;
+
+    /**
+     * Constructs an option.
+     *
+     * @param spaceId the study space identifier
+     * @param spaceName the study space name
+     * @param date the date
+     * @param start the start time
+     * @param end the end time
+     * @param remainingSeats seats free for the whole window
+     */
+    public SlotOption(Long spaceId, String spaceName, LocalDate date,
+                      LocalTime start, LocalTime end, int remainingSeats) {
+        this.spaceId = spaceId;
+        this.spaceName = spaceName;
+        this.date = date;
+        this.start = start;
+        this.end = end;
+        this.remainingSeats = remainingSeats;
+    }
+
+    public Long getSpaceId() {
+        return spaceId;
+    }
+
+    public String getSpaceName() {
+        return spaceName;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getStart() {
+        return start;
+    }
+
+    public LocalTime getEnd() {
+        return end;
+    }
+
+    public int getRemainingSeats() {
+        return remainingSeats;
+    }
+}
@@ -0,0 +1,54 @@
+package gr.hua.dit.studyrooms.availability;
+
+import java.util.List;
+
+/**
+ * One row of the multi-space availability grid: a study space and its slots for the day.
+ *
+ * Immutable; serialized as JSON by the availability API.
+ */
+public class SpaceAvailabilityRow {
+
+    /** Identifier of the study space */
+    private final Long spaceId;
+
+    /** Display name of the study space */
+    private final String spaceName;
+
+    /** Total seats in the space */
+    private final int capacity;
+
+    /** Availability slots from opening to closing time; empty if the space has invalid opening hours */
+    private final List<TimeSlotAvailability> slots;
+
+    /**
+     * Constructs a grid row.
+     *
+     * @param spaceId the study space identifier
+     * @param spaceName the study space name
+     * @param capacity total seats in the space
+     * @param slots the day's availability slots
+     */
+    public SpaceAvailabilityRow(Long spaceId, String spaceName, int capacity, List<TimeSlotAvailability> slots) {
+        this.spaceId = spaceId;
+        this.spaceName = spaceName;
+        this.capacity = capacity;
+        this.slots = slots;
+    }
+
+    public Long getSpaceId() {
+        return spaceId;
+    }
+
+    public String getSpaceName() {
+        return spaceName;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public List<TimeSlotAvailability> getSlots() {
+        return slots;
+    }
+}
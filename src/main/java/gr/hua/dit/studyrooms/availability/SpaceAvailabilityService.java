@@ -1,146 +1,289 @@
 package gr.hua.dit.studyrooms.availability;
 
-import gr.hua.dit.studyrooms.entity.Reservation;
+import gr.hua.dit.studyrooms.closure.ClosureIndex;
+import gr.hua.dit.studyrooms.closure.ClosureInterval;
 import gr.hua.dit.studyrooms.entity.ReservationStatus;
 import gr.hua.dit.studyrooms.entity.StudySpace;
 import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service for calculating and retrieving available time slots for study spaces.
- * 
+ *
  * This service generates a daily availability schedule by dividing operating hours
- * into 30-minute slots and marking each as occupied (at capacity) or available.
- * Occupancy is determined by counting overlapping reservations against the space's capacity.
+ * into fixed-size slots (5, 15, 30 or 60 minutes) and reporting, for each slot, whether
+ * it is at capacity and how many seats remain. The per-slot counts come from a single
+ * sweep over the day's reservation start/end events (see {@link SweepLineAvailability}).
+ * Slots intersecting a staff closure are reported full, from the in-memory {@link ClosureIndex}.
  */
 @Service
 public class SpaceAvailabilityService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpaceAvailabilityService.class);
+
+    // Only CONFIRMED reservations block availability; CANCELLED or NO_SHOW do not
+    private static final List<ReservationStatus> ACTIVE_STATUSES = List.of(
+            ReservationStatus.CONFIRMED
+    );
+
+    // Longest range accepted by the range availability view
+    private static final int MAX_RANGE_DAYS = 31;
+
     private final ReservationRepository reservationRepository;
+    private final StudySpaceRepository studySpaceRepository;
+
+    // Computed daily slots, invalidated on reservation and space changes
+    private final AvailabilityCache availabilityCache;
+
+    // Staff closures, checked without querying the database
+    private final ClosureIndex closureIndex;
+
+    // Default slot size in minutes for the availability views
+    private final int defaultSlotMinutes;
+
+    // Catalog size from which grid rows are computed in parallel
+    private final int parallelThreshold;
 
     /**
-     * Constructs the service with a repository for accessing reservation data.
-     * 
+     * Constructs the service with repositories for accessing reservation and space data.
+     *
      * @param reservationRepository repository for querying reservations from the database
+     * @param studySpaceRepository repository for loading the space catalog
+     * @param availabilityCache cache of computed daily slots
+     * @param closureIndex in-memory index of staff closures
+     * @param defaultSlotMinutes default slot size (5, 15, 30 or 60 minutes)
+     * @param parallelThreshold number of spaces from which the grid is built in parallel
      */
-    public SpaceAvailabilityService(ReservationRepository reservationRepository) {
+    public SpaceAvailabilityService(ReservationRepository reservationRepository,
+                                    StudySpaceRepository studySpaceRepository,
+                                    AvailabilityCache availabilityCache,
+                                    ClosureIndex closureIndex,
+                                    @Value("${studyrooms.availability.slot-minutes:30}") int defaultSlotMinutes,
+                                    @Value("${studyrooms.availability.parallel-threshold:64}") int parallelThreshold) {
+        SweepLineAvailability.requireSupportedSlot(defaultSlotMinutes);
         this.reservationRepository = reservationRepository;
+        this.studySpaceRepository = studySpaceRepository;
+        this.availabilityCache = availabilityCache;
+        this.closureIndex = closureIndex;
+        this.defaultSlotMinutes = defaultSlotMinutes;
+        this.parallelThreshold = parallelThreshold;
     }
 
     /**
-     * Generates a list of 30-minute availability slots for a given space on a specific date.
-     * 
-     * This method calculates availability by:
-     * 1. Extracting the space's operating hours for the given date
-     * 2. Validating that opening and closing times make sense (with fallback logic for edge cases)
-     * 3. Fetching all active (PENDING or CONFIRMED) reservations for that date
-     * 4. Dividing the operating day into 30-minute slots
-     * 5. Checking each slot for overlapping reservations to determine occupancy
-     * 
+     * Generates availability slots of the configured default size for a space on a date.
+     *
      * @param space the study space to check availability for
      * @param date the date to generate availability for
-     * @return a list of TimeSlotAvailability objects representing each 30-minute slot
+     * @return a list of TimeSlotAvailability objects representing each slot
      */
     public List<TimeSlotAvailability> getDailyAvailability(StudySpace space, LocalDate date) {
+        return getDailyAvailability(space, date, defaultSlotMinutes);
+    }
 
-        List<TimeSlotAvailability> list = new ArrayList<>();
-
-        // ---- 1. LOAD opening hours ----
-        // Extract opening and closing times from the space configuration
-        LocalTime open = space.isFullDay() ? LocalTime.MIDNIGHT : space.getOpenTime();
-        LocalTime close = space.isFullDay() ? LocalTime.of(23, 59) : space.getCloseTime();
+    /**
+     * Generates availability slots of the given size for a space on a specific date.
+     *
+     * This method calculates availability by:
+     * 1. Extracting the space's operating hours for the given date as minute offsets
+     * 2. Fetching only the start/end times of the active reservations for that date
+     * 3. Sweeping once over the sorted start/end events to get each slot's peak occupancy
+     *
+     * Results are cached per (space, date, slot size) until a reservation of that day or
+     * the space itself changes.
+     *
+     * @param space the study space to check availability for
+     * @param date the date to generate availability for
+     * @param slotMinutes slot size: 5, 15, 30 or 60 minutes
+     * @return a list of TimeSlotAvailability objects representing each slot
+     */
+    public List<TimeSlotAvailability> getDailyAvailability(StudySpace space, LocalDate date, int slotMinutes) {
+        SweepLineAvailability.requireSupportedSlot(slotMinutes);
 
-        // Combine the date with opening/closing times to create boundary timestamps for the day
-        LocalDateTime dayStart = date.atTime(open);
-        LocalDateTime dayEnd = date.atTime(close);
+        return availabilityCache.get(space.getId(), date, slotMinutes, () -> {
+            // Only the time windows are needed, not the Reservation entities
+            List<ReservationInterval> intervals =
+                    reservationRepository.findIntervalsBySpaceAndDate(space.getId(), date, ACTIVE_STATUSES);
+            return computeSlots(space, date, slotMinutes, intervals);
+        });
+    }
 
-        // ---- 2. SAFETY: avoid infinite loops (close <= open) ----
-        // Validates that closing time is after opening time. If not (e.g., due to data entry error
-        // or intentional 24-hour operation flagged with identical times), treat as nearly full day.
-        // This prevents the loop from never terminating when dayEnd <= dayStart.
-        if (!dayEnd.isAfter(dayStart)) {
-            throw new IllegalStateException("Invalid opening hours for study space.");
-        }
+    /**
+     * Builds the spaces x slots grid for a day.
+     *
+     * All active reservations of the date are loaded with a single query and grouped by
+     * space in memory; rows are then computed independently, in parallel when the catalog
+     * has at least {@code studyrooms.availability.parallel-threshold} spaces. A space whose
+     * opening hours are missing or invalid gets a row without slots (unavailable) instead of
+     * failing the whole grid.
+     *
+     * @param date the date to generate availability for
+     * @param slotMinutes slot size: 5, 15, 30 or 60 minutes
+     * @return the availability grid, one row per space ordered by name
+     */
+    public AvailabilityGrid getAvailabilityGrid(LocalDate date, int slotMinutes) {
+        SweepLineAvailability.requireSupportedSlot(slotMinutes);
 
-        // ---- 3. SAFETY: limit maximum loop time to 24h to avoid infinite loops ----
-        // Enforces a hard cap on how long a day can be. If somehow closing time extends beyond
-        // 24 hours from opening (unlikely but possible with malformed data), truncate it.
-        // This prevents runaway loops that could cause performance issues or memory exhaustion.
-        LocalDateTime endLimit = dayStart.plusHours(24);
-        if (dayEnd.isAfter(endLimit)) {
-            dayEnd = endLimit.minusMinutes(1);  // set to one minute before the 24-hour limit
-        }
+        List<StudySpace> spaces = studySpaceRepository.findAllByOrderByNameAsc();
+        Map<Long, List<ReservationInterval>> intervalsBySpace =
+                reservationRepository.findIntervalsByDate(date, ACTIVE_STATUSES).stream()
+                        .collect(Collectors.groupingBy(ReservationInterval::getSpaceId));
 
-        // ---- 4. Fetch active reservations ----
-        // Define which reservation statuses should count toward occupancy.
-        // Only PENDING and CONFIRMED reservations block availability; CANCELLED or COMPLETED do not.
-        List<ReservationStatus> active = List.of(
-                ReservationStatus.CONFIRMED
+        Function<StudySpace, SpaceAvailabilityRow> toRow = space -> new SpaceAvailabilityRow(
+                space.getId(),
+                space.getName(),
+                space.getCapacity(),
+                gridSlots(space, date, slotMinutes, intervalsBySpace.getOrDefault(space.getId(), List.of()))
         );
 
-        // Query the repository for all active reservations for this space on the given date
-        List<Reservation> reservations =
-                reservationRepository.findByStudySpaceAndDateAndStatusIn(space, date, active);
+        // Rows are independent and CPU-bound; parallelise only when it pays off
+        Stream<StudySpace> stream = spaces.size() >= parallelThreshold ? spaces.parallelStream() : spaces.stream();
+        List<SpaceAvailabilityRow> rows = stream.map(toRow).toList();
+
+        return new AvailabilityGrid(date, slotMinutes, rows);
+    }
+
+    /**
+     * Computes a space's availability for every day in [from, to].
+     *
+     * Reservations for the whole range are fetched with one {@code date BETWEEN} query,
+     * already ordered by date, and consumed day by day with a moving cursor; each day is
+     * reduced to an array of remaining seats per slot.
+     *
+     * @param space the study space to check availability for
+     * @param from first day (inclusive)
+     * @param to last day (inclusive), at most 31 days after {@code from}
+     * @param slotMinutes slot size: 5, 15, 30 or 60 minutes
+     * @return compact per-day seat arrays sharing one slot layout
+     */
+    public RangeAvailability getRangeAvailability(StudySpace space, LocalDate from, LocalDate to, int slotMinutes) {
+        SweepLineAvailability.requireSupportedSlot(slotMinutes);
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_RANGE_DAYS + " days.");
+        }
+
+        int open = openMinute(space);
+        int close = closeMinute(space);
+        int capacity = space.getCapacity();
 
-        // ---- 5. Loop the day in 30-minute slots ----
-        // Iterate through the day starting at opening time, advancing in 30-minute increments
-        // until the closing time is reached.
-        for (LocalDateTime t = dayStart; t.isBefore(dayEnd); t = t.plusMinutes(30)) {
+        List<ReservationInterval> intervals = reservationRepository
+                .findIntervalsBySpaceAndDateBetween(space.getId(), from, to, ACTIVE_STATUSES);
 
-            // Define the current slot's boundaries
-            LocalDateTime slotStart = t;
-            LocalDateTime slotEnd = t.plusMinutes(30);
+        List<RangeAvailability.Day> days = new ArrayList<>();
+        int cursor = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            // Advance over this day's intervals (the list is ordered by date)
+            int dayStart = cursor;
+            while (cursor < intervals.size() && intervals.get(cursor).getDate().equals(day)) {
+                cursor++;
+            }
 
-            // Prevent the final slot from extending past closing time.
-            // For example, if closing is at 5:00 PM and the last slot would end at 5:30 PM,
-            // truncate it to 5:00 PM instead.
-            if (!slotEnd.isBefore(dayEnd)) {
-                slotEnd = dayEnd;
+            int[] seats = SweepLineAvailability.peakPerSlot(
+                    open, close, slotMinutes, intervals.subList(dayStart, cursor));
+            List<ClosureInterval> closures = closureIndex.closuresOn(space.getId(), day);
+            for (int i = 0; i < seats.length; i++) {
+                int slotStart = open + i * slotMinutes;
+                boolean closed = isClosed(closures, slotStart, Math.min(slotStart + slotMinutes, close));
+                seats[i] = closed ? 0 : Math.max(0, capacity - seats[i]);
             }
+            days.add(new RangeAvailability.Day(day, seats));
+        }
 
-            // Extract just the time portion (without date) for overlap checking
-            LocalTime slotStartTime = slotStart.toLocalTime();
-            LocalTime slotEndTime = slotEnd.toLocalTime();
+        return new RangeAvailability(space.getId(), capacity, toTime(open), toTime(close), slotMinutes, days);
+    }
+
+    /**
+     * Computes a grid row's slots; a space with unusable opening hours is logged and gets none.
+     */
+    private List<TimeSlotAvailability> gridSlots(StudySpace space, LocalDate date, int slotMinutes,
+                                                 List<ReservationInterval> intervals) {
+        if (!hasValidHours(space)) {
+            LOGGER.warn("Study space {} has invalid opening hours ({} - {}); shown as unavailable",
+                    space.getId(), space.getOpenTime(), space.getCloseTime());
+            return List.of();
+        }
+        return computeSlots(space, date, slotMinutes, intervals);
+    }
 
-            // Count how many active reservations overlap with this slot.
-            // A reservation is considered "concurrent" if its time range overlaps with this slot.
-            long concurrent = reservations.stream()
-                    .filter(r -> timesOverlap(slotStartTime, slotEndTime, r.getStartTime(), r.getEndTime()))
-                    .count();
+    /**
+     * A full-day space is always valid; otherwise both times must be set and close after opening.
+     */
+    private static boolean hasValidHours(StudySpace space) {
+        return space.isFullDay() || (space.getOpenTime() != null && space.getCloseTime() != null
+                && space.getCloseTime().isAfter(space.getOpenTime()));
+    }
 
-            // A slot is occupied if the number of concurrent reservations meets or exceeds capacity.
-            // This ensures the slot cannot accept further bookings when at or over capacity.
-            boolean occupied = concurrent >= space.getCapacity();
+    /**
+     * Runs the sweep for one space over its opening hours, then marks closed slots full.
+     */
+    private List<TimeSlotAvailability> computeSlots(StudySpace space, LocalDate date, int slotMinutes,
+                                                    List<ReservationInterval> intervals) {
+        List<TimeSlotAvailability> slots = SweepLineAvailability.compute(
+                openMinute(space), closeMinute(space), slotMinutes, space.getCapacity(), intervals);
+        List<ClosureInterval> closures = closureIndex.closuresOn(space.getId(), date);
+        if (closures.isEmpty()) {
+            return slots;
+        }
+        List<TimeSlotAvailability> result = new ArrayList<>(slots.size());
+        for (TimeSlotAvailability slot : slots) {
+            result.add(isClosed(closures, toMinute(slot.getStart()), toMinute(slot.getEnd()))
+                    ? new TimeSlotAvailability(slot.getStart(), slot.getEnd(), true, 0)
+                    : slot);
+        }
+        return result;
+    }
 
-            // Create and store the availability record for this slot
-            list.add(new TimeSlotAvailability(slotStart.toLocalTime(), slotEnd.toLocalTime(), occupied));
+    /**
+     * Tells whether any of the closures intersects [fromMinute, toMinute).
+     */
+    private static boolean isClosed(List<ClosureInterval> closures, int fromMinute, int toMinute) {
+        for (ClosureInterval closure : closures) {
+            if (closure.overlaps(fromMinute, toMinute)) {
+                return true;
+            }
         }
+        return false;
+    }
+
+    // Opening hours as minutes since midnight; full-day spaces run 00:00 - 23:59
+    private static int openMinute(StudySpace space) {
+        return space.isFullDay() ? 0 : toMinute(space.getOpenTime());
+    }
 
-        return list;
+    private static int closeMinute(StudySpace space) {
+        return space.isFullDay() ? toMinute(LocalTime.of(23, 59)) : toMinute(space.getCloseTime());
     }
 
     /**
-     * Determines whether two time ranges overlap.
-     * 
-     * Two time ranges overlap if the start of one is before the end of the other,
-     * AND the start of the second is before the end of the first.
-     * This check excludes exact boundary matches (e.g., one slot ending at 2:00 PM
-     * and another starting at 2:00 PM do NOT overlap).
-     * 
-     * @param aStart start time of the first range
-     * @param aEnd end time of the first range
-     * @param bStart start time of the second range
-     * @param bEnd end time of the second range
-     * @return true if the ranges overlap, false otherwise
+     * Returns the configured default slot size in minutes.
+     *
+     * @return default slot size
      */
-    private boolean timesOverlap(LocalTime aStart, LocalTime aEnd,
-                                 LocalTime bStart, LocalTime bEnd) {
-        return bEnd.isAfter(aStart) && bStart.isBefore(aEnd);
+    public int getDefaultSlotMinutes() {
+        return defaultSlotMinutes;
+    }
+
+    private static int toMinute(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    private static LocalTime toTime(int minuteOfDay) {
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
     }
 }
@@ -0,0 +1,122 @@
+package gr.hua.dit.studyrooms.availability;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sweep-line calculation of per-slot occupancy for one study space and day.
+ *
+ * Reservation starts and ends are encoded as primitive minute-of-day events, sorted once,
+ * and consumed in a single pass while walking the slots. Each slot reports the peak number
+ * of concurrent reservations inside it, so the cost is O(n log n + slots) instead of
+ * O(slots x reservations), with no date/time objects created per reservation.
+ *
+ * The peak (rather than "any overlap") is the same measure the reservation capacity check
+ * uses, so a slot shown with free seats can actually be booked.
+ */
+public final class SweepLineAvailability {
+
+    /** Slot sizes (minutes) supported by the availability views */
+    public static final Set<Integer> SUPPORTED_SLOT_MINUTES = Set.of(5, 15, 30, 60);
+
+    private SweepLineAvailability() {
+    }
+
+    /**
+     * Computes availability slots between opening and closing minute.
+     *
+     * @param openMinute opening time as minutes since midnight (inclusive)
+     * @param closeMinute closing time as minutes since midnight (exclusive)
+     * @param slotMinutes slot size; must be one of {@link #SUPPORTED_SLOT_MINUTES}
+     * @param capacity number of seats in the space
+     * @param intervals active reservations of that space and day
+     * @return one entry per slot; the last slot is truncated at closing time
+     */
+    public static List<TimeSlotAvailability> compute(int openMinute, int closeMinute, int slotMinutes,
+                                                     int capacity, Collection<ReservationInterval> intervals) {
+        int[] peaks = peakPerSlot(openMinute, closeMinute, slotMinutes, intervals);
+
+        List<TimeSlotAvailability> slots = new ArrayList<>(peaks.length);
+        for (int i = 0; i < peaks.length; i++) {
+            int slotStart = openMinute + i * slotMinutes;
+            int slotEnd = Math.min(slotStart + slotMinutes, closeMinute);
+            int remaining = Math.max(0, capacity - peaks[i]);
+            slots.add(new TimeSlotAvailability(toTime(slotStart), toTime(slotEnd), remaining == 0, remaining));
+        }
+        return slots;
+    }
+
+    /**
+     * Returns the peak concurrent reservations for each slot of the day.
+     *
+     * @param openMinute opening time as minutes since midnight (inclusive)
+     * @param closeMinute closing time as minutes since midnight (exclusive)
+     * @param slotMinutes slot size; must be one of {@link #SUPPORTED_SLOT_MINUTES}
+     * @param intervals active reservations of that space and day
+     * @return one peak value per slot
+     */
+    public static int[] peakPerSlot(int openMinute, int closeMinute, int slotMinutes,
+                                    Collection<ReservationInterval> intervals) {
+        requireSupportedSlot(slotMinutes);
+        if (closeMinute <= openMinute) {
+            throw new IllegalStateException("Invalid opening hours for study space.");
+        }
+
+        // Event = minute * 2 + kind, kind 0 = end, 1 = start. Sorting puts ends before starts
+        // at the same minute, which matches half-open [start, end) intervals.
+        int[] events = new int[intervals.size() * 2];
+        int n = 0;
+        for (ReservationInterval interval : intervals) {
+            events[n++] = interval.getStartMinute() * 2 + 1;
+            events[n++] = interval.getEndMinute() * 2;
+        }
+        Arrays.sort(events, 0, n);
+
+        int slotCount = (closeMinute - openMinute + slotMinutes - 1) / slotMinutes;
+        int[] peaks = new int[slotCount];
+        int current = 0;
+        int e = 0;
+
+        for (int i = 0; i < slotCount; i++) {
+            int slotStart = openMinute + i * slotMinutes;
+            int slotEnd = Math.min(slotStart + slotMinutes, closeMinute);
+
+            // Everything at or before the slot start defines the level at slotStart
+            while (e < n && (events[e] >> 1) <= slotStart) {
+                current += (events[e] & 1) == 1 ? 1 : -1;
+                e++;
+            }
+            int peak = current;
+
+            // Starts inside the slot can raise the level; ends can only lower it
+            while (e < n && (events[e] >> 1) < slotEnd) {
+                current += (events[e] & 1) == 1 ? 1 : -1;
+                if (current > peak) {
+                    peak = current;
+                }
+                e++;
+            }
+            peaks[i] = peak;
+        }
+        return peaks;
+    }
+
+    /**
+     * Throws if the slot size is not one of {@link #SUPPORTED_SLOT_MINUTES}.
+     *
+     * @param slotMinutes the requested slot size
+     */
+    public static void requireSupportedSlot(int slotMinutes) {
+        if (!SUPPORTED_SLOT_MINUTES.contains(slotMinutes)) {
+            throw new IllegalArgumentException("Slot size must be one of 5, 15, 30 or 60 minutes.");
+        }
+    }
+
+    private static LocalTime toTime(int minuteOfDay) {
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+}
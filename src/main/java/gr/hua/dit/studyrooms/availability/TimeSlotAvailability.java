@@ -3,7 +3,7 @@ package gr.hua.dit.studyrooms.availability;
 import java.time.LocalTime;
 
 /**
- * Represents the availability status of a single 30-minute time slot for a study space.
+ * Represents the availability status of a single time slot (5 to 60 minutes) for a study space.
  * 
  * This immutable data class encapsulates the time boundaries and booking status of a slot.
  * It is used internally by the availability calculation service and can be transformed into
@@ -23,17 +23,22 @@ public class TimeSlotAvailability {
     /** True if this slot is fully booked (at capacity); false if available for new reservations */
     private final boolean occupied;
 
+    /** Seats still free for the whole slot (capacity minus peak concurrent reservations) */
+    private final int remainingSeats;
+
     /**
      * Constructs a time slot availability record with the given boundaries and occupancy status.
      * 
      * @param start the start time of the slot (e.g., 9:00 AM)
      * @param end the end time of the slot (e.g., 9:30 AM)
      * @param occupied true if the slot is at capacity and cannot accept new reservations, false otherwise
+     * @param remainingSeats number of seats that can still be booked for the whole slot
      */
-    public TimeSlotAvailability(LocalTime start, LocalTime end, boolean occupied) {
+    public TimeSlotAvailability(LocalTime start, LocalTime end, boolean occupied, int remainingSeats) {
         this.start = start;
         this.end = end;
         this.occupied = occupied;
+        this.remainingSeats = remainingSeats;
     }
 
     /**
@@ -62,4 +67,13 @@ public class TimeSlotAvailability {
     public boolean isOccupied() {
         return occupied;
     }
+
+    /**
+     * Returns how many seats are still free during this slot.
+     * 
+     * @return remaining seats (0 when the slot is occupied)
+     */
+    public int getRemainingSeats() {
+        return remainingSeats;
+    }
 }
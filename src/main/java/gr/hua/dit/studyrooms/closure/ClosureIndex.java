@@ -0,0 +1,199 @@
+package gr.hua.dit.studyrooms.closure;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory interval index of space closures, so booking and availability paths can check
+ * closures without querying the database.
+ *
+ * Closures are grouped per space and sorted by start date; a running maximum of end dates
+ * lets a lookup binary-search the last closure starting on or before the date and walk
+ * backwards only while earlier closures can still reach it. Lookups read an immutable
+ * snapshot; the rare writes (closure created or removed) rebuild the affected space's
+ * arrays under a lock and publish a new snapshot.
+ */
+@Component
+public class ClosureIndex {
+
+    // Closures by id, the source of truth for rebuilds; guarded by this
+    private final Map<Long, ClosureInterval> byId = new LinkedHashMap<>();
+
+    // Immutable per-space lookup structures, replaced on every write
+    private volatile Map<Long, SpaceClosures> bySpace = Map.of();
+
+    // Set once the index has been loaded from the database
+    private volatile boolean ready;
+
+    /**
+     * @return true once the index has been loaded and may be trusted
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Replaces the whole index.
+     *
+     * @param closures every closure that can still affect bookings
+     */
+    public synchronized void rebuild(Collection<ClosureInterval> closures) {
+        byId.clear();
+        closures.forEach(c -> byId.put(c.getClosureId(), c));
+        Map<Long, List<ClosureInterval>> grouped = new HashMap<>();
+        byId.values().forEach(c -> grouped.computeIfAbsent(c.getSpaceId(), k -> new ArrayList<>()).add(c));
+        Map<Long, SpaceClosures> next = new HashMap<>();
+        grouped.forEach((spaceId, list) -> next.put(spaceId, new SpaceClosures(list)));
+        bySpace = Map.copyOf(next);
+        ready = true;
+    }
+
+    /**
+     * Adds closures (after they were committed).
+     *
+     * @param closures the new closures
+     */
+    public synchronized void addAll(Collection<ClosureInterval> closures) {
+        Set<Long> spaces = new HashSet<>();
+        for (ClosureInterval closure : closures) {
+            byId.put(closure.getClosureId(), closure);
+            spaces.add(closure.getSpaceId());
+        }
+        republish(spaces);
+    }
+
+    /**
+     * Removes closures (after their deletion was committed).
+     *
+     * @param closureIds identifiers of the removed closures
+     */
+    public synchronized void removeAll(Collection<Long> closureIds) {
+        Set<Long> spaces = new HashSet<>();
+        for (Long id : closureIds) {
+            ClosureInterval removed = byId.remove(id);
+            if (removed != null) {
+                spaces.add(removed.getSpaceId());
+            }
+        }
+        republish(spaces);
+    }
+
+    /**
+     * Returns the closures of a space in effect on a date.
+     *
+     * @param spaceId the study space identifier
+     * @param date the date to inspect
+     * @return matching closures (empty if the space is open all day)
+     */
+    public List<ClosureInterval> closuresOn(Long spaceId, LocalDate date) {
+        SpaceClosures closures = bySpace.get(spaceId);
+        return closures == null ? List.of() : closures.on(date);
+    }
+
+    /**
+     * Tells whether any closure of the space intersects [startTime, endTime) on the date.
+     *
+     * @param spaceId the study space identifier
+     * @param date the date to inspect
+     * @param startTime start of the range (inclusive)
+     * @param endTime end of the range (exclusive)
+     * @return true if the range is (partly) closed
+     */
+    public boolean isClosed(Long spaceId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        int from = startTime.toSecondOfDay() / 60;
+        int to = endTime.toSecondOfDay() / 60;
+        for (ClosureInterval closure : closuresOn(spaceId, date)) {
+            if (closure.overlaps(from, to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Rebuilds the lookup structures of the given spaces from {@link #byId}.
+     */
+    private void republish(Set<Long> spaces) {
+        if (spaces.isEmpty()) {
+            return;
+        }
+        Map<Long, SpaceClosures> next = new HashMap<>(bySpace);
+        for (Long spaceId : spaces) {
+            List<ClosureInterval> list = byId.values().stream()
+                    .filter(c -> c.getSpaceId().equals(spaceId))
+                    .toList();
+            if (list.isEmpty()) {
+                next.remove(spaceId);
+            } else {
+                next.put(spaceId, new SpaceClosures(list));
+            }
+        }
+        bySpace = Map.copyOf(next);
+    }
+
+    /**
+     * One space's closures sorted by start date, with the running maximum of end dates.
+     */
+    private static final class SpaceClosures {
+        private final ClosureInterval[] closures;
+        private final LocalDate[] starts;
+        private final LocalDate[] maxEnds;
+
+        private SpaceClosures(List<ClosureInterval> list) {
+            closures = list.toArray(new ClosureInterval[0]);
+            Arrays.sort(closures, Comparator.comparing(ClosureInterval::getStartDate));
+            starts = new LocalDate[closures.length];
+            maxEnds = new LocalDate[closures.length];
+            LocalDate maxEnd = LocalDate.MIN;
+            for (int i = 0; i < closures.length; i++) {
+                starts[i] = closures[i].getStartDate();
+                if (closures[i].getEndDate().isAfter(maxEnd)) {
+                    maxEnd = closures[i].getEndDate();
+                }
+                maxEnds[i] = maxEnd;
+            }
+        }
+
+        private List<ClosureInterval> on(LocalDate date) {
+            List<ClosureInterval> result = null;
+            // Walk back from the last closure starting on or before the date
+            for (int i = lastStartingOnOrBefore(date); i >= 0 && !maxEnds[i].isBefore(date); i--) {
+                if (!closures[i].getEndDate().isBefore(date)) {
+                    if (result == null) {
+                        result = new ArrayList<>(2);
+                    }
+                    result.add(closures[i]);
+                }
+            }
+            return result == null ? List.of() : result;
+        }
+
+        private int lastStartingOnOrBefore(LocalDate date) {
+            int low = 0;
+            int high = starts.length - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid].isAfter(date)) {
+                    high = mid - 1;
+                } else {
+                    found = mid;
+                    low = mid + 1;
+                }
+            }
+            return found;
+        }
+    }
+}
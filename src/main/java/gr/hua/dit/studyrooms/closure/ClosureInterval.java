@@ -0,0 +1,113 @@
+package gr.hua.dit.studyrooms.closure;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Lightweight, read-only projection of a space closure.
+ *
+ * Repository queries build this class directly via a JPQL constructor expression, so the
+ * closure index is loaded without hydrating SpaceClosure entities or their spaces.
+ */
+public class ClosureInterval {
+
+    // Minutes in a day; the end of a whole-day closure
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    /** Identifier of the closure */
+    private final Long closureId;
+
+    /** Identifier of the closed study space */
+    private final Long spaceId;
+
+    /** First closed day (inclusive) */
+    private final LocalDate startDate;
+
+    /** Last closed day (inclusive) */
+    private final LocalDate endDate;
+
+    /** Start of the daily closed window, or null for whole days */
+    private final LocalTime startTime;
+
+    /** End of the daily closed window, or null for whole days */
+    private final LocalTime endTime;
+
+    /**
+     * Constructs an interval; used by JPQL constructor expressions.
+     *
+     * @param closureId the closure identifier
+     * @param spaceId the study space identifier
+     * @param startDate first closed day (inclusive)
+     * @param endDate last closed day (inclusive)
+     * @param startTime start of the daily window, or null for whole days
+     * @param endTime end of the daily window, or null for whole days
+     */
+    public ClosureInterval(Long closureId, Long spaceId, LocalDate startDate, LocalDate endDate,
+                           LocalTime startTime, LocalTime endTime) {
+        this.closureId = closureId;
+        this.spaceId = spaceId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public Long getClosureId() {
+        return closureId;
+    }
+
+    public Long getSpaceId() {
+        return spaceId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * @return true if the closure covers whole days
+     */
+    public boolean isWholeDay() {
+        return startTime == null || endTime == null;
+    }
+
+    /**
+     * @return start of the closed window as minutes since midnight (0 for whole days)
+     */
+    public int getStartMinute() {
+        return isWholeDay() ? 0 : startTime.toSecondOfDay() / 60;
+    }
+
+    /**
+     * @return end of the closed window as minutes since midnight (end of day for whole days)
+     */
+    public int getEndMinute() {
+        return isWholeDay() ? MINUTES_PER_DAY : endTime.toSecondOfDay() / 60;
+    }
+
+    /**
+     * @return true if the closure covers the date
+     */
+    public boolean covers(LocalDate date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+
+    /**
+     * @return true if the daily closed window intersects [fromMinute, toMinute)
+     */
+    public boolean overlaps(int fromMinute, int toMinute) {
+        return getStartMinute() < toMinute && getEndMinute() > fromMinute;
+    }
+}
@@ -0,0 +1,317 @@
+package gr.hua.dit.studyrooms.closure;
+
+import gr.hua.dit.studyrooms.admission.AdmissionLock;
+import gr.hua.dit.studyrooms.availability.OccupancyLedger;
+import gr.hua.dit.studyrooms.availability.ReservationInterval;
+import gr.hua.dit.studyrooms.dto.ReservationNotice;
+import gr.hua.dit.studyrooms.dto.SpaceClosureResult;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.entity.SpaceClosure;
+import gr.hua.dit.studyrooms.entity.StudySpace;
+import gr.hua.dit.studyrooms.event.ReservationChangedEvent;
+import gr.hua.dit.studyrooms.event.StudySpaceChangedEvent;
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import gr.hua.dit.studyrooms.repository.SpaceClosureRepository;
+import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
+import gr.hua.dit.studyrooms.service.NotificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates and removes staff closures of study spaces and keeps the {@link ClosureIndex}
+ * in step with the space_closures table.
+ *
+ * Closing spaces stores one closure per space and cancels the reservations inside the
+ * closed period with one UPDATE, under the admission locks of every affected (space, day)
+ * so no booking slips in between. The index is updated right after commit; on a single
+ * node it is then authoritative. When admission is cluster-wide, other nodes' closures
+ * reach the index through a periodic reload, and admission checks the database instead.
+ */
+@Service
+@Transactional
+public class SpaceClosureService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpaceClosureService.class);
+
+    // Longest period one request may close
+    static final int MAX_CLOSURE_DAYS = 62;
+
+    // Statuses a closure leaves untouched
+    private static final List<ReservationStatus> CANCELLED_STATUSES = List.of(
+            ReservationStatus.CANCELLED,
+            ReservationStatus.CANCELLED_BY_STAFF
+    );
+
+    // Statuses that occupy a seat
+    private static final List<ReservationStatus> ACTIVE_STATUSES = List.of(
+            ReservationStatus.CONFIRMED
+    );
+
+    private final SpaceClosureRepository spaceClosureRepository;
+    private final StudySpaceRepository studySpaceRepository;
+    private final ReservationRepository reservationRepository;
+    private final ClosureIndex closureIndex;
+    private final OccupancyLedger occupancyLedger;
+    private final AdmissionLock admissionLock;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Advisory mode: (space, day) locks one request may hold in the database until it
+    // commits; striped locks collapse any key set onto the fixed stripes
+    private final int maxLockedKeys;
+
+    /**
+     * Constructor for dependency injection.
+     */
+    public SpaceClosureService(SpaceClosureRepository spaceClosureRepository,
+                               StudySpaceRepository studySpaceRepository,
+                               ReservationRepository reservationRepository,
+                               ClosureIndex closureIndex,
+                               OccupancyLedger occupancyLedger,
+                               AdmissionLock admissionLock,
+                               NotificationService notificationService,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${studyrooms.closures.max-locked-keys:4096}") int maxLockedKeys) {
+        if (maxLockedKeys < 1) {
+            throw new IllegalArgumentException("studyrooms.closures.max-locked-keys must be positive");
+        }
+        this.spaceClosureRepository = spaceClosureRepository;
+        this.studySpaceRepository = studySpaceRepository;
+        this.reservationRepository = reservationRepository;
+        this.closureIndex = closureIndex;
+        this.occupancyLedger = occupancyLedger;
+        this.admissionLock = admissionLock;
+        this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.maxLockedKeys = maxLockedKeys;
+    }
+
+    /**
+     * Loads the closure index once the application is ready (after demo data seeding).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadIndex() {
+        List<ClosureInterval> closures = spaceClosureRepository.findIntervalsFromDate(LocalDate.now());
+        closureIndex.rebuild(closures);
+        LOGGER.info("Closure index loaded with {} closures", closures.size());
+    }
+
+    /**
+     * Reloads the index periodically when several nodes share the database, so closures
+     * created on other nodes show up in availability views.
+     */
+    @Scheduled(fixedDelayString = "${studyrooms.closures.refresh-interval-ms:60000}")
+    @Transactional(readOnly = true)
+    public void refreshIndex() {
+        if (admissionLock.isClusterWide()) {
+            closureIndex.rebuild(spaceClosureRepository.findIntervalsFromDate(LocalDate.now()));
+        }
+    }
+
+    /**
+     * Closes spaces over a date range, for whole days or a daily time window, and cancels
+     * the reservations that fall inside. Holders are notified with one batched outbox insert.
+     *
+     * @param spaceIds the spaces to close
+     * @param from first closed day (inclusive)
+     * @param to last closed day (inclusive)
+     * @param startTime start of the daily window, or null (with endTime) for whole days
+     * @param endTime end of the daily window, or null (with startTime) for whole days
+     * @param reason free-text reason
+     * @return the created closures and the cancelled reservations
+     * @throws IllegalArgumentException if a space does not exist or the period is invalid
+     */
+    public SpaceClosureResult closeSpaces(List<Long> spaceIds, LocalDate from, LocalDate to,
+                                         LocalTime startTime, LocalTime endTime, String reason) {
+        List<StudySpace> spaces = loadSpaces(spaceIds);
+        List<LocalDate> lockedDates = validatePeriod(from, to, startTime, endTime);
+        if (admissionLock.isClusterWide() && (long) spaces.size() * lockedDates.size() > maxLockedKeys) {
+            throw new IllegalArgumentException("Too many spaces and days in one closure; split the request.");
+        }
+        List<Long> ids = spaces.stream().map(StudySpace::getId).toList();
+        LocalTime windowStart = startTime != null ? startTime : LocalTime.MIDNIGHT;
+        LocalTime windowEnd = endTime != null ? endTime : LocalTime.MAX;
+
+        List<SpaceClosure> closures = new ArrayList<>();
+        List<ReservationNotice> cancelled = admissionLock.executeAcross(ids, lockedDates, () -> {
+            for (StudySpace space : spaces) {
+                closures.add(new SpaceClosure(space, from, to, startTime, endTime, reason));
+            }
+            spaceClosureRepository.saveAll(closures);
+            return cancelReservations(ids, from, to, windowStart, windowEnd);
+        });
+
+        List<ClosureInterval> intervals = closures.stream()
+                .map(c -> new ClosureInterval(c.getId(), c.getStudySpaceId(), from, to, startTime, endTime))
+                .toList();
+        // Before the change events, so refreshed availability already sees the closures
+        afterCommit(() -> closureIndex.addAll(intervals));
+        ids.forEach(id -> eventPublisher.publishEvent(new StudySpaceChangedEvent(id)));
+        // Once per cancelled day, for per-day derived data (occupancy rollup)
+        Set<Map.Entry<Long, LocalDate>> cancelledDays = new LinkedHashSet<>();
+        cancelled.forEach(notice -> cancelledDays.add(Map.entry(notice.getSpaceId(), notice.getDate())));
+        cancelledDays.forEach(day ->
+                eventPublisher.publishEvent(new ReservationChangedEvent(day.getKey(), day.getValue())));
+        if (!cancelled.isEmpty()) {
+            notificationService.notifyReservationsCancelledByStaff(cancelled);
+        }
+
+        return new SpaceClosureResult(
+                closures.stream().map(SpaceClosure::getId).toList(),
+                cancelled.stream().map(ReservationNotice::getReservationId).toList());
+    }
+
+    /**
+     * Removes a closure; the space becomes bookable again in that period. Reservations the
+     * closure cancelled stay cancelled.
+     *
+     * @param closureId the closure identifier
+     * @throws IllegalArgumentException if the closure does not exist
+     */
+    public void reopen(Long closureId) {
+        SpaceClosure closure = spaceClosureRepository.findById(closureId)
+                .orElseThrow(() -> new IllegalArgumentException("Closure not found: " + closureId));
+        Long spaceId = closure.getStudySpaceId();
+        spaceClosureRepository.delete(closure);
+        afterCommit(() -> closureIndex.removeAll(List.of(closureId)));
+        eventPublisher.publishEvent(new StudySpaceChangedEvent(spaceId));
+    }
+
+    /**
+     * Deletes all closures of a space that is being deleted.
+     *
+     * @param spaceId the study space identifier
+     */
+    public void deleteForSpace(Long spaceId) {
+        List<Long> closureIds = spaceClosureRepository.findIdsByStudySpaceId(spaceId);
+        if (closureIds.isEmpty()) {
+            return;
+        }
+        spaceClosureRepository.deleteByStudySpaceId(spaceId);
+        afterCommit(() -> closureIndex.removeAll(closureIds));
+    }
+
+    /**
+     * Returns the closures that end today or later, soonest first.
+     *
+     * @return current and upcoming closures
+     */
+    @Transactional(readOnly = true)
+    public List<SpaceClosure> getUpcomingClosures() {
+        return spaceClosureRepository.findByEndDateGreaterThanEqualOrderByStartDateAsc(LocalDate.now());
+    }
+
+    /**
+     * Flips the matching reservations to CANCELLED_BY_STAFF with one UPDATE and frees their
+     * seats in the ledger after commit.
+     *
+     * @return the reservations this update cancelled
+     */
+    private List<ReservationNotice> cancelReservations(List<Long> spaceIds, LocalDate from, LocalDate to,
+                                                       LocalTime windowStart, LocalTime windowEnd) {
+        List<ReservationNotice> notices = reservationRepository.findNoticesInWindow(
+                spaceIds, from, to, windowStart, windowEnd, CANCELLED_STATUSES);
+        if (notices.isEmpty()) {
+            return notices;
+        }
+
+        int updated = reservationRepository.updateStatusInWindow(spaceIds, from, to, windowStart, windowEnd,
+                ReservationStatus.CANCELLED_BY_STAFF, CANCELLED_STATUSES);
+        if (updated != notices.size()) {
+            // A holder cancelled in between: keep only the rows this update flipped
+            Set<Long> flipped = new HashSet<>(reservationRepository.findIdsByIdInAndStatus(
+                    notices.stream().map(ReservationNotice::getReservationId).toList(),
+                    ReservationStatus.CANCELLED_BY_STAFF));
+            notices = notices.stream().filter(n -> flipped.contains(n.getReservationId())).toList();
+        }
+
+        occupancyLedger.recordReleasedAll(notices.stream()
+                .filter(n -> ACTIVE_STATUSES.contains(n.getStatus()))
+                .map(n -> new ReservationInterval(n.getSpaceId(), n.getDate(), n.getStartTime(), n.getEndTime()))
+                .toList());
+        return notices;
+    }
+
+    /**
+     * Loads the requested spaces, failing if any of them does not exist.
+     */
+    private List<StudySpace> loadSpaces(List<Long> spaceIds) {
+        Set<Long> distinct = new LinkedHashSet<>(spaceIds);
+        List<StudySpace> spaces = studySpaceRepository.findAllById(distinct);
+        if (spaces.size() != distinct.size()) {
+            throw new IllegalArgumentException("Space not found");
+        }
+        return spaces;
+    }
+
+    /**
+     * Validates the period and returns the dates whose admission must be locked (today onwards).
+     */
+    private static List<LocalDate> validatePeriod(LocalDate from, LocalDate to,
+                                                  LocalTime startTime, LocalTime endTime) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date.");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_CLOSURE_DAYS) {
+            throw new IllegalArgumentException("A closure cannot exceed " + MAX_CLOSURE_DAYS + " days.");
+        }
+        if ((startTime == null) != (endTime == null)) {
+            throw new IllegalArgumentException("Give both start and end time, or neither for whole days.");
+        }
+        if (startTime != null && !endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException("End time must be after start time.");
+        }
+
+        // Past days can no longer be booked, so they need no admission lock
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (LocalDate date = from.isBefore(today) ? today : from; !date.isAfter(to); date = date.plusDays(1)) {
+            dates.add(date);
+        }
+        return dates;
+    }
+
+    /**
+     * Runs the action after the surrounding transaction commits, ahead of transactional
+     * event listeners, or immediately without a transaction.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -5,9 +5,11 @@ import gr.hua.dit.studyrooms.entity.User;
 import gr.hua.dit.studyrooms.entity.UserRole;
 import gr.hua.dit.studyrooms.entity.Reservation;
 import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.purge.ReservationPurger;
 import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
 import gr.hua.dit.studyrooms.repository.UserRepository;
 import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import gr.hua.dit.studyrooms.rollup.OccupancyRollup;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.function.Supplier;
@@ -43,6 +46,8 @@ public class DataInitializer implements CommandLineRunner {
     private final StudySpaceRepository studySpaceRepository;
     private final PasswordEncoder passwordEncoder;
     private final ReservationRepository reservationRepository;
+    private final ReservationPurger reservationPurger;
+    private final OccupancyRollup occupancyRollup;
 
     /**
      * Constructs the DataInitializer with required repository and security dependencies.
@@ -50,15 +55,21 @@ public class DataInitializer implements CommandLineRunner {
      * @param userRepository for managing user records
      * @param studySpaceRepository for managing study space records
      * @param reservationRepository for managing reservation records
+     * @param reservationPurger for deleting previous demo reservations in chunks
+     * @param occupancyRollup for rebuilding the daily occupancy totals after seeding
      * @param passwordEncoder for securely encoding user passwords
      */
     public DataInitializer(UserRepository userRepository,
                            StudySpaceRepository studySpaceRepository,
                            ReservationRepository reservationRepository,
+                           ReservationPurger reservationPurger,
+                           OccupancyRollup occupancyRollup,
                            PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
         this.studySpaceRepository = studySpaceRepository;
         this.reservationRepository = reservationRepository;
+        this.reservationPurger = reservationPurger;
+        this.occupancyRollup = occupancyRollup;
         this.passwordEncoder = passwordEncoder;
     }
 
@@ -69,6 +80,7 @@ public class DataInitializer implements CommandLineRunner {
      * 1. Creates default users (staff, student, student2) with encoded passwords
      * 2. Creates default study spaces with operating hours and capacity constraints
      * 3. Seeds sample reservations for testing the availability calculation and booking flow
+     * 4. Rebuilds the daily occupancy rollup read by the statistics
      * 
      * @param args command-line arguments (unused)
      */
@@ -163,7 +175,8 @@ public class DataInitializer implements CommandLineRunner {
         User student2 = userRepository.findByUsername("student2").orElse(null);
         List<StudySpace> spaces = studySpaceRepository.findAll();
 
-        reservationRepository.deleteByDemoTrue();
+        // Previous demo reservations, deleted in bounded chunks without loading them
+        reservationPurger.purgeDemo();
         
         // Safety check: only populate reservations if they don't already exist.
         // This prevents duplication on repeated application startups.
@@ -174,6 +187,9 @@ public class DataInitializer implements CommandLineRunner {
             StudySpace roomB = spaces.size() > 1 ? spaces.get(1) : roomA;
             StudySpace roomC = spaces.size() > 2 ? spaces.get(2) : roomA;
 
+            // Collected and saved together so Hibernate batches the inserts
+            List<Reservation> demoReservations = new ArrayList<>();
+
             // --- Υπάρχοντα demo (κρατάμε όπως είναι) ---
             // Fixed demo reservations: showcase different reservation states for testing
 
@@ -186,7 +202,7 @@ public class DataInitializer implements CommandLineRunner {
             r1.setEndTime(LocalTime.of(12, 0));
             r1.setStatus(ReservationStatus.CONFIRMED);
             r1.setDemo(true);
-            reservationRepository.save(r1);
+            demoReservations.add(r1);
 
             // r2: Pending future reservation - awaiting approval
             Reservation r2 = new Reservation();
@@ -197,7 +213,7 @@ public class DataInitializer implements CommandLineRunner {
             r2.setEndTime(LocalTime.of(15, 0));
             r2.setStatus(ReservationStatus.CONFIRMED);
             r2.setDemo(true);
-            reservationRepository.save(r2);
+            demoReservations.add(r2);
 
             // r3: Cancelled by staff in the past - administrative cancellation example
             Reservation r3 = new Reservation();
@@ -208,7 +224,7 @@ public class DataInitializer implements CommandLineRunner {
             r3.setEndTime(LocalTime.of(20, 0));
             r3.setStatus(ReservationStatus.CANCELLED_BY_STAFF);
             r3.setDemo(true);
-            reservationRepository.save(r3);
+            demoReservations.add(r3);
 
             // r4: Cancelled by user in the past - user-initiated cancellation
             Reservation r4 = new Reservation();
@@ -219,7 +235,7 @@ public class DataInitializer implements CommandLineRunner {
             r4.setEndTime(LocalTime.of(11, 0));
             r4.setStatus(ReservationStatus.CANCELLED);
             r4.setDemo(true);
-            reservationRepository.save(r4);
+            demoReservations.add(r4);
 
             // r5: No-show in the past - user failed to appear at reservation time
             // (NO_SHOW στο παρελθόν για να βλέπεις penalty cases κτλ)
@@ -232,7 +248,7 @@ public class DataInitializer implements CommandLineRunner {
                 r5.setEndTime(LocalTime.of(14, 0));
                 r5.setStatus(ReservationStatus.NO_SHOW);
                 r5.setDemo(true);
-                reservationRepository.save(r5);
+                demoReservations.add(r5);
             }
 
             // r6: Confirmed reservation for today - active ongoing booking
@@ -245,7 +261,7 @@ public class DataInitializer implements CommandLineRunner {
             r6.setEndTime(LocalTime.of(18, 0));
             r6.setStatus(ReservationStatus.CONFIRMED);
             r6.setDemo(true);
-            reservationRepository.save(r6);
+            demoReservations.add(r6);
 
             // --- Random demo data: generates varied test data on each fresh database ---
             // (διαφορετικά κάθε run σε φρέσκια DB)
@@ -298,7 +314,7 @@ public class DataInitializer implements CommandLineRunner {
                     default -> status = ReservationStatus.CONFIRMED;
                 }
 
-                // Create and save the random reservation
+                // Create the random reservation
                 Reservation demo = new Reservation();
                 demo.setUser(randomUser);
                 demo.setStudySpace(randomSpace);
@@ -308,9 +324,15 @@ public class DataInitializer implements CommandLineRunner {
                 demo.setStatus(status);
                 demo.setDemo(true);
 
-                reservationRepository.save(demo);
+                demoReservations.add(demo);
             }
+
+            reservationRepository.saveAll(demoReservations);
         }
+
+        // Seeding bypasses the reservation service, so the daily totals are rebuilt here
+        reservationRepository.flush();
+        occupancyRollup.rebuildAll();
     }
 
     /**
@@ -0,0 +1,82 @@
+package gr.hua.dit.studyrooms.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Moves the entity id sequences past the ids already stored.
+ *
+ * Entity ids used to be IDENTITY columns. They now come from pooled sequences
+ * ({@code allocationSize = 50}), which {@code ddl-auto=update} created starting at 1 next to
+ * tables that may already hold rows. The existing identity columns still accept explicit
+ * ids, so the only thing needed for an existing H2 or PostgreSQL database is to restart each
+ * sequence above the highest id in its table. This runs once at startup, after the Flyway
+ * migrations and before any insert; sequences that are already ahead are left alone.
+ */
+@Component
+public class IdSequenceAligner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    // Must match the allocationSize of the entities' @SequenceGenerator
+    static final int ALLOCATION_SIZE = 50;
+
+    // Table -> id sequence
+    private static final Map<String, String> SEQUENCES = new LinkedHashMap<>();
+
+    static {
+        SEQUENCES.put("users", "users_seq");
+        SEQUENCES.put("study_spaces", "study_spaces_seq");
+        SEQUENCES.put("reservations", "reservations_seq");
+        SEQUENCES.put("notification_outbox", "notification_outbox_seq");
+        SEQUENCES.put("space_closures", "space_closures_seq");
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    /**
+     * Constructs the aligner. Depending on the EntityManagerFactory guarantees the schema
+     * (and the sequences) exist before {@link #align()} runs.
+     *
+     * @param jdbcTemplate JDBC access to the application database
+     * @param entityManagerFactory the JPA factory, used for the SQL dialect
+     */
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+    }
+
+    /**
+     * Restarts every sequence whose next value would hand out ids already in use.
+     *
+     * With the pooled optimizer a value {@code v} from the sequence reserves the ids
+     * {@code v - 49 .. v}, so the sequence must reach at least {@code max(id) + 50}.
+     */
+    @PostConstruct
+    public void align() {
+        SEQUENCES.forEach((table, sequence) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            if (maxId == null || maxId == 0) {
+                return;
+            }
+            long target = maxId + ALLOCATION_SIZE;
+            Long next = jdbcTemplate.queryForObject(
+                    dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+            if (next != null && next < target) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + target);
+                LOGGER.info("Restarted {} at {} (highest id in {} is {})", sequence, target, table, maxId);
+            }
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package gr.hua.dit.studyrooms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's {@code @Scheduled} support for background jobs
+ * (for example the notification outbox dispatcher).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
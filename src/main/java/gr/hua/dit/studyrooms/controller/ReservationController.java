@@ -282,8 +282,8 @@ public class ReservationController {
                                    LocalDate date,
                                    RedirectAttributes redirectAttributes) {
 
-        // Cancel all reservations for this space and date, returns count of cancelled reservations
-        int cancelled = reservationService.cancelByStaffForSpaceAndDate(spaceId, date);
+        // Cancel all reservations for this space and date, returns the cancelled reservation ids
+        int cancelled = reservationService.cancelByStaffForSpaceAndDate(spaceId, date).size();
 
         // Create and add a summary message showing how many reservations were cancelled
         redirectAttributes.addFlashAttribute(
@@ -46,7 +46,8 @@ public class StaffStatsController {
     /**
      * Displays occupancy statistics for study spaces within a specified date range.
      * 
-     * If a specific space is selected, displays detailed occupancy data for that space.
+     * If a specific space is selected, displays detailed occupancy data for that space;
+     * otherwise displays the occupancy totals of every space.
      * If no date range is provided, defaults to the current date through the next 6 days.
      * 
      * @param spaceId optional ID of the space to view details for
@@ -90,6 +91,14 @@ public class StaffStatsController {
                 // If space lookup fails, add error message to the model for display
                 model.addAttribute("error", ex.getMessage());
             }
+        } else {
+            try {
+                // No space selected: summarise every space over the date range
+                model.addAttribute("report", reservationStatisticsService.getCampusOccupancy(effectiveStart, effectiveEnd));
+            } catch (RuntimeException ex) {
+                // Invalid range: add error message to the model for display
+                model.addAttribute("error", ex.getMessage());
+            }
         }
 
         // Return the staff_occupancy template to render the view
@@ -12,7 +12,13 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import gr.hua.dit.studyrooms.availability.TimeSlotAvailability;
 import gr.hua.dit.studyrooms.availability.SpaceAvailabilityService;
+import gr.hua.dit.studyrooms.availability.SeatCountBroadcaster;
+import gr.hua.dit.studyrooms.availability.SeatCountUpdate;
+import gr.hua.dit.studyrooms.availability.SweepLineAvailability;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -29,16 +35,20 @@ public class StudySpaceController {
     // Services for business logic and availability management
     private final StudySpaceService studySpaceService;
     private final SpaceAvailabilityService spaceAvailabilityService;
+    private final SeatCountBroadcaster seatCountBroadcaster;
 
     /**
      * Constructor for dependency injection of required services.
      * @param studySpaceService Service for CRUD operations on study spaces
      * @param spaceAvailabilityService Service for managing time slot availability
+     * @param seatCountBroadcaster Broadcaster of live seat counts
      */
     public StudySpaceController(StudySpaceService studySpaceService,
-                                SpaceAvailabilityService spaceAvailabilityService) {
+                                SpaceAvailabilityService spaceAvailabilityService,
+                                SeatCountBroadcaster seatCountBroadcaster) {
         this.studySpaceService = studySpaceService;
         this.spaceAvailabilityService = spaceAvailabilityService;
+        this.seatCountBroadcaster = seatCountBroadcaster;
     }
 
     // ========== STUDENT VIEW - PUBLIC ENDPOINTS ==========
@@ -53,22 +63,52 @@ public class StudySpaceController {
     public String spaceDetails(@PathVariable Long id,
                                @RequestParam(value = "date", required = false)
                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                               @RequestParam(value = "slot", required = false) Integer slot,
                                Model model) {
 
         StudySpace space = studySpaceService.getSpaceById(id);
 
         LocalDate selectedDate = (date != null) ? date : LocalDate.now();
+        int slotMinutes = resolveSlotMinutes(slot);
 
         List<TimeSlotAvailability> slots =
-                spaceAvailabilityService.getDailyAvailability(space, selectedDate);
+                spaceAvailabilityService.getDailyAvailability(space, selectedDate, slotMinutes);
 
         model.addAttribute("space", space);
         model.addAttribute("selectedDate", selectedDate);
         model.addAttribute("slots", slots);
+        model.addAttribute("slotMinutes", slotMinutes);
 
         return "space_details";
     }
 
+    /**
+     * Live seat counts of a space and date as server-sent events.
+     * The first "seats" event is the full day; later ones carry only changed slots.
+     * Public like the details page, so a plain EventSource can subscribe.
+     */
+    @GetMapping(value = "/spaces/{id}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public Flux<ServerSentEvent<SeatCountUpdate>> liveSeats(@PathVariable Long id,
+                                                            @RequestParam(value = "date", required = false)
+                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                            @RequestParam(value = "slot", required = false) Integer slot) {
+        StudySpace space = studySpaceService.getSpaceById(id);
+        LocalDate selectedDate = (date != null) ? date : LocalDate.now();
+        int slotMinutes = resolveSlotMinutes(slot);
+        return seatCountBroadcaster.watch(space.getId(), selectedDate, slotMinutes);
+    }
+
+    /**
+     * The requested slot size when supported, otherwise the default; these pages are
+     * public links, so a bad value falls back instead of failing the page.
+     */
+    private int resolveSlotMinutes(Integer slot) {
+        return (slot != null && SweepLineAvailability.SUPPORTED_SLOT_MINUTES.contains(slot))
+                ? slot
+                : spaceAvailabilityService.getDefaultSlotMinutes();
+    }
+
     // ---------- STAFF VIEW ----------
 
     @GetMapping("/staff/spaces")
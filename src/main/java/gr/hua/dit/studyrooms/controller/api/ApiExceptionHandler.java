@@ -1,5 +1,6 @@
 package gr.hua.dit.studyrooms.controller.api;
 
+import gr.hua.dit.studyrooms.availability.CapacityExceededException;
 import gr.hua.dit.studyrooms.external.ExternalServiceException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +26,7 @@ import java.util.Map;
  */
 @RestControllerAdvice(basePackageClasses = {
         AuthApiController.class,
+        AvailabilityApiController.class,
         ReservationApiController.class,
         StudySpaceApiController.class,
         StaffApiController.class,
@@ -87,6 +89,26 @@ public class ApiExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    /**
+     * Handles bookings rejected because the study space is full.
+     * 
+     * Same status as other business rule violations, but the body also lists nearby
+     * free alternatives (same space at shifted times, other spaces at the same time)
+     * so the client can rebook without polling availability.
+     * 
+     * HTTP Status: 400 BAD_REQUEST
+     * 
+     * @param ex the capacity exception carrying the alternatives
+     * @return ResponseEntity with 400 status, the message and the alternatives
+     */
+    @ExceptionHandler(CapacityExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleCapacityExceeded(CapacityExceededException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("message", ex.getMessage());
+        body.put("alternatives", ex.getAlternatives());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
     /**
      * Handles authorization and authentication failures.
      * 
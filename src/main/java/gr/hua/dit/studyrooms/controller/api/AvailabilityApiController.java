@@ -0,0 +1,99 @@
+package gr.hua.dit.studyrooms.controller.api;
+
+import gr.hua.dit.studyrooms.availability.AvailabilityGrid;
+import gr.hua.dit.studyrooms.availability.AvailabilitySearchService;
+import gr.hua.dit.studyrooms.availability.SlotOption;
+import gr.hua.dit.studyrooms.availability.SpaceAvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * REST API Controller for study space availability.
+ *
+ * Requires bearer token authentication.
+ *
+ * Base URL: /api/availability
+ */
+@RestController
+@RequestMapping("/api/availability")
+@Tag(name = "Availability", description = "Seat availability across study spaces")
+@SecurityRequirement(name = "bearerAuth")
+public class AvailabilityApiController {
+
+    // Service computing availability slots
+    private final SpaceAvailabilityService spaceAvailabilityService;
+
+    // Service searching free slots across all spaces
+    private final AvailabilitySearchService availabilitySearchService;
+
+    /**
+     * Constructor with dependency injection.
+     *
+     * @param spaceAvailabilityService the availability service
+     * @param availabilitySearchService the next-available search service
+     */
+    public AvailabilityApiController(SpaceAvailabilityService spaceAvailabilityService,
+                                     AvailabilitySearchService availabilitySearchService) {
+        this.spaceAvailabilityService = spaceAvailabilityService;
+        this.availabilitySearchService = availabilitySearchService;
+    }
+
+    /**
+     * Returns the spaces x slots availability grid for a day.
+     *
+     * HTTP Method: GET
+     * Endpoint: GET /api/availability?date=2025-01-31&slot=30
+     *
+     * @param date the day to show (defaults to today)
+     * @param slot slot size in minutes: 5, 15, 30 or 60 (defaults to the configured size)
+     * @return a ResponseEntity containing one row of slots per study space
+     */
+    @Operation(summary = "Availability grid of all study spaces for a day")
+    @GetMapping
+    public ResponseEntity<AvailabilityGrid> getAvailabilityGrid(
+            @RequestParam(value = "date", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(value = "slot", required = false) Integer slot) {
+        LocalDate day = (date != null) ? date : LocalDate.now();
+        int slotMinutes = (slot != null) ? slot : spaceAvailabilityService.getDefaultSlotMinutes();
+        return ResponseEntity.ok(spaceAvailabilityService.getAvailabilityGrid(day, slotMinutes));
+    }
+
+    /**
+     * Finds the earliest bookable (space, start) options on a date.
+     *
+     * HTTP Method: GET
+     * Endpoint: GET /api/availability/next?date=2025-01-31&duration=90&from=10:00&to=18:00&limit=5
+     * Honours opening hours, full-day spaces, staff closures and public holidays.
+     *
+     * @param date the desired date
+     * @param duration reservation length in minutes (up to 120)
+     * @param from earliest acceptable start time (optional)
+     * @param to latest acceptable end time (optional)
+     * @param limit maximum number of options (default 5, up to 50)
+     * @return a ResponseEntity containing the options ordered by start time
+     */
+    @Operation(summary = "Earliest available slots across all study spaces")
+    @GetMapping("/next")
+    public ResponseEntity<List<SlotOption>> findNextAvailable(
+            @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam("duration") int duration,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(pattern = "HH:mm") LocalTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(pattern = "HH:mm") LocalTime to,
+            @RequestParam(value = "limit", defaultValue = "5") int limit) {
+        return ResponseEntity.ok(availabilitySearchService.findNextAvailable(date, duration, from, to, limit));
+    }
+}
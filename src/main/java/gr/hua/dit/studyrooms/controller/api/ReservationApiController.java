@@ -1,6 +1,8 @@
 package gr.hua.dit.studyrooms.controller.api;
 
 import gr.hua.dit.studyrooms.dto.ReservationFormDto;
+import gr.hua.dit.studyrooms.dto.ReservationSeriesDto;
+import gr.hua.dit.studyrooms.dto.ReservationSeriesResult;
 import gr.hua.dit.studyrooms.entity.Reservation;
 import gr.hua.dit.studyrooms.entity.User;
 import gr.hua.dit.studyrooms.security.CustomUserDetails;
@@ -21,6 +23,7 @@ import java.util.List;
  * Provides endpoints for authenticated users to:
  * - View their reservations
  * - Create new reservations
+ * - Create weekly reservation series
  * - Cancel existing reservations
  * 
  * All endpoints require Bearer token authentication via Spring Security.
@@ -91,6 +94,37 @@ public class ReservationApiController {
         return ResponseEntity.ok(r);
     }
 
+    /**
+     * Creates a weekly reservation series for the authenticated user.
+     * 
+     * Endpoint: POST /api/reservations/series
+     * Occurrences that break a rule (holiday, closure, daily limit, full slot...) are skipped;
+     * the response lists every occurrence with its reservation id or rejection reason.
+     * 
+     * @param series Validated ReservationSeriesDto (studySpaceId, firstDate, lastDate,
+     *               intervalWeeks, startTime, endTime)
+     * @param auth Spring Security Authentication object containing the authenticated user
+     * @return ResponseEntity with the outcome of every occurrence
+     */
+    @Operation(summary = "Create a weekly reservation series for the authenticated user")
+    @PostMapping("/series")
+    public ResponseEntity<ReservationSeriesResult> createReservationSeries(@Valid @RequestBody ReservationSeriesDto series,
+                                                                           Authentication auth) {
+        // Extract the authenticated user from the security context
+        CustomUserDetails cud = (CustomUserDetails) auth.getPrincipal();
+        User user = cud.getUser();
+
+        return ResponseEntity.ok(reservationService.createReservationSeries(
+                user,
+                series.getStudySpaceId(),
+                series.getFirstDate(),
+                series.getLastDate(),
+                series.getIntervalWeeks(),
+                series.getStartTime(),
+                series.getEndTime()
+        ));
+    }
+
     /**
      * Cancels a reservation for the authenticated user.
      * 
@@ -0,0 +1,92 @@
+package gr.hua.dit.studyrooms.controller.api;
+
+import gr.hua.dit.studyrooms.closure.SpaceClosureService;
+import gr.hua.dit.studyrooms.dto.SpaceClosureDto;
+import gr.hua.dit.studyrooms.dto.SpaceClosureResult;
+import gr.hua.dit.studyrooms.entity.SpaceClosure;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST API Controller for staff closures of study spaces.
+ *
+ * Provides endpoints for staff members to:
+ * - List current and upcoming closures
+ * - Close one or more spaces over a date range (whole days or a daily time window),
+ *   cancelling the reservations that fall inside
+ * - Reopen a closed period
+ *
+ * All endpoints require:
+ * - Bearer token authentication via Spring Security
+ * - User to have the STAFF role
+ */
+@RestController
+@RequestMapping("/api/closures")
+@PreAuthorize("hasAnyRole('STAFF')")
+@Tag(name = "Closures", description = "Staff closures of study spaces")
+@SecurityRequirement(name = "bearerAuth")
+public class SpaceClosureApiController {
+
+    // Service layer dependency for closure operations
+    private final SpaceClosureService spaceClosureService;
+
+    /**
+     * Constructor for dependency injection of SpaceClosureService.
+     *
+     * @param spaceClosureService The service handling closures
+     */
+    public SpaceClosureApiController(SpaceClosureService spaceClosureService) {
+        this.spaceClosureService = spaceClosureService;
+    }
+
+    /**
+     * Lists closures that end today or later.
+     *
+     * Endpoint: GET /api/closures
+     *
+     * @return ResponseEntity with the current and upcoming closures, soonest first
+     */
+    @Operation(summary = "List current and upcoming closures")
+    @GetMapping
+    public ResponseEntity<List<SpaceClosure>> getUpcomingClosures() {
+        return ResponseEntity.ok(spaceClosureService.getUpcomingClosures());
+    }
+
+    /**
+     * Closes one or more spaces over a date range.
+     *
+     * Endpoint: POST /api/closures
+     *
+     * @param dto the spaces, the period and an optional daily time window
+     * @return ResponseEntity with the created closures and the cancelled reservations
+     */
+    @Operation(summary = "Close study spaces over a date range")
+    @PostMapping
+    public ResponseEntity<SpaceClosureResult> closeSpaces(@Valid @RequestBody SpaceClosureDto dto) {
+        SpaceClosureResult result = spaceClosureService.closeSpaces(dto.getStudySpaceIds(),
+                dto.getStartDate(), dto.getEndDate(), dto.getStartTime(), dto.getEndTime(), dto.getReason());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Reopens a closed period. Reservations it cancelled stay cancelled.
+     *
+     * Endpoint: DELETE /api/closures/{id}
+     *
+     * @param id The ID of the closure to remove
+     * @return ResponseEntity with no content (204 status) on success
+     */
+    @Operation(summary = "Reopen a closed period")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> reopen(@PathVariable Long id) {
+        spaceClosureService.reopen(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,14 +1,21 @@
 package gr.hua.dit.studyrooms.controller.api;
 
+import gr.hua.dit.studyrooms.dto.ReservationSearchPage;
 import gr.hua.dit.studyrooms.entity.Reservation;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.export.ReservationExporter;
+import gr.hua.dit.studyrooms.search.ReservationSearchService;
 import gr.hua.dit.studyrooms.service.ReservationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -18,6 +25,8 @@ import java.util.List;
  * 
  * Provides endpoints for staff members to:
  * - View all reservations or filter by specific date
+ * - Search reservations by space, user, status and date range, page by page
+ * - Export reservations as a stream (NDJSON or CSV)
  * - Cancel any reservation (without ownership restrictions)
  * 
  * All endpoints require:
@@ -33,14 +42,24 @@ public class StaffApiController {
 
     // Service layer dependency for reservation business logic
     private final ReservationService reservationService;
+    // Streams reservations straight from a JDBC cursor to the response
+    private final ReservationExporter reservationExporter;
+    // Keyset-paginated reservation search
+    private final ReservationSearchService reservationSearchService;
 
     /**
-     * Constructor for dependency injection of ReservationService.
+     * Constructor for dependency injection of the reservation services.
      * 
      * @param reservationService The service handling reservation operations
+     * @param reservationExporter The streaming reservation export
+     * @param reservationSearchService The paginated reservation search
      */
-    public StaffApiController(ReservationService reservationService) {
+    public StaffApiController(ReservationService reservationService,
+                              ReservationExporter reservationExporter,
+                              ReservationSearchService reservationSearchService) {
         this.reservationService = reservationService;
+        this.reservationExporter = reservationExporter;
+        this.reservationSearchService = reservationSearchService;
     }
 
     /**
@@ -73,6 +92,75 @@ public class StaffApiController {
         return ResponseEntity.ok(reservations);
     }
 
+    /**
+     * Searches reservations page by page.
+     * 
+     * Endpoint: GET /api/staff/reservations/search
+     * Query Parameters (all optional):
+     *   - spaceId, userId: restrict to one space / user
+     *   - status: one or more statuses (repeat the parameter)
+     *   - from, to: inclusive date range in ISO format (YYYY-MM-DD)
+     *   - cursor: nextCursor of the previous page
+     *   - limit: page size, 1 to 200 (default 50)
+     * 
+     * Pages follow (date, start time, id) order and seek past the previous page instead of
+     * skipping rows, so every page takes the same time. The total is returned with the
+     * first page only.
+     * 
+     * @return ResponseEntity with one page of flat reservation rows and the next cursor
+     */
+    @Operation(summary = "Search reservations with keyset pagination")
+    @GetMapping("/reservations/search")
+    public ResponseEntity<ReservationSearchPage> searchReservations(
+            @RequestParam(required = false) Long spaceId,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(name = "status", required = false) List<ReservationStatus> statuses,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        return ResponseEntity.ok(
+                reservationSearchService.search(spaceId, userId, statuses, from, to, cursor, limit));
+    }
+
+    /**
+     * Exports reservations, archived months included, as a stream.
+     * 
+     * Endpoint: GET /api/staff/reservations/export
+     * Query Parameters:
+     *   - format (optional): ndjson (default) or csv
+     *   - from, to (optional): inclusive date range in ISO format (YYYY-MM-DD)
+     * 
+     * Unlike the list endpoint, rows are flat (space and user by id and name) and written
+     * while they are read, so the export of the whole history uses constant memory.
+     * 
+     * @param format The output format
+     * @param from Optional first date
+     * @param to Optional last date
+     * @return ResponseEntity streaming one line per reservation
+     */
+    @Operation(summary = "Export reservations as NDJSON or CSV")
+    @GetMapping("/reservations/export")
+    public ResponseEntity<StreamingResponseBody> exportReservations(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        // Rejects unknown formats with 400 before the response starts
+        ReservationExporter.Format exportFormat = ReservationExporter.Format.fromParam(format);
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'.");
+        }
+
+        StreamingResponseBody body = out -> reservationExporter.export(exportFormat, from, to, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"reservations." + exportFormat.name().toLowerCase() + "\"")
+                .body(body);
+    }
+
     /**
      * Cancels a reservation with staff privileges.
      * 
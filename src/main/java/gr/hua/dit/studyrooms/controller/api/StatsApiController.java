@@ -1,5 +1,8 @@
 package gr.hua.dit.studyrooms.controller.api;
 
+import gr.hua.dit.studyrooms.dto.CampusOccupancyReport;
+import gr.hua.dit.studyrooms.dto.ConcurrencyStatsEntry;
+import gr.hua.dit.studyrooms.dto.OccupancyHeatMap;
 import gr.hua.dit.studyrooms.dto.OccupancyStatsEntry;
 import gr.hua.dit.studyrooms.entity.StudySpace;
 import gr.hua.dit.studyrooms.service.ReservationStatisticsService;
@@ -79,4 +82,83 @@ public class StatsApiController {
         // Return the statistics as a successful HTTP 200 response
         return ResponseEntity.ok(stats);
     }
+
+    /**
+     * Retrieves the occupancy of every study space and the campus totals.
+     *
+     * Endpoint: GET /api/stats/report
+     * Required Role: STAFF
+     * Authentication: Bearer token required
+     *
+     * One call replaces a /occupancy call per space: the daily rollup is read once for the
+     * whole range and summed per space. The range is limited to 366 days.
+     *
+     * @param startDate The start date for the report period (format: yyyy-MM-dd)
+     * @param endDate The end date for the report period (format: yyyy-MM-dd)
+     * @return ResponseEntity containing per-space summaries and campus totals
+     */
+    @Operation(summary = "Occupancy report for all spaces",
+            description = "Returns occupancy totals per space and for the campus between the given dates.")
+    @PreAuthorize("hasRole('STAFF')")
+    @GetMapping("/report")
+    public ResponseEntity<CampusOccupancyReport> report(
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        return ResponseEntity.ok(reservationStatisticsService.getCampusOccupancy(startDate, endDate));
+    }
+
+    /**
+     * Retrieves peak and 95th percentile concurrency for a specific study space.
+     *
+     * Endpoint: GET /api/stats/concurrency
+     * Required Role: STAFF
+     * Authentication: Bearer token required
+     *
+     * Unlike occupancy, which sums reserved minutes, this counts how many reservations overlap
+     * at the same minute, i.e. how close the space came to being full. The range is limited
+     * to 366 days.
+     *
+     * @param spaceId The ID of the study space
+     * @param startDate The start date for the statistics period (format: yyyy-MM-dd)
+     * @param endDate The end date for the statistics period (format: yyyy-MM-dd)
+     * @return ResponseEntity containing a list of ConcurrencyStatsEntry objects, one per day
+     */
+    @Operation(summary = "Daily peak concurrency for a space",
+            description = "Returns the peak and 95th percentile of overlapping reservations per day.")
+    @PreAuthorize("hasRole('STAFF')")
+    @GetMapping("/concurrency")
+    public ResponseEntity<List<ConcurrencyStatsEntry>> concurrency(
+            @RequestParam("spaceId") Long spaceId,
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        StudySpace space = studySpaceService.getSpaceById(spaceId);
+        return ResponseEntity.ok(reservationStatisticsService.getDailyConcurrency(space, startDate, endDate));
+    }
+
+    /**
+     * Retrieves the weekday x hour occupancy heat map of a specific study space.
+     *
+     * Endpoint: GET /api/stats/heatmap
+     * Required Role: STAFF
+     * Authentication: Bearer token required
+     *
+     * @param spaceId The ID of the study space
+     * @param startDate The start date for the statistics period (format: yyyy-MM-dd)
+     * @param endDate The end date for the statistics period (format: yyyy-MM-dd)
+     * @return ResponseEntity containing the average and peak concurrency per weekday and hour
+     */
+    @Operation(summary = "Hourly heat map for a space",
+            description = "Returns average and peak overlapping reservations per weekday and hour.")
+    @PreAuthorize("hasRole('STAFF')")
+    @GetMapping("/heatmap")
+    public ResponseEntity<OccupancyHeatMap> heatMap(
+            @RequestParam("spaceId") Long spaceId,
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        StudySpace space = studySpaceService.getSpaceById(spaceId);
+        return ResponseEntity.ok(reservationStatisticsService.getHourlyHeatMap(space, startDate, endDate));
+    }
 }
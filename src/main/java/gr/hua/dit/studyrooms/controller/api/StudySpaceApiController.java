@@ -1,5 +1,7 @@
 package gr.hua.dit.studyrooms.controller.api;
 
+import gr.hua.dit.studyrooms.availability.RangeAvailability;
+import gr.hua.dit.studyrooms.availability.SpaceAvailabilityService;
 import gr.hua.dit.studyrooms.dto.StudySpaceDto;
 import gr.hua.dit.studyrooms.dto.StudySpaceMapper;
 import gr.hua.dit.studyrooms.entity.StudySpace;
@@ -8,10 +10,12 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -32,13 +36,19 @@ public class StudySpaceApiController {
     // Service layer dependency for business logic operations
     private final StudySpaceService studySpaceService;
 
+    // Service computing availability slots
+    private final SpaceAvailabilityService spaceAvailabilityService;
+
     /**
      * Constructor with dependency injection.
      * 
      * @param studySpaceService the service layer for study space operations
+     * @param spaceAvailabilityService the availability service
      */
-    public StudySpaceApiController(StudySpaceService studySpaceService) {
+    public StudySpaceApiController(StudySpaceService studySpaceService,
+                                   SpaceAvailabilityService spaceAvailabilityService) {
         this.studySpaceService = studySpaceService;
+        this.spaceAvailabilityService = spaceAvailabilityService;
     }
 
     /**
@@ -72,6 +82,36 @@ public class StudySpaceApiController {
         return ResponseEntity.ok(studySpaceService.getSpaceById(id));
     }
 
+    /**
+     * Retrieves a study space's availability for a range of days (up to 31).
+     * 
+     * Public endpoint - no role restrictions.
+     * HTTP Method: GET
+     * Endpoint: GET /api/spaces/{id}/availability?from=2025-01-27&to=2025-02-02&slot=30
+     * The slot layout is returned once; each day carries an array of remaining seats per slot.
+     * 
+     * @param id the unique identifier of the study space
+     * @param from first day (defaults to today)
+     * @param to last day (defaults to six days after {@code from})
+     * @param slot slot size in minutes: 5, 15, 30 or 60 (defaults to the configured size)
+     * @return a ResponseEntity containing the compact range availability
+     */
+    @Operation(summary = "Availability of a study space over a date range")
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<RangeAvailability> getRangeAvailability(
+            @PathVariable Long id,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "slot", required = false) Integer slot) {
+        LocalDate first = (from != null) ? from : LocalDate.now();
+        LocalDate last = (to != null) ? to : first.plusDays(6);
+        int slotMinutes = (slot != null) ? slot : spaceAvailabilityService.getDefaultSlotMinutes();
+        return ResponseEntity.ok(spaceAvailabilityService.getRangeAvailability(
+                studySpaceService.getSpaceById(id), first, last, slotMinutes));
+    }
+
     /**
      * Creates a new study space.
      * 
@@ -0,0 +1,97 @@
+// DTO for representing the occupancy of every study space over a date range
+package gr.hua.dit.studyrooms.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Occupancy of every study space and campus totals over a date range")
+/**
+ * Data Transfer Object (DTO) representing a campus-wide occupancy report: one summary per
+ * study space and the totals over all spaces.
+ */
+public class CampusOccupancyReport {
+
+    // First date of the range (inclusive)
+    private final LocalDate startDate;
+    // Last date of the range (inclusive)
+    private final LocalDate endDate;
+    // One summary per study space, ordered by name
+    private final List<SpaceOccupancySummary> spaces;
+    // Number of confirmed reservations over all spaces
+    private final long reservationsCount;
+    // Occupied seat-minutes over all spaces
+    private final long occupiedMinutes;
+    // Available seat-minutes over all spaces
+    private final long totalMinutes;
+
+    /**
+     * Constructor computing the campus totals from the per-space summaries.
+     * @param startDate First date of the range
+     * @param endDate Last date of the range
+     * @param spaces One summary per study space
+     */
+    public CampusOccupancyReport(LocalDate startDate, LocalDate endDate, List<SpaceOccupancySummary> spaces) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.spaces = spaces;
+        this.reservationsCount = spaces.stream().mapToLong(SpaceOccupancySummary::getReservationsCount).sum();
+        this.occupiedMinutes = spaces.stream().mapToLong(SpaceOccupancySummary::getOccupiedMinutes).sum();
+        this.totalMinutes = spaces.stream().mapToLong(SpaceOccupancySummary::getTotalMinutes).sum();
+    }
+
+    /**
+     * @return First date of the range
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * @return Last date of the range
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * @return One summary per study space
+     */
+    public List<SpaceOccupancySummary> getSpaces() {
+        return spaces;
+    }
+
+    /**
+     * @return Number of reservations over all spaces
+     */
+    public long getReservationsCount() {
+        return reservationsCount;
+    }
+
+    /**
+     * @return Occupied seat-minutes over all spaces
+     */
+    public long getOccupiedMinutes() {
+        return occupiedMinutes;
+    }
+
+    /**
+     * @return Available seat-minutes over all spaces
+     */
+    public long getTotalMinutes() {
+        return totalMinutes;
+    }
+
+    /**
+     * Calculates the campus occupancy percentage.
+     * @return Percentage of occupied minutes out of total available minutes (0 if totalMinutes <= 0)
+     */
+    @Schema(description = "Campus occupancy percentage over the range")
+    public double getOccupancyPercentage() {
+        if (totalMinutes <= 0) {
+            return 0;
+        }
+        return (double) occupiedMinutes * 100 / totalMinutes;
+    }
+}
@@ -0,0 +1,77 @@
+// DTO for representing concurrency statistics for a specific date
+package gr.hua.dit.studyrooms.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "Concurrent occupancy metrics for a specific date")
+/**
+ * Data Transfer Object (DTO) representing how many reservations overlapped on a specific date.
+ * Contains the peak and 95th percentile of the per-minute concurrency and the space capacity.
+ */
+public class ConcurrencyStatsEntry {
+
+    // The date for which the statistics are recorded
+    private final LocalDate date;
+    // Highest number of reservations overlapping at any minute of the day
+    private final int peakConcurrency;
+    // Concurrency that 95% of the opening minutes stay at or below
+    private final int p95Concurrency;
+    // Seats of the space
+    private final int capacity;
+
+    /**
+     * Constructor to initialize all fields.
+     * @param date The date for the statistics
+     * @param peakConcurrency Highest concurrency of the day
+     * @param p95Concurrency 95th percentile of the per-minute concurrency
+     * @param capacity Seats of the space
+     */
+    public ConcurrencyStatsEntry(LocalDate date, int peakConcurrency, int p95Concurrency, int capacity) {
+        this.date = date;
+        this.peakConcurrency = peakConcurrency;
+        this.p95Concurrency = p95Concurrency;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return The date for the statistics
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * @return Highest concurrency of the day
+     */
+    public int getPeakConcurrency() {
+        return peakConcurrency;
+    }
+
+    /**
+     * @return 95th percentile of the per-minute concurrency
+     */
+    public int getP95Concurrency() {
+        return p95Concurrency;
+    }
+
+    /**
+     * @return Seats of the space
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Calculates the peak as a share of the capacity.
+     * @return Percentage of seats taken at the peak (0 if capacity <= 0)
+     */
+    @Schema(description = "Peak concurrency as a percentage of the capacity")
+    public double getPeakPercentage() {
+        if (capacity <= 0) {
+            return 0;
+        }
+        return (double) peakConcurrency * 100 / capacity;
+    }
+}
@@ -0,0 +1,91 @@
+// DTO for representing a weekday x hour occupancy heat map of a study space
+package gr.hua.dit.studyrooms.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "Weekday x hour occupancy heat map of a study space")
+/**
+ * Data Transfer Object (DTO) representing the concurrent occupancy of a study space by weekday
+ * and hour over a date range. Rows are weekdays (0 = Monday ... 6 = Sunday), columns are hours
+ * of the day (0-23).
+ */
+public class OccupancyHeatMap {
+
+    // The study space the heat map describes
+    private final Long spaceId;
+    // First date of the range (inclusive)
+    private final LocalDate startDate;
+    // Last date of the range (inclusive)
+    private final LocalDate endDate;
+    // Seats of the space
+    private final int capacity;
+    // Average number of concurrent reservations per weekday and hour
+    private final double[][] averageOccupancy;
+    // Highest number of concurrent reservations per weekday and hour
+    private final int[][] peakOccupancy;
+
+    /**
+     * Constructor to initialize all fields.
+     * @param spaceId The study space identifier
+     * @param startDate First date of the range
+     * @param endDate Last date of the range
+     * @param capacity Seats of the space
+     * @param averageOccupancy Average concurrency, [weekday][hour]
+     * @param peakOccupancy Peak concurrency, [weekday][hour]
+     */
+    public OccupancyHeatMap(Long spaceId, LocalDate startDate, LocalDate endDate, int capacity,
+                            double[][] averageOccupancy, int[][] peakOccupancy) {
+        this.spaceId = spaceId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.capacity = capacity;
+        this.averageOccupancy = averageOccupancy;
+        this.peakOccupancy = peakOccupancy;
+    }
+
+    /**
+     * @return The study space identifier
+     */
+    public Long getSpaceId() {
+        return spaceId;
+    }
+
+    /**
+     * @return First date of the range
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * @return Last date of the range
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    /**
+     * @return Seats of the space
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return Average concurrency, [weekday][hour] with 0 = Monday
+     */
+    @Schema(description = "Average concurrent reservations, [weekday][hour] with 0 = Monday")
+    public double[][] getAverageOccupancy() {
+        return averageOccupancy;
+    }
+
+    /**
+     * @return Peak concurrency, [weekday][hour] with 0 = Monday
+     */
+    @Schema(description = "Peak concurrent reservations, [weekday][hour] with 0 = Monday")
+    public int[][] getPeakOccupancy() {
+        return peakOccupancy;
+    }
+}
@@ -0,0 +1,105 @@
+package gr.hua.dit.studyrooms.dto;
+
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * What bulk operations need to know about a reservation: its seats and its holder's contact.
+ *
+ * Built by a JPQL constructor expression, so a whole day of reservations can be cancelled
+ * and its holders notified without hydrating Reservation, User and StudySpace entities.
+ */
+public class ReservationNotice {
+
+    /** Identifier of the reservation */
+    private final Long reservationId;
+
+    /** Status before the bulk operation */
+    private final ReservationStatus status;
+
+    /** Email address of the holder (may be null) */
+    private final String userEmail;
+
+    /** Full name of the holder */
+    private final String userFullName;
+
+    /** Identifier of the reserved study space */
+    private final Long spaceId;
+
+    /** Name of the reserved study space */
+    private final String spaceName;
+
+    /** Date of the reservation */
+    private final LocalDate date;
+
+    /** Start time of the reservation (inclusive) */
+    private final LocalTime startTime;
+
+    /** End time of the reservation (exclusive) */
+    private final LocalTime endTime;
+
+    /**
+     * Constructs a notice; used by JPQL constructor expressions.
+     *
+     * @param reservationId the reservation identifier
+     * @param status the current status
+     * @param userEmail the holder's email address
+     * @param userFullName the holder's full name
+     * @param spaceId the study space identifier
+     * @param spaceName the study space name
+     * @param date the reservation date
+     * @param startTime the start time (inclusive)
+     * @param endTime the end time (exclusive)
+     */
+    public ReservationNotice(Long reservationId, ReservationStatus status, String userEmail, String userFullName,
+                             Long spaceId, String spaceName, LocalDate date,
+                             LocalTime startTime, LocalTime endTime) {
+        this.reservationId = reservationId;
+        this.status = status;
+        this.userEmail = userEmail;
+        this.userFullName = userFullName;
+        this.spaceId = spaceId;
+        this.spaceName = spaceName;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public Long getReservationId() {
+        return reservationId;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public String getUserFullName() {
+        return userFullName;
+    }
+
+    public Long getSpaceId() {
+        return spaceId;
+    }
+
+    public String getSpaceName() {
+        return spaceName;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+}
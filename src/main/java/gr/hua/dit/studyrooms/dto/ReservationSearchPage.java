@@ -0,0 +1,69 @@
+// DTO for representing one page of reservation search results
+package gr.hua.dit.studyrooms.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One page of reservation search results")
+/**
+ * Data Transfer Object (DTO) representing one keyset page of reservation search results.
+ * The next page is requested with {@code nextCursor}; the total is only computed for the
+ * first page, and only exactly up to a cap.
+ */
+public class ReservationSearchPage {
+
+    // Reservations of this page, ordered by date, start time and id
+    private final List<ReservationSearchRow> items;
+    // Opaque cursor of the next page, or null on the last page
+    private final String nextCursor;
+    // Number of matching reservations, at most the count cap; null after the first page
+    private final Long totalCount;
+    // Whether totalCount is exact (false: at least that many)
+    private final boolean totalExact;
+
+    /**
+     * Constructor to initialize all fields.
+     * @param items Reservations of this page
+     * @param nextCursor Cursor of the next page, or null
+     * @param totalCount Number of matches (capped), or null
+     * @param totalExact Whether the count is exact
+     */
+    public ReservationSearchPage(List<ReservationSearchRow> items, String nextCursor,
+                                 Long totalCount, boolean totalExact) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.totalCount = totalCount;
+        this.totalExact = totalExact;
+    }
+
+    /**
+     * @return Reservations of this page
+     */
+    public List<ReservationSearchRow> getItems() {
+        return items;
+    }
+
+    /**
+     * @return Cursor of the next page, or null on the last page
+     */
+    @Schema(description = "Pass as 'cursor' to fetch the next page; null on the last page")
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * @return Number of matches (capped), or null after the first page
+     */
+    @Schema(description = "Matching reservations on the first page, capped; null on later pages")
+    public Long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return Whether the count is exact
+     */
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+}
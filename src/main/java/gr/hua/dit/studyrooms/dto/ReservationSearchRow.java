@@ -0,0 +1,122 @@
+// DTO for representing one reservation in the staff search results
+package gr.hua.dit.studyrooms.dto;
+
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Schema(description = "Flat view of a reservation in search results")
+/**
+ * Data Transfer Object (DTO) representing a reservation as a flat row: its own columns plus
+ * the space and user by id and name, read with one joined query instead of entity graphs.
+ */
+public class ReservationSearchRow {
+
+    // The reservation identifier
+    private final Long id;
+    // The reserved day
+    private final LocalDate date;
+    // Start of the reservation
+    private final LocalTime startTime;
+    // End of the reservation
+    private final LocalTime endTime;
+    // Current status
+    private final ReservationStatus status;
+    // The reserved study space
+    private final Long spaceId;
+    private final String spaceName;
+    // The user holding the reservation
+    private final Long userId;
+    private final String username;
+
+    /**
+     * Constructor to initialize all fields.
+     * @param id The reservation identifier
+     * @param date The reserved day
+     * @param startTime Start of the reservation
+     * @param endTime End of the reservation
+     * @param status Current status
+     * @param spaceId The study space identifier
+     * @param spaceName The study space name
+     * @param userId The user identifier
+     * @param username The user's username
+     */
+    public ReservationSearchRow(Long id, LocalDate date, LocalTime startTime, LocalTime endTime,
+                                ReservationStatus status, Long spaceId, String spaceName,
+                                Long userId, String username) {
+        this.id = id;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status;
+        this.spaceId = spaceId;
+        this.spaceName = spaceName;
+        this.userId = userId;
+        this.username = username;
+    }
+
+    /**
+     * @return The reservation identifier
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return The reserved day
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * @return Start of the reservation
+     */
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return End of the reservation
+     */
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * @return Current status
+     */
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return The study space identifier
+     */
+    public Long getSpaceId() {
+        return spaceId;
+    }
+
+    /**
+     * @return The study space name
+     */
+    public String getSpaceName() {
+        return spaceName;
+    }
+
+    /**
+     * @return The user identifier
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * @return The user's username
+     */
+    public String getUsername() {
+        return username;
+    }
+}
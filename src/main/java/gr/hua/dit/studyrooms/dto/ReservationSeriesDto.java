@@ -0,0 +1,108 @@
+package gr.hua.dit.studyrooms.dto;
+// Data Transfer Object (DTO) for recurring reservation requests (REST API)
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Represents a weekly reservation series: same space and time, every N weeks from firstDate to lastDate
+@Schema(description = "Recurring reservation request: the same time slot every N weeks")
+public class ReservationSeriesDto {
+
+
+    // The ID of the study space to reserve
+    @Schema(description = "ID of the study space to reserve", example = "1")
+    @NotNull(message = "Study space is required")
+    private Long studySpaceId;
+
+
+    // First occurrence; its weekday is repeated
+    @Schema(description = "Date of the first occurrence", example = "2024-09-17")
+    @NotNull(message = "First date is required")
+    @FutureOrPresent(message = "Reservation date cannot be in the past")
+    private LocalDate firstDate;
+
+
+    // Last day the series may run on (inclusive)
+    @Schema(description = "Last possible date of the series (inclusive)", example = "2024-12-17")
+    @NotNull(message = "Last date is required")
+    private LocalDate lastDate;
+
+
+    // Weeks between occurrences (1 = every week)
+    @Schema(description = "Weeks between occurrences", example = "1", defaultValue = "1")
+    @Min(value = 1, message = "Interval must be at least 1 week")
+    @Max(value = 4, message = "Interval cannot exceed 4 weeks")
+    private int intervalWeeks = 1;
+
+
+    // The start time of every occurrence
+    @Schema(description = "Start time of each occurrence", example = "10:00")
+    @NotNull(message = "Start time is required")
+    private LocalTime startTime;
+
+
+    // The end time of every occurrence
+    @Schema(description = "End time of each occurrence", example = "12:00")
+    @NotNull(message = "End time is required")
+    private LocalTime endTime;
+
+
+    // Default constructor
+    public ReservationSeriesDto() {
+    }
+
+
+    public Long getStudySpaceId() {
+        return studySpaceId;
+    }
+
+    public void setStudySpaceId(Long studySpaceId) {
+        this.studySpaceId = studySpaceId;
+    }
+
+    public LocalDate getFirstDate() {
+        return firstDate;
+    }
+
+    public void setFirstDate(LocalDate firstDate) {
+        this.firstDate = firstDate;
+    }
+
+    public LocalDate getLastDate() {
+        return lastDate;
+    }
+
+    public void setLastDate(LocalDate lastDate) {
+        this.lastDate = lastDate;
+    }
+
+    public int getIntervalWeeks() {
+        return intervalWeeks;
+    }
+
+    public void setIntervalWeeks(int intervalWeeks) {
+        this.intervalWeeks = intervalWeeks;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+}
@@ -0,0 +1,99 @@
+package gr.hua.dit.studyrooms.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Outcome of a recurring reservation request, one entry per occurrence")
+/**
+ * Data Transfer Object (DTO) reporting the outcome of a reservation series.
+ * Occurrences that pass every rule are created; the others are reported with the reason
+ * they were rejected, so a series can partially succeed.
+ */
+public class ReservationSeriesResult {
+
+    // One entry per occurrence, in date order
+    private final List<Occurrence> occurrences;
+
+    /**
+     * @param occurrences outcome of every occurrence, in date order
+     */
+    public ReservationSeriesResult(List<Occurrence> occurrences) {
+        this.occurrences = occurrences;
+    }
+
+    /**
+     * @return outcome of every occurrence, in date order
+     */
+    public List<Occurrence> getOccurrences() {
+        return occurrences;
+    }
+
+    /**
+     * @return number of occurrences that were booked
+     */
+    public long getCreated() {
+        return occurrences.stream().filter(Occurrence::isCreated).count();
+    }
+
+    /**
+     * @return number of occurrences that were rejected
+     */
+    public long getRejected() {
+        return occurrences.size() - getCreated();
+    }
+
+    /**
+     * Outcome of one occurrence: the created reservation id, or the rejection reason.
+     */
+    public static class Occurrence {
+
+        // Date of the occurrence
+        private final LocalDate date;
+        // Id of the created reservation (null if rejected)
+        private final Long reservationId;
+        // Why the occurrence was rejected (null if created)
+        private final String reason;
+
+        private Occurrence(LocalDate date, Long reservationId, String reason) {
+            this.date = date;
+            this.reservationId = reservationId;
+            this.reason = reason;
+        }
+
+        /**
+         * @param date the occurrence date
+         * @param reservationId id of the created reservation
+         * @return a created occurrence
+         */
+        public static Occurrence created(LocalDate date, Long reservationId) {
+            return new Occurrence(date, reservationId, null);
+        }
+
+        /**
+         * @param date the occurrence date
+         * @param reason the rule that rejected it
+         * @return a rejected occurrence
+         */
+        public static Occurrence rejected(LocalDate date, String reason) {
+            return new Occurrence(date, null, reason);
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public boolean isCreated() {
+            return reservationId != null;
+        }
+
+        public Long getReservationId() {
+            return reservationId;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+}
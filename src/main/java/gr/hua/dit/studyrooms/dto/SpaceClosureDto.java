@@ -0,0 +1,104 @@
+package gr.hua.dit.studyrooms.dto;
+// Data Transfer Object (DTO) for bulk space closure requests (REST API)
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+// Closes one or more spaces over a date range, for whole days or a daily time window
+@Schema(description = "Staff closure of one or more study spaces over a date range")
+public class SpaceClosureDto {
+
+
+    // The IDs of the study spaces to close
+    @Schema(description = "IDs of the study spaces to close", example = "[1, 2, 3]")
+    @NotEmpty(message = "At least one study space is required")
+    private List<Long> studySpaceIds;
+
+
+    // First closed day (inclusive)
+    @Schema(description = "First closed day (inclusive)", example = "2025-01-20")
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+
+    // Last closed day (inclusive)
+    @Schema(description = "Last closed day (inclusive)", example = "2025-02-14")
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+
+    // Start of the daily closed window; omit together with endTime for whole days
+    @Schema(description = "Start of the closed window on each day (omit for whole days)", example = "09:00")
+    private LocalTime startTime;
+
+
+    // End of the daily closed window; omit together with startTime for whole days
+    @Schema(description = "End of the closed window on each day (omit for whole days)", example = "13:00")
+    private LocalTime endTime;
+
+
+    // Free-text reason shown to staff
+    @Schema(description = "Reason for the closure", example = "Exam period")
+    @Size(max = 200, message = "Reason cannot exceed 200 characters")
+    private String reason;
+
+
+    // Default constructor
+    public SpaceClosureDto() {
+    }
+
+
+    public List<Long> getStudySpaceIds() {
+        return studySpaceIds;
+    }
+
+    public void setStudySpaceIds(List<Long> studySpaceIds) {
+        this.studySpaceIds = studySpaceIds;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
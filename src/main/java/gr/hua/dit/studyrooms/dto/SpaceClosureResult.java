@@ -0,0 +1,36 @@
+package gr.hua.dit.studyrooms.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a space closure: the created closures and the cancelled reservations")
+/**
+ * Data Transfer Object (DTO) reporting the outcome of closing spaces: one closure per
+ * space, and the reservations that fell inside the closed period and were cancelled.
+ */
+public class SpaceClosureResult {
+
+    // Ids of the created closures, one per space
+    private final List<Long> closureIds;
+
+    // Ids of the reservations cancelled by the closure
+    private final List<Long> cancelledReservationIds;
+
+    /**
+     * @param closureIds ids of the created closures
+     * @param cancelledReservationIds ids of the cancelled reservations
+     */
+    public SpaceClosureResult(List<Long> closureIds, List<Long> cancelledReservationIds) {
+        this.closureIds = closureIds;
+        this.cancelledReservationIds = cancelledReservationIds;
+    }
+
+    public List<Long> getClosureIds() {
+        return closureIds;
+    }
+
+    public List<Long> getCancelledReservationIds() {
+        return cancelledReservationIds;
+    }
+}
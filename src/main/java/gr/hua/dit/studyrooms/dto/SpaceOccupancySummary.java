@@ -0,0 +1,98 @@
+// DTO for representing the occupancy totals of one study space over a date range
+package gr.hua.dit.studyrooms.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Occupancy totals of a study space over a date range")
+/**
+ * Data Transfer Object (DTO) representing the occupancy of one study space summed over a date range.
+ * Each day is capped at the space's seat-minutes before summing, as in the daily statistics.
+ */
+public class SpaceOccupancySummary {
+
+    // The study space identifier
+    private final Long spaceId;
+    // The study space name
+    private final String spaceName;
+    // Seats of the space
+    private final int capacity;
+    // Number of confirmed reservations in the range
+    private final long reservationsCount;
+    // Occupied seat-minutes in the range
+    private final long occupiedMinutes;
+    // Available seat-minutes in the range
+    private final long totalMinutes;
+
+    /**
+     * Constructor to initialize all fields.
+     * @param spaceId The study space identifier
+     * @param spaceName The study space name
+     * @param capacity Seats of the space
+     * @param reservationsCount Number of reservations
+     * @param occupiedMinutes Occupied seat-minutes
+     * @param totalMinutes Available seat-minutes
+     */
+    public SpaceOccupancySummary(Long spaceId, String spaceName, int capacity,
+                                 long reservationsCount, long occupiedMinutes, long totalMinutes) {
+        this.spaceId = spaceId;
+        this.spaceName = spaceName;
+        this.capacity = capacity;
+        this.reservationsCount = reservationsCount;
+        this.occupiedMinutes = occupiedMinutes;
+        this.totalMinutes = totalMinutes;
+    }
+
+    /**
+     * @return The study space identifier
+     */
+    public Long getSpaceId() {
+        return spaceId;
+    }
+
+    /**
+     * @return The study space name
+     */
+    public String getSpaceName() {
+        return spaceName;
+    }
+
+    /**
+     * @return Seats of the space
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return Number of reservations in the range
+     */
+    public long getReservationsCount() {
+        return reservationsCount;
+    }
+
+    /**
+     * @return Occupied seat-minutes in the range
+     */
+    public long getOccupiedMinutes() {
+        return occupiedMinutes;
+    }
+
+    /**
+     * @return Available seat-minutes in the range
+     */
+    public long getTotalMinutes() {
+        return totalMinutes;
+    }
+
+    /**
+     * Calculates the occupancy percentage over the range.
+     * @return Percentage of occupied minutes out of total available minutes (0 if totalMinutes <= 0)
+     */
+    @Schema(description = "Occupancy percentage over the range")
+    public double getOccupancyPercentage() {
+        if (totalMinutes <= 0) {
+            return 0;
+        }
+        return (double) occupiedMinutes * 100 / totalMinutes;
+    }
+}
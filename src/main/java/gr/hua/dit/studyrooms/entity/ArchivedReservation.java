@@ -0,0 +1,90 @@
+// ArchivedReservation is a reservation of a closed-out month, moved out of the hot
+// 'reservations' table by the nightly archiver. Mapped to 'reservations_archive'.
+// Rows are only written by the archiver (SQL) and read for statistics.
+package gr.hua.dit.studyrooms.entity;
+
+
+import jakarta.persistence.*; // JPA annotations for ORM mapping
+import org.hibernate.annotations.JdbcTypeCode; // Column type override
+import org.hibernate.type.SqlTypes;
+import java.time.LocalDate;  // For reservation date
+import java.time.LocalTime;  // For reservation start/end times
+
+
+@Entity // Marks this class as a JPA entity
+@Table(name = "reservations_archive") // Indexes are owned by the Flyway migrations
+public class ArchivedReservation {
+
+
+    @Id // Primary key, the id the reservation had in the hot table
+    private Long id;
+
+
+    // Plain ids: archived history does not load users or spaces
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+
+    @Column(name = "study_space_id", nullable = false)
+    private Long studySpaceId;
+
+
+    @Column(nullable = false) // Reservation date
+    private LocalDate date;
+
+
+    @Column(nullable = false) // Start time of reservation
+    private LocalTime startTime;
+
+
+    @Column(nullable = false) // End time of reservation
+    private LocalTime endTime;
+
+
+    @Enumerated(EnumType.STRING) // Store enum as string in DB
+    @JdbcTypeCode(SqlTypes.VARCHAR) // Plain VARCHAR on every database (no native ENUM on H2)
+    @Column(nullable = false, length = 20) // Status when the month was archived
+    private ReservationStatus status;
+
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean demo;
+
+
+    // Default constructor required by JPA
+    public ArchivedReservation() {
+    }
+
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getStudySpaceId() {
+        return studySpaceId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    public boolean isDemo() {
+        return demo;
+    }
+}
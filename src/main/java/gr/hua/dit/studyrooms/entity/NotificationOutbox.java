@@ -0,0 +1,198 @@
+// NotificationOutbox entity is a notification waiting to be delivered to the external service.
+// Rows are written in the same transaction as the reservation change that triggered them
+// and drained asynchronously by the outbox dispatcher. Mapped to the 'notification_outbox' table.
+package gr.hua.dit.studyrooms.entity;
+
+
+import jakarta.persistence.*; // JPA annotations for ORM mapping
+import org.hibernate.annotations.JdbcTypeCode; // Column type override
+import org.hibernate.type.SqlTypes;
+import java.time.Instant;     // For creation, retry and delivery timestamps
+
+
+@Entity // Marks this class as a JPA entity
+@Table(name = "notification_outbox",
+        indexes = @Index(name = "idx_outbox_status_next_attempt", columnList = "status, nextAttemptAt"))
+public class NotificationOutbox {
+
+
+    @Id // Primary key
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+    // Pooled sequence: one round trip reserves 50 ids, so inserts can be batched
+    @SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 50)
+    private Long id;
+
+
+    @Column(nullable = false, length = 10) // Delivery channel ("email" or "sms")
+    private String channel;
+
+
+    @Column(nullable = false) // Recipient email address or phone number
+    private String recipient;
+
+
+    // Subject line (email only)
+    private String subject;
+
+
+    @Column(nullable = false, length = 2000) // Message body
+    private String body;
+
+
+    @Enumerated(EnumType.STRING) // Store enum as string in DB
+    @JdbcTypeCode(SqlTypes.VARCHAR) // Plain VARCHAR on every database (no native ENUM on H2)
+    @Column(nullable = false, length = 20) // Delivery status (required)
+    private NotificationOutboxStatus status;
+
+
+    @Column(nullable = false) // Number of delivery attempts made so far
+    private int attempts;
+
+
+    @Column(nullable = false) // When the notification was queued
+    private Instant createdAt;
+
+
+    @Column(nullable = false) // Earliest time the dispatcher may (re)try delivery
+    private Instant nextAttemptAt;
+
+
+    // When the notification was delivered (null until sent)
+    private Instant sentAt;
+
+
+    @Column(length = 500) // Error message of the last failed attempt
+    private String lastError;
+
+
+    // Creates a pending notification that is due immediately
+    public static NotificationOutbox pending(String channel, String recipient, String subject, String body) {
+        Instant now = Instant.now();
+        NotificationOutbox message = new NotificationOutbox();
+        message.channel = channel;
+        message.recipient = recipient;
+        message.subject = subject;
+        message.body = body;
+        message.status = NotificationOutboxStatus.PENDING;
+        message.attempts = 0;
+        message.createdAt = now;
+        message.nextAttemptAt = now;
+        return message;
+    }
+
+
+    // Default constructor required by JPA
+    public NotificationOutbox() {
+    }
+
+
+    // Getters and setters for all fields
+    public Long getId() {
+        return id;
+    }
+
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+
+    public String getChannel() {
+        return channel;
+    }
+
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+
+    public void setRecipient(String recipient) {
+        this.recipient = recipient;
+    }
+
+
+    public String getSubject() {
+        return subject;
+    }
+
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+
+    public String getBody() {
+        return body;
+    }
+
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+
+    public NotificationOutboxStatus getStatus() {
+        return status;
+    }
+
+
+    public void setStatus(NotificationOutboxStatus status) {
+        this.status = status;
+    }
+
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+
+    public Instant getSentAt() {
+        return sentAt;
+    }
+
+
+    public void setSentAt(Instant sentAt) {
+        this.sentAt = sentAt;
+    }
+
+
+    public String getLastError() {
+        return lastError;
+    }
+
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,22 @@
+// Package declaration for the NotificationOutboxStatus enum
+package gr.hua.dit.studyrooms.entity;
+
+/**
+ * Enum representing the delivery state of a queued notification in the outbox.
+ */
+public enum NotificationOutboxStatus {
+    /**
+     * Waiting to be delivered (or retried) by the dispatcher.
+     */
+    PENDING,
+
+    /**
+     * Delivered to the external notification service.
+     */
+    SENT,
+
+    /**
+     * Gave up after the maximum number of delivery attempts.
+     */
+    FAILED
+}
@@ -5,17 +5,34 @@ package gr.hua.dit.studyrooms.entity;
 
 
 import jakarta.persistence.*; // JPA annotations for ORM mapping
+import org.hibernate.annotations.JdbcTypeCode; // Column type override
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDate;  // For reservation date
 import java.time.LocalTime;  // For reservation start/end times
 
 
 @Entity // Marks this class as a JPA entity
-@Table(name = "reservations") // Maps to 'reservations' table
+@Table(name = "reservations", // Maps to 'reservations' table
+        // Mirrors the Flyway migrations (db/migration), which own the schema
+        indexes = {
+                @Index(name = "idx_reservations_space_date_start_status", // Per space and day, keyset search by space
+                        columnList = "study_space_id, date, startTime, id, status, endTime"),
+                @Index(name = "idx_reservations_user_date_status", // Per user and day
+                        columnList = "user_id, date, status"),
+                @Index(name = "idx_reservations_date_status_space_times", // Day-wide scans
+                        columnList = "date, status, study_space_id, startTime, endTime"),
+                @Index(name = "idx_reservations_date_start_id", // Keyset search
+                        columnList = "date, startTime, id"),
+                @Index(name = "idx_reservations_demo_id", // Demo purge pages
+                        columnList = "demo, id")
+        })
 public class Reservation {
 
 
     @Id // Primary key
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-incremented by DB
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    // Pooled sequence: one round trip reserves 50 ids, so inserts can be batched
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
 
@@ -44,6 +61,7 @@ public class Reservation {
 
 
     @Enumerated(EnumType.STRING) // Store enum as string in DB
+    @JdbcTypeCode(SqlTypes.VARCHAR) // Plain VARCHAR on every database (no native ENUM on H2)
     @Column(nullable = false, length = 20) // Reservation status (required)
     private ReservationStatus status;
 
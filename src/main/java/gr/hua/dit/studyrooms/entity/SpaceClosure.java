@@ -0,0 +1,154 @@
+// SpaceClosure entity is a period during which staff closed a study space for bookings.
+// Covers a date range (inclusive), optionally only a time window on each of those days.
+// Mapped to the 'space_closures' table.
+package gr.hua.dit.studyrooms.entity;
+
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*; // JPA annotations for ORM mapping
+import java.time.Instant;     // For the creation timestamp
+import java.time.LocalDate;   // For the closed date range
+import java.time.LocalTime;   // For the optional closed time window
+
+
+@Entity // Marks this class as a JPA entity
+@Table(name = "space_closures",
+        indexes = @Index(name = "idx_space_closures_space_dates", columnList = "study_space_id, startDate, endDate"))
+public class SpaceClosure {
+
+
+    @Id // Primary key
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "space_closures_seq")
+    // Pooled sequence: one round trip reserves 50 ids, so inserts can be batched
+    @SequenceGenerator(name = "space_closures_seq", sequenceName = "space_closures_seq", allocationSize = 50)
+    private Long id;
+
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "study_space_id") // Foreign key to StudySpace
+    @JsonIgnore // Exposed as studySpaceId
+    private StudySpace studySpace;
+
+
+    @Column(nullable = false) // First closed day (inclusive)
+    private LocalDate startDate;
+
+
+    @Column(nullable = false) // Last closed day (inclusive)
+    private LocalDate endDate;
+
+
+    // Start of the closed window on each day (null = whole day)
+    private LocalTime startTime;
+
+
+    // End of the closed window on each day (null = whole day)
+    private LocalTime endTime;
+
+
+    @Column(length = 200) // Shown to staff (e.g. "Exam period")
+    private String reason;
+
+
+    @Column(nullable = false) // When the closure was created
+    private Instant createdAt;
+
+
+    // Default constructor required by JPA
+    public SpaceClosure() {
+    }
+
+
+    /**
+     * Creates a closure of a space.
+     *
+     * @param studySpace the closed space
+     * @param startDate first closed day (inclusive)
+     * @param endDate last closed day (inclusive)
+     * @param startTime start of the daily closed window, or null for whole days
+     * @param endTime end of the daily closed window, or null for whole days
+     * @param reason free-text reason
+     */
+    public SpaceClosure(StudySpace studySpace, LocalDate startDate, LocalDate endDate,
+                        LocalTime startTime, LocalTime endTime, String reason) {
+        this.studySpace = studySpace;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.reason = reason;
+        this.createdAt = Instant.now();
+    }
+
+
+    // Getters and setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public StudySpace getStudySpace() {
+        return studySpace;
+    }
+
+    public void setStudySpace(StudySpace studySpace) {
+        this.studySpace = studySpace;
+    }
+
+    // Id of the closed space (does not initialise the lazy association)
+    public Long getStudySpaceId() {
+        return studySpace != null ? studySpace.getId() : null;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -17,7 +17,9 @@ public class StudySpace {
 
 
     @Id // Primary key
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-incremented
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "study_spaces_seq")
+    // Pooled sequence: one round trip reserves 50 ids, so inserts can be batched
+    @SequenceGenerator(name = "study_spaces_seq", sequenceName = "study_spaces_seq", allocationSize = 50)
     private Long id;
 
 
@@ -51,19 +53,9 @@ public class StudySpace {
     @OneToMany(mappedBy = "studySpace") // One study space can have many reservations
     @JsonIgnore // Ignore in JSON serialization to prevent recursion
     private List<Reservation> reservations; // Reservations for this space
-    
-    @Column(nullable = false)
-    private boolean fullDay;
-
-    @Column(nullable = false)
-    private boolean fullDay;
 
     @Column(nullable = false, columnDefinition = "boolean default false")
-    private boolean fullDay;
-
-    @OneToMany(mappedBy = "studySpace")
-    @JsonIgnore
-    private List<Reservation> reservations;
+    private boolean fullDay; // Open all day (no opening hours)
   
     // All-args constructor
     public StudySpace(Long id, List<Reservation> reservations, LocalTime closeTime, LocalTime openTime,
@@ -8,6 +8,8 @@ package gr.hua.dit.studyrooms.entity;
 
 
 import jakarta.persistence.*; // JPA annotations for ORM
+import org.hibernate.annotations.JdbcTypeCode; // Column type override
+import org.hibernate.type.SqlTypes;
 import java.util.List;
 import java.time.LocalDate;
 import com.fasterxml.jackson.annotation.JsonIgnore; // For controlling JSON serialization
@@ -19,7 +21,9 @@ public class User {
 
 
     @Id // Primary key for the entity
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-generated value (auto-increment)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    // Pooled sequence: one round trip reserves 50 ids, so inserts can be batched
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
 
@@ -42,6 +46,7 @@ public class User {
 
 
     @Enumerated(EnumType.STRING) // Store enum as string in the database
+    @JdbcTypeCode(SqlTypes.VARCHAR) // Plain VARCHAR on every database (no native ENUM on H2)
     @Column(nullable = false, length = 20) // Role is required
     private UserRole role; // User's role (e.g., ADMIN, USER)
 
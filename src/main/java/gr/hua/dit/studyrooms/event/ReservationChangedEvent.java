@@ -0,0 +1,37 @@
+package gr.hua.dit.studyrooms.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published whenever the set of active reservations of a study space on a date changes
+ * (create, cancel, staff cancel, no-show, staff closure).
+ *
+ * Listeners that derive data from reservations (availability cache, live updates, occupancy
+ * rollup) should consume it after commit, so they never observe a change that is later
+ * rolled back.
+ */
+public class ReservationChangedEvent {
+
+    /** Identifier of the affected study space */
+    private final Long spaceId;
+
+    /** Affected date */
+    private final LocalDate date;
+
+    /**
+     * @param spaceId the affected study space
+     * @param date the affected date
+     */
+    public ReservationChangedEvent(Long spaceId, LocalDate date) {
+        this.spaceId = spaceId;
+        this.date = date;
+    }
+
+    public Long getSpaceId() {
+        return spaceId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+}
@@ -0,0 +1,22 @@
+package gr.hua.dit.studyrooms.event;
+
+/**
+ * Published when a study space is updated (hours, capacity, ...) or deleted.
+ * Every date of that space may be affected.
+ */
+public class StudySpaceChangedEvent {
+
+    /** Identifier of the changed study space */
+    private final Long spaceId;
+
+    /**
+     * @param spaceId the changed study space
+     */
+    public StudySpaceChangedEvent(Long spaceId) {
+        this.spaceId = spaceId;
+    }
+
+    public Long getSpaceId() {
+        return spaceId;
+    }
+}
@@ -0,0 +1,302 @@
+package gr.hua.dit.studyrooms.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Streams reservations, hot and archived, as NDJSON or CSV.
+ *
+ * Rows are flat projections (reservation columns plus the space name and username) read
+ * through a forward-only, read-only JDBC cursor with a bounded fetch size, inside a
+ * read-only transaction so PostgreSQL fetches them in batches instead of materialising the
+ * result. Each row is written to the output as soon as it is read, so memory use does not
+ * depend on the number of reservations.
+ *
+ * The range is read one calendar month at a time, each month with its own cursor and
+ * transaction: both tables are read in (date, start_time, id) index order within the
+ * month (one partition each on PostgreSQL), nothing older than the month is ever sorted,
+ * and a slow client holds a pooled connection for one month at most. CSV cells that a
+ * spreadsheet would evaluate as a formula are prefixed with an apostrophe.
+ */
+@Component
+public class ReservationExporter {
+
+    /**
+     * Output formats of the export.
+     */
+    public enum Format {
+        /** One JSON object per line */
+        NDJSON("application/x-ndjson"),
+        /** Comma-separated values with a header line */
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * @param value the requested format, case-insensitive
+         * @return the matching format
+         * @throws IllegalArgumentException if the format is not supported
+         */
+        public static Format fromParam(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value + " (use ndjson or csv).");
+        }
+    }
+
+    private static final String[] COLUMNS = {
+            "id", "date", "startTime", "endTime", "status", "spaceId", "spaceName", "userId", "username", "archived"
+    };
+
+    private static final String SELECT_ROWS = """
+            SELECT r.id, r.date, r.start_time, r.end_time, r.status,
+                   r.study_space_id, s.name, r.user_id, u.username, r.archived
+            FROM (SELECT id, date, start_time, end_time, status, study_space_id, user_id, FALSE AS archived
+                  FROM reservations WHERE date BETWEEN ? AND ?
+                  UNION ALL
+                  SELECT id, date, start_time, end_time, status, study_space_id, user_id, TRUE
+                  FROM reservations_archive WHERE date BETWEEN ? AND ?) r
+            JOIN study_spaces s ON s.id = r.study_space_id
+            JOIN users u ON u.id = r.user_id
+            ORDER BY r.date, r.start_time, r.id
+            """;
+
+    // First and last reservation day, hot or archived (four index reads)
+    private static final String SELECT_BOUNDS = """
+            SELECT MIN(d), MAX(d)
+            FROM (SELECT MIN(date) AS d FROM reservations
+                  UNION ALL SELECT MAX(date) FROM reservations
+                  UNION ALL SELECT MIN(date) FROM reservations_archive
+                  UNION ALL SELECT MAX(date) FROM reservations_archive) b
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Read-only transaction around the cursor
+    private final TransactionTemplate transactionTemplate;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    // Rows fetched per round trip
+    private final int fetchSize;
+
+    public ReservationExporter(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${studyrooms.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes every reservation in the date range to the output, ordered by date and time.
+     * The output is flushed but not closed.
+     *
+     * @param format the output format
+     * @param from first day (inclusive), or null for no lower bound
+     * @param to last day (inclusive), or null for no upper bound
+     * @param out the destination, typically the response body
+     * @throws IOException if writing fails (for example, the client disconnected)
+     */
+    public void export(Format format, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(jsonFactory, out);
+        LocalDate first = from;
+        LocalDate last = to;
+        if (first == null || last == null) {
+            // Open ends stop at the first and last stored reservation
+            LocalDate[] bounds = jdbcTemplate.queryForObject(SELECT_BOUNDS, (rs, rowNum) -> new LocalDate[] {
+                    rs.getObject(1, LocalDate.class), rs.getObject(2, LocalDate.class)});
+            if (bounds == null || bounds[0] == null) {
+                writer.finish();
+                return;
+            }
+            first = first != null ? first : bounds[0];
+            last = last != null ? last : bounds[1];
+        }
+
+        for (LocalDate month = first.withDayOfMonth(1); !month.isAfter(last); month = month.plusMonths(1)) {
+            LocalDate monthStart = month.isBefore(first) ? first : month;
+            LocalDate monthEnd = month.plusMonths(1).minusDays(1);
+            exportMonth(writer, monthStart, monthEnd.isAfter(last) ? last : monthEnd);
+        }
+        writer.finish();
+    }
+
+    /**
+     * Writes the days of one month in its own read-only transaction, then flushes them.
+     */
+    private void exportMonth(RowWriter writer, LocalDate from, LocalDate to) throws IOException {
+        Date first = Date.valueOf(from);
+        Date last = Date.valueOf(to);
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement statement = con.prepareStatement(SELECT_ROWS,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setDate(1, first);
+                statement.setDate(2, last);
+                statement.setDate(3, first);
+                statement.setDate(4, last);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(rs);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes one row per call in a given format.
+     */
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void flush() throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * One JSON object per line, written with a streaming generator.
+     */
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(JsonFactory jsonFactory, OutputStream out) throws IOException {
+            generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Objects are separated by the explicit line breaks only
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], rs.getLong(1));
+            generator.writeStringField(COLUMNS[1], rs.getObject(2, LocalDate.class).toString());
+            generator.writeStringField(COLUMNS[2], rs.getTime(3).toLocalTime().toString());
+            generator.writeStringField(COLUMNS[3], rs.getTime(4).toLocalTime().toString());
+            generator.writeStringField(COLUMNS[4], rs.getString(5));
+            generator.writeNumberField(COLUMNS[5], rs.getLong(6));
+            generator.writeStringField(COLUMNS[6], rs.getString(7));
+            generator.writeNumberField(COLUMNS[7], rs.getLong(8));
+            generator.writeStringField(COLUMNS[8], rs.getString(9));
+            generator.writeBooleanField(COLUMNS[9], rs.getBoolean(10));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.close();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header line.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+        // First characters that start a formula (tab and carriage return per OWASP)
+        private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream out) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong(1)));
+            writer.write(',');
+            writer.write(rs.getObject(2, LocalDate.class).toString());
+            writer.write(',');
+            writer.write(rs.getTime(3).toLocalTime().toString());
+            writer.write(',');
+            writer.write(rs.getTime(4).toLocalTime().toString());
+            writer.write(',');
+            writer.write(rs.getString(5));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong(6)));
+            writer.write(',');
+            writeText(rs.getString(7));
+            writer.write(',');
+            writer.write(Long.toString(rs.getLong(8)));
+            writer.write(',');
+            writeText(rs.getString(9));
+            writer.write(',');
+            writer.write(Boolean.toString(rs.getBoolean(10)));
+            writer.write("\r\n");
+        }
+
+        // Free text that a spreadsheet would evaluate as a formula gets a leading apostrophe,
+        // and is quoted when it holds a separator, quote or line break
+        private void writeText(String value) throws IOException {
+            if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -1,12 +1,26 @@
 package gr.hua.dit.studyrooms.external;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 // Service class that adapts the external Holiday API to the application's interface
@@ -14,37 +28,126 @@ import java.util.List;
 public class HolidayApiAdapter implements HolidayApiPort {
 
 
+    // Logger for API failures and fallbacks
+    private static final Logger LOGGER = LoggerFactory.getLogger(HolidayApiAdapter.class);
+
+    // How long a single API call may block a caller
+    private static final Duration API_TIMEOUT = Duration.ofSeconds(5);
+
+    // Retry interval for years currently served from the offline dataset
+    private static final Duration OFFLINE_RETRY_INTERVAL = Duration.ofMinutes(5);
+
+
     // WebClient used to make HTTP requests to the external holiday API
     private final WebClient holidayWebClient;
 
     // Country code for which to check holidays (e.g., "GR" for Greece)
     private final String countryCode;
 
+    // How long a year fetched from the API is served before refreshing it in the background
+    private final Duration refreshInterval;
+
+    // Loaded (or loading) calendars per (year, country)
+    private final ConcurrentHashMap<CalendarKey, CalendarEntry> calendars = new ConcurrentHashMap<>();
+
+    // Single daemon thread for background refreshes
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "holiday-calendar-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Parser for the bundled offline dataset
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
 
     /**
      * Constructor for HolidayApiAdapter.
      * @param holidayWebClient the WebClient bean for making API requests
      * @param countryCode the country code to use for holiday checks (default: GR)
+     * @param refreshInterval how long a fetched year stays fresh (default: 24h)
      */
     public HolidayApiAdapter(
             @Qualifier("holidayWebClient") WebClient holidayWebClient,
-            @Value("${studyrooms.holiday.country-code:GR}") String countryCode) {
+            @Value("${studyrooms.holiday.country-code:GR}") String countryCode,
+            @Value("${studyrooms.holiday.refresh-interval:24h}") Duration refreshInterval) {
         this.holidayWebClient = holidayWebClient;
         this.countryCode = countryCode;
+        this.refreshInterval = refreshInterval;
     }
 
 
     /**
      * Checks if the given date is a public holiday in the configured country.
-     * Calls the external holiday API and compares the date to the list of holidays.
-     * If the API call fails, returns false (not a holiday).
+     * The whole year is loaded once into an in-process calendar; concurrent misses for
+     * the same year share a single fetch, and stale years are refreshed in the background.
+     * If the API is unreachable, the bundled offline dataset is used instead; a year the
+     * dataset does not cover is logged as an error and treated as having no holidays.
      * @param date the date to check
      * @return true if the date is a holiday, false otherwise
      */
     @Override
     public boolean isHoliday(LocalDate date) {
-        int year = date.getYear();
+        return calendarFor(date.getYear()).isHoliday(date);
+    }
+
+    /**
+     * Returns the calendar for a year, loading it on the first request.
+     * Only the first caller performs the fetch; the others wait on the same future.
+     */
+    HolidayCalendar calendarFor(int year) {
+        CalendarKey key = new CalendarKey(year, countryCode);
+        CalendarEntry entry = calendars.get(key);
+        if (entry == null) {
+            CalendarEntry created = new CalendarEntry();
+            entry = calendars.putIfAbsent(key, created);
+            if (entry == null) {
+                entry = created;
+                try {
+                    created.complete(load(year));
+                } catch (RuntimeException | Error e) {
+                    // Release the waiting callers and let the next request try again
+                    calendars.remove(key, created);
+                    created.fail(e);
+                    throw e;
+                }
+            }
+        }
 
+        HolidayCalendar calendar = entry.current.join();
+        if (entry.isStale(calendar)) {
+            scheduleRefresh(entry, year);
+        }
+        return calendar;
+    }
+
+    /**
+     * Reloads a year asynchronously while callers keep using the current calendar.
+     */
+    private void scheduleRefresh(CalendarEntry entry, int year) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                HolidayCalendar fresh = load(year);
+                HolidayCalendar current = entry.current.join();
+                // Never replace API data with offline data on a failed refresh
+                if (!fresh.isOffline() || current.isOffline()) {
+                    entry.complete(fresh);
+                } else {
+                    entry.loadedAt = Instant.now();
+                }
+            } finally {
+                entry.refreshing.set(false);
+            }
+        });
+    }
+
+    /**
+     * Fetches a year from the API, falling back to the bundled dataset on any failure.
+     */
+    private HolidayCalendar load(int year) {
         try {
             // Call the external API to get the list of holidays for the year and country
             List<HolidayDto> holidays = holidayWebClient.get()
@@ -52,21 +155,100 @@ public class HolidayApiAdapter implements HolidayApiPort {
                     .retrieve()
                     .bodyToFlux(HolidayDto.class)
                     .collectList()
-                    .block(); // Blocking call for simplicity in this context
+                    .block(API_TIMEOUT);
 
-            if (holidays == null) {
-                return false;
+            if (holidays != null) {
+                return HolidayCalendar.of(year, toDates(holidays), false);
             }
+        } catch (Exception e) {
+            LOGGER.warn("Holiday API unavailable for {}/{}: {}; using offline dataset", year, countryCode, e.getMessage());
+        }
+        List<LocalDate> offline = toDates(loadOfflineDataset());
+        if (offline.stream().noneMatch(date -> date.getYear() == year)) {
+            LOGGER.error("Offline holiday dataset for {} does not cover {}; no holidays are blocked that year "
+                    + "until the Holiday API is reachable", countryCode, year);
+        }
+        return HolidayCalendar.of(year, offline, true);
+    }
 
-            String targetDate = date.toString(); // Format: yyyy-MM-dd
-
-            // Check if any holiday matches the target date
-            return holidays.stream()
-                    .anyMatch(h -> targetDate.equals(h.getDate()));
+    /**
+     * Reads {@code holidays/<country>.json} from the classpath (same format as the API).
+     * Returns an empty list if the country has no bundled dataset.
+     */
+    private List<HolidayDto> loadOfflineDataset() {
+        ClassPathResource resource = new ClassPathResource("holidays/" + countryCode + ".json");
+        if (!resource.exists()) {
+            return List.of();
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return List.of(objectMapper.readValue(in, HolidayDto[].class));
         } catch (Exception e) {
-            // In production, we would log the error. For this assignment:
-            // If the API fails, simply do not consider it a holiday.
-            return false;
+            LOGGER.warn("Could not read offline holiday dataset for {}: {}", countryCode, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static List<LocalDate> toDates(List<HolidayDto> holidays) {
+        List<LocalDate> dates = new ArrayList<>(holidays.size());
+        for (HolidayDto holiday : holidays) {
+            if (holiday.getDate() != null) {
+                dates.add(LocalDate.parse(holiday.getDate())); // Format: yyyy-MM-dd
+            }
+        }
+        return dates;
+    }
+
+    /**
+     * Cache slot for one (year, country); holds the latest calendar and refresh state.
+     */
+    private final class CalendarEntry {
+        private volatile CompletableFuture<HolidayCalendar> current = new CompletableFuture<>();
+        private volatile Instant loadedAt = Instant.now();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private void complete(HolidayCalendar calendar) {
+            if (!current.complete(calendar)) {
+                current = CompletableFuture.completedFuture(calendar);
+            }
+            loadedAt = Instant.now();
+        }
+
+        private void fail(Throwable cause) {
+            current.completeExceptionally(cause);
+        }
+
+        private boolean isStale(HolidayCalendar calendar) {
+            Duration maxAge = calendar.isOffline() ? OFFLINE_RETRY_INTERVAL : refreshInterval;
+            return Instant.now().isAfter(loadedAt.plus(maxAge));
+        }
+    }
+
+    /**
+     * Cache key: calendar year plus country code.
+     */
+    private static final class CalendarKey {
+        private final int year;
+        private final String country;
+
+        private CalendarKey(int year, String country) {
+            this.year = year;
+            this.country = country;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CalendarKey other)) {
+                return false;
+            }
+            return year == other.year && Objects.equals(country, other.country);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(year, country);
         }
     }
 
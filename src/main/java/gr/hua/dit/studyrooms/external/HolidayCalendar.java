@@ -0,0 +1,63 @@
+package gr.hua.dit.studyrooms.external;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Immutable set of public holidays for one year, indexed by day of year.
+ *
+ * Membership is a single bit lookup, so once a year is loaded a holiday check costs
+ * nanoseconds instead of an HTTP round trip.
+ */
+public final class HolidayCalendar {
+
+    // Year this calendar describes
+    private final int year;
+
+    // Bit n is set when day-of-year n is a holiday
+    private final BitSet days;
+
+    // True when the calendar was built from the bundled offline dataset
+    private final boolean offline;
+
+    private HolidayCalendar(int year, BitSet days, boolean offline) {
+        this.year = year;
+        this.days = days;
+        this.offline = offline;
+    }
+
+    /**
+     * Builds a calendar from the given holiday dates; dates of other years are ignored.
+     *
+     * @param year the calendar year
+     * @param holidays holiday dates
+     * @param offline true if the dates come from the bundled dataset rather than the API
+     * @return the calendar
+     */
+    public static HolidayCalendar of(int year, Collection<LocalDate> holidays, boolean offline) {
+        BitSet days = new BitSet(367);
+        for (LocalDate holiday : holidays) {
+            if (holiday.getYear() == year) {
+                days.set(holiday.getDayOfYear());
+            }
+        }
+        return new HolidayCalendar(year, days, offline);
+    }
+
+    /**
+     * @param date the date to test
+     * @return true if the date belongs to this year and is a holiday
+     */
+    public boolean isHoliday(LocalDate date) {
+        return date.getYear() == year && days.get(date.getDayOfYear());
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public boolean isOffline() {
+        return offline;
+    }
+}
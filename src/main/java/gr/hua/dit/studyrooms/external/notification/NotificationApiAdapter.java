@@ -1,6 +1,7 @@
 package gr.hua.dit.studyrooms.external.notification;
 
 import gr.hua.dit.studyrooms.config.NotificationClientProperties;
+import gr.hua.dit.studyrooms.external.ExternalServiceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -48,7 +49,8 @@ public class NotificationApiAdapter implements NotificationPort {
     /**
      * Sends a notification (email or SMS) to the external notification service.
      * If notifications are disabled, logs and skips sending.
-     * Handles and logs errors from the notification service.
+     * Failures are reported as {@link ExternalServiceException} so the outbox
+     * dispatcher can retry the message later.
      *
      * @param channel   The notification channel ("email" or "sms")
      * @param recipient The recipient's email or phone number
@@ -80,11 +82,13 @@ public class NotificationApiAdapter implements NotificationPort {
                     .toBodilessEntity()
                     .block(properties.getTimeout());
         } catch (WebClientResponseException ex) {
-            // Log warning if the notification service returns an error response
-            LOGGER.warn("Notification service returned {} for {} to {}: {}", ex.getStatusCode(), channel, recipient, ex.getResponseBodyAsString());
+            // The notification service returned an error response
+            throw new ExternalServiceException(
+                    "Notification service returned " + ex.getStatusCode() + " for " + channel + " to " + recipient, ex);
         } catch (Exception ex) {
-            // Log warning for any other exception
-            LOGGER.warn("Notification service call failed for {} to {}: {}", channel, recipient, ex.getMessage());
+            // Timeout, connection refused, etc.
+            throw new ExternalServiceException(
+                    "Notification service call failed for " + channel + " to " + recipient + ": " + ex.getMessage(), ex);
         }
     }
 }
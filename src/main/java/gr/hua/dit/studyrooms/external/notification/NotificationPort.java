@@ -16,6 +16,7 @@ public interface NotificationPort {
      * @param recipientEmail the email address of the recipient
      * @param subject the subject of the email
      * @param body the body content of the email
+     * @throws gr.hua.dit.studyrooms.external.ExternalServiceException if delivery fails
      */
     void sendEmail(String recipientEmail, String subject, String body);
 
@@ -25,6 +26,7 @@ public interface NotificationPort {
      *
      * @param phoneNumber the recipient's phone number
      * @param message the SMS message content
+     * @throws gr.hua.dit.studyrooms.external.ExternalServiceException if delivery fails
      */
     void sendSms(String phoneNumber, String message);
 }
@@ -0,0 +1,232 @@
+package gr.hua.dit.studyrooms.outbox;
+
+import gr.hua.dit.studyrooms.entity.NotificationOutbox;
+import gr.hua.dit.studyrooms.entity.NotificationOutboxStatus;
+import gr.hua.dit.studyrooms.external.notification.NotificationPort;
+import gr.hua.dit.studyrooms.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background dispatcher that drains the notification outbox.
+ *
+ * Each poll claims a batch of due messages in a short transaction (rows locked by another
+ * node are skipped), pushes their retry time one lease into the future and commits, so no
+ * database connection is held while the external API is called. Results are written back
+ * in a second short transaction: delivered messages become SENT, failed ones are retried
+ * with exponential backoff until {@code max-attempts}, after which they become FAILED.
+ * A message whose node dies mid-batch is picked up again once its lease expires.
+ *
+ * Metrics: {@code studyrooms.notifications.outbox.depth} (pending messages),
+ * {@code studyrooms.notifications.outbox.lag} (age of the oldest pending message) and
+ * {@code studyrooms.notifications.outbox.deliveries} tagged by outcome.
+ */
+@Component
+public class NotificationOutboxDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+
+    // Column length of NotificationOutbox.lastError
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationPort notificationPort;
+    private final TransactionTemplate transactionTemplate;
+
+    // Maximum number of messages claimed per transaction
+    private final int batchSize;
+    // Attempts after which a message is marked FAILED
+    private final int maxAttempts;
+    // Delay before the first retry; doubled on every further failure
+    private final Duration initialBackoff;
+    // Upper bound for the retry delay
+    private final Duration maxBackoff;
+    // How long a claimed message is hidden from other dispatchers
+    private final Duration lease;
+    // How long delivered messages are kept before being purged
+    private final Duration retention;
+
+    // Last observed queue depth and lag, exposed as gauges
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public NotificationOutboxDispatcher(
+            NotificationOutboxRepository outboxRepository,
+            NotificationPort notificationPort,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${studyrooms.notifications.outbox.batch-size:50}") int batchSize,
+            @Value("${studyrooms.notifications.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${studyrooms.notifications.outbox.initial-backoff:10s}") Duration initialBackoff,
+            @Value("${studyrooms.notifications.outbox.max-backoff:30m}") Duration maxBackoff,
+            @Value("${studyrooms.notifications.outbox.lease:5m}") Duration lease,
+            @Value("${studyrooms.notifications.outbox.retention:7d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.notificationPort = notificationPort;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.retention = retention;
+
+        Gauge.builder("studyrooms.notifications.outbox.depth", depth, AtomicLong::get)
+                .description("Notifications waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("studyrooms.notifications.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest pending notification")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.sentCounter = deliveries(meterRegistry, "sent");
+        this.retriedCounter = deliveries(meterRegistry, "retry");
+        this.failedCounter = deliveries(meterRegistry, "failed");
+    }
+
+    private static Counter deliveries(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("studyrooms.notifications.outbox.deliveries")
+                .description("Outbox delivery attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drains all due messages batch by batch, then refreshes the queue metrics.
+     */
+    @Scheduled(fixedDelayString = "${studyrooms.notifications.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        int claimed;
+        do {
+            claimed = dispatchBatch();
+        } while (claimed == batchSize);
+        refreshMetrics();
+    }
+
+    /**
+     * Claims, delivers and records one batch.
+     * @return number of messages claimed
+     */
+    int dispatchBatch() {
+        List<NotificationOutbox> batch = transactionTemplate.execute(status -> claimBatch(Instant.now()));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        // Deliver outside any transaction; remember the error (null = success) per message
+        Map<Long, String> errors = new HashMap<>();
+        for (NotificationOutbox message : batch) {
+            errors.put(message.getId(), deliver(message));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> recordResults(errors, Instant.now()));
+        return batch.size();
+    }
+
+    /**
+     * Locks due messages, counts the attempt and hides them from other dispatchers for one lease.
+     */
+    private List<NotificationOutbox> claimBatch(Instant now) {
+        List<NotificationOutbox> due = outboxRepository.findDueForUpdate(
+                NotificationOutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+        for (NotificationOutbox message : due) {
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptAt(now.plus(lease));
+        }
+        return new ArrayList<>(due);
+    }
+
+    /**
+     * Calls the notification port for one message.
+     * @return null on success, otherwise the error message
+     */
+    private String deliver(NotificationOutbox message) {
+        try {
+            if ("sms".equals(message.getChannel())) {
+                notificationPort.sendSms(message.getRecipient(), message.getBody());
+            } else {
+                notificationPort.sendEmail(message.getRecipient(), message.getSubject(), message.getBody());
+            }
+            return null;
+        } catch (Exception ex) {
+            String error = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+            return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        }
+    }
+
+    /**
+     * Marks messages SENT, schedules a retry, or gives up after the last attempt.
+     */
+    private void recordResults(Map<Long, String> errors, Instant now) {
+        for (NotificationOutbox message : outboxRepository.findAllById(errors.keySet())) {
+            String error = errors.get(message.getId());
+            if (error == null) {
+                message.setStatus(NotificationOutboxStatus.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+                sentCounter.increment();
+            } else if (message.getAttempts() >= maxAttempts) {
+                message.setStatus(NotificationOutboxStatus.FAILED);
+                message.setLastError(error);
+                failedCounter.increment();
+                LOGGER.warn("Giving up on notification {} to {} after {} attempts: {}",
+                        message.getId(), message.getRecipient(), message.getAttempts(), error);
+            } else {
+                message.setNextAttemptAt(now.plus(backoff(message.getAttempts())));
+                message.setLastError(error);
+                retriedCounter.increment();
+                LOGGER.debug("Notification {} failed (attempt {}), retrying later: {}",
+                        message.getId(), message.getAttempts(), error);
+            }
+        }
+    }
+
+    /**
+     * Retry delay after the given number of failed attempts: initial * 2^(attempts-1), capped.
+     */
+    Duration backoff(int attempts) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = initialBackoff.multipliedBy(1L << shift);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    /**
+     * Updates the depth and lag gauges from the database.
+     */
+    private void refreshMetrics() {
+        depth.set(outboxRepository.countByStatus(NotificationOutboxStatus.PENDING));
+        Instant oldest = outboxRepository.findOldestCreatedAt(NotificationOutboxStatus.PENDING);
+        lagSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).getSeconds()));
+    }
+
+    /**
+     * Deletes delivered messages older than the retention period (nightly).
+     */
+    @Scheduled(cron = "${studyrooms.notifications.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeDelivered() {
+        Instant before = Instant.now().minus(retention);
+        Integer purged = transactionTemplate.execute(status ->
+                outboxRepository.deleteByStatusAndSentAtBefore(NotificationOutboxStatus.SENT, before));
+        LOGGER.info("Purged {} delivered notifications from the outbox", purged);
+    }
+}
@@ -0,0 +1,123 @@
+package gr.hua.dit.studyrooms.purge;
+
+import gr.hua.dit.studyrooms.repository.ArchivedReservationRepository;
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Deletes large sets of reservations in bounded chunks.
+ *
+ * Each chunk reads up to {@code chunk-size} ids and deletes them with one set-based DELETE
+ * in its own short transaction, so no entity is loaded, locks and undo stay small, and a
+ * pooled connection is held only for one chunk at a time. Progress is logged every
+ * {@value #PROGRESS_EVERY_CHUNKS} chunks and counted in {@code studyrooms.purge.deleted}.
+ * Archived months of the same scope are removed afterwards the same way.
+ */
+@Component
+public class ReservationPurger {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReservationPurger.class);
+
+    // Log progress once per this many chunks
+    static final int PROGRESS_EVERY_CHUNKS = 10;
+
+    private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
+
+    // Every chunk commits on its own, even when called inside a transaction
+    private final TransactionTemplate transactionTemplate;
+
+    // Rows deleted per transaction
+    private final int chunkSize;
+
+    private final Counter deletedCounter;
+
+    public ReservationPurger(ReservationRepository reservationRepository,
+                             ArchivedReservationRepository archivedReservationRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${studyrooms.purge.chunk-size:1000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("studyrooms.purge.chunk-size must be positive");
+        }
+        this.reservationRepository = reservationRepository;
+        this.archivedReservationRepository = archivedReservationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.deletedCounter = Counter.builder("studyrooms.purge.deleted")
+                .description("Reservations deleted by chunked purges")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Deletes every reservation of a study space, archived ones included.
+     *
+     * @param spaceId the study space identifier
+     * @return number of deleted reservations
+     */
+    public long purgeSpace(Long spaceId) {
+        long hot = purge("space " + spaceId,
+                page -> reservationRepository.findIdsByStudySpaceId(spaceId, page),
+                reservationRepository::deleteByIdIn);
+        long archived = purge("archived space " + spaceId,
+                page -> archivedReservationRepository.findIdsByStudySpaceId(spaceId, page),
+                archivedReservationRepository::deleteByIdIn);
+        return hot + archived;
+    }
+
+    /**
+     * Deletes every seeded demo reservation, archived ones included.
+     *
+     * @return number of deleted reservations
+     */
+    public long purgeDemo() {
+        long hot = purge("demo data", reservationRepository::findDemoIds, reservationRepository::deleteByIdIn);
+        long archived = purge("archived demo data", archivedReservationRepository::findDemoIds,
+                archivedReservationRepository::deleteByIdIn);
+        return hot + archived;
+    }
+
+    /**
+     * Deletes chunk after chunk until a read comes back short.
+     */
+    private long purge(String scope, Function<Pageable, List<Long>> nextIds, ToIntFunction<List<Long>> deleteIds) {
+        Pageable chunk = PageRequest.of(0, chunkSize);
+        long began = System.nanoTime();
+        long total = 0;
+        int chunks = 0;
+        int size;
+        do {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = nextIds.apply(chunk);
+                return ids.isEmpty() ? 0 : deleteIds.applyAsInt(ids);
+            });
+            size = deleted != null ? deleted : 0;
+            total += size;
+            deletedCounter.increment(size);
+            if (++chunks % PROGRESS_EVERY_CHUNKS == 0) {
+                LOGGER.info("Purging reservations of {}: {} deleted so far", scope, total);
+            }
+        } while (size == chunkSize);
+
+        if (total > 0) {
+            LOGGER.info("Purged {} reservations of {} in {} chunks ({} ms)",
+                    total, scope, chunks, (System.nanoTime() - began) / 1_000_000);
+        }
+        return total;
+    }
+}
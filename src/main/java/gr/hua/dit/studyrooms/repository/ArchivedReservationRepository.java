@@ -0,0 +1,71 @@
+package gr.hua.dit.studyrooms.repository;
+
+import gr.hua.dit.studyrooms.availability.ReservationInterval;
+import gr.hua.dit.studyrooms.entity.ArchivedReservation;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+
+// Repository interface for ArchivedReservation entity: reservations of closed-out months
+public interface ArchivedReservationRepository extends JpaRepository<ArchivedReservation, Long> {
+
+    /**
+     * Returns the time windows of a space's archived reservations over a date range.
+     * Same shape as {@link ReservationRepository#findIntervalsBySpaceAndDateBetween}, so
+     * statistics can merge hot and archived months.
+     * @param spaceId the study space identifier
+     * @param from first date (inclusive)
+     * @param to last date (inclusive)
+     * @param statuses the statuses to include
+     * @return interval projections ordered by date
+     */
+    @Query("""
+    SELECT new gr.hua.dit.studyrooms.availability.ReservationInterval(
+        a.studySpaceId, a.date, a.startTime, a.endTime)
+    FROM ArchivedReservation a
+    WHERE a.studySpaceId = :spaceId
+      AND a.date BETWEEN :from AND :to
+      AND a.status IN :statuses
+    ORDER BY a.date
+    """)
+    List<ReservationInterval> findIntervalsBySpaceAndDateBetween(
+            @Param("spaceId") Long spaceId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("statuses") Collection<ReservationStatus> statuses
+    );
+
+    /**
+     * Returns up to one page of ids of a space's archived reservations, for chunked purges.
+     * @param spaceId the study space identifier
+     * @param page the chunk size (first page only; purged rows drop out of the next call)
+     * @return reservation ids
+     */
+    @Query("SELECT a.id FROM ArchivedReservation a WHERE a.studySpaceId = :spaceId")
+    List<Long> findIdsByStudySpaceId(@Param("spaceId") Long spaceId, Pageable page);
+
+    /**
+     * Returns up to one page of ids of archived demo reservations, for chunked purges.
+     * @param page the chunk size
+     * @return reservation ids
+     */
+    @Query("SELECT a.id FROM ArchivedReservation a WHERE a.demo = true")
+    List<Long> findDemoIds(Pageable page);
+
+    /**
+     * Deletes archived reservations by id in one statement, without loading them.
+     * @param ids the reservation identifiers
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM ArchivedReservation a WHERE a.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
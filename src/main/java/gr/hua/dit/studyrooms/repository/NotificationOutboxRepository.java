@@ -0,0 +1,65 @@
+package gr.hua.dit.studyrooms.repository;
+
+import gr.hua.dit.studyrooms.entity.NotificationOutbox;
+import gr.hua.dit.studyrooms.entity.NotificationOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for NotificationOutbox entity.
+ * Provides the queries used by the outbox dispatcher to claim, track and purge messages.
+ */
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+    /**
+     * Locks and returns the oldest messages that are due for delivery.
+     * Rows already locked by another dispatcher instance are skipped (SKIP LOCKED on
+     * databases that support it), so several application nodes can drain the outbox.
+     * @param status the status to claim (PENDING)
+     * @param now only messages with nextAttemptAt <= now are returned
+     * @param page limits the batch size
+     * @return due messages ordered by id
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            select m
+            from NotificationOutbox m
+            where m.status = :status
+              and m.nextAttemptAt <= :now
+            order by m.id
+            """)
+    List<NotificationOutbox> findDueForUpdate(@Param("status") NotificationOutboxStatus status,
+                                              @Param("now") Instant now,
+                                              Pageable page);
+
+    /**
+     * Counts messages in the given status (used for the queue depth metric).
+     */
+    long countByStatus(NotificationOutboxStatus status);
+
+    /**
+     * Returns the creation time of the oldest message in the given status, or null if none.
+     */
+    @Query("select min(m.createdAt) from NotificationOutbox m where m.status = :status")
+    Instant findOldestCreatedAt(@Param("status") NotificationOutboxStatus status);
+
+    /**
+     * Deletes delivered messages sent before the given instant.
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("delete from NotificationOutbox m where m.status = :status and m.sentAt < :before")
+    int deleteByStatusAndSentAtBefore(@Param("status") NotificationOutboxStatus status,
+                                      @Param("before") Instant before);
+}
@@ -1,10 +1,16 @@
 package gr.hua.dit.studyrooms.repository;
 
+import gr.hua.dit.studyrooms.admission.AdmissionRow;
+import gr.hua.dit.studyrooms.admission.AdmissionVerdict;
+import gr.hua.dit.studyrooms.availability.ReservationInterval;
+import gr.hua.dit.studyrooms.dto.ReservationNotice;
 import gr.hua.dit.studyrooms.entity.Reservation;
 import gr.hua.dit.studyrooms.entity.ReservationStatus;
 import gr.hua.dit.studyrooms.entity.StudySpace;
 import gr.hua.dit.studyrooms.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -91,13 +97,267 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             @Param("statuses") Collection<ReservationStatus> statuses
     );
 
+    /**
+     * Collect every database-backed admission check for one booking in a single round trip:
+     * staff closures of the space intersecting [startTime, endTime) that day, the user's
+     * active reservations that day and the active reservations of the space overlapping
+     * [startTime, endTime). Scans only the rows of the date that belong to the space or the user.
+     */
+    @Query("""
+    SELECT new gr.hua.dit.studyrooms.admission.AdmissionVerdict(
+        (SELECT COUNT(c) FROM SpaceClosure c
+         WHERE c.studySpace.id = :spaceId
+           AND c.startDate <= :date AND c.endDate >= :date
+           AND (c.startTime IS NULL OR (c.startTime < :endTime AND c.endTime > :startTime))),
+        SUM(CASE WHEN r.user.id = :userId AND r.status IN :statuses THEN 1 ELSE 0 END),
+        SUM(CASE WHEN r.studySpace.id = :spaceId AND r.status IN :statuses
+                  AND r.startTime < :endTime AND r.endTime > :startTime THEN 1 ELSE 0 END)
+    )
+    FROM Reservation r
+    WHERE r.date = :date
+      AND (r.studySpace.id = :spaceId OR r.user.id = :userId)
+    """)
+    AdmissionVerdict findAdmissionVerdict(
+            @Param("spaceId") Long spaceId,
+            @Param("userId") Long userId,
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime,
+            @Param("statuses") Collection<ReservationStatus> statuses
+    );
+
+    /**
+     * Load every reservation with the given statuses on any of the dates that belongs to
+     * the space or the user; a reservation series is validated from this single result.
+     */
+    @Query("""
+    SELECT new gr.hua.dit.studyrooms.admission.AdmissionRow(
+        r.studySpace.id, r.user.id, r.date, r.startTime, r.endTime, r.status
+    )
+    FROM Reservation r
+    WHERE r.date IN :dates
+      AND r.status IN :statuses
+      AND (r.studySpace.id = :spaceId OR r.user.id = :userId)
+    """)
+    List<AdmissionRow> findAdmissionRows(
+            @Param("spaceId") Long spaceId,
+            @Param("userId") Long userId,
+            @Param("dates") Collection<LocalDate> dates,
+            @Param("statuses") Collection<ReservationStatus> statuses
+    );
+
+    /**
+     * Load the time windows of all reservations from a date onwards with the given statuses.
+     * Returns a lightweight projection so users and spaces are not hydrated; used to
+     * rebuild the in-memory occupancy ledger.
+     */
+    @Query("""
+    SELECT new gr.hua.dit.studyrooms.availability.ReservationInterval(
+        r.studySpace.id, r.date, r.startTime, r.endTime)
+    FROM Reservation r
+    WHERE r.date >= :fromDate
+      AND r.status IN :statuses
+    """)
+    List<ReservationInterval> findIntervalsFromDate(
+            @Param("fromDate") LocalDate fromDate,
+            @Param("statuses") Collection<ReservationStatus> statuses
+    );
+
+    /**
+     * Returns the time windows of a single space's reservations on a date, ordered by start.
+     * Used by the availability views, which only need start/end times.
+     * @param spaceId the study space identifier
+     * @param date the date to inspect
+     * @param statuses the statuses that occupy a seat
+     * @return interval projections (no entities are loaded)
+     */
+    @Query("""
+    SELECT new gr.hua.dit.studyrooms.availability.ReservationInterval(
+        r.studySpace.id, r.date, r.startTime, r.endTime)
+    FROM Reservation r
+    WHERE r.studySpace.id = :spaceId
+      AND r.date = :date
+      AND r.status IN :statuses
+    ORDER BY r.startTime
+    """)
+    List<ReservationInterval> findIntervalsBySpaceAndDate(
+            @Param("spaceId") Long spaceId,
+            @Param("date") LocalDate date,
+            @Param("statuses") Collection<ReservationStatus> statuses
+    );
+
+    /**
+     * Returns the time windows of all spaces' reservations on a date in one query.
+     * Used by the multi-space availability grid.
+     * @param date the date to inspect
+     * @param statuses the statuses that occupy a seat
+     * @return interval projections for every space, ordered by space
+     */
+    @Query("""
+    SELECT new gr.hua.dit.studyrooms.availability.ReservationInterval(
+        r.studySpace.id, r.date, r.startTime, r.endTime)
+    FROM Reservation r
+    WHERE r.date = :date
+      AND r.status IN :statuses
+    ORDER BY r.studySpace.id
+    """)
+    List<ReservationInterval> findIntervalsByDate(
+            @Param("date") LocalDate date,
+            @Param("statuses") Collection<ReservationStatus> statuses
+    );
+
+    /**
+     * Returns the reservations of the given spaces in a date range that intersect a daily
+     * time range and whose status is not excluded, as notices (holder contact and time
+     * window) rather than entities.
+     * @param spaceIds the study space identifiers
+     * @param from first date (inclusive)
+     * @param to last date (inclusive)
+     * @param startTime start of the daily range (inclusive)
+     * @param endTime end of the daily range (exclusive)
+     * @param excluded statuses to skip
+     * @return notice projections ordered by id
+     */
+    @Query("""
+    SELECT new gr.hua.dit.studyrooms.dto.ReservationNotice(
+        r.id, r.status, u.email, u.fullName, s.id, s.name, r.date, r.startTime, r.endTime)
+    FROM Reservation r
+    JOIN r.user u
+    JOIN r.studySpace s
+    WHERE s.id IN :spaceIds
+      AND r.date BETWEEN :from AND :to
+      AND r.startTime < :endTime
+      AND r.endTime > :startTime
+      AND r.status NOT IN :excluded
+    ORDER BY r.id
+    """)
+    List<ReservationNotice> findNoticesInWindow(
+            @Param("spaceIds") Collection<Long> spaceIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime,
+            @Param("excluded") Collection<ReservationStatus> excluded
+    );
+
+    /**
+     * Sets the status of the reservations matched by {@link #findNoticesInWindow} in one
+     * UPDATE statement.
+     * @param spaceIds the study space identifiers
+     * @param from first date (inclusive)
+     * @param to last date (inclusive)
+     * @param startTime start of the daily range (inclusive)
+     * @param endTime end of the daily range (exclusive)
+     * @param status the new status
+     * @param excluded statuses to leave untouched
+     * @return the number of updated reservations
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+    UPDATE Reservation r
+    SET r.status = :status
+    WHERE r.studySpace.id IN :spaceIds
+      AND r.date BETWEEN :from AND :to
+      AND r.startTime < :endTime
+      AND r.endTime > :startTime
+      AND r.status NOT IN :excluded
+    """)
+    int updateStatusInWindow(
+            @Param("spaceIds") Collection<Long> spaceIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime,
+            @Param("status") ReservationStatus status,
+            @Param("excluded") Collection<ReservationStatus> excluded
+    );
+
+    /**
+     * Returns which of the given reservations currently have the status.
+     * @param ids reservation identifiers
+     * @param status the status to look for
+     * @return matching identifiers
+     */
+    @Query("SELECT r.id FROM Reservation r WHERE r.id IN :ids AND r.status = :status")
+    List<Long> findIdsByIdInAndStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") ReservationStatus status
+    );
+
+    /**
+     * Returns the time windows of a space's reservations over a date range in one query.
+     * Used by the range (e.g. week) availability view.
+     * @param spaceId the study space identifier
+     * @param from first date (inclusive)
+     * @param to last date (inclusive)
+     * @param statuses the statuses that occupy a seat
+     * @return interval projections ordered by date
+     */
+    @Query("""
+    SELECT new gr.hua.dit.studyrooms.availability.ReservationInterval(
+        r.studySpace.id, r.date, r.startTime, r.endTime)
+    FROM Reservation r
+    WHERE r.studySpace.id = :spaceId
+      AND r.date BETWEEN :from AND :to
+      AND r.status IN :statuses
+    ORDER BY r.date
+    """)
+    List<ReservationInterval> findIntervalsBySpaceAndDateBetween(
+            @Param("spaceId") Long spaceId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("statuses") Collection<ReservationStatus> statuses
+    );
+
     // Count reservations for a study space, date, and a set of statuses.
     long countByStudySpaceAndDateAndStatusIn(StudySpace space,
                                              LocalDate date,
                                              Collection<ReservationStatus> statuses
     );
-           
-    void deleteByStudySpaceId(Long studySpaceId);
 
-    void deleteByDemoTrue();
+    /**
+     * Returns up to one page of ids of a space's reservations, for chunked purges.
+     * Unordered, so the database can stop after the first matches in the space index.
+     * @param spaceId the study space identifier
+     * @param page the chunk size (first page only; purged rows drop out of the next call)
+     * @return reservation ids
+     */
+    @Query("SELECT r.id FROM Reservation r WHERE r.studySpace.id = :spaceId")
+    List<Long> findIdsByStudySpaceId(@Param("spaceId") Long spaceId, Pageable page);
+
+    /**
+     * Returns up to one page of ids of seeded demo reservations, for chunked purges.
+     * @param page the chunk size
+     * @return reservation ids
+     */
+    @Query("SELECT r.id FROM Reservation r WHERE r.demo = true")
+    List<Long> findDemoIds(Pageable page);
+
+    /**
+     * Returns up to one page of ids of reservations dated before a day, for chunked archiving.
+     * @param cutoff first day that stays in the hot table
+     * @param page the chunk size (first page only; archived rows drop out of the next call)
+     * @return reservation ids
+     */
+    @Query("SELECT r.id FROM Reservation r WHERE r.date < :cutoff")
+    List<Long> findIdsByDateBefore(@Param("cutoff") LocalDate cutoff, Pageable page);
+
+    /**
+     * Deletes reservations by id in one statement, without loading them.
+     * @param ids the reservation identifiers
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM Reservation r WHERE r.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes all reservations of a space in one statement, without loading them.
+     * Meant for the few rows left after a chunked purge.
+     * @param spaceId the study space identifier
+     * @return number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM Reservation r WHERE r.studySpace.id = :spaceId")
+    int deleteByStudySpaceId(@Param("spaceId") Long spaceId);
 }
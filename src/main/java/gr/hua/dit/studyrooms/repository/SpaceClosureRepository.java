@@ -0,0 +1,82 @@
+package gr.hua.dit.studyrooms.repository;
+
+import gr.hua.dit.studyrooms.closure.ClosureInterval;
+import gr.hua.dit.studyrooms.entity.SpaceClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+
+// Repository interface for SpaceClosure entity: staff closures of study spaces
+public interface SpaceClosureRepository extends JpaRepository<SpaceClosure, Long> {
+
+    /**
+     * Returns every closure still in effect on or after a date, as projections.
+     * Used to load the in-memory closure index.
+     * @param fromDate the first relevant date
+     * @return closure projections
+     */
+    @Query("""
+    SELECT new gr.hua.dit.studyrooms.closure.ClosureInterval(
+        c.id, c.studySpace.id, c.startDate, c.endDate, c.startTime, c.endTime)
+    FROM SpaceClosure c
+    WHERE c.endDate >= :fromDate
+    """)
+    List<ClosureInterval> findIntervalsFromDate(@Param("fromDate") LocalDate fromDate);
+
+    /**
+     * Returns a space's closures intersecting a date range and a daily time range.
+     * Used by admission when the node-local closure index cannot be trusted.
+     * @param spaceId the study space identifier
+     * @param from first date (inclusive)
+     * @param to last date (inclusive)
+     * @param startTime start of the daily range (inclusive)
+     * @param endTime end of the daily range (exclusive)
+     * @return closure projections
+     */
+    @Query("""
+    SELECT new gr.hua.dit.studyrooms.closure.ClosureInterval(
+        c.id, c.studySpace.id, c.startDate, c.endDate, c.startTime, c.endTime)
+    FROM SpaceClosure c
+    WHERE c.studySpace.id = :spaceId
+      AND c.startDate <= :to
+      AND c.endDate >= :from
+      AND (c.startTime IS NULL OR (c.startTime < :endTime AND c.endTime > :startTime))
+    """)
+    List<ClosureInterval> findOverlapping(
+            @Param("spaceId") Long spaceId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime
+    );
+
+    /**
+     * Returns the closures ending on or after a date, soonest first.
+     * @param fromDate the first relevant date
+     * @return closures ordered by start date
+     */
+    List<SpaceClosure> findByEndDateGreaterThanEqualOrderByStartDateAsc(LocalDate fromDate);
+
+    /**
+     * Returns the ids of a space's closures.
+     * @param spaceId the study space identifier
+     * @return closure identifiers
+     */
+    @Query("SELECT c.id FROM SpaceClosure c WHERE c.studySpace.id = :spaceId")
+    List<Long> findIdsByStudySpaceId(@Param("spaceId") Long spaceId);
+
+    /**
+     * Deletes all closures of a space (used when the space itself is deleted).
+     * @param spaceId the study space identifier
+     * @return the number of deleted closures
+     */
+    @Modifying
+    @Query("DELETE FROM SpaceClosure c WHERE c.studySpace.id = :spaceId")
+    int deleteByStudySpaceId(@Param("spaceId") Long spaceId);
+}
@@ -0,0 +1,42 @@
+package gr.hua.dit.studyrooms.rollup;
+
+import java.time.LocalDate;
+
+/**
+ * One row of the {@code space_daily_occupancy} rollup: the confirmed reservations of a
+ * study space on a day and the minutes they occupy.
+ */
+public class DailyOccupancy {
+
+    /** The day */
+    private final LocalDate date;
+
+    /** Number of confirmed reservations */
+    private final int reservations;
+
+    /** Sum of the reservations' durations in minutes (not capped) */
+    private final long occupiedMinutes;
+
+    /**
+     * @param date the day
+     * @param reservations number of confirmed reservations
+     * @param occupiedMinutes sum of their durations in minutes
+     */
+    public DailyOccupancy(LocalDate date, int reservations, long occupiedMinutes) {
+        this.date = date;
+        this.reservations = reservations;
+        this.occupiedMinutes = occupiedMinutes;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getReservations() {
+        return reservations;
+    }
+
+    public long getOccupiedMinutes() {
+        return occupiedMinutes;
+    }
+}
@@ -0,0 +1,223 @@
+package gr.hua.dit.studyrooms.rollup;
+
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.event.ReservationChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the {@code space_daily_occupancy} rollup (created and backfilled by migration V5).
+ *
+ * Each row holds the confirmed reservations of a space on a day and the minutes they
+ * occupy. When a {@link ReservationChangedEvent} commits, that single day is re-aggregated
+ * from the reservation index with one MERGE in its own short transaction, so statistics read
+ * O(days) rows and never see a rolled-back change. A nightly job rebuilds the last
+ * {@code reconcile-days} days and everything ahead, repairing any refresh lost to a crash;
+ * {@link #rebuild} does the same for any range, month by month.
+ */
+@Component
+public class OccupancyRollup {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OccupancyRollup.class);
+
+    // Reservations counted by the rollup, as in the occupancy statistics
+    private static final String COUNTED_STATUS = ReservationStatus.CONFIRMED.name();
+
+    // Duration of a reservation in whole minutes, portable between H2 and PostgreSQL
+    private static final String MINUTES = "GREATEST(0, (EXTRACT(HOUR FROM end_time) - EXTRACT(HOUR FROM start_time)) * 60"
+            + " + EXTRACT(MINUTE FROM end_time) - EXTRACT(MINUTE FROM start_time))";
+
+    private static final String MERGE_DAY = """
+            MERGE INTO space_daily_occupancy o
+            USING (SELECT CAST(? AS BIGINT) AS study_space_id, CAST(? AS DATE) AS date,
+                          COUNT(*) AS reservations, CAST(COALESCE(SUM(%s), 0) AS BIGINT) AS occupied_minutes
+                   FROM reservations
+                   WHERE study_space_id = ? AND date = ? AND status = ?) d
+            ON (o.study_space_id = d.study_space_id AND o.date = d.date)
+            WHEN MATCHED THEN UPDATE SET reservations = d.reservations, occupied_minutes = d.occupied_minutes
+            WHEN NOT MATCHED THEN INSERT (study_space_id, date, reservations, occupied_minutes)
+                VALUES (d.study_space_id, d.date, d.reservations, d.occupied_minutes)
+            """.formatted(MINUTES);
+
+    private static final String INSERT_RANGE = """
+            INSERT INTO space_daily_occupancy (study_space_id, date, reservations, occupied_minutes)
+            SELECT study_space_id, date, COUNT(*), CAST(SUM(%s) AS BIGINT)
+            FROM (SELECT study_space_id, date, start_time, end_time FROM reservations
+                  WHERE date BETWEEN ? AND ? AND status = ?
+                  UNION ALL
+                  SELECT study_space_id, date, start_time, end_time FROM reservations_archive
+                  WHERE date BETWEEN ? AND ? AND status = ?) r
+            GROUP BY study_space_id, date
+            """.formatted(MINUTES);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Joins the caller's transaction (demo seeding) or opens one per month (nightly job)
+    private final TransactionTemplate transactionTemplate;
+    // Day refreshes run after the reservation change committed
+    private final TransactionTemplate refreshTemplate;
+
+    // Days before today rebuilt by the nightly job
+    private final int reconcileDays;
+
+    public OccupancyRollup(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${studyrooms.rollup.reconcile-days:7}") int reconcileDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.refreshTemplate = new TransactionTemplate(transactionManager);
+        this.refreshTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reconcileDays = reconcileDays;
+    }
+
+    /**
+     * Re-aggregates the changed day once the change has committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        refresh(event.getSpaceId(), event.getDate());
+    }
+
+    /**
+     * Re-aggregates one day of one space. Never throws: the booking has already committed,
+     * and a day that could not be refreshed is repaired by the nightly job.
+     *
+     * @param spaceId the study space identifier
+     * @param date the day
+     */
+    public void refresh(Long spaceId, LocalDate date) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                refreshTemplate.executeWithoutResult(status -> jdbcTemplate.update(MERGE_DAY,
+                        spaceId, Date.valueOf(date), spaceId, Date.valueOf(date), COUNTED_STATUS));
+                return;
+            } catch (DuplicateKeyException ex) {
+                // Another transaction inserted the day first; the retry updates it
+                if (attempt == 2) {
+                    LOGGER.warn("Could not refresh occupancy of space {} on {}: {}", spaceId, date, ex.getMessage());
+                    return;
+                }
+            } catch (DataAccessException ex) {
+                LOGGER.warn("Could not refresh occupancy of space {} on {}: {}", spaceId, date, ex.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the rollup rows of a space over a date range; days without a row had no
+     * confirmed reservation.
+     *
+     * @param spaceId the study space identifier
+     * @param from first day (inclusive)
+     * @param to last day (inclusive)
+     * @return rows ordered by date
+     */
+    public List<DailyOccupancy> findDays(Long spaceId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                SELECT date, reservations, occupied_minutes FROM space_daily_occupancy
+                WHERE study_space_id = ? AND date BETWEEN ? AND ?
+                ORDER BY date
+                """, (rs, rowNum) -> new DailyOccupancy(
+                        rs.getDate(1).toLocalDate(), rs.getInt(2), rs.getLong(3)),
+                spaceId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Returns the rollup rows of every space over a date range, read in one pass over the
+     * date index and grouped by space as they stream from the result set.
+     *
+     * @param from first day (inclusive)
+     * @param to last day (inclusive)
+     * @return rows by space identifier; spaces without a row are absent
+     */
+    public Map<Long, List<DailyOccupancy>> findDaysBySpace(LocalDate from, LocalDate to) {
+        Map<Long, List<DailyOccupancy>> bySpace = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT study_space_id, date, reservations, occupied_minutes FROM space_daily_occupancy
+                WHERE date BETWEEN ? AND ?
+                """, rs -> {
+                    bySpace.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>())
+                            .add(new DailyOccupancy(rs.getDate(2).toLocalDate(), rs.getInt(3), rs.getLong(4)));
+                }, Date.valueOf(from), Date.valueOf(to));
+        return bySpace;
+    }
+
+    /**
+     * Rebuilds the last {@code reconcile-days} days and every later day (nightly).
+     */
+    @Scheduled(cron = "${studyrooms.rollup.reconcile-cron:0 45 2 * * *}")
+    public void reconcile() {
+        LocalDate from = LocalDate.now().minusDays(reconcileDays);
+        LocalDate last = jdbcTemplate.queryForObject("SELECT MAX(date) FROM reservations", LocalDate.class);
+        rebuild(from, last != null && last.isAfter(from) ? last : from);
+    }
+
+    /**
+     * Rebuilds every day that has reservations, hot or archived.
+     */
+    public void rebuildAll() {
+        LocalDate first = jdbcTemplate.queryForObject("""
+                SELECT MIN(date) FROM (SELECT MIN(date) AS date FROM reservations
+                                       UNION ALL SELECT MIN(date) FROM reservations_archive) d
+                """, LocalDate.class);
+        LocalDate last = jdbcTemplate.queryForObject("""
+                SELECT MAX(date) FROM (SELECT MAX(date) AS date FROM reservations
+                                       UNION ALL SELECT MAX(date) FROM reservations_archive) d
+                """, LocalDate.class);
+        if (first == null || last == null) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update("DELETE FROM space_daily_occupancy"));
+            return;
+        }
+        rebuild(first, last);
+    }
+
+    /**
+     * Recomputes the rollup for a date range from the reservations and the archive, one
+     * month per transaction.
+     *
+     * @param from first day (inclusive)
+     * @param to last day (inclusive)
+     */
+    public void rebuild(LocalDate from, LocalDate to) {
+        int rows = 0;
+        for (LocalDate start = from; !start.isAfter(to); start = start.withDayOfMonth(1).plusMonths(1)) {
+            LocalDate monthEnd = start.withDayOfMonth(start.lengthOfMonth());
+            Date first = Date.valueOf(start);
+            Date last = Date.valueOf(monthEnd.isBefore(to) ? monthEnd : to);
+            Integer inserted = transactionTemplate.execute(status -> {
+                jdbcTemplate.update("DELETE FROM space_daily_occupancy WHERE date BETWEEN ? AND ?", first, last);
+                return jdbcTemplate.update(INSERT_RANGE,
+                        first, last, COUNTED_STATUS, first, last, COUNTED_STATUS);
+            });
+            rows += inserted != null ? inserted : 0;
+        }
+        LOGGER.info("Rebuilt daily occupancy from {} to {} ({} rows)", from, to, rows);
+    }
+
+    /**
+     * Deletes the rollup rows of a space that is being deleted (in the caller's transaction).
+     *
+     * @param spaceId the study space identifier
+     */
+    public void deleteForSpace(Long spaceId) {
+        jdbcTemplate.update("DELETE FROM space_daily_occupancy WHERE study_space_id = ?", spaceId);
+    }
+}
@@ -0,0 +1,181 @@
+package gr.hua.dit.studyrooms.search;
+
+import gr.hua.dit.studyrooms.dto.ReservationSearchPage;
+import gr.hua.dit.studyrooms.dto.ReservationSearchRow;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Filterable, keyset-paginated search over reservations for staff.
+ *
+ * Results are ordered by (date, start time, id), a unique key. Instead of an OFFSET, each
+ * page seeks past the last row of the previous one with a row-value comparison, which the
+ * keyset indexes (V7, and V12 for searches by space) answer with a short index range read,
+ * so page 1 and page 500 cost the same. Rows are flat projections joined with the space
+ * and user names in the same query. The total is counted on the first page only, and only up to a cap.
+ */
+@Service
+public class ReservationSearchService {
+
+    // Page size when none is requested, and the largest accepted
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+
+    private static final String SELECT_ROWS = """
+            SELECT r.id, r.date, r.start_time, r.end_time, r.status,
+                   r.study_space_id, s.name, r.user_id, u.username
+            FROM reservations r
+            JOIN study_spaces s ON s.id = r.study_space_id
+            JOIN users u ON u.id = r.user_id
+            WHERE %s
+            ORDER BY r.date, r.start_time, r.id
+            LIMIT :limit
+            """;
+
+    private static final String COUNT_ROWS = """
+            SELECT COUNT(*) FROM (SELECT 1 FROM reservations r WHERE %s LIMIT :cap) c
+            """;
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    // Largest total counted exactly on the first page
+    private final int countCap;
+
+    public ReservationSearchService(JdbcTemplate jdbcTemplate,
+                                    @Value("${studyrooms.search.count-cap:10000}") int countCap) {
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.countCap = countCap;
+    }
+
+    /**
+     * Returns one page of reservations matching every given filter.
+     *
+     * @param spaceId study space, or null for all
+     * @param userId user, or null for all
+     * @param statuses statuses to include, or null/empty for all
+     * @param from first day (inclusive), or null
+     * @param to last day (inclusive), or null
+     * @param cursor {@code nextCursor} of the previous page, or null for the first page
+     * @param limit page size (1 to 200), or null for the default
+     * @return the page, its next cursor and, on the first page, the (capped) total
+     * @throws IllegalArgumentException on an invalid range, page size or cursor
+     */
+    public ReservationSearchPage search(Long spaceId, Long userId, Collection<ReservationStatus> statuses,
+                                        LocalDate from, LocalDate to, String cursor, Integer limit) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'.");
+        }
+        int pageSize = limit != null ? limit : DEFAULT_LIMIT;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        StringBuilder filters = new StringBuilder("1 = 1");
+        if (spaceId != null) {
+            filters.append(" AND r.study_space_id = :spaceId");
+            params.addValue("spaceId", spaceId);
+        }
+        if (userId != null) {
+            filters.append(" AND r.user_id = :userId");
+            params.addValue("userId", userId);
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            filters.append(" AND r.status IN (:statuses)");
+            params.addValue("statuses", statuses.stream().map(Enum::name).toList());
+        }
+        if (from != null) {
+            filters.append(" AND r.date >= :from");
+            params.addValue("from", Date.valueOf(from));
+        }
+        if (to != null) {
+            filters.append(" AND r.date <= :to");
+            params.addValue("to", Date.valueOf(to));
+        }
+
+        Long totalCount = null;
+        boolean totalExact = false;
+        if (cursor == null) {
+            params.addValue("cap", countCap + 1);
+            Long counted = namedJdbcTemplate.queryForObject(COUNT_ROWS.formatted(filters), params, Long.class);
+            long total = counted != null ? counted : 0;
+            totalExact = total <= countCap;
+            totalCount = Math.min(total, countCap);
+        } else {
+            Key after = Key.decode(cursor);
+            filters.append(" AND (r.date, r.start_time, r.id) > (:afterDate, :afterTime, :afterId)");
+            params.addValue("afterDate", Date.valueOf(after.date));
+            params.addValue("afterTime", Time.valueOf(after.startTime));
+            params.addValue("afterId", after.id);
+        }
+
+        // One extra row tells whether there is a next page
+        params.addValue("limit", pageSize + 1);
+        List<ReservationSearchRow> rows = namedJdbcTemplate.query(SELECT_ROWS.formatted(filters), params,
+                (rs, rowNum) -> new ReservationSearchRow(
+                        rs.getLong(1),
+                        rs.getObject(2, LocalDate.class),
+                        rs.getTime(3).toLocalTime(),
+                        rs.getTime(4).toLocalTime(),
+                        ReservationStatus.valueOf(rs.getString(5)),
+                        rs.getLong(6),
+                        rs.getString(7),
+                        rs.getLong(8),
+                        rs.getString(9)));
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            ReservationSearchRow last = rows.get(pageSize - 1);
+            nextCursor = new Key(last.getDate(), last.getStartTime(), last.getId()).encode();
+        }
+        return new ReservationSearchPage(List.copyOf(rows), nextCursor, totalCount, totalExact);
+    }
+
+    /**
+     * Position of a row in the search order, carried between pages as an opaque cursor.
+     */
+    static final class Key {
+        private final LocalDate date;
+        private final LocalTime startTime;
+        private final long id;
+
+        Key(LocalDate date, LocalTime startTime, long id) {
+            this.date = date;
+            this.startTime = startTime;
+            this.id = id;
+        }
+
+        String encode() {
+            String raw = date + "_" + startTime + "_" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Key decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split("_");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Invalid cursor.");
+                }
+                return new Key(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.parseLong(parts[2]));
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException("Invalid cursor.", ex);
+            }
+        }
+    }
+}
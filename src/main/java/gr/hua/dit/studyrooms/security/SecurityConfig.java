@@ -113,9 +113,11 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",
                                 "/api-docs/**",
                                 "/swagger-ui/**",
-                                "/swagger-ui.html"
+                                "/swagger-ui.html",
+                                "/actuator/health"
                         ).permitAll() // Allow unauthenticated access to these endpoints
                         .requestMatchers("/staff/**").hasAnyRole("STAFF") // Restrict /staff/** to STAFF role
+                        .requestMatchers("/actuator/**").hasAnyRole("STAFF") // Metrics are for staff only
                         .anyRequest().authenticated() // All other requests require authentication
                 )
                 // Use session if required (for web logins)
@@ -3,8 +3,11 @@
 package gr.hua.dit.studyrooms.service;
 
 
+import gr.hua.dit.studyrooms.dto.ReservationNotice;
 import gr.hua.dit.studyrooms.entity.Reservation;
 
+import java.util.List;
+
 
 /**
  * Interface for notification services related to reservation events.
@@ -25,4 +28,11 @@ public interface NotificationService {
      * @param cancelledByStaff True if cancelled by staff, false if by user.
      */
     void notifyReservationCancelled(Reservation reservation, boolean cancelledByStaff);
+
+
+    /**
+     * Notify the holders of many reservations cancelled by staff at once.
+     * @param notices The cancelled reservations, as projections.
+     */
+    void notifyReservationsCancelledByStaff(List<ReservationNotice> notices);
 }
@@ -0,0 +1,13 @@
+package gr.hua.dit.studyrooms.service;
+
+/**
+ * Booking rules shared by the reservation service and the availability views.
+ */
+public final class ReservationPolicy {
+
+    // Maximum duration of a reservation: 2 hours (120 minutes); also bounds availability searches
+    public static final int MAX_RESERVATION_DURATION_MINUTES = 120;
+
+    private ReservationPolicy() {
+    }
+}
@@ -1,5 +1,6 @@
 package gr.hua.dit.studyrooms.service;
 
+import gr.hua.dit.studyrooms.dto.ReservationSeriesResult;
 import gr.hua.dit.studyrooms.entity.Reservation;
 import gr.hua.dit.studyrooms.entity.User;
 
@@ -51,6 +52,24 @@ public interface ReservationService {
                                   LocalDate date, LocalTime startTime, LocalTime endTime);
 
 
+    /**
+     * Creates a weekly reservation series in one transaction: the same space and time on
+     * {@code firstDate} and every {@code intervalWeeks} weeks after it up to {@code lastDate}.
+     * Occurrences that break a rule are skipped and reported; the others are booked.
+     * @param user the user making the reservations
+     * @param studySpaceId the ID of the study space
+     * @param firstDate the date of the first occurrence
+     * @param lastDate the last possible date (inclusive)
+     * @param intervalWeeks weeks between occurrences
+     * @param startTime the start time of every occurrence
+     * @param endTime the end time of every occurrence
+     * @return the outcome of every occurrence
+     */
+    ReservationSeriesResult createReservationSeries(User user, Long studySpaceId,
+                                                    LocalDate firstDate, LocalDate lastDate, int intervalWeeks,
+                                                    LocalTime startTime, LocalTime endTime);
+
+
     /**
      * Cancels a reservation for a user.
      * @param reservationId the ID of the reservation to cancel
@@ -70,9 +89,9 @@ public interface ReservationService {
      * Cancels all reservations for a specific space and date as staff.
      * @param spaceId the ID of the study space
      * @param date the date for which to cancel reservations
-     * @return the number of reservations canceled
+     * @return the ids of the reservations canceled
      */
-    int cancelByStaffForSpaceAndDate(Long spaceId, LocalDate date);
+    List<Long> cancelByStaffForSpaceAndDate(Long spaceId, LocalDate date);
 
 
     /**
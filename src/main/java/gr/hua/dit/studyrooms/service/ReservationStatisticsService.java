@@ -2,6 +2,9 @@
 // Service interface for providing reservation statistics, such as occupancy data for study spaces.
 package gr.hua.dit.studyrooms.service;
 
+import gr.hua.dit.studyrooms.dto.CampusOccupancyReport;
+import gr.hua.dit.studyrooms.dto.ConcurrencyStatsEntry;
+import gr.hua.dit.studyrooms.dto.OccupancyHeatMap;
 import gr.hua.dit.studyrooms.dto.OccupancyStatsEntry;
 import gr.hua.dit.studyrooms.entity.StudySpace;
 
@@ -23,4 +26,35 @@ public interface ReservationStatisticsService {
      * @return a list of OccupancyStatsEntry objects representing daily occupancy
      */
     List<OccupancyStatsEntry> getDailyOccupancy(StudySpace space, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Returns the occupancy of every study space, and the campus totals, within a date range.
+     *
+     * @param startDate the start date of the range (inclusive)
+     * @param endDate the end date of the range (inclusive)
+     * @return the campus report, one summary per space ordered by name
+     */
+    CampusOccupancyReport getCampusOccupancy(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Returns, per day, the peak and 95th percentile of the number of overlapping reservations
+     * for a given study space within a date range.
+     *
+     * @param space the StudySpace for which to retrieve concurrency statistics
+     * @param startDate the start date of the range (inclusive)
+     * @param endDate the end date of the range (inclusive)
+     * @return a list of ConcurrencyStatsEntry objects, one per day
+     */
+    List<ConcurrencyStatsEntry> getDailyConcurrency(StudySpace space, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Returns the average and peak number of overlapping reservations per weekday and hour
+     * for a given study space within a date range.
+     *
+     * @param space the StudySpace for which to build the heat map
+     * @param startDate the start date of the range (inclusive)
+     * @param endDate the end date of the range (inclusive)
+     * @return the weekday x hour heat map
+     */
+    OccupancyHeatMap getHourlyHeatMap(StudySpace space, LocalDate startDate, LocalDate endDate);
 }
@@ -1,18 +1,26 @@
 package gr.hua.dit.studyrooms.service.impl;
 
+import gr.hua.dit.studyrooms.dto.ReservationNotice;
+import gr.hua.dit.studyrooms.entity.NotificationOutbox;
 import gr.hua.dit.studyrooms.entity.Reservation;
-import gr.hua.dit.studyrooms.external.notification.NotificationPort;
+import gr.hua.dit.studyrooms.repository.NotificationOutboxRepository;
 import gr.hua.dit.studyrooms.service.NotificationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
- * Service implementation for sending reservation-related notifications via email.
- * Uses NotificationPort to abstract the actual email sending logic.
+ * Service implementation for reservation-related email notifications.
+ *
+ * Messages are not sent here: they are written to the notification outbox in the caller's
+ * transaction, so a booking and its notification commit (or roll back) together, and the
+ * external API call happens later in the outbox dispatcher, off the booking path.
  */
 @Service
 public class NotificationServiceImpl implements NotificationService {
@@ -26,18 +34,18 @@ public class NotificationServiceImpl implements NotificationService {
     private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
 
 
-    // Port for sending notifications (e.g., email)
-    private final NotificationPort notificationPort;
+    // Outbox table drained by the notification dispatcher
+    private final NotificationOutboxRepository outboxRepository;
 
     /**
-     * Constructor for dependency injection of NotificationPort.
+     * Constructor for dependency injection of NotificationOutboxRepository.
      */
-    public NotificationServiceImpl(NotificationPort notificationPort) {
-        this.notificationPort = notificationPort;
+    public NotificationServiceImpl(NotificationOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
     }
 
     /**
-     * Sends an email notification to the user when a reservation is created.
+     * Queues an email notification to the user when a reservation is created.
      * Checks for null reservation or user, and ensures email is present.
      * @param reservation the created reservation
      */
@@ -64,12 +72,12 @@ public class NotificationServiceImpl implements NotificationService {
                 TIME_FORMAT.format(reservation.getEndTime())
         );
 
-        // Send the email, handling any exceptions
-        safely(() -> notificationPort.sendEmail(recipientEmail, subject, body));
+        // Queue the email in the current transaction
+        enqueueEmail(recipientEmail, subject, body);
     }
 
     /**
-     * Sends an email notification to the user when a reservation is cancelled.
+     * Queues an email notification to the user when a reservation is cancelled.
      * The subject and message differ if cancelled by staff.
      * @param reservation the cancelled reservation
      * @param cancelledByStaff true if cancelled by staff, false if by user
@@ -86,32 +94,65 @@ public class NotificationServiceImpl implements NotificationService {
             return;
         }
 
-        // Choose subject and body based on who cancelled
+        // Queue the email in the current transaction
+        outboxRepository.save(cancellationEmail(recipientEmail, reservation.getUser().getFullName(),
+                reservation.getStudySpace().getName(), reservation.getDate(), cancelledByStaff));
+    }
+
+    /**
+     * Queues one staff-cancellation email per notice with a single batched insert.
+     * Works from projections, so no reservation, user or space entities are loaded.
+     * @param notices the cancelled reservations
+     */
+    @Override
+    public void notifyReservationsCancelledByStaff(List<ReservationNotice> notices) {
+        List<NotificationOutbox> messages = new ArrayList<>(notices.size());
+        for (ReservationNotice notice : notices) {
+            String recipientEmail = notice.getUserEmail();
+            if (recipientEmail == null || recipientEmail.isBlank()) {
+                LOGGER.debug("No email available for reservation {}", notice.getReservationId());
+                continue;
+            }
+            messages.add(cancellationEmail(recipientEmail, notice.getUserFullName(),
+                    notice.getSpaceName(), notice.getDate(), true));
+        }
+
+        // Queue the emails in the current transaction
+        outboxRepository.saveAll(messages);
+    }
+
+    /**
+     * Builds a cancellation email; the subject and message differ if cancelled by staff.
+     * @param recipientEmail the recipient address
+     * @param fullName the holder's full name
+     * @param spaceName the study space name
+     * @param date the reservation date
+     * @param cancelledByStaff true if cancelled by staff, false if by user
+     * @return a pending outbox message
+     */
+    private static NotificationOutbox cancellationEmail(String recipientEmail, String fullName,
+                                                        String spaceName, LocalDate date,
+                                                        boolean cancelledByStaff) {
         String subject = cancelledByStaff
                 ? "StudyRooms reservation cancelled by staff"
                 : "Your StudyRooms reservation was cancelled";
         String body = String.format(
                 "Hello %s,%nYour reservation for %s on %s was cancelled%s.",
-                reservation.getUser().getFullName(),
-                reservation.getStudySpace().getName(),
-                DATE_FORMAT.format(reservation.getDate()),
+                fullName,
+                spaceName,
+                DATE_FORMAT.format(date),
                 cancelledByStaff ? " by staff" : ""
         );
-
-        // Send the email, handling any exceptions
-        safely(() -> notificationPort.sendEmail(recipientEmail, subject, body));
+        return NotificationOutbox.pending("email", recipientEmail, subject, body);
     }
 
     /**
-     * Runs the given Runnable and logs a warning if an exception occurs.
-     * Used to prevent notification failures from affecting main flow.
-     * @param runnable the code to run safely
+     * Writes an email to the outbox; the dispatcher delivers it after commit.
+     * @param recipientEmail the recipient address
+     * @param subject the email subject
+     * @param body the email body
      */
-    private void safely(Runnable runnable) {
-        try {
-            runnable.run();
-        } catch (Exception ex) {
-            LOGGER.warn("Notification delivery failed: {}", ex.getMessage());
-        }
+    private void enqueueEmail(String recipientEmail, String subject, String body) {
+        outboxRepository.save(NotificationOutbox.pending("email", recipientEmail, subject, body));
     }
 }
@@ -1,15 +1,29 @@
 package gr.hua.dit.studyrooms.service.impl;
 
+import gr.hua.dit.studyrooms.admission.AdmissionLock;
+import gr.hua.dit.studyrooms.admission.AdmissionRow;
+import gr.hua.dit.studyrooms.admission.AdmissionVerdict;
+import gr.hua.dit.studyrooms.availability.AlternativeSlotFinder;
+import gr.hua.dit.studyrooms.availability.CapacityExceededException;
+import gr.hua.dit.studyrooms.availability.OccupancyLedger;
+import gr.hua.dit.studyrooms.closure.ClosureIndex;
+import gr.hua.dit.studyrooms.closure.ClosureInterval;
+import gr.hua.dit.studyrooms.closure.SpaceClosureService;
+import gr.hua.dit.studyrooms.dto.ReservationSeriesResult;
 import gr.hua.dit.studyrooms.entity.Reservation;
 import gr.hua.dit.studyrooms.entity.ReservationStatus;
 import gr.hua.dit.studyrooms.entity.StudySpace;
 import gr.hua.dit.studyrooms.entity.User;
+import gr.hua.dit.studyrooms.event.ReservationChangedEvent;
 import gr.hua.dit.studyrooms.external.HolidayApiPort;
 import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import gr.hua.dit.studyrooms.repository.SpaceClosureRepository;
 import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
 import gr.hua.dit.studyrooms.repository.UserRepository;
 import gr.hua.dit.studyrooms.service.NotificationService;
+import gr.hua.dit.studyrooms.service.ReservationPolicy;
 import gr.hua.dit.studyrooms.service.ReservationService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,7 +31,11 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -31,19 +49,34 @@ public class ReservationServiceImpl implements ReservationService {
         // Maximum 3 active reservations per day per student
         private static final int MAX_RESERVATIONS_PER_DAY = 3;
 
+        // Shown when a booking falls inside a staff closure
+        private static final String CLOSED_MESSAGE = "This study space has been closed by staff for the selected date. "
+                + "Please choose another date or space.";
+
         // Statuses considered "active" for reservation counting and capacity
         private static final List<ReservationStatus> ACTIVE_RESERVATION_STATUSES = List.of(
             ReservationStatus.CONFIRMED
         );
 
-        // Maximum duration of a reservation: 2 hours (120 minutes)
-        private static final int MAX_RESERVATION_DURATION_MINUTES = 120;
+        // Number of alternatives suggested when a slot is full
+        private static final int MAX_ALTERNATIVES = 5;
+
+        // Maximum occurrences of one reservation series (a semester of weekly bookings)
+        private static final int MAX_SERIES_OCCURRENCES = 26;
+
 
     private final ReservationRepository reservationRepository;
     private final StudySpaceRepository studySpaceRepository;
     private final UserRepository userRepository;
     private final HolidayApiPort holidayApiPort;
     private final NotificationService notificationService;
+    private final OccupancyLedger occupancyLedger;
+    private final AdmissionLock admissionLock;
+    private final AlternativeSlotFinder alternativeSlotFinder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClosureIndex closureIndex;
+    private final SpaceClosureRepository spaceClosureRepository;
+    private final SpaceClosureService spaceClosureService;
 
     /**
      * Constructor for dependency injection.
@@ -52,12 +85,26 @@ public class ReservationServiceImpl implements ReservationService {
                                   StudySpaceRepository studySpaceRepository,
                                   HolidayApiPort holidayApiPort,
                                   NotificationService notificationService,
-                                  UserRepository userRepository) {
+                                  UserRepository userRepository,
+                                  OccupancyLedger occupancyLedger,
+                                  AdmissionLock admissionLock,
+                                  AlternativeSlotFinder alternativeSlotFinder,
+                                  ApplicationEventPublisher eventPublisher,
+                                  ClosureIndex closureIndex,
+                                  SpaceClosureRepository spaceClosureRepository,
+                                  SpaceClosureService spaceClosureService) {
         this.reservationRepository = reservationRepository;
         this.studySpaceRepository = studySpaceRepository;
         this.userRepository = userRepository;
         this.holidayApiPort = holidayApiPort;
         this.notificationService = notificationService;
+        this.occupancyLedger = occupancyLedger;
+        this.admissionLock = admissionLock;
+        this.alternativeSlotFinder = alternativeSlotFinder;
+        this.eventPublisher = eventPublisher;
+        this.closureIndex = closureIndex;
+        this.spaceClosureRepository = spaceClosureRepository;
+        this.spaceClosureService = spaceClosureService;
     }
 
 
@@ -92,6 +139,11 @@ public class ReservationServiceImpl implements ReservationService {
 
     /**
      * Creates a new reservation for a user, enforcing all business rules.
+     * Rules that need no database run first, including staff closures from the in-memory
+     * closure index; the daily limit and overlap checks (and closures, when the index cannot
+     * be trusted) are then answered by one aggregated admission query. That query, the capacity
+     * check and the insert run under the admission lock for (space, date), so concurrent
+     * requests for the last seat cannot both succeed.
      * Notifies the user upon successful creation.
      */
     public Reservation createReservation(User user, Long studySpaceId,
@@ -99,21 +151,97 @@ public class ReservationServiceImpl implements ReservationService {
         StudySpace space = loadStudySpace(studySpaceId); // Load the study space entity
         checkUserNotPenalized(user); // Block if user is penalized
         checkNotInPast(date, startTime); // Block if reservation is in the past
-        checkHoliday(date); // Block if date is a public holiday
-        checkSpaceClosedByStaff(space, date); // Block if staff closed the space for that date
-        checkMaxReservationsPerDay(user, date, ACTIVE_RESERVATION_STATUSES); // Enforce max per day
+        checkHoliday(date); // Block if date is a public holiday (in-memory calendar)
         checkTimeOrder(startTime, endTime); // Validate time order
         checkOpeningHours(space, startTime, endTime); // Enforce opening hours
         checkDurationWithinLimit(startTime, endTime); // Enforce max duration
-        checkCapacityForTimeRange(space, date, startTime, endTime); // Enforce capacity
-
-        Reservation reservation = persistReservation(user, space, date, startTime, endTime);
+        checkNotClosedInIndex(space, date, startTime, endTime); // Fail fast on known closures
+
+        // Serialise admission query, capacity check and insert for this space and date only
+        Reservation reservation = admissionLock.execute(space.getId(), date, () -> {
+            AdmissionVerdict verdict = reservationRepository.findAdmissionVerdict(
+                    space.getId(), user.getId(), date, startTime, endTime, ACTIVE_RESERVATION_STATUSES);
+            checkSpaceClosedByStaff(verdict); // Block if staff closed the space for that time
+            checkMaxReservationsPerDay(verdict); // Enforce max per day
+            checkCapacityForTimeRange(space, date, startTime, endTime, verdict); // Enforce capacity
+            Reservation persisted = persistReservation(user, space, date, startTime, endTime);
+            occupancyLedger.recordOccupied(persisted); // Occupy seats in the in-memory ledger
+            return persisted;
+        });
+        publishChanged(reservation); // Invalidate derived availability after commit
         notificationService.notifyReservationCreated(reservation); // Notify user
         return reservation;
     }
 
     @Override
 
+    /**
+     * Creates a weekly reservation series.
+     * Rules that apply to the whole series (penalty, time order, opening hours, duration) reject
+     * the request; per-occurrence rules are evaluated from bulk-loaded data: the in-memory
+     * holiday and closure calendars, and one query returning the space's and the user's
+     * reservations on all series dates (daily counts, overlaps). All dates are locked in a
+     * fixed order, and the accepted occurrences are inserted with one JDBC batch.
+     */
+    public ReservationSeriesResult createReservationSeries(User user, Long studySpaceId,
+                                                           LocalDate firstDate, LocalDate lastDate, int intervalWeeks,
+                                                           LocalTime startTime, LocalTime endTime) {
+        StudySpace space = loadStudySpace(studySpaceId);
+        checkUserNotPenalized(user);
+        checkTimeOrder(startTime, endTime);
+        checkOpeningHours(space, startTime, endTime);
+        checkDurationWithinLimit(startTime, endTime);
+        List<LocalDate> dates = seriesDates(firstDate, lastDate, intervalWeeks);
+
+        List<Reservation> created = new ArrayList<>();
+        ReservationSeriesResult result = admissionLock.executeAll(space.getId(), dates, () -> {
+            List<AdmissionRow> rows = reservationRepository.findAdmissionRows(
+                    space.getId(), user.getId(), dates, ACTIVE_RESERVATION_STATUSES);
+            Map<LocalDate, AdmissionVerdict> verdicts = seriesVerdicts(space, user, startTime, endTime, rows);
+            Set<LocalDate> closed = closedSeriesDates(space, dates, startTime, endTime);
+
+            // Evaluate every occurrence; keep the rejection reason of the others
+            Map<LocalDate, String> rejections = new HashMap<>();
+            for (LocalDate date : dates) {
+                try {
+                    checkNotInPast(date, startTime);
+                    checkHoliday(date);
+                    AdmissionVerdict verdict = verdicts.getOrDefault(date, new AdmissionVerdict(0L, 0L, 0L));
+                    if (closed.contains(date)) {
+                        throw new IllegalStateException(CLOSED_MESSAGE);
+                    }
+                    checkMaxReservationsPerDay(verdict);
+                    if (overlappingCount(space, date, startTime, endTime, verdict) >= space.getCapacity()) {
+                        throw new IllegalStateException("No seats available for that time slot.");
+                    }
+                    created.add(newConfirmedReservation(user, space, date, startTime, endTime));
+                } catch (IllegalStateException ex) {
+                    rejections.put(date, ex.getMessage());
+                }
+            }
+
+            // Sequence ids let Hibernate send these as JDBC batches
+            reservationRepository.saveAll(created);
+            created.forEach(occupancyLedger::recordOccupied);
+
+            Map<LocalDate, Long> ids = new HashMap<>();
+            created.forEach(r -> ids.put(r.getDate(), r.getId()));
+            List<ReservationSeriesResult.Occurrence> occurrences = new ArrayList<>();
+            for (LocalDate date : dates) {
+                occurrences.add(rejections.containsKey(date)
+                        ? ReservationSeriesResult.Occurrence.rejected(date, rejections.get(date))
+                        : ReservationSeriesResult.Occurrence.created(date, ids.get(date)));
+            }
+            return new ReservationSeriesResult(occurrences);
+        });
+
+        created.forEach(this::publishChanged);
+        created.forEach(notificationService::notifyReservationCreated);
+        return result;
+    }
+
+    @Override
+
     /**
      * Cancels a reservation by the user who owns it. Only the owner can cancel their reservation.
      * Notifies the user upon cancellation.
@@ -127,8 +255,10 @@ public class ReservationServiceImpl implements ReservationService {
             throw new SecurityException("You cannot cancel another user's reservation.");
         }
 
+        releaseSeatsIfActive(reservation);
         reservation.setStatus(ReservationStatus.CANCELLED);
         reservationRepository.save(reservation);
+        publishChanged(reservation);
         notificationService.notifyReservationCancelled(reservation, false);
     }
 
@@ -141,44 +271,23 @@ public class ReservationServiceImpl implements ReservationService {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new IllegalArgumentException("Reservation not found: " + reservationId));
 
+        releaseSeatsIfActive(reservation);
         reservation.setStatus(ReservationStatus.CANCELLED_BY_STAFF);
         reservationRepository.save(reservation);
+        publishChanged(reservation);
         notificationService.notifyReservationCancelled(reservation, true);
     }
 
     @Override
 
     /**
-     * Cancels all reservations for a given study space and date as staff.
-     * Notifies affected users. Returns the number of cancelled reservations.
+     * Closes a study space for a whole day as staff: records a closure and cancels the day's
+     * reservations in bulk (see {@link SpaceClosureService#closeSpaces}).
+     * Returns the ids of the cancelled reservations.
      */
-    @Transactional
-    public int cancelByStaffForSpaceAndDate(Long spaceId, LocalDate date) {
-        StudySpace space = studySpaceRepository.findById(spaceId)
-                .orElseThrow(() -> new IllegalArgumentException("Space not found"));
-
-        List<Reservation> reservations =
-                reservationRepository.findByStudySpaceAndDate(space, date);
-
-        int cancelled = 0;
-        List<Reservation> toNotify = new ArrayList<>();
-        for (Reservation r : reservations) {
-            // Only cancel reservations that are not already cancelled
-            if (r.getStatus() != ReservationStatus.CANCELLED
-                    && r.getStatus() != ReservationStatus.CANCELLED_BY_STAFF) {
-
-                r.setStatus(ReservationStatus.CANCELLED_BY_STAFF);
-                cancelled++;
-                toNotify.add(r);
-            }
-        }
-
-        if (cancelled > 0) {
-            reservationRepository.saveAll(reservations);
-            toNotify.forEach(res -> notificationService.notifyReservationCancelled(res, true));
-        }
-
-        return cancelled;
+    public List<Long> cancelByStaffForSpaceAndDate(Long spaceId, LocalDate date) {
+        return spaceClosureService.closeSpaces(List.of(spaceId), date, date, null, null, "Closed by staff")
+                .getCancelledReservationIds();
     }
 
 
@@ -211,7 +320,7 @@ public class ReservationServiceImpl implements ReservationService {
 
 
     /**
-     * Throws if the date is a public holiday (uses external API).
+     * Throws if the date is a public holiday (per-year calendar cached by the holiday port).
      */
     private void checkHoliday(LocalDate date) {
         if (holidayApiPort.isHoliday(date)) {
@@ -230,24 +339,66 @@ public class ReservationServiceImpl implements ReservationService {
 
 
     /**
-     * Throws if the study space is closed by staff for the given date.
+     * Throws if the closure index knows of a staff closure intersecting the requested time.
+     * Needs no database; a closure the index has not seen yet is caught by the admission query.
      */
-    private void checkSpaceClosedByStaff(StudySpace space, LocalDate date) {
-        if (reservationRepository.existsByStudySpaceAndDateAndStatus(space, date, ReservationStatus.CANCELLED_BY_STAFF)) {
-            throw new IllegalStateException(
-                    "This study space has been closed by staff for the selected date. " +
-                            "Please choose another date or space."
-            );
+    private void checkNotClosedInIndex(StudySpace space, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        if (closureIndex.isClosed(space.getId(), date, startTime, endTime)) {
+            throw new IllegalStateException(CLOSED_MESSAGE);
         }
     }
 
 
+    /**
+     * Throws if the study space is closed by staff for the given date and time: decided by the
+     * closure index when it is authoritative, otherwise by the admission query.
+     */
+    private void checkSpaceClosedByStaff(AdmissionVerdict verdict) {
+        if (!isClosureIndexAuthoritative() && verdict.isClosedByStaff()) {
+            throw new IllegalStateException(CLOSED_MESSAGE);
+        }
+    }
+
+
+    /**
+     * Returns the series dates on which a staff closure intersects the requested time, from
+     * the closure index when it is authoritative, otherwise with one closure query.
+     */
+    private Set<LocalDate> closedSeriesDates(StudySpace space, List<LocalDate> dates,
+                                             LocalTime startTime, LocalTime endTime) {
+        Set<LocalDate> closed = new HashSet<>();
+        if (isClosureIndexAuthoritative()) {
+            for (LocalDate date : dates) {
+                if (closureIndex.isClosed(space.getId(), date, startTime, endTime)) {
+                    closed.add(date);
+                }
+            }
+            return closed;
+        }
+        List<ClosureInterval> closures = spaceClosureRepository.findOverlapping(
+                space.getId(), dates.get(0), dates.get(dates.size() - 1), startTime, endTime);
+        for (LocalDate date : dates) {
+            if (closures.stream().anyMatch(c -> c.covers(date))) {
+                closed.add(date);
+            }
+        }
+        return closed;
+    }
+
+
+    /**
+     * The node-local closure index decides closures once loaded, unless admission is cluster-wide.
+     */
+    private boolean isClosureIndexAuthoritative() {
+        return closureIndex.isReady() && !admissionLock.isClusterWide();
+    }
+
+
     /**
      * Throws if the user has reached the max number of active reservations for the day.
      */
-    private void checkMaxReservationsPerDay(User user, LocalDate date, List<ReservationStatus> activeStatuses) {
-        long activeCountForDay = reservationRepository.countByUserAndDateAndStatusIn(user, date, activeStatuses);
-        if (activeCountForDay >= MAX_RESERVATIONS_PER_DAY) {
+    private void checkMaxReservationsPerDay(AdmissionVerdict verdict) {
+        if (verdict.getUserActiveReservations() >= MAX_RESERVATIONS_PER_DAY) {
             throw new IllegalStateException(
                     "You have reached the maximum number of active reservations (" +
                             MAX_RESERVATIONS_PER_DAY + ") for this day."
@@ -274,7 +425,7 @@ public class ReservationServiceImpl implements ReservationService {
      */
     private void checkDurationWithinLimit(LocalTime startTime, LocalTime endTime) {
         long minutes = Duration.between(startTime, endTime).toMinutes();
-        if (minutes > MAX_RESERVATION_DURATION_MINUTES) {
+        if (minutes > ReservationPolicy.MAX_RESERVATION_DURATION_MINUTES) {
             throw new IllegalStateException("Maximum duration per reservation is 2 hours.");
         }
     }
@@ -282,24 +433,47 @@ public class ReservationServiceImpl implements ReservationService {
 
     /**
      * Throws if the number of overlapping active reservations meets or exceeds the space's capacity.
+     * The exception carries nearby free alternatives from the same occupancy source, looked up
+     * only when they are read, after the admission lock has been released.
+     * Uses the in-memory occupancy ledger once it is loaded; falls back to the overlap count of the
+     * admission query before that or when admission is coordinated across nodes (the node-local
+     * ledger may then be stale).
      */
-    private void checkCapacityForTimeRange(StudySpace space, LocalDate date, LocalTime startTime, LocalTime endTime) {
-        long overlapping = reservationRepository.countOverlappingReservations(
-                space,
-                date,
-                startTime,
-                endTime,
-                ACTIVE_RESERVATION_STATUSES
-        );
+    private void checkCapacityForTimeRange(StudySpace space, LocalDate date, LocalTime startTime, LocalTime endTime,
+                                           AdmissionVerdict verdict) {
+        boolean ledgerAuthoritative = isLedgerAuthoritative();
+        long overlapping = overlappingCount(space, date, startTime, endTime, verdict);
 
         if (overlapping >= space.getCapacity()) {
-            throw new IllegalStateException(
-                    "No seats available for that time slot (" + startTime + " to " + endTime + " on " + date + ")."
+            throw new CapacityExceededException(
+                    "No seats available for that time slot (" + startTime + " to " + endTime + " on " + date + ").",
+                    () -> alternativeSlotFinder.suggest(
+                            space, date, startTime, endTime, MAX_ALTERNATIVES, ledgerAuthoritative)
             );
         }
     }
 
 
+    /**
+     * Returns the active reservations competing with [startTime, endTime): the ledger's peak
+     * occupancy when the ledger is authoritative, otherwise the admission query's overlap count.
+     */
+    private long overlappingCount(StudySpace space, LocalDate date, LocalTime startTime, LocalTime endTime,
+                                  AdmissionVerdict verdict) {
+        return isLedgerAuthoritative()
+                ? occupancyLedger.peakOccupancy(space.getId(), date, startTime, endTime)
+                : verdict.getOverlappingReservations();
+    }
+
+
+    /**
+     * The node-local ledger decides capacity once loaded, unless admission is cluster-wide.
+     */
+    private boolean isLedgerAuthoritative() {
+        return occupancyLedger.isReady() && !admissionLock.isClusterWide();
+    }
+
+
     /**
      * Throws if the user is currently penalized (blocked from making reservations).
      */
@@ -319,17 +493,84 @@ public class ReservationServiceImpl implements ReservationService {
      */
     private Reservation persistReservation(User user, StudySpace space, LocalDate date,
                                            LocalTime startTime, LocalTime endTime) {
+        // All business rules executed above; persist confirmed reservation.
+        return reservationRepository.save(newConfirmedReservation(user, space, date, startTime, endTime));
+    }
+
+
+    /**
+     * Builds an unsaved confirmed reservation.
+     */
+    private static Reservation newConfirmedReservation(User user, StudySpace space, LocalDate date,
+                                                       LocalTime startTime, LocalTime endTime) {
         Reservation reservation = new Reservation();
         reservation.setUser(user);
         reservation.setStudySpace(space);
         reservation.setDate(date);
         reservation.setStartTime(startTime);
         reservation.setEndTime(endTime);
-        // All business rules executed above; persist confirmed reservation.
         reservation.setStatus(ReservationStatus.CONFIRMED);
         reservation.setDemo(false);
+        return reservation;
+    }
+
+
+    /**
+     * Expands a weekly series rule into its dates.
+     * Throws if the range is inverted or yields more than the allowed number of occurrences.
+     */
+    private static List<LocalDate> seriesDates(LocalDate firstDate, LocalDate lastDate, int intervalWeeks) {
+        if (firstDate == null || lastDate == null) {
+            throw new IllegalArgumentException("First and last date are required.");
+        }
+        if (lastDate.isBefore(firstDate)) {
+            throw new IllegalArgumentException("Last date must not be before the first date.");
+        }
+        if (intervalWeeks < 1) {
+            throw new IllegalArgumentException("Interval must be at least 1 week.");
+        }
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = firstDate; !date.isAfter(lastDate); date = date.plusWeeks(intervalWeeks)) {
+            if (dates.size() == MAX_SERIES_OCCURRENCES) {
+                throw new IllegalArgumentException(
+                        "A series cannot have more than " + MAX_SERIES_OCCURRENCES + " occurrences.");
+            }
+            dates.add(date);
+        }
+        return dates;
+    }
+
+
+    /**
+     * Reduces the bulk-loaded rows to one admission verdict per series date, matching what
+     * {@link ReservationRepository#findAdmissionVerdict} returns for a single booking
+     * (closures are checked separately, see {@link #closedSeriesDates}).
+     */
+    private static Map<LocalDate, AdmissionVerdict> seriesVerdicts(StudySpace space, User user,
+                                                                   LocalTime startTime, LocalTime endTime,
+                                                                   List<AdmissionRow> rows) {
+        Map<LocalDate, Long> userActive = new HashMap<>();
+        Map<LocalDate, Long> overlapping = new HashMap<>();
+        for (AdmissionRow row : rows) {
+            boolean sameSpace = space.getId().equals(row.getSpaceId());
+            if (user.getId().equals(row.getUserId())) {
+                userActive.merge(row.getDate(), 1L, Long::sum);
+            }
+            if (sameSpace && row.getStartTime().isBefore(endTime) && row.getEndTime().isAfter(startTime)) {
+                overlapping.merge(row.getDate(), 1L, Long::sum);
+            }
+        }
 
-        return reservationRepository.save(reservation);
+        Map<LocalDate, AdmissionVerdict> verdicts = new HashMap<>();
+        Set<LocalDate> dates = new HashSet<>(userActive.keySet());
+        dates.addAll(overlapping.keySet());
+        for (LocalDate date : dates) {
+            verdicts.put(date, new AdmissionVerdict(
+                    0L,
+                    userActive.getOrDefault(date, 0L),
+                    overlapping.getOrDefault(date, 0L)));
+        }
+        return verdicts;
     }
 
     @Override
@@ -355,11 +596,32 @@ public class ReservationServiceImpl implements ReservationService {
         // Impose a 3-day penalty
         user.setPenaltyUntil(LocalDate.now().plusDays(3));
 
-        // Change reservation status
+        // Change reservation status and free the seats it was holding
+        releaseSeatsIfActive(reservation);
         reservation.setStatus(ReservationStatus.NO_SHOW);
 
         reservationRepository.save(reservation);
         userRepository.save(user);
+        publishChanged(reservation);
+    }
+
+    /**
+     * Releases the reservation's seats in the occupancy ledger if it currently holds any.
+     * Must be called before the status is changed.
+     */
+    private void releaseSeatsIfActive(Reservation reservation) {
+        if (ACTIVE_RESERVATION_STATUSES.contains(reservation.getStatus())) {
+            occupancyLedger.recordReleased(reservation);
+        }
+    }
+
+
+    /**
+     * Announces that the reservations of this reservation's space and date changed.
+     */
+    private void publishChanged(Reservation reservation) {
+        eventPublisher.publishEvent(
+                new ReservationChangedEvent(reservation.getStudySpace().getId(), reservation.getDate()));
     }
 
     /**
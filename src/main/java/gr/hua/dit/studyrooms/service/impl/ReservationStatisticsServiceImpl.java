@@ -1,37 +1,57 @@
 package gr.hua.dit.studyrooms.service.impl;
 
+import gr.hua.dit.studyrooms.dto.CampusOccupancyReport;
+import gr.hua.dit.studyrooms.dto.ConcurrencyStatsEntry;
+import gr.hua.dit.studyrooms.dto.OccupancyHeatMap;
 import gr.hua.dit.studyrooms.dto.OccupancyStatsEntry;
-import gr.hua.dit.studyrooms.entity.Reservation;
-import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.dto.SpaceOccupancySummary;
 import gr.hua.dit.studyrooms.entity.StudySpace;
-import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import gr.hua.dit.studyrooms.rollup.DailyOccupancy;
+import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
+import gr.hua.dit.studyrooms.rollup.OccupancyRollup;
 import gr.hua.dit.studyrooms.service.ReservationStatisticsService;
+import gr.hua.dit.studyrooms.stats.ConcurrencyProfiler;
+import gr.hua.dit.studyrooms.stats.DayConcurrency;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
 public class ReservationStatisticsServiceImpl implements ReservationStatisticsService {
 
-    // Only consider reservations with these statuses as "active" for statistics
-    private static final EnumSet<ReservationStatus> ACTIVE_STATUSES = EnumSet.of(
-            ReservationStatus.CONFIRMED
-    );
+    // Per-day totals of confirmed reservations, archived months included
+    private final OccupancyRollup occupancyRollup;
+    // Per-day profiles of overlapping reservations, archived months included
+    private final ConcurrencyProfiler concurrencyProfiler;
+    // Catalog of spaces for the campus report
+    private final StudySpaceRepository studySpaceRepository;
 
-    // Repository for accessing reservation data
-    private final ReservationRepository reservationRepository;
+    // Catalog size from which the campus report sums spaces in parallel
+    private final int parallelThreshold;
 
-    // Constructor injection of the reservation repository
-    public ReservationStatisticsServiceImpl(ReservationRepository reservationRepository) {
-        this.reservationRepository = reservationRepository;
+    // Longest range of the concurrency statistics (they read individual reservations) and the campus report
+    private static final long MAX_RANGE_DAYS = 366;
+
+    // Constructor injection of the daily occupancy rollup, the concurrency profiler and the space catalog
+    public ReservationStatisticsServiceImpl(OccupancyRollup occupancyRollup,
+                                            ConcurrencyProfiler concurrencyProfiler,
+                                            StudySpaceRepository studySpaceRepository,
+                                            @Value("${studyrooms.stats.parallel-threshold:64}") int parallelThreshold) {
+        this.occupancyRollup = occupancyRollup;
+        this.concurrencyProfiler = concurrencyProfiler;
+        this.studySpaceRepository = studySpaceRepository;
+        this.parallelThreshold = parallelThreshold;
     }
 
     /**
@@ -46,37 +66,132 @@ public class ReservationStatisticsServiceImpl implements ReservationStatisticsSe
             throw new IllegalArgumentException("End date cannot be before start date.");
         }
 
-        // Fetch all reservations for the space in the date range
-        List<Reservation> reservations = reservationRepository.findByStudySpaceAndDateBetween(space, startDate, endDate);
-
-        // Group reservations by date, filtering only those with active statuses
-        Map<LocalDate, List<Reservation>> reservationsByDate = reservations.stream()
-                .filter(r -> ACTIVE_STATUSES.contains(r.getStatus()))
-                .collect(Collectors.groupingBy(Reservation::getDate));
+        // One pre-aggregated row per day with confirmed reservations (days without one had none)
+        Map<LocalDate, DailyOccupancy> occupancyByDate = occupancyRollup
+                .findDays(space.getId(), startDate, endDate).stream()
+                .collect(Collectors.toMap(DailyOccupancy::getDate, Function.identity()));
 
-        long totalMinutes = space.isFullDay()
-                ? Duration.ofHours(24).toMinutes()
-                : Math.max(0, Duration.between(space.getOpenTime(), space.getCloseTime()).toMinutes());
+        long totalMinutes = openMinutes(space);
         long totalSeatMinutes = totalMinutes * Math.max(1, space.getCapacity());
 
         List<OccupancyStatsEntry> results = new ArrayList<>();
         LocalDate cursor = startDate;
         // Iterate through each day in the range
         while (!cursor.isAfter(endDate)) {
-            // Get reservations for the current day (or empty list)
-            List<Reservation> dayReservations = reservationsByDate.getOrDefault(cursor, List.of());
-            // Sum the occupied minutes for all reservations on this day
-            long occupiedMinutes = dayReservations.stream()
-                    .mapToLong(r -> Math.max(0, Duration.between(r.getStartTime(), r.getEndTime()).toMinutes()))
-                    .sum();
+            // Totals of the current day (none if the day has no row)
+            DailyOccupancy day = occupancyByDate.get(cursor);
+            long reservationsCount = day != null ? day.getReservations() : 0;
+            long occupiedMinutes = day != null ? day.getOccupiedMinutes() : 0;
 
             // Cap the occupied minutes at the total available seat-minutes
             long cappedOccupiedMinutes = Math.min(occupiedMinutes, totalSeatMinutes);
             // Add the statistics entry for this day
-            results.add(new OccupancyStatsEntry(cursor, dayReservations.size(), cappedOccupiedMinutes, totalSeatMinutes));
+            results.add(new OccupancyStatsEntry(cursor, reservationsCount, cappedOccupiedMinutes, totalSeatMinutes));
             cursor = cursor.plusDays(1);
         }
 
         return results;
     }
+
+    /**
+     * Builds the campus-wide occupancy report. The rollup rows of every space are read in one
+     * pass over the date range and grouped by space; each space is then summed independently
+     * (capping every day as in {@link #getDailyOccupancy}), on the fork-join pool when the
+     * catalog has at least {@code studyrooms.stats.parallel-threshold} spaces.
+     */
+    @Override
+    public CampusOccupancyReport getCampusOccupancy(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+
+        List<StudySpace> spaces = studySpaceRepository.findAllByOrderByNameAsc();
+        Map<Long, List<DailyOccupancy>> daysBySpace = occupancyRollup.findDaysBySpace(startDate, endDate);
+        long days = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+
+        Function<StudySpace, SpaceOccupancySummary> toSummary = space -> {
+            long daySeatMinutes = openMinutes(space) * Math.max(1, space.getCapacity());
+            long reservations = 0;
+            long occupied = 0;
+            for (DailyOccupancy day : daysBySpace.getOrDefault(space.getId(), List.of())) {
+                reservations += day.getReservations();
+                occupied += Math.min(day.getOccupiedMinutes(), daySeatMinutes);
+            }
+            return new SpaceOccupancySummary(space.getId(), space.getName(), space.getCapacity(),
+                    reservations, occupied, daySeatMinutes * days);
+        };
+
+        // Spaces are independent; parallelise only when it pays off
+        Stream<StudySpace> stream = spaces.size() >= parallelThreshold ? spaces.parallelStream() : spaces.stream();
+        return new CampusOccupancyReport(startDate, endDate, stream.map(toSummary).toList());
+    }
+
+    /**
+     * Calculates, for each day of the range, the peak and the 95th percentile of the number of
+     * overlapping confirmed reservations. Minutes the space is open without a reservation count
+     * as zero towards the percentile.
+     */
+    @Override
+    public List<ConcurrencyStatsEntry> getDailyConcurrency(StudySpace space, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+
+        Map<LocalDate, DayConcurrency> profiles = concurrencyProfiler.profile(space.getId(), startDate, endDate);
+        long openMinutes = openMinutes(space);
+
+        List<ConcurrencyStatsEntry> results = new ArrayList<>();
+        for (LocalDate cursor = startDate; !cursor.isAfter(endDate); cursor = cursor.plusDays(1)) {
+            DayConcurrency day = profiles.get(cursor);
+            int peak = day != null ? day.getPeak() : 0;
+            int p95 = day != null ? day.getPercentile(0.95, openMinutes) : 0;
+            results.add(new ConcurrencyStatsEntry(cursor, peak, p95, space.getCapacity()));
+        }
+        return results;
+    }
+
+    /**
+     * Builds the weekday x hour heat map of a study space. The average of a cell is the mean
+     * concurrency of that hour over every such weekday in the range (days without reservations
+     * included); the peak is the highest concurrency reached in it.
+     */
+    @Override
+    public OccupancyHeatMap getHourlyHeatMap(StudySpace space, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+
+        Map<LocalDate, DayConcurrency> profiles = concurrencyProfiler.profile(space.getId(), startDate, endDate);
+
+        double[][] average = new double[7][24];
+        int[][] peak = new int[7][24];
+        int[] weekdays = new int[7];
+        for (LocalDate cursor = startDate; !cursor.isAfter(endDate); cursor = cursor.plusDays(1)) {
+            weekdays[cursor.getDayOfWeek().getValue() - 1]++;
+        }
+        for (DayConcurrency day : profiles.values()) {
+            int weekday = day.getDate().getDayOfWeek().getValue() - 1;
+            for (int hour = 0; hour < 24; hour++) {
+                average[weekday][hour] += day.getHourSeatMinutes(hour) / 60.0;
+                peak[weekday][hour] = Math.max(peak[weekday][hour], day.getHourPeak(hour));
+            }
+        }
+        for (int weekday = 0; weekday < 7; weekday++) {
+            for (int hour = 0; hour < 24 && weekdays[weekday] > 0; hour++) {
+                average[weekday][hour] /= weekdays[weekday];
+            }
+        }
+        return new OccupancyHeatMap(space.getId(), startDate, endDate, space.getCapacity(), average, peak);
+    }
+
+    // Minutes a space is open on a day
+    private static long openMinutes(StudySpace space) {
+        return space.isFullDay()
+                ? Duration.ofHours(24).toMinutes()
+                : Math.max(0, Duration.between(space.getOpenTime(), space.getCloseTime()).toMinutes());
+    }
+
+    // Concurrency statistics scan individual reservations and the report every space, so their range is bounded
+    private static void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date cannot be before start date.");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_RANGE_DAYS + " days.");
+        }
+    }
 }
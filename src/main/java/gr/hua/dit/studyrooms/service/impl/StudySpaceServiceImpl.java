@@ -1,11 +1,19 @@
 package gr.hua.dit.studyrooms.service.impl;
 
+import gr.hua.dit.studyrooms.closure.SpaceClosureService;
 import gr.hua.dit.studyrooms.entity.StudySpace;
+import gr.hua.dit.studyrooms.event.StudySpaceChangedEvent;
+import gr.hua.dit.studyrooms.purge.ReservationPurger;
 import gr.hua.dit.studyrooms.repository.ReservationRepository;
 import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
+import gr.hua.dit.studyrooms.rollup.OccupancyRollup;
 import gr.hua.dit.studyrooms.service.StudySpaceService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.time.LocalTime;
@@ -20,13 +28,33 @@ public class StudySpaceServiceImpl implements StudySpaceService {
     // Repository for StudySpace entity database operations
     private final StudySpaceRepository studySpaceRepository;
     private final ReservationRepository reservationRepository;
+    // Removes the space's closures (and their index entries) before the space itself
+    private final SpaceClosureService spaceClosureService;
+    // Deletes a deleted space's reservation history in bounded chunks
+    private final ReservationPurger reservationPurger;
+    // Drops the space's daily occupancy rows
+    private final OccupancyRollup occupancyRollup;
+    // Runs the final step of a space deletion in one short transaction
+    private final TransactionTemplate transactionTemplate;
+    // Publishes space changes so derived data (availability cache) can be invalidated
+    private final ApplicationEventPublisher eventPublisher;
 
 
     // Constructor injection of the repository
     public StudySpaceServiceImpl(StudySpaceRepository studySpaceRepository,
-                                 ReservationRepository reservationRepository) {
+                                 ReservationRepository reservationRepository,
+                                 SpaceClosureService spaceClosureService,
+                                 ReservationPurger reservationPurger,
+                                 OccupancyRollup occupancyRollup,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventPublisher) {
         this.studySpaceRepository = studySpaceRepository;
         this.reservationRepository = reservationRepository;
+        this.spaceClosureService = spaceClosureService;
+        this.reservationPurger = reservationPurger;
+        this.occupancyRollup = occupancyRollup;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
     }
 
 
@@ -73,16 +101,29 @@ public class StudySpaceServiceImpl implements StudySpaceService {
         existing.setOpenTime(updated.getOpenTime());
         existing.setCloseTime(updated.getCloseTime());
         existing.setFullDay(updated.isFullDay());
-        return studySpaceRepository.save(existing);
+        StudySpace saved = studySpaceRepository.save(existing);
+        eventPublisher.publishEvent(new StudySpaceChangedEvent(id));
+        return saved;
     }
 
     /**
      * Delete a study space by its ID.
+     * Its reservation history is purged first in chunks, each committed on its own, so a
+     * space with years of bookings never holds one huge transaction. The space itself,
+     * its closures and any booking made while the purge ran are removed in a final
+     * short transaction.
      */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteSpace(Long id) {
-        reservationRepository.deleteByStudySpaceId(id);
-        studySpaceRepository.deleteById(id);
+        reservationPurger.purgeSpace(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            reservationRepository.deleteByStudySpaceId(id);
+            spaceClosureService.deleteForSpace(id);
+            occupancyRollup.deleteForSpace(id);
+            studySpaceRepository.deleteById(id);
+            eventPublisher.publishEvent(new StudySpaceChangedEvent(id));
+        });
     }
 
     private void validateOperatingHours(StudySpace space) {
@@ -0,0 +1,181 @@
+package gr.hua.dit.studyrooms.stats;
+
+import gr.hua.dit.studyrooms.analytics.HistoricalReservationStore;
+import gr.hua.dit.studyrooms.availability.ReservationInterval;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.repository.ArchivedReservationRepository;
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds per-day concurrency profiles ({@link DayConcurrency}) of a study space.
+ *
+ * Reservations become +1/-1 events at their start and end minute. By default the interval
+ * projections are loaded and swept in memory with a difference array per day. With
+ * {@code studyrooms.stats.concurrency-push-down} the sweep runs in the database instead: a
+ * running SUM over the events (ordered by minute, ends before starts) gives the level after
+ * each event, LEAD gives how long it lasts, and a zero event at every full hour splits the
+ * runs by hour, so only (day, hour, level, minutes) groups are returned. The statement is
+ * tested against the in-memory sweep on H2 only, so it stays opt-in until it has been
+ * checked on PostgreSQL. Archived months are included in both: days up to the cursor of
+ * the {@link HistoricalReservationStore} are read from its columns and swept in memory,
+ * later archived days from the archive table.
+ */
+@Component
+public class ConcurrencyProfiler {
+
+    // Reservations that occupy a seat, as in the other occupancy statistics
+    private static final List<ReservationStatus> COUNTED = List.of(ReservationStatus.CONFIRMED);
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final String MINUTE_OF = "CAST(EXTRACT(HOUR FROM %1$s) * 60 + EXTRACT(MINUTE FROM %1$s) AS INTEGER)";
+
+    private static final String PROFILE_SQL = """
+            WITH r AS (
+                SELECT date, %1$s AS s, %2$s AS e FROM reservations
+                WHERE study_space_id = ? AND date BETWEEN ? AND ? AND status = ?
+                UNION ALL
+                SELECT date, %1$s, %2$s FROM reservations_archive
+                WHERE study_space_id = ? AND date BETWEEN ? AND ? AND status = ?
+            ),
+            ev AS (
+                SELECT date, s AS m, 1 AS delta FROM r
+                UNION ALL
+                SELECT date, e, -1 FROM r
+                UNION ALL
+                SELECT d.date, g.h * 60, 0 FROM (SELECT DISTINCT date FROM r) d CROSS JOIN generate_series(0, 23) AS g (h)
+            ),
+            lv AS (
+                SELECT date, m,
+                       SUM(delta) OVER (PARTITION BY date ORDER BY m, delta ROWS UNBOUNDED PRECEDING) AS level,
+                       LEAD(m) OVER (PARTITION BY date ORDER BY m, delta) - m AS minutes
+                FROM ev
+            )
+            SELECT date, m / 60 AS hour_of_day, level, SUM(minutes) AS minutes
+            FROM lv
+            WHERE minutes > 0
+            GROUP BY date, m / 60, level
+            """.formatted(MINUTE_OF.formatted("start_time"), MINUTE_OF.formatted("end_time"));
+
+    private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archivedReservationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    // Columnar copy of the archive up to its cursor
+    private final HistoricalReservationStore historicalStore;
+
+    // The sweep is pushed down to SQL window functions
+    private final boolean pushDown;
+
+    public ConcurrencyProfiler(ReservationRepository reservationRepository,
+                               ArchivedReservationRepository archivedReservationRepository,
+                               JdbcTemplate jdbcTemplate,
+                               HistoricalReservationStore historicalStore,
+                               @Value("${studyrooms.stats.concurrency-push-down:false}") boolean pushDown) {
+        this.reservationRepository = reservationRepository;
+        this.archivedReservationRepository = archivedReservationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.historicalStore = historicalStore;
+        this.pushDown = pushDown;
+    }
+
+    /**
+     * Returns the concurrency profile of every day in the range that has reservations.
+     *
+     * @param spaceId the study space identifier
+     * @param from first day (inclusive)
+     * @param to last day (inclusive)
+     * @return profiles by day; days without reservations are absent
+     */
+    public Map<LocalDate, DayConcurrency> profile(Long spaceId, LocalDate from, LocalDate to) {
+        // Archived days up to the store's cursor come from its columns, later ones from the table
+        LocalDate cursor = historicalStore.isReady() ? historicalStore.getCursor() : null;
+        List<ReservationInterval> stored = cursor != null
+                ? historicalStore.findIntervals(spaceId, from, cursor.isBefore(to) ? cursor : to, COUNTED)
+                : List.of();
+        LocalDate archiveFrom = cursor != null && !cursor.isBefore(from) ? cursor.plusDays(1) : from;
+
+        if (pushDown) {
+            // Stored days are archived, so they never overlap the hot days of the SQL profile
+            Map<LocalDate, DayConcurrency> days = sweep(stored);
+            days.putAll(profileInDatabase(spaceId, from, to, archiveFrom));
+            return days;
+        }
+        List<ReservationInterval> intervals = new ArrayList<>(
+                reservationRepository.findIntervalsBySpaceAndDateBetween(spaceId, from, to, COUNTED));
+        intervals.addAll(stored);
+        if (!archiveFrom.isAfter(to)) {
+            intervals.addAll(archivedReservationRepository.findIntervalsBySpaceAndDateBetween(
+                    spaceId, archiveFrom, to, COUNTED));
+        }
+        return sweep(intervals);
+    }
+
+    private Map<LocalDate, DayConcurrency> profileInDatabase(Long spaceId, LocalDate from, LocalDate to,
+                                                             LocalDate archiveFrom) {
+        Map<LocalDate, DayConcurrency> days = new TreeMap<>();
+        String status = COUNTED.get(0).name();
+        jdbcTemplate.query(PROFILE_SQL, rs -> {
+            LocalDate date = rs.getDate("date").toLocalDate();
+            days.computeIfAbsent(date, DayConcurrency::new)
+                    .add(rs.getInt("hour_of_day"), rs.getInt("level"), rs.getLong("minutes"));
+        }, spaceId, Date.valueOf(from), Date.valueOf(to), status,
+                spaceId, Date.valueOf(archiveFrom), Date.valueOf(to), status);
+        return days;
+    }
+
+    /**
+     * Sweeps intervals day by day: +1 at each start minute and -1 at each end minute in a
+     * difference array, whose running sum is the concurrency of every minute. Runs of equal
+     * concurrency are recorded per hour.
+     *
+     * @param intervals reservations of one space, any days, any order
+     * @return profiles by day
+     */
+    static Map<LocalDate, DayConcurrency> sweep(Collection<ReservationInterval> intervals) {
+        Map<LocalDate, List<ReservationInterval>> byDate = new TreeMap<>();
+        for (ReservationInterval interval : intervals) {
+            byDate.computeIfAbsent(interval.getDate(), d -> new ArrayList<>()).add(interval);
+        }
+
+        Map<LocalDate, DayConcurrency> days = new TreeMap<>();
+        int[] diff = new int[MINUTES_PER_DAY + 1];
+        byDate.forEach((date, dayIntervals) -> {
+            Arrays.fill(diff, 0);
+            for (ReservationInterval interval : dayIntervals) {
+                diff[interval.getStartMinute()]++;
+                diff[interval.getEndMinute()]--;
+            }
+
+            DayConcurrency day = new DayConcurrency(date);
+            int level = 0;
+            for (int hour = 0; hour < DayConcurrency.HOURS; hour++) {
+                int runLevel = level + diff[hour * 60];
+                int run = 0;
+                for (int minute = hour * 60; minute < hour * 60 + 60; minute++) {
+                    level += diff[minute];
+                    if (level != runLevel) {
+                        day.add(hour, runLevel, run);
+                        runLevel = level;
+                        run = 0;
+                    }
+                    run++;
+                }
+                day.add(hour, runLevel, run);
+            }
+            days.put(date, day);
+        });
+        return days;
+    }
+}
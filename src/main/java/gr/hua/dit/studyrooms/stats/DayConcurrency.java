@@ -0,0 +1,110 @@
+package gr.hua.dit.studyrooms.stats;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Concurrency profile of one study space on one day.
+ *
+ * Built from runs of constant concurrency ("level") within an hour: how many minutes of
+ * each hour were spent at each number of concurrent reservations. That is enough for the
+ * hourly peak, the seat-minutes per hour (average occupancy) and any percentile of the
+ * per-minute concurrency, whether the runs come from the in-memory sweep or from SQL.
+ */
+public class DayConcurrency {
+
+    static final int HOURS = 24;
+
+    /** The day */
+    private final LocalDate date;
+
+    /** Highest concurrency reached in each hour */
+    private final int[] hourPeak = new int[HOURS];
+
+    /** Sum of concurrency over the minutes of each hour (reserved seat-minutes) */
+    private final long[] hourSeatMinutes = new long[HOURS];
+
+    /** Minutes spent at each non-zero concurrency, by level */
+    private final TreeMap<Integer, Long> levelMinutes = new TreeMap<>();
+
+    /**
+     * @param date the day
+     */
+    public DayConcurrency(LocalDate date) {
+        this.date = date;
+    }
+
+    /**
+     * Records that {@code minutes} minutes of an hour were spent at a concurrency level.
+     *
+     * @param hour hour of the day (0-23)
+     * @param level number of concurrent reservations
+     * @param minutes length of the run in minutes
+     */
+    void add(int hour, int level, long minutes) {
+        if (minutes <= 0) {
+            return;
+        }
+        hourPeak[hour] = Math.max(hourPeak[hour], level);
+        hourSeatMinutes[hour] += level * minutes;
+        if (level > 0) {
+            levelMinutes.merge(level, minutes, Long::sum);
+        }
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * @param hour hour of the day (0-23)
+     * @return highest concurrency reached in that hour
+     */
+    public int getHourPeak(int hour) {
+        return hourPeak[hour];
+    }
+
+    /**
+     * @param hour hour of the day (0-23)
+     * @return reserved seat-minutes in that hour (60 x the average concurrency)
+     */
+    public long getHourSeatMinutes(int hour) {
+        return hourSeatMinutes[hour];
+    }
+
+    /**
+     * @return highest concurrency reached during the day
+     */
+    public int getPeak() {
+        return levelMinutes.isEmpty() ? 0 : levelMinutes.lastKey();
+    }
+
+    /**
+     * Returns the per-minute concurrency that the given share of the opening minutes stays
+     * at or below (nearest-rank percentile). Open minutes without a run count as zero.
+     *
+     * @param quantile the share, e.g. 0.95
+     * @param openMinutes minutes the space is open that day
+     * @return the concurrency percentile
+     */
+    public int getPercentile(double quantile, long openMinutes) {
+        long busy = levelMinutes.values().stream().mapToLong(Long::longValue).sum();
+        long total = Math.max(openMinutes, busy);
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long cumulative = total - busy;
+        if (cumulative >= rank) {
+            return 0;
+        }
+        for (Map.Entry<Integer, Long> entry : levelMinutes.entrySet()) {
+            cumulative += entry.getValue();
+            if (cumulative >= rank) {
+                return entry.getKey();
+            }
+        }
+        return getPeak();
+    }
+}
@@ -0,0 +1,10 @@
+-- =============================================================================
+-- Index on the demo flag of archived reservations.
+--
+-- Purging demo data deletes archived rows in id pages
+-- (ArchivedReservationRepository.findDemoIds), like the hot table (V9). With
+-- (demo, id) each page is a short range read instead of a scan of the archive.
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_reservations_archive_demo_id
+    ON reservations_archive (demo, id);
@@ -0,0 +1,12 @@
+-- =============================================================================
+-- Export index on archived reservations.
+--
+-- The reservation export reads one month at a time, ordered by
+-- (date, start_time, id). The hot table reads that order from
+-- idx_reservations_date_start_id (V7); this gives the archive the same index,
+-- so neither branch of a month is sorted and the month bounds of an open
+-- range are single index reads.
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_reservations_archive_date_start_id
+    ON reservations_archive (date, start_time, id);
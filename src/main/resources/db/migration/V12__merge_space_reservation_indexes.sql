@@ -0,0 +1,20 @@
+-- =============================================================================
+-- One per-space index instead of two.
+--
+-- idx_reservations_space_date_status_times (V3) and
+-- idx_reservations_space_date_start_id (V7) both lead with
+-- (study_space_id, date), so every booking paid for maintaining two indexes
+-- that serve the same lookups. They are replaced by one index in keyset order
+-- that still carries status and end_time:
+--   - the per-space, per-day finders read the same (space, date) range and
+--     filter the status and times inside the index, still without touching
+--     the table;
+--   - the staff search by space reads (date, start_time, id) in index order
+--     and stops after one page.
+-- =============================================================================
+
+DROP INDEX IF EXISTS idx_reservations_space_date_status_times;
+DROP INDEX IF EXISTS idx_reservations_space_date_start_id;
+
+CREATE INDEX IF NOT EXISTS idx_reservations_space_date_start_status
+    ON reservations (study_space_id, date, start_time, id, status, end_time);
@@ -0,0 +1,85 @@
+-- =============================================================================
+-- Baseline schema, as previously generated by ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate)
+-- and only run the later migrations. Portable between H2 and PostgreSQL.
+-- =============================================================================
+
+-- Pooled id sequences (allocationSize = 50 in the entities)
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS study_spaces_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS reservations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS notification_outbox_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS space_closures_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id            BIGINT       NOT NULL,
+    username      VARCHAR(50)  NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    full_name     VARCHAR(100) NOT NULL,
+    email         VARCHAR(100) NOT NULL,
+    role          VARCHAR(20)  NOT NULL,
+    penalty_until DATE,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS study_spaces (
+    id          BIGINT       NOT NULL,
+    name        VARCHAR(80)  NOT NULL,
+    description VARCHAR(500),
+    capacity    INTEGER      NOT NULL,
+    open_time   TIME         NOT NULL,
+    close_time  TIME         NOT NULL,
+    full_day    BOOLEAN      DEFAULT FALSE NOT NULL,
+    CONSTRAINT pk_study_spaces PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS reservations (
+    id             BIGINT      NOT NULL,
+    user_id        BIGINT      NOT NULL,
+    study_space_id BIGINT      NOT NULL,
+    date           DATE        NOT NULL,
+    start_time     TIME        NOT NULL,
+    end_time       TIME        NOT NULL,
+    status         VARCHAR(20) NOT NULL,
+    demo           BOOLEAN     DEFAULT FALSE NOT NULL,
+    CONSTRAINT pk_reservations PRIMARY KEY (id),
+    CONSTRAINT fk_reservations_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_reservations_study_space FOREIGN KEY (study_space_id) REFERENCES study_spaces (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_reservations_date_status ON reservations (date, status);
+CREATE INDEX IF NOT EXISTS idx_reservations_space_date ON reservations (study_space_id, date);
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id              BIGINT                      NOT NULL,
+    channel         VARCHAR(10)                 NOT NULL,
+    recipient       VARCHAR(255)                NOT NULL,
+    subject         VARCHAR(255),
+    body            VARCHAR(2000)               NOT NULL,
+    status          VARCHAR(20)                 NOT NULL,
+    attempts        INTEGER                     NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    next_attempt_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    sent_at         TIMESTAMP(6) WITH TIME ZONE,
+    last_error      VARCHAR(500),
+    CONSTRAINT pk_notification_outbox PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_status_next_attempt ON notification_outbox (status, next_attempt_at);
+
+CREATE TABLE IF NOT EXISTS space_closures (
+    id             BIGINT                      NOT NULL,
+    study_space_id BIGINT                      NOT NULL,
+    start_date     DATE                        NOT NULL,
+    end_date       DATE                        NOT NULL,
+    start_time     TIME,
+    end_time       TIME,
+    reason         VARCHAR(200),
+    created_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_space_closures PRIMARY KEY (id),
+    CONSTRAINT fk_space_closures_study_space FOREIGN KEY (study_space_id) REFERENCES study_spaces (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_space_closures_space_dates ON space_closures (study_space_id, start_date, end_date);
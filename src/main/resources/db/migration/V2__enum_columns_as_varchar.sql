@@ -0,0 +1,9 @@
+-- =============================================================================
+-- Enum columns are plain VARCHAR(20) on every database (the entities declare
+-- @JdbcTypeCode(SqlTypes.VARCHAR)). ddl-auto=update created native ENUM columns
+-- on H2; this converts them. A no-op on PostgreSQL, where they already are VARCHAR.
+-- =============================================================================
+
+ALTER TABLE users ALTER COLUMN role SET DATA TYPE VARCHAR(20);
+ALTER TABLE reservations ALTER COLUMN status SET DATA TYPE VARCHAR(20);
+ALTER TABLE notification_outbox ALTER COLUMN status SET DATA TYPE VARCHAR(20);
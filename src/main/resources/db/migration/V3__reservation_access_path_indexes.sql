@@ -0,0 +1,26 @@
+-- =============================================================================
+-- Covering indexes for the reservation access paths.
+--
+-- Every ReservationRepository finder filters either by space and day
+-- (study_space_id, date, status, start_time/end_time), by user and day
+-- (user_id, date, status), or by day alone (date, status) and reads the times
+-- and the space. Carrying those columns in the index lets PostgreSQL answer the
+-- capacity, admission and availability queries with index-only scans.
+-- The query-plan regression test (ReservationQueryPlanTest) guards them.
+-- =============================================================================
+
+-- Per space and day: overlap counts, availability, closures, purges
+CREATE INDEX IF NOT EXISTS idx_reservations_space_date_status_times
+    ON reservations (study_space_id, date, status, start_time, end_time);
+
+-- Per user and day: daily limit, admission, "my reservations"
+CREATE INDEX IF NOT EXISTS idx_reservations_user_date_status
+    ON reservations (user_id, date, status);
+
+-- Per day across spaces: grid, next-slot search, ledger load
+CREATE INDEX IF NOT EXISTS idx_reservations_date_status_space_times
+    ON reservations (date, status, study_space_id, start_time, end_time);
+
+-- Both are prefixes of the indexes above
+DROP INDEX IF EXISTS idx_reservations_space_date;
+DROP INDEX IF EXISTS idx_reservations_date_status;
@@ -0,0 +1,27 @@
+-- =============================================================================
+-- Pre-aggregated daily occupancy per study space.
+--
+-- One row per (space, day) with the number of confirmed reservations and the
+-- minutes they occupy, so occupancy statistics read one row per day instead of
+-- every reservation. OccupancyRollup keeps it current as reservations change
+-- and reconciles recent days nightly. This migration backfills the existing
+-- history, archived months included.
+-- =============================================================================
+
+CREATE TABLE IF NOT EXISTS space_daily_occupancy (
+    study_space_id   BIGINT  NOT NULL,
+    date             DATE    NOT NULL,
+    reservations     INTEGER NOT NULL,
+    occupied_minutes BIGINT  NOT NULL,
+    CONSTRAINT pk_space_daily_occupancy PRIMARY KEY (study_space_id, date),
+    CONSTRAINT fk_space_daily_occupancy_study_space FOREIGN KEY (study_space_id) REFERENCES study_spaces (id)
+);
+
+INSERT INTO space_daily_occupancy (study_space_id, date, reservations, occupied_minutes)
+SELECT study_space_id, date, COUNT(*),
+       CAST(SUM(GREATEST(0, (EXTRACT(HOUR FROM end_time) - EXTRACT(HOUR FROM start_time)) * 60
+                            + EXTRACT(MINUTE FROM end_time) - EXTRACT(MINUTE FROM start_time))) AS BIGINT)
+FROM (SELECT study_space_id, date, start_time, end_time FROM reservations WHERE status = 'CONFIRMED'
+      UNION ALL
+      SELECT study_space_id, date, start_time, end_time FROM reservations_archive WHERE status = 'CONFIRMED') r
+GROUP BY study_space_id, date;
@@ -0,0 +1,11 @@
+-- =============================================================================
+-- Date-first access path to the daily occupancy rollup.
+--
+-- The primary key (study_space_id, date) serves per-space statistics. The
+-- campus-wide report reads one date range across every space, and the rollup
+-- rebuild deletes by date range; both would otherwise scan the whole table.
+-- The index carries the aggregated columns so the report is an index-only scan.
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_space_daily_occupancy_date_space
+    ON space_daily_occupancy (date, study_space_id, reservations, occupied_minutes);
@@ -0,0 +1,15 @@
+-- =============================================================================
+-- Keyset indexes for the staff reservation search.
+--
+-- The search pages by (date, start_time, id) and seeks past the last row of the
+-- previous page. With an index in that order every page is a short index range
+-- read, however deep the staff member has paged, instead of sorting the whole
+-- date range. Searches by space get their own index in the same order; searches
+-- by user touch few rows and use idx_reservations_user_date_status.
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_reservations_date_start_id
+    ON reservations (date, start_time, id);
+
+CREATE INDEX IF NOT EXISTS idx_reservations_space_date_start_id
+    ON reservations (study_space_id, date, start_time, id);
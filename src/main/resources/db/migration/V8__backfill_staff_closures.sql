@@ -0,0 +1,24 @@
+-- =============================================================================
+-- Closures for days staff closed before space_closures existed.
+--
+-- Staff used to close a space for a day by cancelling its reservations as
+-- CANCELLED_BY_STAFF, and admission refused any day holding such a reservation.
+-- Admission now reads space_closures instead, so without a closure row those
+-- future days would become bookable again. Each distinct future (space, day)
+-- with a CANCELLED_BY_STAFF reservation gets a whole-day closure, unless a
+-- closure already covers it. Ids continue after the highest existing one;
+-- IdSequenceAligner moves space_closures_seq past them at startup.
+-- =============================================================================
+
+INSERT INTO space_closures (id, study_space_id, start_date, end_date, start_time, end_time, reason, created_at)
+SELECT (SELECT COALESCE(MAX(id), 0) FROM space_closures)
+           + ROW_NUMBER() OVER (ORDER BY d.study_space_id, d.date),
+       d.study_space_id, d.date, d.date, NULL, NULL, 'Closed by staff', CURRENT_TIMESTAMP
+FROM (SELECT DISTINCT study_space_id, date
+      FROM reservations
+      WHERE status = 'CANCELLED_BY_STAFF' AND date >= CURRENT_DATE) d
+WHERE NOT EXISTS (SELECT 1
+                  FROM space_closures c
+                  WHERE c.study_space_id = d.study_space_id
+                    AND c.start_date <= d.date AND c.end_date >= d.date
+                    AND c.start_time IS NULL);
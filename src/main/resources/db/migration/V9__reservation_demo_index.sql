@@ -0,0 +1,10 @@
+-- =============================================================================
+-- Index on the demo flag of reservations.
+--
+-- Demo data is purged in id pages (ReservationRepository.findDemoIds), which
+-- otherwise scan the whole table once per page. With (demo, id) each page is a
+-- short range read of the demo rows.
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_reservations_demo_id
+    ON reservations (demo, id);
@@ -0,0 +1,103 @@
+package gr.hua.dit.studyrooms.analytics;
+
+import gr.hua.dit.studyrooms.analytics.HistoricalReservationStore.Snapshot;
+import gr.hua.dit.studyrooms.availability.ReservationInterval;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link HistoricalReservationStore} and its {@link SnapshotFile}.
+ *
+ * Verifies range and status filtering over the columns, appending after the cursor and the
+ * round trip through the memory-mapped snapshot file.
+ */
+class HistoricalReservationStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2029, 3, 1);
+    private static final List<ReservationStatus> CONFIRMED = List.of(ReservationStatus.CONFIRMED);
+
+    private static Snapshot snapshot(long spaceId, LocalDate... days) {
+        ReservationColumns.Builder builder = new ReservationColumns.Builder();
+        for (LocalDate day : days) {
+            builder.add((int) day.toEpochDay(), 9 * 60, 10 * 60 + 30, ReservationStatus.CONFIRMED.ordinal());
+        }
+        builder.add((int) days[days.length - 1].toEpochDay(), 11 * 60, 12 * 60, ReservationStatus.CANCELLED.ordinal());
+        return new Snapshot(Map.of(spaceId, builder.build()), days[days.length - 1].toEpochDay(), days.length + 1);
+    }
+
+    /**
+     * A lookup returns the space's reservations in the date range with the requested statuses.
+     */
+    @Test
+    void findsIntervalsByRangeAndStatus() {
+        HistoricalReservationStore store = new HistoricalReservationStore();
+        assertNull(store.getCursor());
+        store.publish(snapshot(1L, DAY, DAY.plusDays(1), DAY.plusDays(1), DAY.plusDays(5)));
+
+        List<ReservationInterval> intervals = store.findIntervals(1L, DAY.plusDays(1), DAY.plusDays(4), CONFIRMED);
+
+        assertEquals(2, intervals.size());
+        assertEquals(DAY.plusDays(1), intervals.get(0).getDate());
+        assertEquals(LocalTime.of(9, 0), intervals.get(0).getStartTime());
+        assertEquals(LocalTime.of(10, 30), intervals.get(0).getEndTime());
+        assertEquals(2, store.findIntervals(1L, DAY.plusDays(5), DAY.plusDays(5),
+                List.of(ReservationStatus.values())).size());
+        assertTrue(store.findIntervals(2L, DAY, DAY.plusDays(5), CONFIRMED).isEmpty());
+        assertEquals(DAY.plusDays(5), store.getCursor());
+    }
+
+    /**
+     * Appending a tail extends the space's columns and moves the cursor.
+     */
+    @Test
+    void appendsDaysAfterTheCursor() {
+        Snapshot head = snapshot(1L, DAY);
+        Snapshot next = head.append(snapshot(1L, DAY.plusDays(40))).append(snapshot(2L, DAY.plusDays(41)));
+
+        HistoricalReservationStore store = new HistoricalReservationStore();
+        store.publish(next);
+
+        assertEquals(6, next.rows);
+        assertEquals(DAY.plusDays(41), store.getCursor());
+        assertEquals(2, store.findIntervals(1L, DAY, DAY.plusDays(60), CONFIRMED).size());
+        assertEquals(1, store.findIntervals(2L, DAY, DAY.plusDays(60), CONFIRMED).size());
+        assertSame(head, head.append(Snapshot.EMPTY));
+    }
+
+    /**
+     * A snapshot written to disk maps back to the same contents; other files are rejected.
+     */
+    @Test
+    void snapshotFileRoundTrip(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("archive.bin");
+        Snapshot written = snapshot(1L, DAY, DAY.plusDays(3)).append(snapshot(7L, DAY.plusDays(9)));
+
+        SnapshotFile.write(file, written);
+        HistoricalReservationStore store = new HistoricalReservationStore();
+        store.publish(SnapshotFile.read(file));
+
+        assertEquals(written.rows, store.snapshot().rows);
+        assertEquals(DAY.plusDays(9), store.getCursor());
+        assertEquals(2, store.findIntervals(1L, DAY, DAY.plusDays(9), CONFIRMED).size());
+        assertEquals(List.of(DAY.plusDays(9)),
+                store.findIntervals(7L, DAY, DAY.plusDays(9), CONFIRMED).stream().map(ReservationInterval::getDate).toList());
+
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> SnapshotFile.read(file));
+    }
+}
@@ -0,0 +1,152 @@
+package gr.hua.dit.studyrooms.archive;
+
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ReservationArchiver}.
+ *
+ * The repository and JDBC access are mocked; the transaction manager is a plain mock,
+ * so the TransactionTemplate simply runs the callbacks.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReservationArchiverTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final LocalDate today = LocalDate.of(2030, 1, 15);
+
+    /**
+     * The cutoff is the start of the month hot-months before the current one.
+     */
+    @Test
+    void keepsCurrentAndHotMonths() {
+        ReservationArchiver archiver = archiver(false, 6);
+
+        assertEquals(LocalDate.of(2029, 7, 1), archiver.cutoff(today));
+        assertEquals(LocalDate.of(2030, 1, 1), archiver(false, 0).cutoff(today));
+    }
+
+    /**
+     * Without partitions, rows before the cutoff are copied and deleted by id, one
+     * transaction per chunk, until a chunk comes back short.
+     */
+    @Test
+    void movesRowsInChunks() {
+        ReservationArchiver archiver = archiver(false, 6);
+        LocalDate cutoff = LocalDate.of(2029, 7, 1);
+        when(reservationRepository.findIdsByDateBefore(cutoff, PageRequest.of(0, 2)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+        when(reservationRepository.deleteByIdIn(any())).thenReturn(2).thenReturn(1);
+
+        archiver.archive(today);
+
+        verify(jdbcTemplate, times(2)).update(any(PreparedStatementCreator.class));
+        verify(reservationRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(reservationRepository).deleteByIdIn(List.of(3L));
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(3.0, meterRegistry.get("studyrooms.archive.rows").counter().count());
+    }
+
+    /**
+     * With partitions, closed-out months are detached and attached to the archive, and
+     * the coming months get their partitions; rows are never copied.
+     */
+    @Test
+    void movesClosedOutPartitions() {
+        ReservationArchiver archiver = archiver(true, 6);
+        when(jdbcTemplate.queryForList(anyString(), eq(LocalDate.class), any())).thenReturn(List.of());
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "reservations_2029_06", "reservations_2029_07", "reservations_2030_01", "reservations_default"));
+
+        archiver.archive(today);
+
+        verify(jdbcTemplate).execute("ALTER TABLE reservations DETACH PARTITION reservations_2029_06");
+        verify(jdbcTemplate).execute("ALTER TABLE reservations_archive ATTACH PARTITION reservations_archive_2029_06"
+                + " FOR VALUES FROM ('2029-06-01') TO ('2029-07-01')");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE reservations DETACH PARTITION reservations_2029_07");
+        verify(jdbcTemplate, never()).execute(contains("reservations_default"));
+        verify(jdbcTemplate, times(4)).execute(startsWith("CREATE TABLE IF NOT EXISTS reservations_"));
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS reservations_2030_04 PARTITION OF reservations"
+                + " FOR VALUES FROM ('2030-04-01') TO ('2030-05-01')");
+        verify(reservationRepository, never()).findIdsByDateBefore(any(), any());
+        assertEquals(1.0, meterRegistry.get("studyrooms.archive.months").counter().count());
+    }
+
+    /**
+     * Closed-out months left in the default partition, and a coming month whose partition
+     * cannot be created because its rows sit there, are split out into partitions of their
+     * own; the closed-out month is then archived like the others.
+     */
+    @Test
+    void splitsMonthsOutOfTheDefaultPartition() {
+        ReservationArchiver archiver = archiver(true, 6);
+        // Other statements go through the same method unstubbed
+        lenient().doThrow(new DataIntegrityViolationException("default partition holds rows"))
+                .when(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS reservations_2030_02 "));
+        when(jdbcTemplate.queryForList(anyString(), eq(LocalDate.class), any()))
+                .thenReturn(List.of(LocalDate.of(2029, 3, 1)));
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "reservations_2029_03", "reservations_2030_01", "reservations_2030_02", "reservations_default"));
+
+        archiver.archive(today);
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("CREATE TABLE reservations_2030_02 (LIKE reservations INCLUDING DEFAULTS)");
+        inOrder.verify(jdbcTemplate).execute("DELETE FROM reservations_default"
+                + " WHERE date >= '2030-02-01' AND date < '2030-03-01'");
+        inOrder.verify(jdbcTemplate).execute("CREATE TABLE reservations_2029_03 (LIKE reservations INCLUDING DEFAULTS)");
+        inOrder.verify(jdbcTemplate).execute("INSERT INTO reservations_2029_03 (id, user_id, study_space_id, date,"
+                + " start_time, end_time, status, demo) SELECT id, user_id, study_space_id, date, start_time,"
+                + " end_time, status, demo FROM reservations_default WHERE date >= '2029-03-01' AND date < '2029-04-01'");
+        inOrder.verify(jdbcTemplate).execute("DELETE FROM reservations_default"
+                + " WHERE date >= '2029-03-01' AND date < '2029-04-01'");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE reservations ATTACH PARTITION reservations_2029_03"
+                + " FOR VALUES FROM ('2029-03-01') TO ('2029-04-01')");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE reservations DETACH PARTITION reservations_2029_03");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE reservations DETACH PARTITION reservations_2030_02");
+        assertEquals(1.0, meterRegistry.get("studyrooms.archive.months").counter().count());
+    }
+
+    private ReservationArchiver archiver(boolean partitioned, int hotMonths) {
+        return new ReservationArchiver(reservationRepository, jdbcTemplate, transactionManager, meterRegistry,
+                partitioned, hotMonths, 3, 2);
+    }
+}
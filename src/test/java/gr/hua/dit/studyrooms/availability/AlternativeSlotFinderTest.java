@@ -0,0 +1,76 @@
+package gr.hua.dit.studyrooms.availability;
+
+import gr.hua.dit.studyrooms.closure.ClosureIndex;
+import gr.hua.dit.studyrooms.closure.ClosureInterval;
+import gr.hua.dit.studyrooms.entity.StudySpace;
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link AlternativeSlotFinder}, reading occupancy from a loaded ledger.
+ */
+@ExtendWith(MockitoExtension.class)
+class AlternativeSlotFinderTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private StudySpaceRepository studySpaceRepository;
+
+    private final LocalDate date = LocalDate.now().plusDays(3);
+
+    private static StudySpace space(long id, String name) {
+        StudySpace space = new StudySpace();
+        space.setId(id);
+        space.setName(name);
+        space.setCapacity(1);
+        space.setOpenTime(LocalTime.of(8, 0));
+        space.setCloseTime(LocalTime.of(12, 0));
+        return space;
+    }
+
+    /**
+     * Same-space shifts (nearest free first) and other spaces at the requested time
+     * are interleaved; closed windows are skipped and no reservation query is issued
+     * when the ledger is used.
+     */
+    @Test
+    void interleavesShiftedAndOtherSpaceOptions() {
+        StudySpace full = space(1L, "Full room");
+        StudySpace other = space(2L, "Other room");
+        OccupancyLedger ledger = new OccupancyLedger();
+        ledger.rebuild(List.of(new ReservationInterval(1L, date, LocalTime.of(10, 0), LocalTime.of(11, 0))));
+        // The full room is closed 11:00-11:30, so the 11:00 shift is not offered
+        ClosureIndex closures = new ClosureIndex();
+        closures.rebuild(List.of(new ClosureInterval(1L, 1L, date, date, LocalTime.of(11, 0), LocalTime.of(11, 30))));
+        AlternativeSlotFinder finder = new AlternativeSlotFinder(ledger, reservationRepository, studySpaceRepository,
+                closures);
+
+        when(studySpaceRepository.findAllByOrderByNameAsc()).thenReturn(List.of(full, other));
+
+        List<SlotOption> options = finder.suggest(full, date, LocalTime.of(10, 0), LocalTime.of(11, 0), 4, true);
+
+        assertEquals(4, options.size());
+        assertEquals(LocalTime.of(9, 0), options.get(0).getStart());
+        assertEquals("Other room", options.get(1).getSpaceName());
+        assertEquals(LocalTime.of(10, 0), options.get(1).getStart());
+        assertEquals(LocalTime.of(8, 45), options.get(2).getStart());
+        assertEquals(LocalTime.of(8, 30), options.get(3).getStart());
+        verify(reservationRepository, never()).findIntervalsByDate(any(), any());
+    }
+}
@@ -0,0 +1,124 @@
+package gr.hua.dit.studyrooms.availability;
+
+import gr.hua.dit.studyrooms.event.ReservationChangedEvent;
+import gr.hua.dit.studyrooms.event.StudySpaceChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link AvailabilityCache}: hits, precise invalidation, LRU bound and
+ * the guard against storing values computed during an invalidation.
+ */
+class AvailabilityCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LocalDate today = LocalDate.of(2030, 1, 7);
+    private final LocalDate tomorrow = today.plusDays(1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private List<TimeSlotAvailability> load() {
+        loads.incrementAndGet();
+        return List.of(new TimeSlotAvailability(LocalTime.of(8, 0), LocalTime.of(8, 30), false, 3));
+    }
+
+    private double count(String result) {
+        return registry.counter("studyrooms.availability.cache.requests", "result", result).count();
+    }
+
+    /**
+     * A reservation change evicts only its own (space, date); other days stay cached.
+     */
+    @Test
+    void reservationChangeEvictsOnlyThatDay() {
+        AvailabilityCache cache = new AvailabilityCache(registry, 100);
+
+        cache.get(1L, today, 30, this::load);
+        cache.get(1L, today, 15, this::load);
+        cache.get(1L, tomorrow, 30, this::load);
+        cache.get(1L, today, 30, this::load);
+        assertEquals(3, loads.get());
+        assertEquals(1.0, count("hit"));
+        assertEquals(3.0, count("miss"));
+
+        cache.onReservationChanged(new ReservationChangedEvent(1L, today));
+
+        assertEquals(1, cache.size());
+        cache.get(1L, tomorrow, 30, this::load);
+        assertEquals(3, loads.get());
+    }
+
+    /**
+     * A space change evicts every date of that space.
+     */
+    @Test
+    void spaceChangeEvictsAllDatesOfSpace() {
+        AvailabilityCache cache = new AvailabilityCache(registry, 100);
+        cache.get(1L, today, 30, this::load);
+        cache.get(1L, tomorrow, 30, this::load);
+        cache.get(2L, today, 30, this::load);
+
+        cache.onStudySpaceChanged(new StudySpaceChangedEvent(1L));
+
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * The least recently used entry is dropped when the bound is exceeded.
+     */
+    @Test
+    void evictsLeastRecentlyUsed() {
+        AvailabilityCache cache = new AvailabilityCache(registry, 2);
+        cache.get(1L, today, 30, this::load);
+        cache.get(2L, today, 30, this::load);
+        cache.get(1L, today, 30, this::load); // touch space 1
+        cache.get(3L, today, 30, this::load); // evicts space 2
+
+        cache.get(1L, today, 30, this::load);
+        assertEquals(3, loads.get());
+        cache.get(2L, today, 30, this::load);
+        assertEquals(4, loads.get());
+    }
+
+    /**
+     * A value computed while an invalidation happens is returned but not cached.
+     */
+    @Test
+    void doesNotStoreValueComputedDuringInvalidation() {
+        AvailabilityCache cache = new AvailabilityCache(registry, 100);
+
+        cache.get(1L, today, 30, () -> {
+            cache.onReservationChanged(new ReservationChangedEvent(1L, today));
+            return load();
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Writes to other days do not discard a concurrent miss; a change of its space does.
+     */
+    @Test
+    void onlyOwnInvalidationsDiscardAMiss() {
+        AvailabilityCache cache = new AvailabilityCache(registry, 100);
+
+        cache.get(1L, today, 30, () -> {
+            cache.onReservationChanged(new ReservationChangedEvent(1L, tomorrow));
+            cache.onReservationChanged(new ReservationChangedEvent(2L, today));
+            return load();
+        });
+        assertEquals(1, cache.size());
+
+        cache.get(1L, tomorrow, 30, () -> {
+            cache.onStudySpaceChanged(new StudySpaceChangedEvent(1L));
+            return load();
+        });
+        assertEquals(0, cache.size());
+    }
+}
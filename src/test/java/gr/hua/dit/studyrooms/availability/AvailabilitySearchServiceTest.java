@@ -0,0 +1,141 @@
+package gr.hua.dit.studyrooms.availability;
+
+import gr.hua.dit.studyrooms.closure.ClosureIndex;
+import gr.hua.dit.studyrooms.closure.ClosureInterval;
+import gr.hua.dit.studyrooms.entity.StudySpace;
+import gr.hua.dit.studyrooms.external.HolidayApiPort;
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link AvailabilitySearchService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class AvailabilitySearchServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private StudySpaceRepository studySpaceRepository;
+
+    @Mock
+    private HolidayApiPort holidayApiPort;
+
+    @Spy
+    private ClosureIndex closureIndex = new ClosureIndex();
+
+    @InjectMocks
+    private AvailabilitySearchService searchService;
+
+    // A future weekday far enough ahead that "now" never matters
+    private final LocalDate date = LocalDate.now().plusDays(7);
+
+    private StudySpace library;
+    private StudySpace lab;
+
+    private static StudySpace space(long id, String name, int capacity, int openHour, int closeHour) {
+        StudySpace space = new StudySpace();
+        space.setId(id);
+        space.setName(name);
+        space.setCapacity(capacity);
+        space.setOpenTime(LocalTime.of(openHour, 0));
+        space.setCloseTime(LocalTime.of(closeHour, 0));
+        return space;
+    }
+
+    @BeforeEach
+    void setUp() {
+        library = space(1L, "Library", 1, 8, 12);
+        lab = space(2L, "Lab", 1, 9, 12);
+        lenient().when(studySpaceRepository.findAll()).thenReturn(List.of(library, lab));
+        lenient().when(holidayApiPort.isHoliday(any(LocalDate.class))).thenReturn(false);
+    }
+
+    /**
+     * Booked minutes are skipped and results from all spaces are merged by start time.
+     */
+    @Test
+    void returnsEarliestFeasibleOptionsAcrossSpaces() {
+        // Library is full 08:00-09:30
+        when(reservationRepository.findIntervalsByDate(eq(date), any())).thenReturn(List.of(
+                new ReservationInterval(1L, date, LocalTime.of(8, 0), LocalTime.of(9, 30))
+        ));
+
+        List<SlotOption> options = searchService.findNextAvailable(date, 60, null, null, 3);
+
+        assertEquals(3, options.size());
+        assertEquals("Lab", options.get(0).getSpaceName());
+        assertEquals(LocalTime.of(9, 0), options.get(0).getStart());
+        assertEquals(LocalTime.of(9, 15), options.get(1).getStart());
+        // Library becomes free at 09:30, same time as Lab's third option; sorted by name
+        assertEquals(LocalTime.of(9, 30), options.get(2).getStart());
+        assertEquals("Lab", options.get(2).getSpaceName());
+    }
+
+    /**
+     * Spaces closed by staff are excluded and the time window is honoured.
+     */
+    @Test
+    void honoursClosuresAndWindow() {
+        closureIndex.rebuild(List.of(new ClosureInterval(1L, 2L, date, date, null, null)));
+        when(reservationRepository.findIntervalsByDate(eq(date), any())).thenReturn(List.of());
+
+        List<SlotOption> options = searchService.findNextAvailable(
+                date, 120, LocalTime.of(9, 50), LocalTime.of(12, 0), 5);
+
+        assertEquals(1, options.size());
+        assertEquals("Library", options.get(0).getSpaceName());
+        assertEquals(LocalTime.of(10, 0), options.get(0).getStart());
+        assertEquals(LocalTime.of(12, 0), options.get(0).getEnd());
+    }
+
+    /**
+     * A closure of part of the day only rules out starts overlapping it.
+     */
+    @Test
+    void skipsPartialClosures() {
+        closureIndex.rebuild(List.of(
+                new ClosureInterval(1L, 1L, date.minusDays(1), date.plusDays(1), LocalTime.of(8, 0), LocalTime.of(10, 0)),
+                new ClosureInterval(2L, 2L, date, date, null, null)));
+        when(reservationRepository.findIntervalsByDate(eq(date), any())).thenReturn(List.of());
+
+        List<SlotOption> options = searchService.findNextAvailable(date, 60, null, null, 2);
+
+        assertEquals(2, options.size());
+        assertEquals("Library", options.get(0).getSpaceName());
+        assertEquals(LocalTime.of(10, 0), options.get(0).getStart());
+        assertEquals(LocalTime.of(10, 15), options.get(1).getStart());
+    }
+
+    /**
+     * Holidays yield no options; over-long durations are rejected.
+     */
+    @Test
+    void handlesHolidaysAndInvalidDuration() {
+        when(holidayApiPort.isHoliday(date)).thenReturn(true);
+
+        assertTrue(searchService.findNextAvailable(date, 60, null, null, 5).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> searchService.findNextAvailable(date, 121, null, null, 5));
+    }
+}
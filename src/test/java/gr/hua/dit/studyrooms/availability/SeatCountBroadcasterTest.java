@@ -0,0 +1,132 @@
+package gr.hua.dit.studyrooms.availability;
+
+import gr.hua.dit.studyrooms.entity.StudySpace;
+import gr.hua.dit.studyrooms.event.ReservationChangedEvent;
+import gr.hua.dit.studyrooms.event.StudySpaceChangedEvent;
+import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link SeatCountBroadcaster}: snapshot then deltas, completion when the
+ * space disappears, and no work for unwatched days.
+ */
+@ExtendWith(MockitoExtension.class)
+class SeatCountBroadcasterTest {
+
+    @Mock
+    private SpaceAvailabilityService spaceAvailabilityService;
+
+    @Mock
+    private StudySpaceRepository studySpaceRepository;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LocalDate date = LocalDate.of(2030, 1, 7);
+    private final StudySpace space = new StudySpace();
+    private SeatCountBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        space.setId(1L);
+        // Refreshes run inline so every step of a test is deterministic
+        broadcaster = new SeatCountBroadcaster(spaceAvailabilityService, studySpaceRepository, registry,
+                Duration.ofHours(1), Duration.ofHours(1), Schedulers.immediate());
+    }
+
+    private static List<TimeSlotAvailability> day(int first, int second) {
+        return List.of(
+                new TimeSlotAvailability(LocalTime.of(8, 0), LocalTime.of(8, 30), first == 0, first),
+                new TimeSlotAvailability(LocalTime.of(8, 30), LocalTime.of(9, 0), second == 0, second));
+    }
+
+    private double watchers() {
+        return registry.get("studyrooms.availability.stream.watchers").gauge().value();
+    }
+
+    /**
+     * The first event is the whole day; after a booking only the changed slot is sent.
+     */
+    @Test
+    void sendsSnapshotThenDeltas() {
+        when(studySpaceRepository.findById(1L)).thenReturn(Optional.of(space));
+        when(spaceAvailabilityService.getDailyAvailability(space, date, 30))
+                .thenReturn(day(3, 3))
+                .thenReturn(day(3, 2));
+
+        StepVerifier.create(broadcaster.watch(1L, date, 30))
+                .assertNext(event -> {
+                    assertEquals("seats", event.event());
+                    assertTrue(event.data().isFull());
+                    assertEquals(2, event.data().getSlots().size());
+                    assertEquals(1.0, watchers());
+                })
+                .then(() -> broadcaster.onReservationChanged(new ReservationChangedEvent(1L, date)))
+                .assertNext(event -> {
+                    SeatCountUpdate update = event.data();
+                    assertFalse(update.isFull());
+                    assertEquals(1, update.getSlots().size());
+                    assertEquals(LocalTime.of(8, 30), update.getSlots().get(0).getStart());
+                    assertEquals(2, update.getSlots().get(0).getRemainingSeats());
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(0.0, watchers());
+    }
+
+    /**
+     * Deleting the space ends the stream.
+     */
+    @Test
+    void completesWhenSpaceIsDeleted() {
+        when(studySpaceRepository.findById(1L)).thenReturn(Optional.of(space)).thenReturn(Optional.empty());
+        when(spaceAvailabilityService.getDailyAvailability(space, date, 30)).thenReturn(day(3, 3));
+
+        StepVerifier.create(broadcaster.watch(1L, date, 30))
+                .assertNext(event -> assertTrue(event.data().isFull()))
+                .then(() -> broadcaster.onStudySpaceChanged(new StudySpaceChangedEvent(1L)))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    /**
+     * Changes to days nobody watches cost nothing.
+     */
+    @Test
+    void ignoresUnwatchedDays() {
+        broadcaster.onReservationChanged(new ReservationChangedEvent(1L, date));
+        broadcaster.onStudySpaceChanged(new StudySpaceChangedEvent(1L));
+
+        verifyNoInteractions(spaceAvailabilityService, studySpaceRepository);
+    }
+
+    /**
+     * A state identical to the last one sent produces no event.
+     */
+    @Test
+    void diffOfUnchangedDayIsEmpty() {
+        SeatCountBroadcaster.TopicKey key = new SeatCountBroadcaster.TopicKey(1L, date, 30);
+
+        assertNull(SeatCountBroadcaster.diff(key, day(3, 1), day(3, 1)));
+        assertTrue(SeatCountBroadcaster.diff(key, day(3, 1), List.of()).isFull());
+    }
+}
@@ -0,0 +1,178 @@
+package gr.hua.dit.studyrooms.availability;
+
+import gr.hua.dit.studyrooms.closure.ClosureIndex;
+import gr.hua.dit.studyrooms.closure.ClosureInterval;
+import gr.hua.dit.studyrooms.entity.StudySpace;
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the multi-space grid and the range view in {@link SpaceAvailabilityService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class SpaceAvailabilityServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private StudySpaceRepository studySpaceRepository;
+
+    private final LocalDate date = LocalDate.of(2030, 1, 7);
+
+    private final AvailabilityCache cache = new AvailabilityCache(new SimpleMeterRegistry(), 100);
+
+    private static StudySpace space(long id, int capacity) {
+        StudySpace space = new StudySpace();
+        space.setId(id);
+        space.setName("Space " + id);
+        space.setCapacity(capacity);
+        space.setOpenTime(LocalTime.of(8, 0));
+        space.setCloseTime(LocalTime.of(10, 0));
+        return space;
+    }
+
+    /**
+     * The whole grid is built from one reservation query, whatever the catalog size,
+     * and each row only sees its own space's reservations. The threshold of 1 forces
+     * the parallel path.
+     */
+    @Test
+    void buildsGridFromSingleQuery() {
+        SpaceAvailabilityService service =
+                new SpaceAvailabilityService(reservationRepository, studySpaceRepository, cache, new ClosureIndex(), 60, 1);
+
+        List<StudySpace> spaces = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            spaces.add(space(id, 2));
+        }
+        when(studySpaceRepository.findAllByOrderByNameAsc()).thenReturn(spaces);
+        when(reservationRepository.findIntervalsByDate(eq(date), any())).thenReturn(List.of(
+                new ReservationInterval(1L, date, LocalTime.of(8, 0), LocalTime.of(9, 0)),
+                new ReservationInterval(1L, date, LocalTime.of(8, 30), LocalTime.of(9, 0)),
+                new ReservationInterval(2L, date, LocalTime.of(9, 0), LocalTime.of(10, 0))
+        ));
+
+        AvailabilityGrid grid = service.getAvailabilityGrid(date, 60);
+
+        assertEquals(100, grid.getSpaces().size());
+        // Space 1: full from 08:00 to 09:00, free afterwards
+        assertEquals(0, grid.getSpaces().get(0).getSlots().get(0).getRemainingSeats());
+        assertEquals(2, grid.getSpaces().get(0).getSlots().get(1).getRemainingSeats());
+        // Space 2: one seat taken from 09:00
+        assertEquals(2, grid.getSpaces().get(1).getSlots().get(0).getRemainingSeats());
+        assertEquals(1, grid.getSpaces().get(1).getSlots().get(1).getRemainingSeats());
+        // Untouched space
+        assertEquals(2, grid.getSpaces().get(99).getSlots().get(1).getRemainingSeats());
+
+        verify(reservationRepository, times(1)).findIntervalsByDate(eq(date), any());
+        verify(reservationRepository, never()).findIntervalsBySpaceAndDate(anyLong(), any(), any());
+    }
+
+    /**
+     * A space with missing or inverted opening hours is shown without slots; the other rows
+     * are still computed.
+     */
+    @Test
+    void skipsSpacesWithInvalidHours() {
+        SpaceAvailabilityService service =
+                new SpaceAvailabilityService(reservationRepository, studySpaceRepository, cache, new ClosureIndex(), 60, 64);
+        StudySpace inverted = space(2L, 2);
+        inverted.setOpenTime(LocalTime.of(18, 0));
+        StudySpace missing = space(3L, 2);
+        missing.setCloseTime(null);
+        when(studySpaceRepository.findAllByOrderByNameAsc()).thenReturn(List.of(space(1L, 2), inverted, missing));
+        when(reservationRepository.findIntervalsByDate(eq(date), any())).thenReturn(List.of());
+
+        AvailabilityGrid grid = service.getAvailabilityGrid(date, 60);
+
+        assertEquals(3, grid.getSpaces().size());
+        assertEquals(2, grid.getSpaces().get(0).getSlots().size());
+        assertTrue(grid.getSpaces().get(1).getSlots().isEmpty());
+        assertTrue(grid.getSpaces().get(2).getSlots().isEmpty());
+    }
+
+    /**
+     * Only the opening hours are checked up front: any other defect, such as a missing
+     * capacity, is not hidden behind an empty row.
+     */
+    @Test
+    void propagatesOtherGridFailures() {
+        SpaceAvailabilityService service =
+                new SpaceAvailabilityService(reservationRepository, studySpaceRepository, cache, new ClosureIndex(), 60, 64);
+        StudySpace noCapacity = new StudySpace();
+        noCapacity.setId(2L);
+        noCapacity.setOpenTime(LocalTime.of(8, 0));
+        noCapacity.setCloseTime(LocalTime.of(10, 0));
+        when(studySpaceRepository.findAllByOrderByNameAsc()).thenReturn(List.of(space(1L, 2), noCapacity));
+        when(reservationRepository.findIntervalsByDate(eq(date), any())).thenReturn(List.of());
+
+        assertThrows(NullPointerException.class, () -> service.getAvailabilityGrid(date, 60));
+    }
+
+    /**
+     * A week is answered from one range query, with one seat array per day;
+     * slots inside a staff closure have no seats left.
+     */
+    @Test
+    void buildsRangeFromSingleQuery() {
+        ClosureIndex closures = new ClosureIndex();
+        closures.rebuild(List.of(new ClosureInterval(
+                1L, 1L, date.plusDays(1), date.plusDays(1), LocalTime.of(9, 0), LocalTime.of(9, 30))));
+        SpaceAvailabilityService service =
+                new SpaceAvailabilityService(reservationRepository, studySpaceRepository, cache, closures, 30, 64);
+        StudySpace space = space(1L, 3);
+        LocalDate to = date.plusDays(6);
+
+        when(reservationRepository.findIntervalsBySpaceAndDateBetween(eq(1L), eq(date), eq(to), any()))
+                .thenReturn(List.of(
+                        new ReservationInterval(1L, date, LocalTime.of(8, 0), LocalTime.of(9, 0)),
+                        new ReservationInterval(1L, date.plusDays(2), LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                        new ReservationInterval(1L, date.plusDays(2), LocalTime.of(9, 30), LocalTime.of(10, 0))
+                ));
+
+        RangeAvailability range = service.getRangeAvailability(space, date, to, 30);
+
+        assertEquals(7, range.getDays().size());
+        assertEquals(LocalTime.of(8, 0), range.getOpen());
+        assertArrayEquals(new int[]{2, 2, 3, 3}, range.getDays().get(0).getSeats());
+        assertArrayEquals(new int[]{3, 3, 0, 3}, range.getDays().get(1).getSeats());
+        assertArrayEquals(new int[]{3, 3, 2, 1}, range.getDays().get(2).getSeats());
+        verify(reservationRepository, times(1))
+                .findIntervalsBySpaceAndDateBetween(eq(1L), eq(date), eq(to), any());
+    }
+
+    /**
+     * Ranges longer than 31 days are rejected.
+     */
+    @Test
+    void rejectsTooLongRange() {
+        SpaceAvailabilityService service =
+                new SpaceAvailabilityService(reservationRepository, studySpaceRepository, cache, new ClosureIndex(), 30, 64);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getRangeAvailability(space(1L, 3), date, date.plusDays(31), 30));
+    }
+}
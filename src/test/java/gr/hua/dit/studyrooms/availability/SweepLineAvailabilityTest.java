@@ -0,0 +1,88 @@
+package gr.hua.dit.studyrooms.availability;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link SweepLineAvailability}.
+ *
+ * Verifies per-slot peak occupancy, remaining seats, half-open interval boundaries
+ * and the supported slot sizes.
+ */
+class SweepLineAvailabilityTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+
+    private static ReservationInterval interval(int startHour, int startMinute, int endHour, int endMinute) {
+        return new ReservationInterval(1L, DATE, LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute));
+    }
+
+    /**
+     * Peaks are computed per slot; a reservation ending exactly at a slot start does not count.
+     */
+    @Test
+    void computesPeakPerSlot() {
+        List<ReservationInterval> intervals = List.of(
+                interval(9, 0, 10, 0),
+                interval(9, 30, 11, 0),
+                interval(10, 0, 10, 15)
+        );
+
+        // 08:00 - 12:00 in 60-minute slots
+        int[] peaks = SweepLineAvailability.peakPerSlot(8 * 60, 12 * 60, 60, intervals);
+
+        assertArrayEquals(new int[]{0, 2, 2, 0}, peaks);
+    }
+
+    /**
+     * Remaining seats are capacity minus peak; a full slot is marked occupied.
+     */
+    @Test
+    void reportsRemainingSeatsAndOccupied() {
+        List<ReservationInterval> intervals = List.of(
+                interval(10, 0, 11, 0),
+                interval(10, 0, 10, 30)
+        );
+
+        List<TimeSlotAvailability> slots =
+                SweepLineAvailability.compute(10 * 60, 11 * 60, 30, 2, intervals);
+
+        assertEquals(2, slots.size());
+        assertTrue(slots.get(0).isOccupied());
+        assertEquals(0, slots.get(0).getRemainingSeats());
+        assertFalse(slots.get(1).isOccupied());
+        assertEquals(1, slots.get(1).getRemainingSeats());
+        assertEquals(LocalTime.of(10, 30), slots.get(1).getStart());
+    }
+
+    /**
+     * The last slot is truncated at closing time.
+     */
+    @Test
+    void truncatesLastSlotAtClosingTime() {
+        List<TimeSlotAvailability> slots =
+                SweepLineAvailability.compute(0, 23 * 60 + 59, 60, 5, List.of());
+
+        assertEquals(24, slots.size());
+        assertEquals(LocalTime.of(23, 59), slots.get(23).getEnd());
+        assertEquals(5, slots.get(23).getRemainingSeats());
+    }
+
+    /**
+     * Only 5, 15, 30 and 60 minute slots are accepted.
+     */
+    @Test
+    void rejectsUnsupportedSlotSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SweepLineAvailability.compute(8 * 60, 20 * 60, 45, 1, List.of()));
+    }
+}
@@ -0,0 +1,85 @@
+package gr.hua.dit.studyrooms.closure;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link ClosureIndex}.
+ */
+class ClosureIndexTest {
+
+    private final LocalDate day = LocalDate.of(2030, 1, 7);
+
+    /**
+     * A long closure that starts early is still found behind shorter, later-starting ones.
+     */
+    @Test
+    void findsOverlappingRangesAcrossLongClosures() {
+        ClosureIndex index = new ClosureIndex();
+        index.rebuild(List.of(
+                new ClosureInterval(1L, 1L, day, day.plusDays(30), null, null),
+                new ClosureInterval(2L, 1L, day.plusDays(5), day.plusDays(6), LocalTime.of(9, 0), LocalTime.of(12, 0)),
+                new ClosureInterval(3L, 1L, day.plusDays(8), day.plusDays(8), null, null),
+                new ClosureInterval(4L, 2L, day.plusDays(40), day.plusDays(41), null, null)));
+
+        assertEquals(List.of(1L), ids(index.closuresOn(1L, day)));
+        assertEquals(List.of(2L, 1L), ids(index.closuresOn(1L, day.plusDays(6))));
+        assertEquals(List.of(3L, 1L), ids(index.closuresOn(1L, day.plusDays(8))));
+        assertTrue(index.closuresOn(1L, day.plusDays(31)).isEmpty());
+        assertTrue(index.closuresOn(1L, day.minusDays(1)).isEmpty());
+        assertTrue(index.closuresOn(3L, day).isEmpty());
+        assertEquals(List.of(4L), ids(index.closuresOn(2L, day.plusDays(41))));
+    }
+
+    /**
+     * Time windows are half-open: touching a closed window is not a conflict.
+     */
+    @Test
+    void timeWindowsAreHalfOpen() {
+        ClosureIndex index = new ClosureIndex();
+        index.rebuild(List.of(
+                new ClosureInterval(1L, 1L, day, day, LocalTime.of(9, 0), LocalTime.of(12, 0))));
+
+        assertTrue(index.isClosed(1L, day, LocalTime.of(11, 0), LocalTime.of(13, 0)));
+        assertTrue(index.isClosed(1L, day, LocalTime.of(8, 0), LocalTime.of(9, 1)));
+        assertFalse(index.isClosed(1L, day, LocalTime.of(12, 0), LocalTime.of(13, 0)));
+        assertFalse(index.isClosed(1L, day, LocalTime.of(8, 0), LocalTime.of(9, 0)));
+        assertFalse(index.isClosed(1L, day.plusDays(1), LocalTime.of(10, 0), LocalTime.of(11, 0)));
+    }
+
+    /**
+     * Added and removed closures show up in lookups; only loaded indexes are ready.
+     */
+    @Test
+    void addsAndRemovesClosures() {
+        ClosureIndex index = new ClosureIndex();
+        assertFalse(index.isReady());
+        index.rebuild(List.of());
+        assertTrue(index.isReady());
+
+        List<ClosureInterval> added = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            added.add(new ClosureInterval(id, id % 5, day.plusDays(id), day.plusDays(id), null, null));
+        }
+        index.addAll(added);
+
+        assertTrue(index.isClosed(2L, day.plusDays(7), LocalTime.of(8, 0), LocalTime.of(9, 0)));
+        assertFalse(index.isClosed(3L, day.plusDays(7), LocalTime.of(8, 0), LocalTime.of(9, 0)));
+
+        index.removeAll(List.of(7L, 999L));
+        assertFalse(index.isClosed(2L, day.plusDays(7), LocalTime.of(8, 0), LocalTime.of(9, 0)));
+        assertTrue(index.isClosed(2L, day.plusDays(12), LocalTime.of(8, 0), LocalTime.of(9, 0)));
+    }
+
+    private static List<Long> ids(List<ClosureInterval> closures) {
+        return closures.stream().map(ClosureInterval::getClosureId).toList();
+    }
+}
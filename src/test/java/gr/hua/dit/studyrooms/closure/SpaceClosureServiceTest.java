@@ -0,0 +1,263 @@
+package gr.hua.dit.studyrooms.closure;
+
+import gr.hua.dit.studyrooms.admission.AdmissionLock;
+import gr.hua.dit.studyrooms.admission.StripedAdmissionLock;
+import gr.hua.dit.studyrooms.availability.OccupancyLedger;
+import gr.hua.dit.studyrooms.availability.ReservationInterval;
+import gr.hua.dit.studyrooms.dto.ReservationNotice;
+import gr.hua.dit.studyrooms.dto.SpaceClosureResult;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.entity.SpaceClosure;
+import gr.hua.dit.studyrooms.entity.StudySpace;
+import gr.hua.dit.studyrooms.event.ReservationChangedEvent;
+import gr.hua.dit.studyrooms.event.StudySpaceChangedEvent;
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import gr.hua.dit.studyrooms.repository.SpaceClosureRepository;
+import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
+import gr.hua.dit.studyrooms.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link SpaceClosureService}.
+ *
+ * Admission uses real striped locks unless a test makes them report cluster-wide.
+ */
+@ExtendWith(MockitoExtension.class)
+class SpaceClosureServiceTest {
+
+    @Mock
+    private SpaceClosureRepository spaceClosureRepository;
+
+    @Mock
+    private StudySpaceRepository studySpaceRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Spy
+    private ClosureIndex closureIndex = new ClosureIndex();
+
+    @Spy
+    private OccupancyLedger occupancyLedger = new OccupancyLedger();
+
+    @Spy
+    private AdmissionLock admissionLock = new StripedAdmissionLock(16);
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SpaceClosureService closureService;
+
+    @Captor
+    private ArgumentCaptor<List<ReservationNotice>> noticeCaptor;
+
+    // Advisory lock bound of the service under test
+    private static final int MAX_LOCKED_KEYS = 256;
+
+    private final LocalDate date = LocalDate.now().plusDays(1);
+    private final LocalTime startTime = LocalTime.of(10, 0);
+    private final LocalTime endTime = LocalTime.of(11, 0);
+
+    private StudySpace library;
+    private StudySpace lab;
+
+    private static StudySpace space(long id, String name) {
+        StudySpace space = new StudySpace();
+        space.setId(id);
+        space.setName(name);
+        space.setCapacity(1);
+        space.setOpenTime(LocalTime.of(8, 0));
+        space.setCloseTime(LocalTime.of(20, 0));
+        return space;
+    }
+
+    /**
+     * Builds a notice of a reservation of the library on the test date.
+     */
+    private ReservationNotice notice(long id, ReservationStatus status) {
+        return new ReservationNotice(id, status, "user" + id + "@example.com", "User " + id,
+                library.getId(), "Library", date, startTime, endTime);
+    }
+
+    @BeforeEach
+    void setUp() {
+        library = space(1L, "Library");
+        lab = space(2L, "Lab");
+        closureIndex.rebuild(List.of());
+        closureService = new SpaceClosureService(spaceClosureRepository, studySpaceRepository, reservationRepository,
+                closureIndex, occupancyLedger, admissionLock, notificationService, eventPublisher, MAX_LOCKED_KEYS);
+        lenient().when(studySpaceRepository.findAllById(any())).thenReturn(List.of(library, lab));
+        lenient().when(spaceClosureRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<SpaceClosure> closures = invocation.getArgument(0);
+            long id = 100;
+            for (SpaceClosure closure : closures) {
+                closure.setId(id++);
+            }
+            return closures;
+        });
+    }
+
+    /**
+     * Closing two spaces stores one closure each, flips the reservations inside with one
+     * UPDATE, queues all notifications with one bulk call and updates the index and ledger.
+     */
+    @Test
+    void closeSpacesUsesBulkUpdateAndNotification() {
+        occupancyLedger.rebuild(List.of(new ReservationInterval(library.getId(), date, startTime, endTime)));
+        List<ReservationNotice> notices = List.of(
+                notice(10L, ReservationStatus.CONFIRMED), notice(11L, ReservationStatus.NO_SHOW));
+        when(reservationRepository.findNoticesInWindow(eq(List.of(1L, 2L)), eq(date), eq(date),
+                eq(LocalTime.MIDNIGHT), eq(LocalTime.MAX), any())).thenReturn(notices);
+        when(reservationRepository.updateStatusInWindow(eq(List.of(1L, 2L)), eq(date), eq(date),
+                eq(LocalTime.MIDNIGHT), eq(LocalTime.MAX), eq(ReservationStatus.CANCELLED_BY_STAFF), any()))
+                .thenReturn(2);
+
+        SpaceClosureResult result = closureService.closeSpaces(
+                List.of(1L, 2L), date, date, null, null, "Exam period");
+
+        assertEquals(List.of(100L, 101L), result.getClosureIds());
+        assertEquals(List.of(10L, 11L), result.getCancelledReservationIds());
+        verify(notificationService).notifyReservationsCancelledByStaff(notices);
+        verify(notificationService, never()).notifyReservationCancelled(any(), anyBoolean());
+        verify(eventPublisher, times(2)).publishEvent(any(StudySpaceChangedEvent.class));
+        // Both cancelled reservations are on the same day of the library
+        verify(eventPublisher).publishEvent(any(ReservationChangedEvent.class));
+        verify(reservationRepository, never()).saveAll(any());
+
+        assertTrue(closureIndex.isClosed(1L, date, startTime, endTime));
+        assertTrue(closureIndex.isClosed(2L, date, LocalTime.of(8, 0), LocalTime.of(9, 0)));
+        assertFalse(closureIndex.isClosed(1L, date.plusDays(1), startTime, endTime));
+        assertEquals(0, occupancyLedger.peakOccupancy(library.getId(), date, startTime, endTime));
+    }
+
+    /**
+     * A reservation cancelled by its holder between the read and the update is neither
+     * reported nor notified.
+     */
+    @Test
+    void closeSpacesSkipsReservationsCancelledInBetween() {
+        when(studySpaceRepository.findAllById(any())).thenReturn(List.of(library));
+        when(reservationRepository.findNoticesInWindow(any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of(notice(10L, ReservationStatus.CONFIRMED), notice(11L, ReservationStatus.CONFIRMED)));
+        when(reservationRepository.updateStatusInWindow(any(), any(), any(), any(), any(),
+                eq(ReservationStatus.CANCELLED_BY_STAFF), any())).thenReturn(1);
+        when(reservationRepository.findIdsByIdInAndStatus(List.of(10L, 11L), ReservationStatus.CANCELLED_BY_STAFF))
+                .thenReturn(List.of(11L));
+
+        SpaceClosureResult result = closureService.closeSpaces(
+                List.of(1L), date, date.plusDays(2), LocalTime.of(9, 0), LocalTime.of(12, 0), null);
+
+        assertEquals(List.of(11L), result.getCancelledReservationIds());
+        verify(notificationService).notifyReservationsCancelledByStaff(noticeCaptor.capture());
+        assertEquals(List.of(11L), noticeCaptor.getValue().stream().map(ReservationNotice::getReservationId).toList());
+        // Only the daily window is closed
+        assertTrue(closureIndex.isClosed(1L, date.plusDays(2), LocalTime.of(11, 30), LocalTime.of(12, 30)));
+        assertFalse(closureIndex.isClosed(1L, date.plusDays(2), LocalTime.of(12, 0), LocalTime.of(13, 0)));
+    }
+
+    /**
+     * Invalid periods are rejected before anything is stored.
+     */
+    @Test
+    void rejectsInvalidPeriods() {
+        assertThrows(IllegalArgumentException.class, () ->
+                closureService.closeSpaces(List.of(1L, 2L), date, date.minusDays(1), null, null, null));
+        assertThrows(IllegalArgumentException.class, () ->
+                closureService.closeSpaces(List.of(1L, 2L), date, date.plusDays(SpaceClosureService.MAX_CLOSURE_DAYS),
+                        null, null, null));
+        assertThrows(IllegalArgumentException.class, () ->
+                closureService.closeSpaces(List.of(1L, 2L), date, date, LocalTime.of(9, 0), null, null));
+        assertThrows(IllegalArgumentException.class, () ->
+                closureService.closeSpaces(List.of(1L, 2L), date, date, endTime, startTime, null));
+        verify(spaceClosureRepository, never()).saveAll(any());
+    }
+
+    /**
+     * With striped locks a bulk close of many spaces over an exam period is not bounded:
+     * twelve spaces for four weeks lock more (space, day) keys than the advisory bound.
+     */
+    @Test
+    void closesManySpacesOverExamPeriod() {
+        List<Long> ids = LongStream.rangeClosed(1, 12).boxed().toList();
+        when(studySpaceRepository.findAllById(any())).thenReturn(
+                ids.stream().map(id -> space(id, "Room " + id)).toList());
+        assertTrue(ids.size() * 28 > MAX_LOCKED_KEYS);
+
+        SpaceClosureResult result = closureService.closeSpaces(ids, date, date.plusWeeks(4).minusDays(1),
+                null, null, "Exam period");
+
+        assertEquals(ids.size(), result.getClosureIds().size());
+        for (Long id : ids) {
+            assertTrue(closureIndex.isClosed(id, date.plusDays(27), startTime, endTime));
+        }
+    }
+
+    /**
+     * With advisory locks the bound counts only the days still bookable: a period reaching
+     * far into the past is accepted where the same number of future days is not.
+     */
+    @Test
+    void boundsAdvisoryLockedKeysByBookableDays() {
+        doReturn(true).when(admissionLock).isClusterWide();
+        List<Long> ids = List.of(1L, 2L, 3L, 4L, 5L);
+        when(studySpaceRepository.findAllById(any())).thenReturn(
+                ids.stream().map(id -> space(id, "Room " + id)).toList());
+        int days = MAX_LOCKED_KEYS / ids.size() + 1;
+
+        assertThrows(IllegalArgumentException.class, () ->
+                closureService.closeSpaces(ids, date, date.plusDays(days - 1), null, null, null));
+        verify(spaceClosureRepository, never()).saveAll(any());
+
+        SpaceClosureResult result = closureService.closeSpaces(
+                ids, LocalDate.now().minusDays(days), LocalDate.now().plusDays(1), null, null, null);
+        assertEquals(ids.size(), result.getClosureIds().size());
+    }
+
+    /**
+     * Reopening removes the closure from the database and from the index.
+     */
+    @Test
+    void reopenRemovesClosureFromIndex() {
+        closureIndex.rebuild(List.of(new ClosureInterval(7L, library.getId(), date, date, null, null)));
+        SpaceClosure closure = new SpaceClosure(library, date, date, null, null, "Maintenance");
+        closure.setId(7L);
+        when(spaceClosureRepository.findById(7L)).thenReturn(Optional.of(closure));
+
+        closureService.reopen(7L);
+
+        verify(spaceClosureRepository).delete(closure);
+        assertFalse(closureIndex.isClosed(library.getId(), date, startTime, endTime));
+        verify(eventPublisher).publishEvent(any(StudySpaceChangedEvent.class));
+    }
+}
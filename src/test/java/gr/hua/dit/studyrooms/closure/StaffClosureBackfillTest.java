@@ -0,0 +1,77 @@
+package gr.hua.dit.studyrooms.closure;
+
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.fixture.ReservationFixture;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests of the V8 migration, which turns days closed through CANCELLED_BY_STAFF
+ * reservations into space_closures rows. Runs the migrations on a private in-memory H2
+ * database, seeding the reservations between V7 and V8.
+ */
+class StaffClosureBackfillTest {
+
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+    private static final LocalTime TEN = LocalTime.of(10, 0);
+
+    /**
+     * Each future (space, day) with staff-cancelled reservations gets one whole-day closure;
+     * past days and days already covered by a closure get none.
+     */
+    @Test
+    void backfillsOneWholeDayClosurePerFutureStaffCancelledDay() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:closure-backfill;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .target("7")
+                .load()
+                .migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        ReservationFixture fixture = new ReservationFixture(jdbcTemplate);
+        long userId = fixture.user("backfill");
+        long library = fixture.space("Library", 10);
+        long lab = fixture.space("Lab", 10);
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        fixture.reservation(userId, library, tomorrow, NINE, TEN, ReservationStatus.CANCELLED_BY_STAFF);
+        fixture.reservation(userId, library, tomorrow, TEN, TEN.plusHours(1), ReservationStatus.CANCELLED_BY_STAFF);
+        fixture.reservation(userId, library, tomorrow.plusDays(1), NINE, TEN, ReservationStatus.CANCELLED);
+        fixture.reservation(userId, library, LocalDate.now().minusDays(3), NINE, TEN,
+                ReservationStatus.CANCELLED_BY_STAFF);
+        fixture.reservation(userId, lab, tomorrow, NINE, TEN, ReservationStatus.CANCELLED_BY_STAFF);
+        fixture.reservation(userId, lab, tomorrow.plusDays(2), NINE, TEN, ReservationStatus.CANCELLED_BY_STAFF);
+        // The lab is already closed on the day after tomorrow
+        jdbcTemplate.update("INSERT INTO space_closures (id, study_space_id, start_date, end_date, created_at) "
+                + "VALUES (7, ?, ?, ?, CURRENT_TIMESTAMP)", lab, tomorrow.plusDays(2), tomorrow.plusDays(2));
+
+        Flyway.configure().dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load()
+                .migrate();
+
+        List<Map<String, Object>> closures = jdbcTemplate.queryForList(
+                "SELECT id, study_space_id, start_date, end_date, start_time FROM space_closures "
+                        + "WHERE id <> 7 ORDER BY id");
+        assertEquals(2, closures.size());
+        assertEquals(8L, ((Number) closures.get(0).get("ID")).longValue());
+        assertEquals(library, ((Number) closures.get(0).get("STUDY_SPACE_ID")).longValue());
+        assertEquals(Date.valueOf(tomorrow), closures.get(0).get("START_DATE"));
+        assertEquals(Date.valueOf(tomorrow), closures.get(0).get("END_DATE"));
+        assertNull(closures.get(0).get("START_TIME"));
+        assertEquals(lab, ((Number) closures.get(1).get("STUDY_SPACE_ID")).longValue());
+        assertEquals(Date.valueOf(tomorrow), closures.get(1).get("START_DATE"));
+    }
+}
@@ -0,0 +1,59 @@
+package gr.hua.dit.studyrooms.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that a database created by the former {@code ddl-auto=update}, before the id
+ * sequences, the outbox and closures existed, migrates to the schema the entities expect
+ * with the application's Flyway baseline settings.
+ */
+class FlywayBaselineTest {
+
+    /**
+     * The baseline lies below V1, so V1 adds the sequences and tables such a database lacks.
+     */
+    @Test
+    void preMigrationDatabaseReceivesTheBaselineScript() throws IOException {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:flyway-baseline;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // The schema ddl-auto=update generated from the original entities
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "username VARCHAR(50) NOT NULL UNIQUE, password VARCHAR(255) NOT NULL, "
+                + "full_name VARCHAR(100) NOT NULL, email VARCHAR(100) NOT NULL UNIQUE, "
+                + "role VARCHAR(20) NOT NULL, penalty_until DATE)");
+        jdbcTemplate.execute("CREATE TABLE study_spaces (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "name VARCHAR(80) NOT NULL, description VARCHAR(500), capacity INTEGER NOT NULL, "
+                + "open_time TIME NOT NULL, close_time TIME NOT NULL, full_day BOOLEAN DEFAULT FALSE NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE reservations (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "user_id BIGINT NOT NULL REFERENCES users (id), "
+                + "study_space_id BIGINT NOT NULL REFERENCES study_spaces (id), date DATE NOT NULL, "
+                + "start_time TIME NOT NULL, end_time TIME NOT NULL, status VARCHAR(20) NOT NULL, "
+                + "demo BOOLEAN DEFAULT FALSE NOT NULL)");
+
+        Flyway.configure().dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .baselineOnMigrate(Boolean.parseBoolean(properties.getProperty("spring.flyway.baseline-on-migrate")))
+                .baselineVersion(properties.getProperty("spring.flyway.baseline-version"))
+                .load()
+                .migrate();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM \"flyway_schema_history\" "
+                + "WHERE \"version\" = '1' AND \"success\"", Integer.class));
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE SEQUENCE_NAME LIKE '%_SEQ'", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES "
+                + "WHERE TABLE_NAME IN ('NOTIFICATION_OUTBOX', 'SPACE_CLOSURES')", Integer.class));
+    }
+}
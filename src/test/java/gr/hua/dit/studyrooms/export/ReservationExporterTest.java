@@ -0,0 +1,141 @@
+package gr.hua.dit.studyrooms.export;
+
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.fixture.ReservationFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link ReservationExporter} against the migrated (H2) schema.
+ *
+ * Verifies both formats, the date range, archived rows, month-by-month ordering and CSV
+ * quoting and formula escaping of free text.
+ */
+@DataJpaTest
+@Import(ReservationExporter.class)
+class ReservationExporterTest {
+
+    @Autowired
+    private ReservationExporter reservationExporter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate day = LocalDate.of(2031, 3, 3);
+
+    private long spaceId;
+    private long userId;
+    private long reservationId;
+    private long archivedId;
+
+    @BeforeEach
+    void seed() {
+        ReservationFixture fixture = new ReservationFixture(jdbcTemplate);
+        userId = fixture.user("export");
+        spaceId = fixture.space("Room \"A\", north", 10);
+        reservationId = fixture.reservation(userId, spaceId, day,
+                LocalTime.of(10, 0), LocalTime.of(11, 30), ReservationStatus.CONFIRMED);
+        archivedId = fixture.archivedReservation(userId, spaceId, day.minusDays(1),
+                LocalTime.of(9, 0), LocalTime.of(10, 0), ReservationStatus.NO_SHOW);
+    }
+
+    private String export(ReservationExporter.Format format, LocalDate from, LocalDate to) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        reservationExporter.export(format, from, to, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * NDJSON holds one flat object per reservation, archived ones included, ordered by date.
+     */
+    @Test
+    void exportsNdjsonLines() throws IOException {
+        String[] lines = export(ReservationExporter.Format.NDJSON, day.minusDays(1), day).split("\n");
+
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":" + archivedId + ",\"date\":\"2031-03-02\",\"startTime\":\"09:00\","
+                + "\"endTime\":\"10:00\",\"status\":\"NO_SHOW\",\"spaceId\":" + spaceId
+                + ",\"spaceName\":\"Room \\\"A\\\", north\",\"userId\":" + userId
+                + ",\"username\":\"export\",\"archived\":true}", lines[0]);
+        assertTrue(lines[1].startsWith("{\"id\":" + reservationId + ",") && lines[1].endsWith("\"archived\":false}"));
+    }
+
+    /**
+     * CSV starts with a header, quotes free text when needed and honours the date range.
+     */
+    @Test
+    void exportsCsvWithinRange() throws IOException {
+        String[] lines = export(ReservationExporter.Format.CSV, day, day).split("\r\n");
+
+        assertArrayEquals(new String[] {
+                "id,date,startTime,endTime,status,spaceId,spaceName,userId,username,archived",
+                reservationId + ",2031-03-03,10:00,11:30,CONFIRMED," + spaceId
+                        + ",\"Room \"\"A\"\", north\"," + userId + ",export,false"
+        }, lines);
+    }
+
+    /**
+     * An open range spans every stored month; rows come out by date whichever table holds
+     * their month.
+     */
+    @Test
+    void exportsOpenRangeMonthByMonth() throws IOException {
+        ReservationFixture fixture = new ReservationFixture(jdbcTemplate);
+        long january = fixture.archivedReservation(userId, spaceId, LocalDate.of(2031, 1, 31),
+                LocalTime.of(8, 0), LocalTime.of(9, 0), ReservationStatus.CONFIRMED);
+        long february = fixture.reservation(userId, spaceId, LocalDate.of(2031, 2, 1),
+                LocalTime.of(8, 0), LocalTime.of(9, 0), ReservationStatus.CONFIRMED);
+
+        List<String> ids = Arrays.stream(export(ReservationExporter.Format.CSV, null, null).split("\r\n"))
+                .filter(line -> line.contains("," + spaceId + ","))
+                .map(line -> line.substring(0, line.indexOf(',')))
+                .toList();
+
+        assertEquals(List.of(january, february, archivedId, reservationId),
+                ids.stream().map(Long::valueOf).toList());
+    }
+
+    /**
+     * CSV cells that start like a formula are prefixed so spreadsheets show them as text.
+     */
+    @Test
+    void escapesCsvFormulas() throws IOException {
+        ReservationFixture fixture = new ReservationFixture(jdbcTemplate);
+        long formulaUser = fixture.user("@cmd");
+        long formulaSpace = fixture.space("=HYPERLINK(\"x\")", 1);
+        long id = fixture.reservation(formulaUser, formulaSpace, day.plusDays(1),
+                LocalTime.of(10, 0), LocalTime.of(11, 0), ReservationStatus.CONFIRMED);
+
+        String[] lines = export(ReservationExporter.Format.CSV, day.plusDays(1), day.plusDays(1)).split("\r\n");
+
+        assertEquals(id + ",2031-03-04,10:00,11:00,CONFIRMED," + formulaSpace
+                + ",\"'=HYPERLINK(\"\"x\"\")\"," + formulaUser + ",'@cmd,false", lines[1]);
+    }
+
+    /**
+     * Formats are matched case-insensitively; others are rejected.
+     */
+    @Test
+    void parsesFormats() {
+        assertEquals(ReservationExporter.Format.CSV, ReservationExporter.Format.fromParam("CSV"));
+        assertEquals(ReservationExporter.Format.NDJSON, ReservationExporter.Format.fromParam("ndjson"));
+        assertThrows(IllegalArgumentException.class, () -> ReservationExporter.Format.fromParam("xml"));
+    }
+}
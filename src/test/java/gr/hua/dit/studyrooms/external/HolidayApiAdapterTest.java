@@ -0,0 +1,127 @@
+package gr.hua.dit.studyrooms.external;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the holiday calendar cache in {@link HolidayApiAdapter}.
+ *
+ * The WebClient is backed by a stub exchange function, so no network is involved and
+ * every call to the "API" can be counted.
+ */
+class HolidayApiAdapterTest {
+
+    // Minimal API response: New Year's Day and Christmas 2027
+    private static final String HOLIDAYS_2027 = "["
+            + "{\"date\":\"2027-01-01\",\"localName\":\"Πρωτοχρονιά\",\"name\":\"New Year's Day\"},"
+            + "{\"date\":\"2027-12-25\",\"localName\":\"Χριστούγεννα\",\"name\":\"Christmas Day\"}"
+            + "]";
+
+    /**
+     * Builds a WebClient whose every request answers with the given JSON after a delay.
+     */
+    private static WebClient stubClient(AtomicInteger calls, String body, Duration delay) {
+        ExchangeFunction exchange = request -> {
+            calls.incrementAndGet();
+            ClientResponse response = ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build();
+            return Mono.just(response).delayElement(delay);
+        };
+        return WebClient.builder().exchangeFunction(exchange).build();
+    }
+
+    /**
+     * Many threads asking about the same uncached year must trigger exactly one API call,
+     * and later lookups for any date in that year are served from memory.
+     */
+    @Test
+    void concurrentMissesShareOneFetch() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        HolidayApiAdapter adapter = new HolidayApiAdapter(
+                stubClient(calls, HOLIDAYS_2027, Duration.ofMillis(200)), "GR", Duration.ofHours(24));
+
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return adapter.isHoliday(LocalDate.of(2027, 12, 25));
+            }));
+        }
+        start.countDown();
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+        pool.shutdown();
+
+        // Other dates of the same year do not hit the API again
+        assertTrue(adapter.isHoliday(LocalDate.of(2027, 1, 1)));
+        assertFalse(adapter.isHoliday(LocalDate.of(2027, 3, 3)));
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * When the API fails, the bundled offline dataset answers instead.
+     */
+    @Test
+    void fallsBackToOfflineDatasetWhenApiFails() {
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction failing = request -> {
+            calls.incrementAndGet();
+            return Mono.error(new IllegalStateException("connection refused"));
+        };
+        HolidayApiAdapter adapter = new HolidayApiAdapter(
+                WebClient.builder().exchangeFunction(failing).build(), "GR", Duration.ofHours(24));
+
+        // 25 March (Independence Day) is in holidays/GR.json
+        assertTrue(adapter.isHoliday(LocalDate.of(2026, 3, 25)));
+        assertFalse(adapter.isHoliday(LocalDate.of(2026, 3, 26)));
+        assertTrue(adapter.calendarFor(2026).isOffline());
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * A load that fails outright must not leave the year's entry pending: the caller gets
+     * the error instead of blocking, and the next lookup tries again.
+     */
+    @Test
+    void failedLoadIsNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction failing = request -> {
+            calls.incrementAndGet();
+            return Mono.error(new IllegalStateException("connection refused"));
+        };
+        // holidays/XX.json (test resources) holds an invalid date, so the fallback throws too
+        HolidayApiAdapter adapter = new HolidayApiAdapter(
+                WebClient.builder().exchangeFunction(failing).build(), "XX", Duration.ofHours(24));
+
+        assertThrows(RuntimeException.class, () -> adapter.isHoliday(LocalDate.of(2027, 5, 1)));
+        assertThrows(RuntimeException.class, () -> adapter.isHoliday(LocalDate.of(2027, 5, 1)));
+        assertEquals(2, calls.get());
+    }
+}
@@ -0,0 +1,191 @@
+package gr.hua.dit.studyrooms.fixture;
+
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seeds users, study spaces and reservations straight into the migrated schema with JDBC,
+ * for tests of the SQL-level components (rollup, export, search, query plans).
+ *
+ * Ids come from one counter shared by every fixture in the JVM, so tests never collide
+ * with each other's rows and need no reserved id ranges. Usernames, emails and space
+ * names are derived from the id unless given.
+ */
+public final class ReservationFixture {
+
+    // Well above anything the migrations or demo data create
+    private static final AtomicLong IDS = new AtomicLong(1_000_000);
+
+    // Default opening hours of seeded spaces
+    public static final LocalTime OPEN = LocalTime.of(8, 0);
+    public static final LocalTime CLOSE = LocalTime.of(20, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Rows created by this fixture, for deleteCreated()
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> spaceIds = new ArrayList<>();
+
+    public ReservationFixture(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts a student.
+     *
+     * @param username the username (also used for the name and email)
+     * @return the user id
+     */
+    public long user(String username) {
+        long id = IDS.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO users (id, username, password, full_name, email, role) "
+                + "VALUES (?, ?, 'x', ?, ?, 'STUDENT')", id, username, "User " + username, username + "@example.com");
+        userIds.add(id);
+        return id;
+    }
+
+    /**
+     * Inserts {@code count} students in one batch.
+     *
+     * @return their ids, in insertion order
+     */
+    public List<Long> users(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = IDS.incrementAndGet();
+            ids.add(id);
+            rows.add(new Object[]{id, "user" + id, "x", "User " + id, "user" + id + "@example.com", "STUDENT"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, password, full_name, email, role) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        userIds.addAll(ids);
+        return ids;
+    }
+
+    /**
+     * Inserts a study space open from 08:00 to 20:00.
+     *
+     * @param name the space name
+     * @param capacity number of seats
+     * @return the space id
+     */
+    public long space(String name, int capacity) {
+        long id = IDS.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO study_spaces (id, name, capacity, open_time, close_time, full_day) "
+                + "VALUES (?, ?, ?, ?, ?, FALSE)", id, name, capacity, OPEN, CLOSE);
+        spaceIds.add(id);
+        return id;
+    }
+
+    /**
+     * Inserts {@code count} study spaces open from 08:00 to 20:00 in one batch.
+     *
+     * @return their ids, in insertion order
+     */
+    public List<Long> spaces(int count, int capacity) {
+        List<Long> ids = new ArrayList<>(count);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = IDS.incrementAndGet();
+            ids.add(id);
+            rows.add(new Object[]{id, "Room " + id, capacity, OPEN, CLOSE, false});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO study_spaces (id, name, capacity, open_time, close_time, full_day) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        spaceIds.addAll(ids);
+        return ids;
+    }
+
+    /**
+     * Inserts a (non-demo) reservation into the hot table.
+     *
+     * @return the reservation id
+     */
+    public long reservation(long userId, long spaceId, LocalDate date, LocalTime start, LocalTime end,
+                            ReservationStatus status) {
+        return insert("reservations", userId, spaceId, date, start, end, status);
+    }
+
+    /**
+     * Inserts a (non-demo) reservation into the archive.
+     *
+     * @return the reservation id
+     */
+    public long archivedReservation(long userId, long spaceId, LocalDate date, LocalTime start, LocalTime end,
+                                    ReservationStatus status) {
+        return insert("reservations_archive", userId, spaceId, date, start, end, status);
+    }
+
+    /**
+     * Starts a batch of hot reservations, for seeding large tables.
+     *
+     * @return an empty batch
+     */
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Deletes everything this fixture inserted, for tests that run without a rolled-back
+     * test transaction. Rows other components derived from it must be removed first.
+     */
+    public void deleteCreated() {
+        for (long spaceId : spaceIds) {
+            jdbcTemplate.update("DELETE FROM reservations_archive WHERE study_space_id = ?", spaceId);
+            jdbcTemplate.update("DELETE FROM reservations WHERE study_space_id = ?", spaceId);
+            jdbcTemplate.update("DELETE FROM study_spaces WHERE id = ?", spaceId);
+        }
+        for (long userId : userIds) {
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        }
+        spaceIds.clear();
+        userIds.clear();
+    }
+
+    private long insert(String table, long userId, long spaceId, LocalDate date, LocalTime start, LocalTime end,
+                        ReservationStatus status) {
+        long id = IDS.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO " + table
+                        + " (id, user_id, study_space_id, date, start_time, end_time, status, demo) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, FALSE)",
+                id, userId, spaceId, date, start, end, status.name());
+        return id;
+    }
+
+    /**
+     * Hot reservations collected and inserted with one JDBC batch.
+     */
+    public final class Batch {
+        private final List<Object[]> rows = new ArrayList<>();
+
+        private Batch() {
+        }
+
+        /**
+         * Adds a (non-demo) reservation to the batch.
+         *
+         * @return this batch
+         */
+        public Batch add(long userId, long spaceId, LocalDate date, LocalTime start, LocalTime end,
+                         ReservationStatus status) {
+            rows.add(new Object[]{IDS.incrementAndGet(), userId, spaceId, date, start, end, status.name(), false});
+            return this;
+        }
+
+        /**
+         * Inserts the collected reservations.
+         */
+        public void insert() {
+            jdbcTemplate.batchUpdate("INSERT INTO reservations "
+                    + "(id, user_id, study_space_id, date, start_time, end_time, status, demo) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        }
+    }
+}
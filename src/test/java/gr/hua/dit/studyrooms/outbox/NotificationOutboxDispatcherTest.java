@@ -0,0 +1,128 @@
+package gr.hua.dit.studyrooms.outbox;
+
+import gr.hua.dit.studyrooms.entity.NotificationOutbox;
+import gr.hua.dit.studyrooms.entity.NotificationOutboxStatus;
+import gr.hua.dit.studyrooms.external.ExternalServiceException;
+import gr.hua.dit.studyrooms.external.notification.NotificationPort;
+import gr.hua.dit.studyrooms.repository.NotificationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link NotificationOutboxDispatcher}.
+ *
+ * The repository and the notification port are mocked; the transaction manager is a
+ * plain mock, so the TransactionTemplate simply runs the callbacks.
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxDispatcherTest {
+
+    @Mock
+    private NotificationOutboxRepository outboxRepository;
+
+    @Mock
+    private NotificationPort notificationPort;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationOutboxDispatcher dispatcher;
+
+    // Single queued email used by the tests
+    private NotificationOutbox message;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new NotificationOutboxDispatcher(outboxRepository, notificationPort, transactionManager,
+                meterRegistry, 10, 3, Duration.ofSeconds(10), Duration.ofMinutes(1),
+                Duration.ofMinutes(5), Duration.ofDays(7));
+
+        message = NotificationOutbox.pending("email", "student@example.com", "Subject", "Body");
+        message.setId(1L);
+
+        lenient().when(outboxRepository.findDueForUpdate(eq(NotificationOutboxStatus.PENDING), any(Instant.class), any()))
+                .thenReturn(List.of(message));
+        lenient().when(outboxRepository.findAllById(any())).thenReturn(List.of(message));
+    }
+
+    /**
+     * A successful delivery marks the message SENT.
+     */
+    @Test
+    void deliveredMessageIsMarkedSent() {
+        assertEquals(1, dispatcher.dispatchBatch());
+
+        verify(notificationPort).sendEmail("student@example.com", "Subject", "Body");
+        assertEquals(NotificationOutboxStatus.SENT, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertNotNull(message.getSentAt());
+        assertEquals(1.0, meterRegistry.counter("studyrooms.notifications.outbox.deliveries",
+                "outcome", "sent").count());
+    }
+
+    /**
+     * A failed delivery stays PENDING and is retried after the backoff delay.
+     */
+    @Test
+    void failedMessageIsRetriedWithBackoff() {
+        doThrow(new ExternalServiceException("timeout"))
+                .when(notificationPort).sendEmail(anyString(), anyString(), anyString());
+
+        Instant before = Instant.now();
+        dispatcher.dispatchBatch();
+
+        assertEquals(NotificationOutboxStatus.PENDING, message.getStatus());
+        assertEquals("timeout", message.getLastError());
+        assertTrue(!message.getNextAttemptAt().isBefore(before.plusSeconds(10)));
+        assertNull(message.getSentAt());
+    }
+
+    /**
+     * After max-attempts failures the message is marked FAILED.
+     */
+    @Test
+    void messageFailsAfterMaxAttempts() {
+        doThrow(new ExternalServiceException("down"))
+                .when(notificationPort).sendEmail(anyString(), anyString(), anyString());
+        message.setAttempts(2);
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(3, message.getAttempts());
+        assertEquals(NotificationOutboxStatus.FAILED, message.getStatus());
+    }
+
+    /**
+     * Backoff doubles per attempt and is capped at max-backoff.
+     */
+    @Test
+    void backoffGrowsExponentiallyUpToCap() {
+        assertEquals(Duration.ofSeconds(10), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(20), dispatcher.backoff(2));
+        assertEquals(Duration.ofSeconds(40), dispatcher.backoff(3));
+        assertEquals(Duration.ofMinutes(1), dispatcher.backoff(4));
+        assertEquals(Duration.ofMinutes(1), dispatcher.backoff(30));
+    }
+}
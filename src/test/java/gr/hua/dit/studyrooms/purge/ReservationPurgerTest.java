@@ -0,0 +1,80 @@
+package gr.hua.dit.studyrooms.purge;
+
+import gr.hua.dit.studyrooms.repository.ArchivedReservationRepository;
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ReservationPurger}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReservationPurgerTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ArchivedReservationRepository archivedReservationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    /**
+     * Rows are deleted by id, one transaction per chunk, until a chunk comes back short;
+     * archived rows follow in chunks of their own.
+     */
+    @Test
+    void purgesSpaceInBoundedChunks() {
+        ReservationPurger purger = new ReservationPurger(reservationRepository, archivedReservationRepository, transactionManager, meterRegistry, 3);
+        when(reservationRepository.findIdsByStudySpaceId(7L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(1L, 2L, 3L))
+                .thenReturn(List.of(4L, 5L, 6L))
+                .thenReturn(List.of(7L));
+        when(reservationRepository.deleteByIdIn(any())).thenReturn(3).thenReturn(3).thenReturn(1);
+        when(archivedReservationRepository.findIdsByStudySpaceId(7L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(8L, 9L, 10L))
+                .thenReturn(List.of(11L));
+        when(archivedReservationRepository.deleteByIdIn(any())).thenReturn(3).thenReturn(1);
+
+        assertEquals(11, purger.purgeSpace(7L));
+
+        verify(reservationRepository).deleteByIdIn(List.of(1L, 2L, 3L));
+        verify(reservationRepository).deleteByIdIn(List.of(7L));
+        verify(archivedReservationRepository).deleteByIdIn(List.of(8L, 9L, 10L));
+        verify(archivedReservationRepository).deleteByIdIn(List.of(11L));
+        verify(transactionManager, times(5)).commit(any());
+        verify(reservationRepository, never()).deleteByStudySpaceId(any());
+        assertEquals(11.0, meterRegistry.get("studyrooms.purge.deleted").counter().count());
+    }
+
+    /**
+     * Nothing to purge costs one read and no delete.
+     */
+    @Test
+    void emptyPurgeIssuesNoDelete() {
+        ReservationPurger purger = new ReservationPurger(reservationRepository, archivedReservationRepository, transactionManager, meterRegistry, 3);
+        when(reservationRepository.findDemoIds(PageRequest.of(0, 3))).thenReturn(List.of());
+
+        assertEquals(0, purger.purgeDemo());
+
+        verify(reservationRepository, never()).deleteByIdIn(any());
+        verify(archivedReservationRepository, never()).deleteByIdIn(any());
+    }
+}
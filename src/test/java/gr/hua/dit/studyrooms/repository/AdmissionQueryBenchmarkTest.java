@@ -0,0 +1,208 @@
+package gr.hua.dit.studyrooms.repository;
+
+import gr.hua.dit.studyrooms.admission.AdmissionVerdict;
+import gr.hua.dit.studyrooms.entity.Reservation;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.entity.SpaceClosure;
+import gr.hua.dit.studyrooms.entity.StudySpace;
+import gr.hua.dit.studyrooms.entity.User;
+import gr.hua.dit.studyrooms.entity.UserRole;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark of the booking admission checks against a real (H2) database.
+ *
+ * Compares the former sequence of three queries (staff closure, per-user daily count,
+ * overlap count) with the single aggregated {@link ReservationRepository#findAdmissionVerdict}
+ * query. It asserts that both return the same verdicts and that the aggregated form costs
+ * one statement per booking, and logs the p50/p99 latency of each variant.
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AdmissionQueryBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdmissionQueryBenchmarkTest.class);
+
+    private static final List<ReservationStatus> ACTIVE = List.of(ReservationStatus.CONFIRMED);
+    private static final int SPACES = 20;
+    private static final int USERS = 50;
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private SpaceClosureRepository spaceClosureRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final LocalDate date = LocalDate.of(2030, 1, 7);
+    private final LocalTime startTime = LocalTime.of(10, 0);
+    private final LocalTime endTime = LocalTime.of(11, 0);
+
+    private StudySpace[] spaces;
+    private User[] users;
+
+    /**
+     * Seeds a busy day: every user holds two reservations spread over the spaces,
+     * plus a staff closure in the last space.
+     */
+    @BeforeEach
+    void setUp() {
+        spaces = new StudySpace[SPACES];
+        for (int i = 0; i < SPACES; i++) {
+            StudySpace space = new StudySpace();
+            space.setName("Room " + i);
+            space.setCapacity(10);
+            space.setOpenTime(LocalTime.of(8, 0));
+            space.setCloseTime(LocalTime.of(20, 0));
+            entityManager.persist(space);
+            spaces[i] = space;
+        }
+        users = new User[USERS];
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setUsername("user" + i);
+            user.setPassword("x");
+            user.setFullName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setRole(UserRole.STUDENT);
+            entityManager.persist(user);
+            users[i] = user;
+        }
+        for (int i = 0; i < USERS * 2; i++) {
+            LocalTime start = LocalTime.of(8 + (i % 10), 0);
+            persistReservation(users[i % USERS], spaces[i % (SPACES - 1)], start, start.plusHours(2),
+                    ReservationStatus.CONFIRMED);
+        }
+        entityManager.persist(new SpaceClosure(spaces[SPACES - 1], date, date, null, null, "Maintenance"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void persistReservation(User user, StudySpace space, LocalTime start, LocalTime end,
+                                    ReservationStatus status) {
+        Reservation reservation = new Reservation();
+        reservation.setUser(user);
+        reservation.setStudySpace(space);
+        reservation.setDate(date);
+        reservation.setStartTime(start);
+        reservation.setEndTime(end);
+        reservation.setStatus(status);
+        entityManager.persist(reservation);
+    }
+
+    /**
+     * The former admission checks: three separate queries.
+     */
+    private AdmissionVerdict legacyChecks(StudySpace space, User user) {
+        boolean closed = !spaceClosureRepository.findOverlapping(
+                space.getId(), date, date, startTime, endTime).isEmpty();
+        long userActive = reservationRepository.countByUserAndDateAndStatusIn(user, date, ACTIVE);
+        long overlapping = reservationRepository.countOverlappingReservations(
+                space, date, startTime, endTime, ACTIVE);
+        return new AdmissionVerdict(closed ? 1L : 0L, userActive, overlapping);
+    }
+
+    private AdmissionVerdict aggregatedCheck(StudySpace space, User user) {
+        return reservationRepository.findAdmissionVerdict(space.getId(), user.getId(), date,
+                startTime, endTime, ACTIVE);
+    }
+
+    /**
+     * Both variants agree for every (space, user) pair.
+     */
+    @Test
+    void aggregatedQueryMatchesSeparateQueries() {
+        for (StudySpace space : spaces) {
+            for (User user : users) {
+                AdmissionVerdict legacy = legacyChecks(space, user);
+                AdmissionVerdict aggregated = aggregatedCheck(space, user);
+                assertEquals(legacy.isClosedByStaff(), aggregated.isClosedByStaff());
+                assertEquals(legacy.getUserActiveReservations(), aggregated.getUserActiveReservations());
+                assertEquals(legacy.getOverlappingReservations(), aggregated.getOverlappingReservations());
+            }
+        }
+    }
+
+    /**
+     * Measures statements and latency per booking for both variants.
+     */
+    @Test
+    void aggregatedQueryCostsOneRoundTrip() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Result legacy = measure(statistics, i -> legacyChecks(spaces[i % SPACES], users[i % USERS]));
+        Result aggregated = measure(statistics, i -> aggregatedCheck(spaces[i % SPACES], users[i % USERS]));
+
+        LOGGER.info("Admission checks, legacy:     {} statements/booking, p50 {} ms, p99 {} ms",
+                legacy.statementsPerBooking, legacy.p50Millis, legacy.p99Millis);
+        LOGGER.info("Admission checks, aggregated: {} statements/booking, p50 {} ms, p99 {} ms",
+                aggregated.statementsPerBooking, aggregated.p50Millis, aggregated.p99Millis);
+
+        assertEquals(3.0, legacy.statementsPerBooking);
+        assertEquals(1.0, aggregated.statementsPerBooking);
+        assertTrue(aggregated.p50Millis <= aggregated.p99Millis);
+        assertTrue(legacy.p50Millis <= legacy.p99Millis);
+    }
+
+    private Result measure(Statistics statistics, IntFunction<AdmissionVerdict> check) {
+        // Warm-up (query plan cache, JIT)
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            check.apply(i);
+        }
+
+        statistics.clear();
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long began = System.nanoTime();
+            check.apply(i);
+            nanos[i] = System.nanoTime() - began;
+        }
+        long statements = statistics.getPrepareStatementCount();
+
+        Arrays.sort(nanos);
+        return new Result(
+                (double) statements / ITERATIONS,
+                nanos[ITERATIONS / 2] / 1_000_000.0,
+                nanos[(int) Math.ceil(ITERATIONS * 0.99) - 1] / 1_000_000.0);
+    }
+
+    /**
+     * Statements per booking and latency percentiles of one variant.
+     */
+    private static final class Result {
+        private final double statementsPerBooking;
+        private final double p50Millis;
+        private final double p99Millis;
+
+        private Result(double statementsPerBooking, double p50Millis, double p99Millis) {
+            this.statementsPerBooking = statementsPerBooking;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package gr.hua.dit.studyrooms.repository;
+
+import gr.hua.dit.studyrooms.entity.Reservation;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.entity.StudySpace;
+import gr.hua.dit.studyrooms.entity.User;
+import gr.hua.dit.studyrooms.entity.UserRole;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark of bulk reservation writes against a real (H2) database.
+ *
+ * With pooled sequence ids and {@code hibernate.jdbc.batch_size=50}, saving many
+ * reservations costs one sequence call and one JDBC batch per 50 rows instead of one
+ * round trip per row. It asserts the statement count and logs the insert throughput.
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BulkInsertBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkInsertBenchmarkTest.class);
+
+    private static final int ROWS = 2_000;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StudySpace space;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        space = new StudySpace();
+        space.setName("Room");
+        space.setCapacity(ROWS);
+        space.setOpenTime(LocalTime.of(8, 0));
+        space.setCloseTime(LocalTime.of(20, 0));
+        entityManager.persist(space);
+
+        user = new User();
+        user.setUsername("bulk");
+        user.setPassword("x");
+        user.setFullName("Bulk User");
+        user.setEmail("bulk@example.com");
+        user.setRole(UserRole.STUDENT);
+        entityManager.persist(user);
+
+        entityManager.flush();
+    }
+
+    private List<Reservation> newReservations() {
+        List<Reservation> reservations = new ArrayList<>(ROWS);
+        LocalDate first = LocalDate.of(2030, 1, 7);
+        for (int i = 0; i < ROWS; i++) {
+            Reservation reservation = new Reservation();
+            reservation.setUser(user);
+            reservation.setStudySpace(space);
+            reservation.setDate(first.plusDays(i % 365));
+            reservation.setStartTime(LocalTime.of(8 + (i % 10), 0));
+            reservation.setEndTime(LocalTime.of(9 + (i % 10), 0));
+            reservation.setStatus(ReservationStatus.CONFIRMED);
+            reservations.add(reservation);
+        }
+        return reservations;
+    }
+
+    /**
+     * Saves {@value #ROWS} reservations and counts the JDBC statements it took.
+     */
+    @Test
+    void bulkSaveIsBatched() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long began = System.nanoTime();
+        reservationRepository.saveAll(newReservations());
+        entityManager.flush();
+        long elapsed = System.nanoTime() - began;
+
+        long statements = statistics.getPrepareStatementCount();
+        LOGGER.info("Bulk insert: {} rows, {} statements, {} rows/s",
+                ROWS, statements, Math.round(ROWS / (elapsed / 1_000_000_000.0)));
+
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        // One sequence call plus one batch per 50 rows (a little slack for the first pool)
+        assertTrue(statements <= 2L * (ROWS / BATCH_SIZE) + 2,
+                "expected batched inserts, got " + statements + " statements");
+
+        entityManager.clear();
+        assertEquals(ROWS, reservationRepository.count());
+    }
+}
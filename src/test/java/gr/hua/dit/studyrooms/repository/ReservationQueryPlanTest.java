@@ -0,0 +1,198 @@
+package gr.hua.dit.studyrooms.repository;
+
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.entity.StudySpace;
+import gr.hua.dit.studyrooms.entity.User;
+import gr.hua.dit.studyrooms.fixture.ReservationFixture;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query-plan regression test for {@link ReservationRepository}.
+ *
+ * Seeds two years of reservations into the schema built by the Flyway migrations, runs the
+ * repository queries, captures the SQL Hibernate issues and asks the database for each
+ * statement's plan. A plan that scans the whole reservations table instead of using one of
+ * the migration indexes fails the test, naming the query and printing the plan.
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "gr.hua.dit.studyrooms.repository.ReservationQueryPlanTest$SqlCapture")
+class ReservationQueryPlanTest {
+
+    private static final int SPACES = 20;
+    private static final int USERS = 200;
+    private static final int DAYS = 730;
+    private static final int ROWS = 40_000;
+    private static final List<ReservationStatus> ACTIVE = List.of(ReservationStatus.CONFIRMED);
+
+    // How H2 marks a full table scan in EXPLAIN output
+    private static final String TABLE_SCAN = "RESERVATIONS.tableScan";
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Most of the history lies before this day, as in production
+    private final LocalDate today = LocalDate.of(2030, 1, 7);
+    private final LocalTime startTime = LocalTime.of(10, 0);
+    private final LocalTime endTime = LocalTime.of(11, 0);
+
+    /**
+     * Records every SQL statement Hibernate prepares.
+     */
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    private long spaceId;
+    private long userId;
+
+    @BeforeEach
+    void seed() {
+        ReservationFixture fixture = new ReservationFixture(jdbcTemplate);
+        List<Long> users = fixture.users(USERS);
+        List<Long> spaces = fixture.spaces(SPACES, 10);
+        spaceId = spaces.get(0);
+        userId = users.get(0);
+
+        ReservationStatus[] statuses = ReservationStatus.values();
+        ReservationFixture.Batch reservations = fixture.batch();
+        for (int i = 0; i < ROWS; i++) {
+            LocalTime start = LocalTime.of(8 + (i % 11), 0);
+            reservations.add(users.get(i % USERS), spaces.get(i % SPACES),
+                    today.minusDays(DAYS - 7).plusDays(i % DAYS), start, start.plusHours(1),
+                    statuses[i % statuses.length]);
+        }
+        reservations.insert();
+    }
+
+    /**
+     * Every per-space, per-user and per-day finder is answered through an index.
+     */
+    @Test
+    void reservationQueriesUseIndexes() {
+        StudySpace space = entityManager.find(StudySpace.class, spaceId);
+        User user = entityManager.find(User.class, userId);
+
+        assertNoTableScan("findByUser", () -> reservationRepository.findByUser(user));
+        assertNoTableScan("findByStudySpaceAndDate", () -> reservationRepository.findByStudySpaceAndDate(space, today));
+        assertNoTableScan("findByStudySpaceAndDateBetween",
+                () -> reservationRepository.findByStudySpaceAndDateBetween(space, today, today.plusDays(6)));
+        assertNoTableScan("findByDate", () -> reservationRepository.findByDate(today));
+        assertNoTableScan("findByStudySpaceAndDateAndStatusIn",
+                () -> reservationRepository.findByStudySpaceAndDateAndStatusIn(space, today, ACTIVE));
+        assertNoTableScan("countByDate", () -> reservationRepository.countByDate(today));
+        assertNoTableScan("countUpcomingForUser",
+                () -> reservationRepository.countUpcomingForUser(user.getUsername(), today, startTime));
+        assertNoTableScan("countByUserAndDateAndStatusIn",
+                () -> reservationRepository.countByUserAndDateAndStatusIn(user, today, ACTIVE));
+        assertNoTableScan("existsByStudySpaceAndDateAndStatus",
+                () -> reservationRepository.existsByStudySpaceAndDateAndStatus(
+                        space, today, ReservationStatus.CANCELLED_BY_STAFF));
+        assertNoTableScan("countOverlappingReservations",
+                () -> reservationRepository.countOverlappingReservations(space, today, startTime, endTime, ACTIVE));
+        assertNoTableScan("findAdmissionVerdict",
+                () -> reservationRepository.findAdmissionVerdict(spaceId, userId, today, startTime, endTime, ACTIVE));
+        assertNoTableScan("findAdmissionRows",
+                () -> reservationRepository.findAdmissionRows(spaceId, userId,
+                        List.of(today, today.plusWeeks(1), today.plusWeeks(2)), ACTIVE));
+        assertNoTableScan("findIntervalsFromDate", () -> reservationRepository.findIntervalsFromDate(today, ACTIVE));
+        assertNoTableScan("findIntervalsBySpaceAndDate",
+                () -> reservationRepository.findIntervalsBySpaceAndDate(spaceId, today, ACTIVE));
+        assertNoTableScan("findIntervalsByDate", () -> reservationRepository.findIntervalsByDate(today, ACTIVE));
+        assertNoTableScan("findIntervalsBySpaceAndDateBetween",
+                () -> reservationRepository.findIntervalsBySpaceAndDateBetween(spaceId, today, today.plusDays(6), ACTIVE));
+        assertNoTableScan("countByStudySpaceAndDateAndStatusIn",
+                () -> reservationRepository.countByStudySpaceAndDateAndStatusIn(space, today, ACTIVE));
+        assertNoTableScan("findNoticesInWindow",
+                () -> reservationRepository.findNoticesInWindow(List.of(spaceId), today, today.plusDays(1),
+                        startTime, endTime, List.of(ReservationStatus.CANCELLED)));
+        assertNoTableScan("findIdsByIdInAndStatus",
+                () -> reservationRepository.findIdsByIdInAndStatus(List.of(1L, 2L, 3L), ReservationStatus.CONFIRMED));
+        assertNoTableScan("findIdsByStudySpaceId",
+                () -> reservationRepository.findIdsByStudySpaceId(spaceId, PageRequest.of(0, 100)));
+        assertNoTableScan("findIdsByDateBefore",
+                () -> reservationRepository.findIdsByDateBefore(today.minusMonths(6), PageRequest.of(0, 100)));
+        assertNoTableScan("findDemoIds", () -> reservationRepository.findDemoIds(PageRequest.of(0, 100)));
+        assertNoTableScan("updateStatusInWindow",
+                () -> reservationRepository.updateStatusInWindow(List.of(spaceId), today, today, startTime, endTime,
+                        ReservationStatus.CANCELLED_BY_STAFF, List.of(ReservationStatus.CANCELLED)));
+    }
+
+    /**
+     * A page of the staff search by space seeks the per-space index in keyset order.
+     */
+    @Test
+    void spaceSearchUsesSpaceIndex() {
+        String plan = explain("""
+                SELECT r.id, r.date, r.start_time FROM reservations r
+                WHERE r.study_space_id = ? AND (r.date, r.start_time, r.id) > (?, ?, ?)
+                ORDER BY r.date, r.start_time, r.id
+                LIMIT 50
+                """);
+
+        assertFalse(plan.contains(TABLE_SCAN), plan);
+        assertTrue(plan.contains("IDX_RESERVATIONS_SPACE_DATE_START_STATUS"), plan);
+    }
+
+    /**
+     * Runs a repository call and fails if any statement it issued scans the reservations table.
+     */
+    private void assertNoTableScan(String query, Runnable call) {
+        entityManager.clear();
+        SqlCapture.STATEMENTS.clear();
+        call.run();
+        List<String> statements = List.copyOf(SqlCapture.STATEMENTS);
+        assertFalse(statements.isEmpty(), query + " issued no SQL");
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(plan.contains(TABLE_SCAN), query + " scans the reservations table:\n" + plan);
+        }
+    }
+
+    /**
+     * Returns the database's plan for a statement. Parameters are bound to null, as the
+     * plan is chosen without executing the statement.
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql, ps -> {
+            int count = ps.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= count; i++) {
+                ps.setObject(i, null);
+            }
+        }, rs -> {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+            return plan.toString();
+        });
+    }
+}
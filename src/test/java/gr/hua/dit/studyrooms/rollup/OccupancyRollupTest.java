@@ -0,0 +1,121 @@
+package gr.hua.dit.studyrooms.rollup;
+
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.fixture.ReservationFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of {@link OccupancyRollup} against the migrated (H2) schema.
+ *
+ * Runs without a test transaction, as the rollup refreshes days in transactions of its own;
+ * the seeded rows are removed after each test.
+ */
+@DataJpaTest
+@Import(OccupancyRollup.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OccupancyRollupTest {
+
+    @Autowired
+    private OccupancyRollup occupancyRollup;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate day = LocalDate.of(2030, 1, 7);
+
+    private ReservationFixture fixture;
+    private long spaceId;
+    private long userId;
+    private long firstReservationId;
+
+    @BeforeEach
+    void seed() {
+        fixture = new ReservationFixture(jdbcTemplate);
+        userId = fixture.user("rollup");
+        spaceId = fixture.space("Rollup Room", 10);
+        firstReservationId = reservation(day, 10, 0, 11, 0, ReservationStatus.CONFIRMED);
+        reservation(day, 12, 0, 13, 30, ReservationStatus.CONFIRMED);
+        reservation(day, 14, 0, 15, 0, ReservationStatus.CANCELLED);
+        reservation(day.plusDays(1), 9, 0, 10, 0, ReservationStatus.CONFIRMED);
+        fixture.archivedReservation(userId, spaceId, LocalDate.of(2029, 6, 3),
+                LocalTime.of(10, 0), LocalTime.of(12, 0), ReservationStatus.CONFIRMED);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM space_daily_occupancy WHERE study_space_id = ?", spaceId);
+        fixture.deleteCreated();
+    }
+
+    private long reservation(LocalDate date, int fromHour, int fromMinute, int toHour, int toMinute,
+                             ReservationStatus status) {
+        return fixture.reservation(userId, spaceId, date,
+                LocalTime.of(fromHour, fromMinute), LocalTime.of(toHour, toMinute), status);
+    }
+
+    /**
+     * A rebuild aggregates confirmed reservations per day, archived months included.
+     */
+    @Test
+    void rebuildAggregatesHotAndArchivedDays() {
+        occupancyRollup.rebuild(LocalDate.of(2029, 6, 1), day.plusDays(30));
+
+        List<DailyOccupancy> days = occupancyRollup.findDays(spaceId, LocalDate.of(2029, 1, 1), day.plusDays(30));
+
+        assertEquals(List.of(LocalDate.of(2029, 6, 3), day, day.plusDays(1)),
+                days.stream().map(DailyOccupancy::getDate).toList());
+        assertEquals(1, days.get(0).getReservations());
+        assertEquals(120, days.get(0).getOccupiedMinutes());
+        assertEquals(2, days.get(1).getReservations());
+        assertEquals(150, days.get(1).getOccupiedMinutes());
+        assertEquals(60, days.get(2).getOccupiedMinutes());
+    }
+
+    /**
+     * The all-spaces read returns the range's rows grouped by space.
+     */
+    @Test
+    void findDaysBySpaceGroupsRangeBySpace() {
+        occupancyRollup.rebuild(LocalDate.of(2029, 6, 1), day.plusDays(30));
+
+        Map<Long, List<DailyOccupancy>> bySpace = occupancyRollup.findDaysBySpace(day, day.plusDays(1));
+
+        assertEquals(2, bySpace.get(spaceId).size());
+        assertEquals(210, bySpace.get(spaceId).stream().mapToLong(DailyOccupancy::getOccupiedMinutes).sum());
+    }
+
+    /**
+     * Refreshing a day updates its row, or inserts it if the day had none.
+     */
+    @Test
+    void refreshUpdatesOrInsertsOneDay() {
+        occupancyRollup.rebuild(day, day.plusDays(30));
+        jdbcTemplate.update("UPDATE reservations SET status = 'CANCELLED' WHERE id = ?", firstReservationId);
+        reservation(day.plusDays(2), 8, 0, 9, 15, ReservationStatus.CONFIRMED);
+
+        occupancyRollup.refresh(spaceId, day);
+        occupancyRollup.refresh(spaceId, day.plusDays(2));
+
+        List<DailyOccupancy> days = occupancyRollup.findDays(spaceId, day, day.plusDays(2));
+        assertEquals(3, days.size());
+        assertEquals(1, days.get(0).getReservations());
+        assertEquals(90, days.get(0).getOccupiedMinutes());
+        assertEquals(day.plusDays(2), days.get(2).getDate());
+        assertEquals(75, days.get(2).getOccupiedMinutes());
+    }
+}
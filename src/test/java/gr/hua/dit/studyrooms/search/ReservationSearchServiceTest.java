@@ -0,0 +1,140 @@
+package gr.hua.dit.studyrooms.search;
+
+import gr.hua.dit.studyrooms.dto.ReservationSearchPage;
+import gr.hua.dit.studyrooms.dto.ReservationSearchRow;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.fixture.ReservationFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link ReservationSearchService} against the migrated (H2) schema.
+ *
+ * Verifies the filters, walking every page through the keyset cursor without gaps or
+ * repeats (including rows sharing a date and start time), the capped first-page count and
+ * the rejection of invalid input.
+ */
+@DataJpaTest
+@Import(ReservationSearchService.class)
+@TestPropertySource(properties = "studyrooms.search.count-cap=5")
+class ReservationSearchServiceTest {
+
+    @Autowired
+    private ReservationSearchService searchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate day = LocalDate.of(2032, 5, 3);
+
+    private ReservationFixture fixture;
+    private long spaceId;
+    private long userId;
+    // The seeded reservations of spaceId, in insertion (and so id) order
+    private final List<Long> seeded = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        fixture = new ReservationFixture(jdbcTemplate);
+        userId = fixture.user("search");
+        spaceId = fixture.space("Search Room", 10);
+        long otherSpaceId = fixture.space("Other Search Room", 10);
+        // Seven reservations of spaceId over three days; two share day and start time
+        reservation(spaceId, day, 10, ReservationStatus.CONFIRMED);
+        reservation(spaceId, day, 9, ReservationStatus.CONFIRMED);
+        reservation(spaceId, day, 9, ReservationStatus.CANCELLED);
+        reservation(spaceId, day.plusDays(1), 8, ReservationStatus.CONFIRMED);
+        reservation(spaceId, day.plusDays(1), 12, ReservationStatus.NO_SHOW);
+        reservation(spaceId, day.plusDays(2), 8, ReservationStatus.CONFIRMED);
+        reservation(spaceId, day.plusDays(2), 9, ReservationStatus.CONFIRMED);
+        fixture.reservation(userId, otherSpaceId, day, LocalTime.of(9, 0), LocalTime.of(10, 0),
+                ReservationStatus.CONFIRMED);
+    }
+
+    private void reservation(long space, LocalDate date, int hour, ReservationStatus status) {
+        seeded.add(fixture.reservation(userId, space, date, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0), status));
+    }
+
+    /**
+     * Following the cursor visits every match exactly once, in (date, start time, id) order.
+     */
+    @Test
+    void walksAllPagesInKeyOrder() {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ReservationSearchPage page = searchService.search(spaceId, null, null, day, day.plusDays(2), cursor, 2);
+            page.getItems().forEach(row -> ids.add(row.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(4, pages);
+        assertEquals(List.of(seeded.get(1), seeded.get(2), seeded.get(0), seeded.get(3), seeded.get(4),
+                seeded.get(5), seeded.get(6)), ids);
+    }
+
+    /**
+     * Filters combine; the first page carries the total, later pages do not.
+     */
+    @Test
+    void filtersAndCountsFirstPage() {
+        ReservationSearchPage first = searchService.search(spaceId, userId,
+                List.of(ReservationStatus.CONFIRMED), day, day.plusDays(2), null, 3);
+
+        assertEquals(5, first.getTotalCount());
+        assertTrue(first.isTotalExact());
+        assertTrue(first.getItems().stream().allMatch(row -> row.getStatus() == ReservationStatus.CONFIRMED));
+        ReservationSearchRow row = first.getItems().get(0);
+        assertEquals("Search Room", row.getSpaceName());
+        assertEquals("search", row.getUsername());
+
+        ReservationSearchPage second = searchService.search(spaceId, userId,
+                List.of(ReservationStatus.CONFIRMED), day, day.plusDays(2), first.getNextCursor(), 3);
+        assertEquals(2, second.getItems().size());
+        assertNull(second.getTotalCount());
+        assertNull(second.getNextCursor());
+    }
+
+    /**
+     * Beyond the cap the count is reported as a lower bound.
+     */
+    @Test
+    void capsTheCount() {
+        ReservationSearchPage page = searchService.search(null, userId, null, day, day.plusDays(2), null, null);
+
+        assertEquals(8, page.getItems().size());
+        assertEquals(5, page.getTotalCount());
+        assertFalse(page.isTotalExact());
+    }
+
+    /**
+     * Invalid ranges, page sizes and cursors are rejected.
+     */
+    @Test
+    void rejectsInvalidInput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> searchService.search(null, null, null, day, day.minusDays(1), null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> searchService.search(null, null, null, null, null, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> searchService.search(null, null, null, null, null, "not-a-cursor", null));
+    }
+}
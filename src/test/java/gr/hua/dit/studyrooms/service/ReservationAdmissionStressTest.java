@@ -0,0 +1,170 @@
+package gr.hua.dit.studyrooms.service;
+
+import gr.hua.dit.studyrooms.admission.AdmissionVerdict;
+import gr.hua.dit.studyrooms.admission.StripedAdmissionLock;
+import gr.hua.dit.studyrooms.availability.AlternativeSlotFinder;
+import gr.hua.dit.studyrooms.availability.OccupancyLedger;
+import gr.hua.dit.studyrooms.closure.ClosureIndex;
+import gr.hua.dit.studyrooms.closure.SpaceClosureService;
+import gr.hua.dit.studyrooms.entity.Reservation;
+import gr.hua.dit.studyrooms.entity.StudySpace;
+import gr.hua.dit.studyrooms.entity.User;
+import gr.hua.dit.studyrooms.external.HolidayApiPort;
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import gr.hua.dit.studyrooms.repository.SpaceClosureRepository;
+import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
+import gr.hua.dit.studyrooms.repository.UserRepository;
+import gr.hua.dit.studyrooms.service.impl.ReservationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Multi-threaded stress test for reservation admission.
+ *
+ * Many threads race to book the same time slot in a handful of study spaces. With the
+ * striped admission lock and the occupancy ledger, every space must end up with exactly
+ * {@code capacity} confirmed bookings: never more (overbooking) and never fewer (lost seats).
+ * The achieved throughput is logged so regressions in lock contention are visible.
+ */
+class ReservationAdmissionStressTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReservationAdmissionStressTest.class);
+
+    private static final int SPACES = 4;
+    private static final int CAPACITY = 25;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 500;
+
+    private final LocalDate date = LocalDate.now().plusDays(1);
+    private final LocalTime startTime = LocalTime.of(10, 0);
+    private final LocalTime endTime = LocalTime.of(11, 0);
+
+    private ReservationServiceImpl reservationService;
+    private OccupancyLedger occupancyLedger;
+
+    // Successful bookings per space, counted at insert time
+    private final AtomicIntegerArray inserted = new AtomicIntegerArray(SPACES + 1);
+
+    /**
+     * Wires the real service, ledger and striped lock around mocked repositories.
+     * The insert yields the CPU to widen the race window between check and insert.
+     */
+    @BeforeEach
+    void setUp() {
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        StudySpaceRepository studySpaceRepository = mock(StudySpaceRepository.class);
+        HolidayApiPort holidayApiPort = mock(HolidayApiPort.class);
+
+        for (long id = 1; id <= SPACES; id++) {
+            StudySpace space = new StudySpace();
+            space.setId(id);
+            space.setCapacity(CAPACITY);
+            space.setOpenTime(LocalTime.of(8, 0));
+            space.setCloseTime(LocalTime.of(20, 0));
+            when(studySpaceRepository.findById(id)).thenReturn(Optional.of(space));
+        }
+        when(holidayApiPort.isHoliday(any(LocalDate.class))).thenReturn(false);
+        when(reservationRepository.findAdmissionVerdict(any(), any(), any(), any(), any(), any()))
+                .thenReturn(new AdmissionVerdict(0L, 0L, 0L));
+        when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation r = invocation.getArgument(0);
+            Thread.yield();
+            inserted.incrementAndGet(r.getStudySpace().getId().intValue());
+            return r;
+        });
+
+        occupancyLedger = new OccupancyLedger();
+        occupancyLedger.rebuild(List.of());
+
+        reservationService = new ReservationServiceImpl(
+                reservationRepository,
+                studySpaceRepository,
+                holidayApiPort,
+                mock(NotificationService.class),
+                mock(UserRepository.class),
+                occupancyLedger,
+                new StripedAdmissionLock(64),
+                mock(AlternativeSlotFinder.class),
+                mock(ApplicationEventPublisher.class),
+                new ClosureIndex(),
+                mock(SpaceClosureRepository.class),
+                mock(SpaceClosureService.class)
+        );
+    }
+
+    /**
+     * Races all threads against the same slot and verifies the ledger never exceeds capacity.
+     */
+    @Test
+    void concurrentBookingsNeverExceedCapacity() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            final int threadIndex = t;
+            futures.add(pool.submit(() -> {
+                User user = new User();
+                user.setId((long) threadIndex);
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    long spaceId = 1 + ((threadIndex + i) % SPACES);
+                    try {
+                        reservationService.createReservation(user, spaceId, date, startTime, endTime);
+                        accepted.incrementAndGet();
+                    } catch (IllegalStateException ex) {
+                        rejected.incrementAndGet();
+                    }
+                    assertTrue(occupancyLedger.peakOccupancy(spaceId, date, startTime, endTime) <= CAPACITY,
+                            "Ledger exceeded capacity for space " + spaceId);
+                }
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - began;
+        pool.shutdown();
+
+        for (long spaceId = 1; spaceId <= SPACES; spaceId++) {
+            assertEquals(CAPACITY, occupancyLedger.peakOccupancy(spaceId, date, startTime, endTime));
+            assertEquals(CAPACITY, inserted.get((int) spaceId));
+        }
+        assertEquals(SPACES * CAPACITY, accepted.get());
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        // Every attempt was decided: accepted or rejected, never lost
+        assertEquals(attempts, accepted.get() + rejected.get());
+        LOGGER.info("Admission stress: {} attempts ({} accepted, {} rejected) in {} ms -> {} bookings/s",
+                attempts, accepted.get(), rejected.get(), elapsedNanos / 1_000_000,
+                Math.round(attempts / (elapsedNanos / 1_000_000_000.0)));
+    }
+}
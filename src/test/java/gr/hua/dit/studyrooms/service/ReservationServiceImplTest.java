@@ -1,31 +1,57 @@
 package gr.hua.dit.studyrooms.service;
 
+import gr.hua.dit.studyrooms.admission.AdmissionLock;
+import gr.hua.dit.studyrooms.admission.AdmissionRow;
+import gr.hua.dit.studyrooms.admission.AdmissionVerdict;
+import gr.hua.dit.studyrooms.admission.StripedAdmissionLock;
+import gr.hua.dit.studyrooms.availability.AlternativeSlotFinder;
+import gr.hua.dit.studyrooms.availability.CapacityExceededException;
+import gr.hua.dit.studyrooms.availability.OccupancyLedger;
+import gr.hua.dit.studyrooms.availability.ReservationInterval;
+import gr.hua.dit.studyrooms.availability.SlotOption;
+import gr.hua.dit.studyrooms.closure.ClosureIndex;
+import gr.hua.dit.studyrooms.closure.ClosureInterval;
+import gr.hua.dit.studyrooms.closure.SpaceClosureService;
+import gr.hua.dit.studyrooms.dto.ReservationSeriesResult;
+import gr.hua.dit.studyrooms.dto.SpaceClosureResult;
 import gr.hua.dit.studyrooms.entity.Reservation;
 import gr.hua.dit.studyrooms.entity.ReservationStatus;
 import gr.hua.dit.studyrooms.entity.StudySpace;
 import gr.hua.dit.studyrooms.entity.User;
 import gr.hua.dit.studyrooms.external.HolidayApiPort;
 import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import gr.hua.dit.studyrooms.repository.SpaceClosureRepository;
 import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
 import gr.hua.dit.studyrooms.repository.UserRepository;
 import gr.hua.dit.studyrooms.service.impl.ReservationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.ArgumentCaptor;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -63,6 +89,38 @@ class ReservationServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    /** Real in-memory occupancy ledger (not loaded unless a test rebuilds it) */
+    @Spy
+    private OccupancyLedger occupancyLedger = new OccupancyLedger();
+
+    /** Real single-node admission lock */
+    @Spy
+    private AdmissionLock admissionLock = new StripedAdmissionLock(16);
+
+    /** Suggests alternatives when a slot is full */
+    @Mock
+    private AlternativeSlotFinder alternativeSlotFinder;
+
+    /** Receives ReservationChangedEvents */
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    /** Real closure index (not loaded unless a test rebuilds it, so the admission query decides) */
+    @Spy
+    private ClosureIndex closureIndex = new ClosureIndex();
+
+    /** Closure lookups used while the index is not authoritative */
+    @Mock
+    private SpaceClosureRepository spaceClosureRepository;
+
+    /** Records closures and cancels the reservations inside them */
+    @Mock
+    private SpaceClosureService spaceClosureService;
+
+    /** Captures the reservations passed to saveAll */
+    @Captor
+    private ArgumentCaptor<List<Reservation>> batchCaptor;
+
     /** The service under test - Mockito injects the mocked dependencies */
     @InjectMocks
     private ReservationServiceImpl reservationService;
@@ -119,11 +177,26 @@ class ReservationServiceImplTest {
         // Configure default mock behaviors (lenient = won't fail if not used)
         lenient().when(studySpaceRepository.findById(studySpace.getId())).thenReturn(Optional.of(studySpace));
         lenient().when(holidayApiPort.isHoliday(any(LocalDate.class))).thenReturn(false);
-        lenient().when(reservationRepository.existsByStudySpaceAndDateAndStatus(any(), any(), any())).thenReturn(false);
-        lenient().when(reservationRepository.countByUserAndDateAndStatusIn(any(), any(), any())).thenReturn(0L);
+        lenient().when(reservationRepository.findAdmissionVerdict(any(), any(), any(), any(), any(), any()))
+                .thenReturn(verdict(0, 0, 0));
         lenient().when(reservationRepository.save(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
+    /**
+     * Builds the result of the aggregated admission query.
+     */
+    private static AdmissionVerdict verdict(long staffClosures, long userActive, long overlapping) {
+        return new AdmissionVerdict(staffClosures, userActive, overlapping);
+    }
+
+    /**
+     * Stubs the admission query for the fixture's space, user, date and time range.
+     */
+    private OngoingStubbing<AdmissionVerdict> whenAdmissionQueried() {
+        return when(reservationRepository.findAdmissionVerdict(eq(studySpace.getId()), eq(user.getId()), eq(date),
+                eq(startTime), eq(endTime), any()));
+    }
+
     // ==================== Test Cases ====================
 
     /**
@@ -137,8 +210,7 @@ class ReservationServiceImplTest {
     @Test
     void capacityOneBlocksSecondOverlappingReservation() {
         // Simulate that 1 reservation already exists for this time slot
-        when(reservationRepository.countOverlappingReservations(eq(studySpace), eq(date), eq(startTime), eq(endTime), any()))
-                .thenReturn(1L);
+        whenAdmissionQueried().thenReturn(verdict(0, 0, 1));
 
         // Attempting to create another reservation should fail (capacity exceeded)
         assertThrows(IllegalStateException.class, () ->
@@ -159,9 +231,9 @@ class ReservationServiceImplTest {
         studySpace.setCapacity(2);
         
         // First call returns 1 (room for one more), second call returns 2 (at capacity)
-        when(reservationRepository.countOverlappingReservations(eq(studySpace), eq(date), eq(startTime), eq(endTime), any()))
-                .thenReturn(1L)   // First invocation: 1 existing reservation
-                .thenReturn(2L);  // Second invocation: 2 existing reservations
+        whenAdmissionQueried()
+                .thenReturn(verdict(0, 0, 1))   // First invocation: 1 existing reservation
+                .thenReturn(verdict(0, 1, 2));  // Second invocation: 2 existing reservations
 
         // First reservation should succeed (1 existing + 1 new = 2 = capacity)
         reservationService.createReservation(user, studySpace.getId(), date, startTime, endTime);
@@ -179,21 +251,20 @@ class ReservationServiceImplTest {
      * CANCELLED or NO_SHOW should be excluded from the capacity count.
      * 
      * Uses ArgumentCaptor to inspect what statuses are passed to the
-     * countOverlappingReservations method and ensures CANCELLED/NO_SHOW
-     * are not included.
+     * admission query and ensures CANCELLED/NO_SHOW are not included.
      */
     @Test
     void cancelledReservationsDoNotConsumeCapacity() {
         // No overlapping reservations exist
-        when(reservationRepository.countOverlappingReservations(eq(studySpace), eq(date), eq(startTime), eq(endTime), any()))
-                .thenReturn(0L);
+        whenAdmissionQueried().thenReturn(verdict(0, 0, 0));
 
         // Create a reservation (should succeed)
         reservationService.createReservation(user, studySpace.getId(), date, startTime, endTime);
 
-        // Capture the collection of statuses passed to countOverlappingReservations
+        // Capture the collection of statuses passed to the admission query
         ArgumentCaptor<Collection<ReservationStatus>> statusesCaptor = ArgumentCaptor.forClass(Collection.class);
-        verify(reservationRepository).countOverlappingReservations(eq(studySpace), eq(date), eq(startTime), eq(endTime), statusesCaptor.capture());
+        verify(reservationRepository).findAdmissionVerdict(eq(studySpace.getId()), eq(user.getId()), eq(date),
+                eq(startTime), eq(endTime), statusesCaptor.capture());
 
         // Verify that CANCELLED and NO_SHOW statuses are NOT in the list
         // (they should not be counted when checking capacity)
@@ -205,4 +276,210 @@ class ReservationServiceImplTest {
             }
         });
     }
+
+    /**
+     * Tests that once the occupancy ledger is loaded, the capacity check is answered from memory.
+     *
+     * Scenario:
+     * - The ledger already holds one reservation from 10:00 to 11:00
+     * - Capacity is 1, so a second overlapping reservation must be rejected
+     * - The database overlap count (0) must not be what decides
+     */
+    @Test
+    void loadedLedgerAnswersCapacityWithoutDatabaseCount() {
+        occupancyLedger.rebuild(List.of(new ReservationInterval(studySpace.getId(), date, startTime, endTime)));
+        whenAdmissionQueried().thenReturn(verdict(0, 0, 0));
+
+        assertThrows(IllegalStateException.class, () ->
+                reservationService.createReservation(user, studySpace.getId(), date, startTime, endTime));
+        verify(reservationRepository, never()).countOverlappingReservations(any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Tests that a booking reads all database verdicts with one query.
+     *
+     * Scenario:
+     * - A valid booking is created
+     * - The aggregated admission query runs exactly once
+     * - The former per-check queries are not executed
+     */
+    @Test
+    void admissionChecksUseOneQuery() {
+        reservationService.createReservation(user, studySpace.getId(), date, startTime, endTime);
+
+        verify(reservationRepository).findAdmissionVerdict(any(), any(), any(), any(), any(), any());
+        verify(reservationRepository, never()).existsByStudySpaceAndDateAndStatus(any(), any(), any());
+        verify(reservationRepository, never()).countByUserAndDateAndStatusIn(any(), any(), any());
+        verify(reservationRepository, never()).countOverlappingReservations(any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Tests that staff closures and the daily limit are enforced from the admission query.
+     *
+     * Scenario:
+     * - First attempt: the space is closed by staff (a closure the index has not loaded)
+     * - Second attempt: the user already holds 3 active reservations that day
+     * - Both are rejected before anything is saved
+     */
+    @Test
+    void closureAndDailyLimitComeFromAdmissionQuery() {
+        whenAdmissionQueried()
+                .thenReturn(verdict(1, 0, 0))
+                .thenReturn(verdict(0, 3, 0));
+
+        IllegalStateException closed = assertThrows(IllegalStateException.class, () ->
+                reservationService.createReservation(user, studySpace.getId(), date, startTime, endTime));
+        IllegalStateException limit = assertThrows(IllegalStateException.class, () ->
+                reservationService.createReservation(user, studySpace.getId(), date, startTime, endTime));
+
+        assertTrue(closed.getMessage().contains("closed by staff"));
+        assertTrue(limit.getMessage().contains("maximum number of active reservations"));
+        verify(reservationRepository, never()).save(any(Reservation.class));
+    }
+
+    /**
+     * Tests that a loaded closure index rejects a booking inside a closure before any query.
+     *
+     * Scenario:
+     * - The index holds a closure of the space from 09:00 to 10:30 on the date
+     * - A 10:00 - 11:00 booking overlaps it and is rejected
+     * - A 10:30 - 11:30 booking touches it only at the boundary and is accepted
+     */
+    @Test
+    void loadedClosureIndexRejectsWithoutQuery() {
+        closureIndex.rebuild(List.of(new ClosureInterval(
+                1L, studySpace.getId(), date, date, LocalTime.of(9, 0), LocalTime.of(10, 30))));
+
+        IllegalStateException closed = assertThrows(IllegalStateException.class, () ->
+                reservationService.createReservation(user, studySpace.getId(), date, startTime, endTime));
+        assertTrue(closed.getMessage().contains("closed by staff"));
+        verify(reservationRepository, never()).findAdmissionVerdict(any(), any(), any(), any(), any(), any());
+
+        reservationService.createReservation(user, studySpace.getId(), date,
+                LocalTime.of(10, 30), LocalTime.of(11, 30));
+        verify(reservationRepository).save(any(Reservation.class));
+    }
+
+    /**
+     * Tests that the ledger tracks creations and cancellations.
+     *
+     * Scenario:
+     * - Capacity is 1 and the ledger starts empty
+     * - Creating a reservation occupies the slot
+     * - Cancelling it frees the slot again
+     */
+    @Test
+    void ledgerTracksCreateAndCancel() {
+        occupancyLedger.rebuild(List.of());
+
+        Reservation created = reservationService.createReservation(user, studySpace.getId(), date, startTime, endTime);
+        assertEquals(1, occupancyLedger.peakOccupancy(studySpace.getId(), date, startTime, endTime));
+
+        created.setId(42L);
+        when(reservationRepository.findById(42L)).thenReturn(Optional.of(created));
+        reservationService.cancelReservation(42L, user);
+        assertEquals(0, occupancyLedger.peakOccupancy(studySpace.getId(), date, startTime, endTime));
+    }
+
+    /**
+     * Tests that a capacity rejection carries the suggested alternatives.
+     *
+     * Scenario:
+     * - The ledger is loaded and the 10:00 - 11:00 slot is full
+     * - The alternative finder is asked to use the ledger (same data as the check)
+     * - The thrown CapacityExceededException exposes the suggestions, looked up only when
+     *   read, i.e. after the admission lock was released
+     */
+    @Test
+    void capacityRejectionCarriesAlternatives() {
+        occupancyLedger.rebuild(List.of(new ReservationInterval(studySpace.getId(), date, startTime, endTime)));
+        SlotOption later = new SlotOption(studySpace.getId(), "Room", date,
+                LocalTime.of(11, 0), LocalTime.of(12, 0), 1);
+        when(alternativeSlotFinder.suggest(eq(studySpace), eq(date), eq(startTime), eq(endTime), anyInt(), eq(true)))
+                .thenReturn(List.of(later));
+
+        CapacityExceededException ex = assertThrows(CapacityExceededException.class, () ->
+                reservationService.createReservation(user, studySpace.getId(), date, startTime, endTime));
+        verify(alternativeSlotFinder, never()).suggest(any(), any(), any(), any(), anyInt(), anyBoolean());
+
+        assertEquals(1, ex.getAlternatives().size());
+        assertSame(later, ex.getAlternatives().get(0));
+    }
+
+    /**
+     * Tests that a weekly series books the free weeks and reports each conflict.
+     *
+     * Scenario (capacity 1, five Tuesdays-style weekly dates starting tomorrow):
+     * - Week 1 is free and gets booked
+     * - Week 2 is a public holiday
+     * - Week 3 the space is closed by staff
+     * - Week 4 the user already holds 3 reservations elsewhere
+     * - Week 5 the only seat is taken
+     * All checks come from one bulk query and the booking is inserted with one batch.
+     */
+    @Test
+    void seriesBooksFreeWeeksAndReportsConflicts() {
+        LocalDate lastDate = date.plusWeeks(4);
+        when(holidayApiPort.isHoliday(date.plusWeeks(1))).thenReturn(true);
+        closureIndex.rebuild(List.of(new ClosureInterval(
+                1L, studySpace.getId(), date.plusWeeks(2), date.plusWeeks(2), null, null)));
+        when(reservationRepository.findAdmissionRows(eq(studySpace.getId()), eq(user.getId()), any(), any()))
+                .thenReturn(List.of(
+                        new AdmissionRow(2L, user.getId(), date.plusWeeks(3),
+                                LocalTime.of(8, 0), LocalTime.of(9, 0), ReservationStatus.CONFIRMED),
+                        new AdmissionRow(2L, user.getId(), date.plusWeeks(3),
+                                LocalTime.of(12, 0), LocalTime.of(13, 0), ReservationStatus.CONFIRMED),
+                        new AdmissionRow(3L, user.getId(), date.plusWeeks(3),
+                                LocalTime.of(14, 0), LocalTime.of(15, 0), ReservationStatus.CONFIRMED),
+                        new AdmissionRow(studySpace.getId(), 7L, date.plusWeeks(4),
+                                LocalTime.of(10, 30), LocalTime.of(11, 30), ReservationStatus.CONFIRMED)));
+        when(reservationRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Reservation> batch = invocation.getArgument(0);
+            batch.forEach(r -> r.setId(100L));
+            return batch;
+        });
+
+        ReservationSeriesResult result = reservationService.createReservationSeries(
+                user, studySpace.getId(), date, lastDate, 1, startTime, endTime);
+
+        List<ReservationSeriesResult.Occurrence> occurrences = result.getOccurrences();
+        assertEquals(5, occurrences.size());
+        assertEquals(1, result.getCreated());
+        assertEquals(100L, occurrences.get(0).getReservationId());
+        assertTrue(occurrences.get(1).getReason().contains("holidays"));
+        assertTrue(occurrences.get(2).getReason().contains("closed by staff"));
+        assertTrue(occurrences.get(3).getReason().contains("maximum number of active reservations"));
+        assertTrue(occurrences.get(4).getReason().contains("No seats"));
+
+        verify(reservationRepository).saveAll(batchCaptor.capture());
+        assertEquals(List.of(date), batchCaptor.getValue().stream().map(Reservation::getDate).toList());
+        verify(reservationRepository, never()).findAdmissionVerdict(any(), any(), any(), any(), any(), any());
+        verify(reservationRepository, never()).save(any(Reservation.class));
+        verify(spaceClosureRepository, never()).findOverlapping(any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Tests that an oversized series is rejected as a whole.
+     */
+    @Test
+    void seriesRejectsTooManyOccurrences() {
+        assertThrows(IllegalArgumentException.class, () ->
+                reservationService.createReservationSeries(
+                        user, studySpace.getId(), date, date.plusYears(1), 1, startTime, endTime));
+        verify(reservationRepository, never()).saveAll(any());
+    }
+
+    /**
+     * Tests that closing a space for the day as staff is recorded as a whole-day closure.
+     */
+    @Test
+    void staffDayClosureDelegatesToClosureService() {
+        when(spaceClosureService.closeSpaces(List.of(studySpace.getId()), date, date, null, null, "Closed by staff"))
+                .thenReturn(new SpaceClosureResult(List.of(5L), List.of(10L, 11L)));
+
+        List<Long> cancelled = reservationService.cancelByStaffForSpaceAndDate(studySpace.getId(), date);
+
+        assertEquals(List.of(10L, 11L), cancelled);
+        verify(reservationRepository, never()).saveAll(any());
+    }
 }
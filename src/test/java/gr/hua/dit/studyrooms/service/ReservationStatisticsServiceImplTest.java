@@ -0,0 +1,231 @@
+package gr.hua.dit.studyrooms.service;
+
+import gr.hua.dit.studyrooms.analytics.HistoricalReservationStore;
+import gr.hua.dit.studyrooms.availability.ReservationInterval;
+import gr.hua.dit.studyrooms.dto.CampusOccupancyReport;
+import gr.hua.dit.studyrooms.dto.ConcurrencyStatsEntry;
+import gr.hua.dit.studyrooms.dto.OccupancyHeatMap;
+import gr.hua.dit.studyrooms.dto.SpaceOccupancySummary;
+import gr.hua.dit.studyrooms.entity.StudySpace;
+import gr.hua.dit.studyrooms.repository.ArchivedReservationRepository;
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import gr.hua.dit.studyrooms.repository.StudySpaceRepository;
+import gr.hua.dit.studyrooms.rollup.DailyOccupancy;
+import gr.hua.dit.studyrooms.rollup.OccupancyRollup;
+import gr.hua.dit.studyrooms.service.impl.ReservationStatisticsServiceImpl;
+import gr.hua.dit.studyrooms.stats.ConcurrencyProfiler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ReservationStatisticsServiceImpl}.
+ *
+ * The concurrency statistics run through a real {@link ConcurrencyProfiler} (in-memory
+ * sweep) over mocked repositories; the campus report reads a mocked rollup.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReservationStatisticsServiceImplTest {
+
+    private static final long SPACE_ID = 1L;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ArchivedReservationRepository archivedReservationRepository;
+
+    @Mock
+    private OccupancyRollup occupancyRollup;
+
+    @Mock
+    private StudySpaceRepository studySpaceRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ReservationStatisticsServiceImpl statisticsService;
+
+    private ConcurrencyProfiler profiler;
+
+    private StudySpace space;
+
+    // Two full weeks, Monday to Sunday
+    private final LocalDate firstMonday = LocalDate.of(2030, 1, 7);
+    private final LocalDate lastSunday = firstMonday.plusDays(13);
+
+    @BeforeEach
+    void setUp() {
+        profiler = new ConcurrencyProfiler(reservationRepository, archivedReservationRepository,
+                jdbcTemplate, new HistoricalReservationStore(), false);
+        statisticsService = new ReservationStatisticsServiceImpl(occupancyRollup, profiler, studySpaceRepository, 64);
+        space = space(SPACE_ID, "Library", 4);
+    }
+
+    private static StudySpace space(long id, String name, int capacity) {
+        StudySpace space = new StudySpace();
+        space.setId(id);
+        space.setName(name);
+        space.setCapacity(capacity);
+        space.setOpenTime(LocalTime.of(8, 0));
+        space.setCloseTime(LocalTime.of(20, 0));
+        return space;
+    }
+
+    private static ReservationInterval interval(LocalDate date, int startHour, int startMinute,
+                                                int endHour, int endMinute) {
+        return new ReservationInterval(SPACE_ID, date, LocalTime.of(startHour, startMinute),
+                LocalTime.of(endHour, endMinute));
+    }
+
+    /**
+     * Two Mondays with reservations: on the first, 09:00-09:30 at two seats and 09:30-10:00
+     * at three; on the second, 09:00-10:00 at one seat.
+     */
+    private void stubTwoMondays() {
+        when(reservationRepository.findIntervalsBySpaceAndDateBetween(eq(SPACE_ID), eq(firstMonday), eq(lastSunday),
+                any())).thenReturn(List.of(
+                interval(firstMonday, 9, 0, 10, 0),
+                interval(firstMonday, 9, 0, 10, 0),
+                interval(firstMonday, 9, 30, 10, 0),
+                interval(firstMonday.plusWeeks(1), 9, 0, 10, 0)));
+    }
+
+    /**
+     * Every day of the range gets an entry; the 95th percentile counts the idle open minutes,
+     * so a short three-seat peak does not reach it.
+     */
+    @Test
+    void dailyConcurrencyReportsPeakAndPercentile() {
+        stubTwoMondays();
+
+        List<ConcurrencyStatsEntry> entries = statisticsService.getDailyConcurrency(space, firstMonday, lastSunday);
+
+        assertEquals(14, entries.size());
+        ConcurrencyStatsEntry first = entries.get(0);
+        assertEquals(firstMonday, first.getDate());
+        assertEquals(3, first.getPeakConcurrency());
+        // Open 720 minutes, 660 idle: the 684th minute falls in the two-seat half hour
+        assertEquals(2, first.getP95Concurrency());
+        assertEquals(4, first.getCapacity());
+        assertEquals(1, entries.get(7).getPeakConcurrency());
+        assertEquals(1, entries.get(7).getP95Concurrency());
+        assertEquals(0, entries.get(1).getPeakConcurrency());
+        assertEquals(0, entries.get(1).getP95Concurrency());
+    }
+
+    /**
+     * A heat map cell averages the hour over every such weekday in the range, days without
+     * reservations included, and keeps the highest peak.
+     */
+    @Test
+    void heatMapAveragesOverEveryWeekdayInRange() {
+        stubTwoMondays();
+
+        OccupancyHeatMap heatMap = statisticsService.getHourlyHeatMap(space, firstMonday, lastSunday);
+
+        int monday = DayOfWeek.MONDAY.getValue() - 1;
+        // (150 + 60) seat-minutes over two Mondays of 60 minutes
+        assertEquals(1.75, heatMap.getAverageOccupancy()[monday][9], 1e-9);
+        assertEquals(3, heatMap.getPeakOccupancy()[monday][9]);
+        assertEquals(0.0, heatMap.getAverageOccupancy()[monday][10], 1e-9);
+        assertEquals(0.0, heatMap.getAverageOccupancy()[DayOfWeek.TUESDAY.getValue() - 1][9], 1e-9);
+        assertEquals(4, heatMap.getCapacity());
+    }
+
+    /**
+     * The campus report sums every space over the range, caps each day at the space's
+     * seat-minutes and includes spaces without reservations; campus totals add the spaces up.
+     */
+    @Test
+    void campusOccupancyCapsDaysAndSumsSpaces() {
+        LocalDate tuesday = firstMonday.plusDays(1);
+        StudySpace hall = space(3L, "Hall", 2);
+        StudySpace lab = space(2L, "Lab", 1);
+        when(studySpaceRepository.findAllByOrderByNameAsc()).thenReturn(List.of(hall, lab, space));
+        when(occupancyRollup.findDaysBySpace(firstMonday, tuesday)).thenReturn(Map.of(
+                2L, List.of(new DailyOccupancy(firstMonday, 3, 900), new DailyOccupancy(tuesday, 1, 60)),
+                SPACE_ID, List.of(new DailyOccupancy(firstMonday, 2, 240))));
+
+        CampusOccupancyReport report = statisticsService.getCampusOccupancy(firstMonday, tuesday);
+
+        assertEquals(List.of("Hall", "Lab", "Library"),
+                report.getSpaces().stream().map(SpaceOccupancySummary::getSpaceName).toList());
+        SpaceOccupancySummary hallSummary = report.getSpaces().get(0);
+        assertEquals(0, hallSummary.getReservationsCount());
+        assertEquals(0, hallSummary.getOccupiedMinutes());
+        assertEquals(2 * 2 * 720, hallSummary.getTotalMinutes());
+        SpaceOccupancySummary labSummary = report.getSpaces().get(1);
+        assertEquals(4, labSummary.getReservationsCount());
+        // Monday's 900 seat-minutes are capped at the lab's 720
+        assertEquals(720 + 60, labSummary.getOccupiedMinutes());
+        assertEquals(2 * 720, labSummary.getTotalMinutes());
+        SpaceOccupancySummary librarySummary = report.getSpaces().get(2);
+        assertEquals(240, librarySummary.getOccupiedMinutes());
+        assertEquals(2 * 4 * 720, librarySummary.getTotalMinutes());
+
+        assertEquals(6, report.getReservationsCount());
+        assertEquals(1020, report.getOccupiedMinutes());
+        assertEquals(2880 + 1440 + 5760, report.getTotalMinutes());
+        assertEquals(1020 * 100.0 / 10080, report.getOccupancyPercentage(), 1e-9);
+    }
+
+    /**
+     * Summing the spaces on the fork-join pool gives the same report, in catalog order, as
+     * the sequential loop.
+     */
+    @Test
+    void campusOccupancyIsTheSameInParallel() {
+        LocalDate tuesday = firstMonday.plusDays(1);
+        List<StudySpace> spaces = new ArrayList<>();
+        Map<Long, List<DailyOccupancy>> daysBySpace = new HashMap<>();
+        for (long id = 1; id <= 200; id++) {
+            spaces.add(space(id, String.format("Room %03d", id), (int) (id % 5) + 1));
+            daysBySpace.put(id, List.of(new DailyOccupancy(firstMonday, (int) id, id * 37),
+                    new DailyOccupancy(tuesday, 1, id * 11)));
+        }
+        when(studySpaceRepository.findAllByOrderByNameAsc()).thenReturn(spaces);
+        when(occupancyRollup.findDaysBySpace(firstMonday, tuesday)).thenReturn(daysBySpace);
+        ReservationStatisticsServiceImpl parallel =
+                new ReservationStatisticsServiceImpl(occupancyRollup, profiler, studySpaceRepository, 1);
+        ReservationStatisticsServiceImpl sequential =
+                new ReservationStatisticsServiceImpl(occupancyRollup, profiler, studySpaceRepository, 1_000);
+
+        CampusOccupancyReport inParallel = parallel.getCampusOccupancy(firstMonday, tuesday);
+        CampusOccupancyReport inSequence = sequential.getCampusOccupancy(firstMonday, tuesday);
+
+        assertEquals(inSequence.getSpaces().stream().map(SpaceOccupancySummary::getSpaceId).toList(),
+                inParallel.getSpaces().stream().map(SpaceOccupancySummary::getSpaceId).toList());
+        assertEquals(inSequence.getReservationsCount(), inParallel.getReservationsCount());
+        assertEquals(inSequence.getOccupiedMinutes(), inParallel.getOccupiedMinutes());
+        assertEquals(inSequence.getTotalMinutes(), inParallel.getTotalMinutes());
+    }
+
+    /**
+     * Ranges that end before they start or exceed a year are rejected.
+     */
+    @Test
+    void campusOccupancyRejectsInvalidRanges() {
+        assertThrows(IllegalArgumentException.class,
+                () -> statisticsService.getCampusOccupancy(firstMonday, firstMonday.minusDays(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> statisticsService.getCampusOccupancy(firstMonday, firstMonday.plusDays(366)));
+    }
+}
@@ -0,0 +1,81 @@
+package gr.hua.dit.studyrooms.stats;
+
+import gr.hua.dit.studyrooms.analytics.HistoricalReservationStore;
+import gr.hua.dit.studyrooms.entity.ReservationStatus;
+import gr.hua.dit.studyrooms.fixture.ReservationFixture;
+import gr.hua.dit.studyrooms.repository.ArchivedReservationRepository;
+import gr.hua.dit.studyrooms.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that the SQL sweep of {@link ConcurrencyProfiler} agrees with the in-memory sweep,
+ * against the migrated (H2) schema, hot and archived rows included.
+ */
+@DataJpaTest
+class ConcurrencyProfilerSqlTest {
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ArchivedReservationRepository archivedReservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate day = LocalDate.of(2030, 1, 7);
+
+    private long spaceId;
+
+    @BeforeEach
+    void seed() {
+        ReservationFixture fixture = new ReservationFixture(jdbcTemplate);
+        long userId = fixture.user("profile");
+        spaceId = fixture.space("Profile Room", 10);
+        fixture.reservation(userId, spaceId, day, LocalTime.of(9, 0), LocalTime.of(10, 0), ReservationStatus.CONFIRMED);
+        fixture.reservation(userId, spaceId, day, LocalTime.of(9, 30), LocalTime.of(11, 0), ReservationStatus.CONFIRMED);
+        fixture.reservation(userId, spaceId, day, LocalTime.of(10, 0), LocalTime.of(10, 15), ReservationStatus.CONFIRMED);
+        fixture.reservation(userId, spaceId, day, LocalTime.of(10, 0), LocalTime.of(12, 0), ReservationStatus.CANCELLED);
+        fixture.reservation(userId, spaceId, day.plusDays(1), LocalTime.of(8, 20), LocalTime.of(9, 40),
+                ReservationStatus.CONFIRMED);
+        fixture.archivedReservation(userId, spaceId, day.minusDays(40), LocalTime.of(13, 0), LocalTime.of(14, 30),
+                ReservationStatus.CONFIRMED);
+        fixture.archivedReservation(userId, spaceId, day.minusDays(40), LocalTime.of(14, 0), LocalTime.of(15, 0),
+                ReservationStatus.CONFIRMED);
+    }
+
+    private ConcurrencyProfiler profiler(boolean pushDown) {
+        return new ConcurrencyProfiler(reservationRepository, archivedReservationRepository, jdbcTemplate,
+                new HistoricalReservationStore(), pushDown);
+    }
+
+    /**
+     * Both sweeps give every day the same hourly peaks and seat-minutes.
+     */
+    @Test
+    void sqlSweepMatchesInMemorySweep() {
+        Map<LocalDate, DayConcurrency> inMemory = profiler(false).profile(spaceId, day.minusDays(60), day.plusDays(1));
+        Map<LocalDate, DayConcurrency> inSql = profiler(true).profile(spaceId, day.minusDays(60), day.plusDays(1));
+
+        assertEquals(inMemory.keySet(), inSql.keySet());
+        assertEquals(3, inSql.size());
+        inMemory.forEach((date, expected) -> {
+            DayConcurrency actual = inSql.get(date);
+            for (int hour = 0; hour < DayConcurrency.HOURS; hour++) {
+                assertEquals(expected.getHourPeak(hour), actual.getHourPeak(hour), date + " hour " + hour);
+                assertEquals(expected.getHourSeatMinutes(hour), actual.getHourSeatMinutes(hour), date + " hour " + hour);
+            }
+            assertEquals(expected.getPercentile(0.95, 720), actual.getPercentile(0.95, 720), date.toString());
+        });
+    }
+}
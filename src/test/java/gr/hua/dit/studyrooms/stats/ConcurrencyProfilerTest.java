@@ -0,0 +1,93 @@
+package gr.hua.dit.studyrooms.stats;
+
+import gr.hua.dit.studyrooms.availability.ReservationInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests of the in-memory sweep of {@link ConcurrencyProfiler} and of {@link DayConcurrency}.
+ *
+ * Verifies hourly peaks and seat-minutes, half-open interval boundaries, per-day grouping and
+ * the percentile over the opening minutes.
+ */
+class ConcurrencyProfilerTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+
+    private static ReservationInterval interval(LocalDate date, int startHour, int startMinute,
+                                                int endHour, int endMinute) {
+        return new ReservationInterval(1L, date, LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute));
+    }
+
+    /**
+     * Overlaps raise the level; a reservation ending when another starts does not overlap it.
+     */
+    @Test
+    void computesHourlyPeaksAndSeatMinutes() {
+        Map<LocalDate, DayConcurrency> days = ConcurrencyProfiler.sweep(List.of(
+                interval(DATE, 9, 0, 10, 0),
+                interval(DATE, 9, 30, 11, 0),
+                interval(DATE, 10, 0, 10, 15),
+                interval(DATE, 11, 0, 12, 0)
+        ));
+
+        DayConcurrency day = days.get(DATE);
+        assertEquals(0, day.getHourPeak(8));
+        assertEquals(2, day.getHourPeak(9));
+        assertEquals(2, day.getHourPeak(10));
+        assertEquals(1, day.getHourPeak(11));
+        assertEquals(0, day.getHourPeak(12));
+        // 09:00-09:30 one seat, 09:30-10:00 two seats
+        assertEquals(90, day.getHourSeatMinutes(9));
+        // 10:00-10:15 two seats, 10:15-11:00 one seat
+        assertEquals(75, day.getHourSeatMinutes(10));
+        assertEquals(60, day.getHourSeatMinutes(11));
+        assertEquals(2, day.getPeak());
+    }
+
+    /**
+     * Intervals are swept per day, whatever their order.
+     */
+    @Test
+    void groupsByDay() {
+        Map<LocalDate, DayConcurrency> days = ConcurrencyProfiler.sweep(List.of(
+                interval(DATE.plusDays(1), 8, 0, 9, 0),
+                interval(DATE, 8, 0, 9, 0),
+                interval(DATE, 8, 30, 9, 0)
+        ));
+
+        assertEquals(List.of(DATE, DATE.plusDays(1)), List.copyOf(days.keySet()));
+        assertEquals(2, days.get(DATE).getPeak());
+        assertEquals(1, days.get(DATE.plusDays(1)).getPeak());
+    }
+
+    /**
+     * Open minutes without reservations count as zero concurrency towards the percentile.
+     */
+    @Test
+    void percentileCountsIdleOpenMinutes() {
+        // 60 minutes at one seat, 30 minutes at three seats
+        Map<LocalDate, DayConcurrency> days = ConcurrencyProfiler.sweep(List.of(
+                interval(DATE, 9, 0, 10, 30),
+                interval(DATE, 10, 0, 10, 30),
+                interval(DATE, 10, 0, 10, 30)
+        ));
+        DayConcurrency day = days.get(DATE);
+
+        // Open 90 minutes: 95% of them is the 86th minute, at three seats
+        assertEquals(3, day.getPercentile(0.95, 90));
+        // Open 12 hours: 630 idle minutes, so the 684th minute is in the one-seat hour
+        assertEquals(1, day.getPercentile(0.95, 720));
+        assertEquals(0, day.getPercentile(0.8, 720));
+        // Open 100 minutes: the 95th minute falls in the three-seat run
+        assertEquals(3, day.getPercentile(0.95, 100));
+        assertEquals(1, day.getPercentile(0.5, 90));
+        assertEquals(0, new DayConcurrency(DATE).getPercentile(0.95, 720));
+    }
+}